@@ -16,18 +16,32 @@
  */
 package com.github.cameltooling.lsp.internal;
 
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.lsp4j.CodeActionKind;
 import org.eclipse.lsp4j.CodeActionOptions;
 import org.eclipse.lsp4j.CompletionOptions;
+import org.eclipse.lsp4j.DidChangeWatchedFilesRegistrationOptions;
+import org.eclipse.lsp4j.FileSystemWatcher;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.InitializeResult;
+import org.eclipse.lsp4j.InitializedParams;
 import org.eclipse.lsp4j.MessageParams;
 import org.eclipse.lsp4j.MessageType;
+import org.eclipse.lsp4j.Registration;
+import org.eclipse.lsp4j.RegistrationParams;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.TextDocumentSyncKind;
+import org.eclipse.lsp4j.WorkspaceFolder;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.LanguageClientAware;
 import org.eclipse.lsp4j.services.LanguageServer;
@@ -35,6 +49,7 @@ import org.eclipse.lsp4j.services.WorkspaceService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.cameltooling.lsp.internal.catalog.util.WorkspaceKameletsIndex;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 
 /**
@@ -45,16 +60,19 @@ import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 public class CamelLanguageServer extends AbstractLanguageServer implements LanguageServer, LanguageClientAware {
 	
 	public static final String LANGUAGE_ID = "LANGUAGE_ID_APACHE_CAMEL";
+	private static final String KAMELET_FILES_WATCHER_ID = "camel-kamelet-files-watcher";
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelLanguageServer.class);
 	
 	private LanguageClient client;
 	private SettingsManager settingsManager;
+	private boolean workDoneProgressSupported;
+	private boolean watchedFilesDynamicRegistrationSupported;
 	
 	public CamelLanguageServer() {
 		CamelTextDocumentService textDocumentService = new CamelTextDocumentService(this);
 		setTextDocumentService(textDocumentService);
 		settingsManager = new SettingsManager(textDocumentService);
-		setWorkspaceService(new CamelWorkspaceService(getSettingsManager()));
+		setWorkspaceService(new CamelWorkspaceService(getSettingsManager(), textDocumentService.getKameletsCatalogManager()));
 	}
 
 	@Override
@@ -78,16 +96,56 @@ public class CamelLanguageServer extends AbstractLanguageServer implements Langu
 			setParentProcessId(0);
 		}
 		
+		workDoneProgressSupported = params.getCapabilities() != null
+				&& params.getCapabilities().getWindow() != null
+				&& Boolean.TRUE.equals(params.getCapabilities().getWindow().getWorkDoneProgress());
+		watchedFilesDynamicRegistrationSupported = params.getCapabilities() != null
+				&& params.getCapabilities().getWorkspace() != null
+				&& params.getCapabilities().getWorkspace().getDidChangeWatchedFiles() != null
+				&& Boolean.TRUE.equals(params.getCapabilities().getWorkspace().getDidChangeWatchedFiles().getDynamicRegistration());
 		getSettingsManager().apply(params);
+		getTextDocumentService().warmUpCatalogs();
+		getTextDocumentService().getKameletsCatalogManager().scanWorkspace(getWorkspaceFolders(params));
 		
 		ServerCapabilities capabilities = createServerCapabilities();
 		InitializeResult result = new InitializeResult(capabilities);
 		return CompletableFuture.completedFuture(result);
 	}
 
+	private List<Path> getWorkspaceFolders(InitializeParams params) {
+		List<String> folderUris = new ArrayList<>();
+		if (params.getWorkspaceFolders() != null && !params.getWorkspaceFolders().isEmpty()) {
+			for (WorkspaceFolder workspaceFolder : params.getWorkspaceFolders()) {
+				folderUris.add(workspaceFolder.getUri());
+			}
+		} else if (params.getRootUri() != null) {
+			folderUris.add(params.getRootUri());
+		}
+		List<Path> folders = new ArrayList<>();
+		for (String folderUri : folderUris) {
+			try {
+				folders.add(Paths.get(new URI(folderUri)));
+			} catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+				LOGGER.warn("Cannot search Kamelets in workspace folder {}", folderUri);
+			}
+		}
+		return folders;
+	}
+
+	@Override
+	public void initialized(InitializedParams params) {
+		getTextDocumentService().reportCatalogWarmUp();
+		if (watchedFilesDynamicRegistrationSupported && client != null) {
+			DidChangeWatchedFilesRegistrationOptions options = new DidChangeWatchedFilesRegistrationOptions(
+					Collections.singletonList(new FileSystemWatcher("**/*" + WorkspaceKameletsIndex.KAMELET_FILE_SUFFIX)));
+			Registration registration = new Registration(KAMELET_FILES_WATCHER_ID, "workspace/didChangeWatchedFiles", options);
+			client.registerCapability(new RegistrationParams(Collections.singletonList(registration)));
+		}
+	}
+
 	private ServerCapabilities createServerCapabilities() {
 		ServerCapabilities capabilities = new ServerCapabilities();
-		capabilities.setTextDocumentSync(TextDocumentSyncKind.Full);
+		capabilities.setTextDocumentSync(TextDocumentSyncKind.Incremental);
 		capabilities.setCompletionProvider(new CompletionOptions(Boolean.TRUE, Arrays.asList(".","?","&", "\"", "=")));
 		capabilities.setHoverProvider(Boolean.TRUE);
 		capabilities.setDocumentSymbolProvider(Boolean.TRUE);
@@ -99,6 +157,7 @@ public class CamelLanguageServer extends AbstractLanguageServer implements Langu
 
 	@Override
 	public CompletableFuture<Object> shutdown() {
+		getTextDocumentService().shutdown();
 		super.shutdownServer();
 		return CompletableFuture.completedFuture(new Object());
 	}
@@ -125,6 +184,13 @@ public class CamelLanguageServer extends AbstractLanguageServer implements Langu
 		return client;
 	}
 
+	/**
+	 * @return whether the client declared the window.workDoneProgress capability
+	 */
+	public boolean isWorkDoneProgressSupported() {
+		return workDoneProgressSupported;
+	}
+
 	public SettingsManager getSettingsManager() {
 		return settingsManager;
 	}
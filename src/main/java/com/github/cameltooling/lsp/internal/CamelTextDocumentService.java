@@ -18,15 +18,16 @@ package com.github.cameltooling.lsp.internal;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.catalog.DefaultCamelCatalog;
 import org.apache.camel.catalog.RuntimeProvider;
-import org.apache.camel.catalog.maven.MavenVersionManager;
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.CodeLens;
@@ -60,26 +61,41 @@ import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.TextDocumentService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.cameltooling.lsp.internal.catalog.maven.LocalFirstVersionManager;
+import com.github.cameltooling.lsp.internal.catalog.maven.MavenArtifactResolver;
 import com.github.cameltooling.lsp.internal.catalog.runtimeprovider.CamelRuntimeProvider;
+import com.github.cameltooling.lsp.internal.catalog.util.CamelCatalogFacade;
+import com.github.cameltooling.lsp.internal.catalog.util.CamelCatalogPool;
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
+import com.github.cameltooling.lsp.internal.catalog.util.CamelMainOptionIndex;
+import com.github.cameltooling.lsp.internal.catalog.util.CatalogWarmUp;
+import com.github.cameltooling.lsp.internal.catalog.util.CatalogSnapshotStore;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
 import com.github.cameltooling.lsp.internal.codeactions.CodeActionProcessor;
 import com.github.cameltooling.lsp.internal.completion.CamelEndpointCompletionProcessor;
 import com.github.cameltooling.lsp.internal.completion.CamelPropertiesCompletionProcessor;
 import com.github.cameltooling.lsp.internal.completion.modeline.CamelKModelineCompletionprocessor;
+import com.github.cameltooling.lsp.internal.completion.modeline.CamelKTraitManager;
 import com.github.cameltooling.lsp.internal.definition.DefinitionProcessor;
 import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticRunner;
+import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticScheduler;
+import com.github.cameltooling.lsp.internal.document.TextDocumentRegistry;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.documentsymbol.DocumentSymbolProcessor;
+import com.github.cameltooling.lsp.internal.executor.ExecutorLanes;
 import com.github.cameltooling.lsp.internal.hover.CamelKModelineHoverProcessor;
 import com.github.cameltooling.lsp.internal.hover.CamelPropertiesFileHoverProcessor;
 import com.github.cameltooling.lsp.internal.hover.CamelURIHoverProcessor;
 import com.github.cameltooling.lsp.internal.parser.CamelKModelineParser;
+import com.github.cameltooling.lsp.internal.progress.WorkDoneProgressReporter;
 import com.github.cameltooling.lsp.internal.references.ReferencesProcessor;
 import com.github.cameltooling.lsp.internal.settings.JSONUtility;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
@@ -91,25 +107,50 @@ import com.google.gson.Gson;
 public class CamelTextDocumentService implements TextDocumentService {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelTextDocumentService.class);
-	private Map<String, TextDocumentItem> openedDocuments = new HashMap<>();
-	private CompletableFuture<CamelCatalog> camelCatalog;
+	private TextDocumentRegistry openedDocuments = new TextDocumentRegistry();
+	private ExecutorLanes executorLanes = new ExecutorLanes();
+	private DiagnosticScheduler diagnosticScheduler = new DiagnosticScheduler(executorLanes.getBackgroundExecutor());
+	private CamelCatalogFacade camelCatalogFacade = new CamelCatalogFacade();
+	private CamelCatalogPool camelCatalogPool = new CamelCatalogPool(camelCatalogFacade::isInUse);
+	private CatalogSnapshotStore catalogSnapshotStore = CatalogSnapshotStore.createDefault();
+	private MavenArtifactResolver artifactResolver = MavenArtifactResolver.createDefault();
 	private CamelLanguageServer camelLanguageServer;
-	private CamelKafkaConnectorCatalogManager camelKafkaConnectorManager = new CamelKafkaConnectorCatalogManager();
-	private KameletsCatalogManager kameletsCatalogManager = new KameletsCatalogManager();
+	private CamelKafkaConnectorCatalogManager camelKafkaConnectorManager = new CamelKafkaConnectorCatalogManager(catalogSnapshotStore);
+	private KameletsCatalogManager kameletsCatalogManager = new KameletsCatalogManager(executorLanes.getCatalogExecutor(), executorLanes.getBackgroundExecutor(), catalogSnapshotStore);
+	private CatalogWarmUp catalogWarmUp = new CatalogWarmUp();
 
 	public CamelTextDocumentService(CamelLanguageServer camelLanguageServer) {
 		this.camelLanguageServer = camelLanguageServer;
-		camelCatalog = CompletableFuture.supplyAsync(() -> new DefaultCamelCatalog(true));
+		CamelCatalogPool.Key key = CamelCatalogPool.Key.of(null, null, null);
+		camelCatalogFacade.setLatestCatalog(camelCatalogPool.get(key, () -> loadCatalog(key, null, null, null)));
 	}
 	
 	public void updateCatalog(String camelVersion, String camelCatalogRuntimeProvider, List<Map<?,?>> extraComponents) {
-		camelCatalog = CompletableFuture.supplyAsync(() -> {
+		CamelCatalogPool.Key key = CamelCatalogPool.Key.of(camelVersion, camelCatalogRuntimeProvider, extraComponents);
+		camelCatalogFacade.setLatestCatalog(camelCatalogPool.get(key,
+				() -> loadCatalog(key, camelVersion, camelCatalogRuntimeProvider, extraComponents),
+				catalog -> isRequestedVersion(camelVersion, catalog)));
+	}
+
+	/**
+	 * @return false when the requested version could not be loaded and the catalog fell back to the bundled version
+	 */
+	private boolean isRequestedVersion(String camelVersion, CamelCatalog catalog) {
+		return camelVersion == null || camelVersion.isEmpty() || camelVersion.equals(catalog.getLoadedVersion());
+	}
+
+	private CompletableFuture<CamelCatalog> loadCatalog(CamelCatalogPool.Key key, String camelVersion, String camelCatalogRuntimeProvider, List<Map<?,?>> extraComponents) {
+		return CompletableFuture.supplyAsync(() -> {
 			DefaultCamelCatalog catalog = new DefaultCamelCatalog(true);
 			updateCatalogVersion(camelVersion, catalog);
 			updateCatalogRuntimeProvider(camelCatalogRuntimeProvider, catalog);
 			updateCatalogExtraComponents(extraComponents, catalog);
+			String loadedVersion = catalog.getLoadedVersion() != null ? catalog.getLoadedVersion() : catalog.getCatalogVersion();
+			String snapshotKey = loadedVersion + "|" + catalog.getRuntimeProvider().getProviderName() + "|" + key.getExtraComponentsFingerprint();
+			ComponentModelIndex.of(catalog, catalogSnapshotStore, snapshotKey);
+			CamelMainOptionIndex.of(catalog, catalogSnapshotStore, snapshotKey);
 			return catalog;
-		});
+		}, executorLanes.getCatalogExecutor());
 	}
 
 	private void updateCatalogExtraComponents(List<Map<?, ?>> extraComponents, DefaultCamelCatalog catalog) {
@@ -136,25 +177,72 @@ public class CamelTextDocumentService implements TextDocumentService {
 
 	private void updateCatalogVersion(String camelVersion, DefaultCamelCatalog catalog) {
 		if (camelVersion != null && !camelVersion.isEmpty()) {
-			catalog.setVersionManager(new MavenVersionManager());
-			if (!catalog.loadVersion(camelVersion)) {
+			WorkDoneProgressReporter progress = beginProgress("Camel catalog", "Resolving Camel catalog " + camelVersion);
+			catalog.setVersionManager(new LocalFirstVersionManager(artifactResolver, progress::report));
+			if (catalog.loadVersion(camelVersion)) {
+				progress.end("Camel catalog " + camelVersion + " loaded");
+			} else {
 				LOGGER.warn("Cannot load Camel catalog with version {}", camelVersion);
+				progress.end("Cannot load Camel catalog " + camelVersion);
 			}
 		}
 	}
 
+	/**
+	 * Starts loading and indexing all catalogs in parallel on the catalog executor.
+	 * It is expected to be called once the settings of the initialize request are applied.
+	 *
+	 * @return a future completed when all catalogs are ready
+	 */
+	public CompletableFuture<Void> warmUpCatalogs() {
+		Executor catalogExecutor = executorLanes.getCatalogExecutor();
+		return catalogWarmUp
+				.addStep("Camel catalog", () -> camelCatalogFacade.getLatestCatalog().thenAcceptAsync(CamelMainOptionIndex::of, catalogExecutor))
+				.addStep("Kamelets catalog", kameletsCatalogManager::whenIndexed)
+				.addStep("Camel Kafka Connector catalog", () -> CompletableFuture.runAsync(camelKafkaConnectorManager::warmUp, catalogExecutor))
+				.addStep("Camel K trait catalog", () -> CompletableFuture.runAsync(CamelKTraitManager::getIndex, catalogExecutor))
+				.start();
+	}
+
+	/**
+	 * Reports the catalog warm-up over $/progress, when the client supports it.
+	 */
+	public void reportCatalogWarmUp() {
+		if (catalogWarmUp.getReadiness() != CatalogWarmUp.Readiness.NOT_STARTED && camelLanguageServer.isWorkDoneProgressSupported()) {
+			catalogWarmUp.reportTo(beginProgress("Camel catalogs", "Loading catalogs"));
+		}
+	}
+
+	private WorkDoneProgressReporter beginProgress(String title, String message) {
+		return WorkDoneProgressReporter.begin(camelLanguageServer.getClient(), camelLanguageServer.isWorkDoneProgressSupported(), title, message);
+	}
+
 	@Override
 	public CompletableFuture<Either<List<CompletionItem>, CompletionList>> completion(CompletionParams completionParams) {
 		String uri = completionParams.getTextDocument().getUri();
 		LOGGER.info("completion: {}", uri);
-		TextDocumentItem textDocumentItem = openedDocuments.get(uri);
-		if (uri.endsWith(".properties")){
-			return new CamelPropertiesCompletionProcessor(textDocumentItem, getCamelCatalog(), getCamelKafkaConnectorManager()).getCompletions(completionParams.getPosition(), getSettingsManager(), getKameletsCatalogManager()).thenApply(Either::forLeft);
-		} else if(new CamelKModelineParser().isOnCamelKModeline(completionParams.getPosition().getLine(), textDocumentItem)){
-			return new CamelKModelineCompletionprocessor(textDocumentItem, getCamelCatalog()).getCompletions(completionParams.getPosition()).thenApply(Either::forLeft);
-		} else {
-			return new CamelEndpointCompletionProcessor(textDocumentItem, getCamelCatalog(), getKameletsCatalogManager()).getCompletions(completionParams.getPosition(), getSettingsManager()).thenApply(Either::forLeft);
-		}
+		TextDocumentSnapshot textDocumentSnapshot = getOpenedDocument(uri);
+		CompletableFuture<CamelCatalog> servedCamelCatalog = camelCatalogFacade.getServedCatalog();
+		Function<List<CompletionItem>, Either<List<CompletionItem>, CompletionList>> toCompletionResult = completionItems -> {
+			if (camelCatalogFacade.isLatest(servedCamelCatalog)) {
+				return Either.forLeft(completionItems);
+			}
+			// computed with the previous catalog, the client has to ask again once the new one is loaded
+			return Either.forRight(new CompletionList(true, completionItems));
+		};
+		return inInteractiveLane(() -> {
+			if (uri.endsWith(".properties")){
+				return new CamelPropertiesCompletionProcessor(textDocumentSnapshot, servedCamelCatalog, getCamelKafkaConnectorManager()).getCompletions(completionParams.getPosition(), getSettingsManager(), getKameletsCatalogManager()).thenApply(toCompletionResult);
+			} else if(new CamelKModelineParser().isOnCamelKModeline(completionParams.getPosition().getLine(), textDocumentSnapshot)){
+				return new CamelKModelineCompletionprocessor(textDocumentSnapshot, servedCamelCatalog).getCompletions(completionParams.getPosition()).thenApply(toCompletionResult);
+			} else {
+				return new CamelEndpointCompletionProcessor(textDocumentSnapshot, servedCamelCatalog, getKameletsCatalogManager()).getCompletions(completionParams.getPosition(), getSettingsManager()).thenApply(toCompletionResult);
+			}
+		});
+	}
+
+	private <T> CompletableFuture<T> inInteractiveLane(Supplier<CompletableFuture<T>> request) {
+		return CompletableFuture.supplyAsync(request, executorLanes.getInteractiveExecutor()).thenCompose(Function.identity());
 	}
 
 	@Override
@@ -167,14 +255,16 @@ public class CamelTextDocumentService implements TextDocumentService {
 	public CompletableFuture<Hover> hover(HoverParams hoverParams) {
 		LOGGER.info("hover: {}", hoverParams.getTextDocument());
 		String uri = hoverParams.getTextDocument().getUri();
-		TextDocumentItem textDocumentItem = openedDocuments.get(uri);
-		if (uri.endsWith(".properties")){
-			return new CamelPropertiesFileHoverProcessor(textDocumentItem).getHover(hoverParams.getPosition(), getCamelCatalog(), getCamelKafkaConnectorManager(), getKameletsCatalogManager());
-		} else if(new CamelKModelineParser().isOnCamelKModeline(hoverParams.getPosition().getLine(), textDocumentItem)) {
-			return new CamelKModelineHoverProcessor(textDocumentItem).getHover(hoverParams.getPosition(), getCamelCatalog());
-		} else {
-			return new CamelURIHoverProcessor(textDocumentItem, getCamelCatalog(), getKameletsCatalogManager()).getHover(hoverParams.getPosition());
-		}
+		TextDocumentSnapshot textDocumentSnapshot = getOpenedDocument(uri);
+		return inInteractiveLane(() -> {
+			if (uri.endsWith(".properties")){
+				return new CamelPropertiesFileHoverProcessor(textDocumentSnapshot).getHover(hoverParams.getPosition(), camelCatalogFacade.getServedCatalog(), getCamelKafkaConnectorManager(), getKameletsCatalogManager());
+			} else if(new CamelKModelineParser().isOnCamelKModeline(hoverParams.getPosition().getLine(), textDocumentSnapshot)) {
+				return new CamelKModelineHoverProcessor(textDocumentSnapshot).getHover(hoverParams.getPosition(), camelCatalogFacade.getServedCatalog());
+			} else {
+				return new CamelURIHoverProcessor(textDocumentSnapshot, camelCatalogFacade.getServedCatalog(), getKameletsCatalogManager()).getHover(hoverParams.getPosition());
+			}
+		});
 	}
 
 	@Override
@@ -187,14 +277,15 @@ public class CamelTextDocumentService implements TextDocumentService {
 	public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> definition(DefinitionParams params) {
 		TextDocumentIdentifier textDocument = params.getTextDocument();
 		LOGGER.info("definition: {}", textDocument);
-		TextDocumentItem textDocumentItem = openedDocuments.get(textDocument.getUri());
-		return new DefinitionProcessor(textDocumentItem).getDefinitions(params.getPosition());
+		TextDocumentSnapshot textDocumentSnapshot = getOpenedDocument(textDocument.getUri());
+		return inInteractiveLane(() -> new DefinitionProcessor(textDocumentSnapshot).getDefinitions(params.getPosition()));
 	}
 
 	@Override
 	public CompletableFuture<List<? extends Location>> references(ReferenceParams params) {
 		LOGGER.info("references: {}", params.getTextDocument());
-		return new ReferencesProcessor(this, openedDocuments.get(params.getTextDocument().getUri())).getReferences(params.getPosition());
+		TextDocumentSnapshot textDocumentSnapshot = getOpenedDocument(params.getTextDocument().getUri());
+		return inInteractiveLane(() -> new ReferencesProcessor(this, textDocumentSnapshot).getReferences(params.getPosition()));
 	}
 
 	@Override
@@ -206,7 +297,7 @@ public class CamelTextDocumentService implements TextDocumentService {
 	@Override
 	public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> documentSymbol(DocumentSymbolParams params) {
 		LOGGER.info("documentSymbol: {}", params.getTextDocument());
-		return new DocumentSymbolProcessor(openedDocuments.get(params.getTextDocument().getUri())).getDocumentSymbols();
+		return new DocumentSymbolProcessor(getOpenedDocument(params.getTextDocument().getUri()), executorLanes.getBackgroundExecutor()).getDocumentSymbols();
 	}
 
 	@Override
@@ -255,7 +346,7 @@ public class CamelTextDocumentService implements TextDocumentService {
 	public void didOpen(DidOpenTextDocumentParams params) {
 		TextDocumentItem textDocument = params.getTextDocument();
 		LOGGER.info("didOpen: {}", textDocument);
-		openedDocuments.put(textDocument.getUri(), textDocument);
+		openedDocuments.open(textDocument);
 		new DiagnosticRunner(getCamelCatalog(), camelLanguageServer).compute(params);
 	}
 
@@ -263,9 +354,9 @@ public class CamelTextDocumentService implements TextDocumentService {
 	public void didChange(DidChangeTextDocumentParams params) {
 		LOGGER.info("didChange: {}", params.getTextDocument());
 		List<TextDocumentContentChangeEvent> contentChanges = params.getContentChanges();
-		TextDocumentItem textDocumentItem = openedDocuments.get(params.getTextDocument().getUri());
 		if (!contentChanges.isEmpty()) {
-			textDocumentItem.setText(contentChanges.get(0).getText());
+			VersionedTextDocumentIdentifier textDocument = params.getTextDocument();
+			openedDocuments.change(textDocument.getUri(), contentChanges, textDocument.getVersion());
 			new DiagnosticRunner(getCamelCatalog(), camelLanguageServer).compute(params);
 		}
 	}
@@ -274,7 +365,7 @@ public class CamelTextDocumentService implements TextDocumentService {
 	public void didClose(DidCloseTextDocumentParams params) {
 		LOGGER.info("didClose: {}", params.getTextDocument());
 		String uri = params.getTextDocument().getUri();
-		openedDocuments.remove(uri);
+		openedDocuments.close(uri);
 		/* The rule observed by VS Code servers as explained in LSP specification is to clear the Diagnostic when it is related to a single file.
 		 * https://microsoft.github.io/language-server-protocol/specification#textDocument_publishDiagnostics
 		 * */
@@ -287,12 +378,34 @@ public class CamelTextDocumentService implements TextDocumentService {
 		new DiagnosticRunner(getCamelCatalog(), camelLanguageServer).compute(params);
 	}
 
-	public TextDocumentItem getOpenedDocument(String uri) {
+	public ExecutorLanes getExecutorLanes() {
+		return executorLanes;
+	}
+
+	public void shutdown() {
+		diagnosticScheduler.shutdown();
+		executorLanes.shutdown();
+		camelCatalogPool.close();
+	}
+
+	public DiagnosticScheduler getDiagnosticScheduler() {
+		return diagnosticScheduler;
+	}
+
+	public TextDocumentSnapshot getOpenedDocument(String uri) {
 		return openedDocuments.get(uri);
 	}
 	
-	public Collection<TextDocumentItem> getAllOpenedDocuments() {
-		return openedDocuments.values();
+	public Collection<TextDocumentSnapshot> getAllOpenedDocuments() {
+		return openedDocuments.getAll();
+	}
+	
+	/**
+	 * @param textDocument a document, usually a snapshot taken previously
+	 * @return true if it corresponds to the current version of an opened document
+	 */
+	public boolean isLatestVersion(TextDocumentSnapshot textDocument) {
+		return openedDocuments.isLatest(textDocument);
 	}
 
 	/**
@@ -300,7 +413,7 @@ public class CamelTextDocumentService implements TextDocumentService {
 	 * @return a Future of the Camel Catalog
 	 */
 	public CompletableFuture<CamelCatalog> getCamelCatalog() {
-		return camelCatalog;
+		return camelCatalogFacade.getLatestCatalog();
 	}
 
 	public CamelKafkaConnectorCatalogManager getCamelKafkaConnectorManager() {
@@ -315,6 +428,10 @@ public class CamelTextDocumentService implements TextDocumentService {
 		return camelLanguageServer.getSettingsManager();
 	}
 	
+	public CatalogWarmUp getCatalogWarmUp() {
+		return catalogWarmUp;
+	}
+
 	public KameletsCatalogManager getKameletsCatalogManager() {
 		return kameletsCatalogManager;
 	}
@@ -16,12 +16,18 @@
  */
 package com.github.cameltooling.lsp.internal;
 
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
+import org.eclipse.lsp4j.FileChangeType;
 import org.eclipse.lsp4j.FileEvent;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.WorkspaceSymbolParams;
@@ -29,6 +35,8 @@ import org.eclipse.lsp4j.services.WorkspaceService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
+import com.github.cameltooling.lsp.internal.catalog.util.WorkspaceKameletsIndex;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 
 /**
@@ -38,9 +46,11 @@ public class CamelWorkspaceService implements WorkspaceService {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelWorkspaceService.class);
 	private SettingsManager settingsManager;
+	private KameletsCatalogManager kameletsCatalogManager;
 
-	public CamelWorkspaceService(SettingsManager settingsManager) {
+	public CamelWorkspaceService(SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager) {
 		this.settingsManager = settingsManager;
+		this.kameletsCatalogManager = kameletsCatalogManager;
 	}
 
 	@Override
@@ -56,9 +66,32 @@ public class CamelWorkspaceService implements WorkspaceService {
 		LOGGER.info("SERVER: changeConfig: settings -> {}", settings);
 	}
 
+	/**
+	 * The changed Kamelet files are read by the Kamelets catalog manager on its workspace executor, not on the calling thread.
+	 */
 	@Override
 	public void didChangeWatchedFiles(DidChangeWatchedFilesParams params) {
-		List<FileEvent> settings = params.getChanges();
-		LOGGER.info("SERVER: changeWatchedFiles: size -> {}", settings.size());
+		List<FileEvent> changes = params.getChanges();
+		LOGGER.info("SERVER: changeWatchedFiles: size -> {}", changes.size());
+		for (FileEvent change : changes) {
+			if (change.getUri().endsWith(WorkspaceKameletsIndex.KAMELET_FILE_SUFFIX)) {
+				updateKamelet(change);
+			}
+		}
+	}
+
+	private void updateKamelet(FileEvent change) {
+		Path kameletFile;
+		try {
+			kameletFile = Paths.get(new URI(change.getUri()));
+		} catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+			LOGGER.warn("Cannot update Kamelet from {}", change.getUri());
+			return;
+		}
+		if (FileChangeType.Deleted.equals(change.getType())) {
+			kameletsCatalogManager.kameletFileDeleted(kameletFile);
+		} else {
+			kameletsCatalogManager.kameletFileChanged(kameletFile);
+		}
 	}
 }
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.maven;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+
+import org.apache.camel.catalog.VersionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.catalog.maven.MavenArtifactResolver.DownloadListener;
+
+/**
+ * Loads other versions of the Camel catalog with a {@link MavenArtifactResolver},
+ * so that a version already available on the machine is loaded without network access.
+ */
+public class LocalFirstVersionManager implements VersionManager, Closeable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LocalFirstVersionManager.class);
+	private static final String CAMEL_GROUP_ID = "org.apache.camel";
+	private static final String CAMEL_CATALOG_ARTIFACT_ID = "camel-catalog";
+
+	private final MavenArtifactResolver artifactResolver;
+	private final DownloadListener downloadListener;
+	private String version;
+	private URLClassLoader versionClassLoader;
+	private String runtimeProviderVersion;
+	private URLClassLoader runtimeProviderClassLoader;
+
+	public LocalFirstVersionManager(MavenArtifactResolver artifactResolver, DownloadListener downloadListener) {
+		this.artifactResolver = artifactResolver;
+		this.downloadListener = downloadListener;
+	}
+
+	@Override
+	public String getLoadedVersion() {
+		return version;
+	}
+
+	@Override
+	public boolean loadVersion(String version) {
+		URLClassLoader classLoader = load(CAMEL_GROUP_ID, CAMEL_CATALOG_ARTIFACT_ID, version);
+		if (classLoader != null) {
+			closeQuietly(versionClassLoader);
+			this.versionClassLoader = classLoader;
+			this.version = version;
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public String getRuntimeProviderLoadedVersion() {
+		return runtimeProviderVersion;
+	}
+
+	@Override
+	public boolean loadRuntimeProviderVersion(String groupId, String artifactId, String version) {
+		URLClassLoader classLoader = load(groupId, artifactId, version);
+		if (classLoader != null) {
+			closeQuietly(runtimeProviderClassLoader);
+			this.runtimeProviderClassLoader = classLoader;
+			this.runtimeProviderVersion = version;
+			return true;
+		}
+		return false;
+	}
+
+	private URLClassLoader load(String groupId, String artifactId, String version) {
+		Path artifact = artifactResolver.resolve(groupId, artifactId, version, downloadListener);
+		if (artifact == null) {
+			return null;
+		}
+		try {
+			// no parent so that resources are not found in the catalog bundled with the language server
+			return new URLClassLoader(new URL[] { artifact.toUri().toURL() }, null);
+		} catch (MalformedURLException e) {
+			LOGGER.warn("Cannot load {}", artifact, e);
+			return null;
+		}
+	}
+
+	@Override
+	public InputStream getResourceAsStream(String name) {
+		InputStream resource = null;
+		if (runtimeProviderClassLoader != null) {
+			resource = runtimeProviderClassLoader.getResourceAsStream(name);
+		}
+		if (resource == null && versionClassLoader != null) {
+			resource = versionClassLoader.getResourceAsStream(name);
+		}
+		if (resource == null) {
+			resource = LocalFirstVersionManager.class.getClassLoader().getResourceAsStream(name);
+		}
+		return resource;
+	}
+
+	@Override
+	public void close() {
+		closeQuietly(runtimeProviderClassLoader);
+		closeQuietly(versionClassLoader);
+	}
+
+	private void closeQuietly(URLClassLoader classLoader) {
+		if (classLoader != null) {
+			try {
+				classLoader.close();
+			} catch (IOException e) {
+				LOGGER.debug("Cannot close class loader", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,371 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.maven;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Proxy;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.catalog.util.CatalogSnapshotStore;
+
+/**
+ * Resolves Maven artifacts, looking for them locally before downloading them.
+ *
+ * The lookup order is:
+ * <ol>
+ * <li>the artifact store of the language server, filled by previous downloads,</li>
+ * <li>the local Maven repository, ~/.m2/repository by default,</li>
+ * <li>the Grape cache used by previous versions of the language server,</li>
+ * <li>the remote repositories, or their mirrors declared in the Maven settings. A downloaded artifact is kept in the artifact store.</li>
+ * </ol>
+ * A downloaded artifact is verified against the SHA-256 or SHA-1 checksum published next to it,
+ * it is rejected when it does not match, and also when no checksum is published unless
+ * the {@value #ALLOW_MISSING_CHECKSUM_PROPERTY} system property is true.
+ *
+ * Downloads go through the proxy configured for the JVM, with the http.proxyHost and https.proxyHost system properties,
+ * or else through the active proxy of the Maven settings.
+ */
+public class MavenArtifactResolver {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MavenArtifactResolver.class);
+
+	public static final String MAVEN_CENTRAL = "https://repo1.maven.org/maven2/";
+	public static final String REMOTE_REPOSITORIES_PROPERTY = "camel.language.server.maven.repositories";
+	public static final String ALLOW_MISSING_CHECKSUM_PROPERTY = "camel.language.server.maven.allowMissingChecksum";
+	private static final String GRAPE_CONFIG_PROPERTY = "grape.config";
+	static final int DEFAULT_TIMEOUT = 30000;
+	private static final int BUFFER_SIZE = 8192;
+	private static final String[][] CHECKSUM_ALGORITHMS = { { ".sha256", "SHA-256" }, { ".sha1", "SHA-1" } };
+
+	/**
+	 * Notified while an artifact is downloaded.
+	 */
+	@FunctionalInterface
+	public interface DownloadListener {
+
+		DownloadListener NONE = (message, percentage) -> {};
+
+		/**
+		 * @param message describes the download
+		 * @param percentage the downloaded percentage, null when the size of the artifact is unknown
+		 */
+		void onProgress(String message, Integer percentage);
+	}
+
+	private final Path artifactStore;
+	private final List<Path> localRepositories;
+	private final Path grapeRoot;
+	private final List<String> remoteRepositories;
+	private final int timeout;
+	private final MavenSettings settings;
+	private final boolean allowMissingChecksum;
+
+	public MavenArtifactResolver(Path artifactStore, List<Path> localRepositories, Path grapeRoot, List<String> remoteRepositories, int timeout) {
+		this(artifactStore, localRepositories, grapeRoot, remoteRepositories, timeout, MavenSettings.EMPTY, false);
+	}
+
+	MavenArtifactResolver(Path artifactStore, List<Path> localRepositories, Path grapeRoot, List<String> remoteRepositories, int timeout,
+			MavenSettings settings, boolean allowMissingChecksum) {
+		this.artifactStore = artifactStore;
+		this.localRepositories = new ArrayList<>(localRepositories);
+		this.grapeRoot = grapeRoot;
+		this.remoteRepositories = settings.mirror(remoteRepositories);
+		this.timeout = timeout;
+		this.settings = settings;
+		this.allowMissingChecksum = allowMissingChecksum;
+	}
+
+	/**
+	 * @return a resolver storing downloads in the language server cache directory, using the local Maven repository
+	 * 			defined by the maven.repo.local system property, or else by ~/.m2/settings.xml, or else ~/.m2/repository,
+	 * 			and downloading from the comma-separated repositories of the {@value #REMOTE_REPOSITORIES_PROPERTY} system property,
+	 * 			then from the Maven repositories of the Grape configuration used by previous versions, then from Maven Central,
+	 * 			using the mirrors and the proxy of ~/.m2/settings.xml
+	 */
+	public static MavenArtifactResolver createDefault() {
+		String userHome = System.getProperty("user.home");
+		MavenSettings settings = MavenSettings.read(Paths.get(userHome, ".m2", "settings.xml"));
+		String localRepository = System.getProperty("maven.repo.local");
+		Path mavenLocalRepository;
+		if (localRepository != null && !localRepository.isEmpty()) {
+			mavenLocalRepository = Paths.get(localRepository);
+		} else if (settings.getLocalRepository() != null) {
+			mavenLocalRepository = settings.getLocalRepository();
+		} else {
+			mavenLocalRepository = Paths.get(userHome, ".m2", "repository");
+		}
+		String grapeRoot = System.getProperty("grape.root");
+		Path grapeDirectory = grapeRoot != null && !grapeRoot.isEmpty() ? Paths.get(grapeRoot) : Paths.get(userHome, ".groovy");
+		String grapeConfig = System.getProperty(GRAPE_CONFIG_PROPERTY);
+		Path grapeConfigFile = grapeConfig != null && !grapeConfig.isEmpty() ? Paths.get(grapeConfig) : Paths.get(userHome, ".groovy", "grapeConfig.xml");
+		return new MavenArtifactResolver(
+				CatalogSnapshotStore.getDefaultCacheDirectory().resolve("repository"),
+				Collections.singletonList(mavenLocalRepository),
+				grapeDirectory.resolve("grapes"),
+				getDefaultRemoteRepositories(grapeConfigFile),
+				DEFAULT_TIMEOUT,
+				settings,
+				Boolean.getBoolean(ALLOW_MISSING_CHECKSUM_PROPERTY));
+	}
+
+	private static List<String> getDefaultRemoteRepositories(Path grapeConfigFile) {
+		Set<String> remoteRepositories = new LinkedHashSet<>();
+		String configuredRepositories = System.getProperty(REMOTE_REPOSITORIES_PROPERTY);
+		if (configuredRepositories != null) {
+			for (String configuredRepository : configuredRepositories.split(",")) {
+				if (!configuredRepository.trim().isEmpty()) {
+					remoteRepositories.add(configuredRepository.trim());
+				}
+			}
+		}
+		remoteRepositories.addAll(readGrapeRepositories(grapeConfigFile));
+		remoteRepositories.add(MAVEN_CENTRAL);
+		return new ArrayList<>(remoteRepositories);
+	}
+
+	/**
+	 * The Grape configuration is an Ivy settings file, the Maven compatible ibiblio resolvers are the Maven repositories.
+	 *
+	 * @param grapeConfigFile the Grape configuration, usually ~/.groovy/grapeConfig.xml
+	 * @return the roots of the Maven repositories of the configuration, empty if the file does not exist or cannot be read
+	 */
+	static List<String> readGrapeRepositories(Path grapeConfigFile) {
+		List<String> repositories = new ArrayList<>();
+		if (!Files.isRegularFile(grapeConfigFile)) {
+			return repositories;
+		}
+		XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		try (InputStream input = Files.newInputStream(grapeConfigFile)) {
+			XMLStreamReader reader = inputFactory.createXMLStreamReader(input);
+			try {
+				while (reader.hasNext()) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT && "ibiblio".equals(reader.getLocalName())
+							&& "true".equals(reader.getAttributeValue(null, "m2compatible"))) {
+						String root = reader.getAttributeValue(null, "root");
+						// Ivy variables are not resolved
+						if (root != null && !root.isEmpty() && !root.contains("${")) {
+							repositories.add(root);
+						}
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (IOException | XMLStreamException e) {
+			LOGGER.warn("Cannot read the Maven repositories of the Grape configuration {}: {}", grapeConfigFile, e.getMessage());
+		}
+		return repositories;
+	}
+
+	/**
+	 * @param groupId the group id of the artifact
+	 * @param artifactId the artifact id
+	 * @param version the version of the artifact
+	 * @param listener notified if the artifact is downloaded
+	 * @return the jar file of the artifact, null if it cannot be found nor downloaded
+	 */
+	public Path resolve(String groupId, String artifactId, String version, DownloadListener listener) {
+		String relativePath = groupId.replace('.', '/') + "/" + artifactId + "/" + version + "/" + artifactId + "-" + version + ".jar";
+		Path storedArtifact = artifactStore.resolve(relativePath);
+		if (Files.isRegularFile(storedArtifact)) {
+			return storedArtifact;
+		}
+		for (Path localRepository : localRepositories) {
+			Path localArtifact = localRepository.resolve(relativePath);
+			if (Files.isRegularFile(localArtifact)) {
+				return localArtifact;
+			}
+		}
+		if (grapeRoot != null) {
+			Path grapeArtifact = grapeRoot.resolve(groupId).resolve(artifactId).resolve("jars").resolve(artifactId + "-" + version + ".jar");
+			if (Files.isRegularFile(grapeArtifact)) {
+				return grapeArtifact;
+			}
+		}
+		for (String remoteRepository : remoteRepositories) {
+			String url = remoteRepository.endsWith("/") ? remoteRepository + relativePath : remoteRepository + "/" + relativePath;
+			if (download(url, storedArtifact, artifactId + ":" + version, listener)) {
+				return storedArtifact;
+			}
+		}
+		return null;
+	}
+
+	private boolean download(String url, Path target, String artifactName, DownloadListener listener) {
+		Path temporaryFile = null;
+		try {
+			URLConnection connection = openConnection(url);
+			long contentLength = connection.getContentLengthLong();
+			long deadline = System.currentTimeMillis() + timeout;
+			Files.createDirectories(target.getParent());
+			temporaryFile = Files.createTempFile(target.getParent(), artifactName.replace(':', '-'), ".tmp");
+			listener.onProgress("Downloading " + artifactName, contentLength > 0 ? 0 : null);
+			try (InputStream input = connection.getInputStream(); OutputStream output = Files.newOutputStream(temporaryFile)) {
+				byte[] buffer = new byte[BUFFER_SIZE];
+				long downloaded = 0;
+				int lastPercentage = 0;
+				int read;
+				while ((read = input.read(buffer)) != -1) {
+					if (System.currentTimeMillis() > deadline) {
+						throw new IOException("Download of " + url + " exceeded " + timeout + " ms");
+					}
+					output.write(buffer, 0, read);
+					downloaded += read;
+					int percentage = contentLength > 0 ? (int) (downloaded * 100 / contentLength) : 0;
+					if (percentage >= lastPercentage + 10) {
+						lastPercentage = percentage;
+						listener.onProgress("Downloading " + artifactName, percentage);
+					}
+				}
+			}
+			if (!verifyChecksum(url, temporaryFile)) {
+				return false;
+			}
+			Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+			return true;
+		} catch (IOException e) {
+			LOGGER.warn("Cannot download {}: {}", url, e.getMessage());
+			return false;
+		} finally {
+			deleteQuietly(temporaryFile);
+		}
+	}
+
+	private URLConnection openConnection(String url) throws IOException {
+		URL location = new URL(url);
+		Proxy proxy;
+		try {
+			proxy = settings.getProxy(location.toURI());
+		} catch (URISyntaxException e) {
+			throw new IOException("Invalid URL " + url, e);
+		}
+		// without a proxy from the Maven settings, the default ProxySelector applies the proxy configuration of the JVM
+		URLConnection connection = proxy != null ? location.openConnection(proxy) : location.openConnection();
+		connection.setConnectTimeout(timeout);
+		connection.setReadTimeout(timeout);
+		return connection;
+	}
+
+	/**
+	 * @return false if the published checksum of the artifact does not match the downloaded file,
+	 * 			or if no checksum is published and artifacts without checksum are not allowed
+	 */
+	private boolean verifyChecksum(String url, Path downloadedFile) throws IOException {
+		for (String[] checksumAlgorithm : CHECKSUM_ALGORITHMS) {
+			String expectedChecksum = downloadChecksum(url + checksumAlgorithm[0]);
+			if (expectedChecksum != null) {
+				String actualChecksum = computeChecksum(downloadedFile, checksumAlgorithm[1]);
+				if (!actualChecksum.equalsIgnoreCase(expectedChecksum)) {
+					LOGGER.warn("Rejecting {}, its {} checksum {} does not match the published one {}", url, checksumAlgorithm[1], actualChecksum, expectedChecksum);
+					return false;
+				}
+				return true;
+			}
+		}
+		if (allowMissingChecksum) {
+			LOGGER.warn("No checksum published for {}, it is accepted without verification", url);
+			return true;
+		}
+		LOGGER.warn("Rejecting {}, no checksum is published for it. Set the {} system property to true to accept it", url, ALLOW_MISSING_CHECKSUM_PROPERTY);
+		return false;
+	}
+
+	/**
+	 * @return the checksum, null if it is not published
+	 */
+	private String downloadChecksum(String url) {
+		try {
+			URLConnection connection = openConnection(url);
+			try (InputStream input = connection.getInputStream()) {
+				// the file may also contain the file name after the checksum
+				String content = new String(readAtMost(input, 1024), StandardCharsets.UTF_8).trim();
+				return content.isEmpty() ? null : content.split("\\s+")[0];
+			}
+		} catch (IOException e) {
+			LOGGER.debug("Cannot download {}: {}", url, e.getMessage());
+			return null;
+		}
+	}
+
+	private byte[] readAtMost(InputStream input, int maximumLength) throws IOException {
+		byte[] content = new byte[maximumLength];
+		int length = 0;
+		int read;
+		while (length < maximumLength && (read = input.read(content, length, maximumLength - length)) != -1) {
+			length += read;
+		}
+		return Arrays.copyOf(content, length);
+	}
+
+	private String computeChecksum(Path file, String algorithm) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(algorithm);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(algorithm + " is not available", e);
+		}
+		try (InputStream input = Files.newInputStream(file)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		StringBuilder sb = new StringBuilder();
+		for (byte b : digest.digest()) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+
+	private void deleteQuietly(Path file) {
+		if (file != null) {
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				LOGGER.debug("Cannot delete {}", file, e);
+			}
+		}
+	}
+}
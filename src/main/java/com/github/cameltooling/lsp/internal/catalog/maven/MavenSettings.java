@@ -0,0 +1,264 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.maven;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The parts of the Maven user settings, ~/.m2/settings.xml, used to download artifacts:
+ * the local repository, the mirrors and the active proxy.
+ *
+ * Repositories are only known by their URL, a mirror applies to Maven Central when it is a mirror of <code>central</code>,
+ * and to every repository when it is a mirror of <code>*</code> or <code>external:*</code>.
+ * Proxy credentials are not supported.
+ */
+class MavenSettings {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MavenSettings.class);
+
+	static final MavenSettings EMPTY = new MavenSettings(null, Collections.emptyList(), null, Collections.emptyList());
+
+	private static final String CENTRAL_ID = "central";
+
+	/**
+	 * A mirror declared in the settings.
+	 */
+	static class Mirror {
+
+		private final String url;
+		private final List<String> mirrorOf;
+
+		Mirror(String url, String mirrorOf) {
+			this.url = url;
+			this.mirrorOf = new ArrayList<>();
+			for (String id : mirrorOf.split(",")) {
+				if (!id.trim().isEmpty()) {
+					this.mirrorOf.add(id.trim());
+				}
+			}
+		}
+
+		boolean isMirrorOf(String repository) {
+			boolean central = MavenArtifactResolver.MAVEN_CENTRAL.equals(repository);
+			if (central && mirrorOf.contains("!" + CENTRAL_ID)) {
+				return false;
+			}
+			return mirrorOf.contains("*")
+					|| (mirrorOf.contains("external:*") && isExternal(repository))
+					|| (central && mirrorOf.contains(CENTRAL_ID));
+		}
+
+		private boolean isExternal(String repository) {
+			URI uri = URI.create(repository);
+			return !"file".equals(uri.getScheme()) && !"localhost".equals(uri.getHost()) && !"127.0.0.1".equals(uri.getHost());
+		}
+	}
+
+	private final String localRepository;
+	private final List<Mirror> mirrors;
+	private final Proxy proxy;
+	private final List<Pattern> nonProxyHosts;
+
+	MavenSettings(String localRepository, List<Mirror> mirrors, Proxy proxy, List<Pattern> nonProxyHosts) {
+		this.localRepository = localRepository;
+		this.mirrors = mirrors;
+		this.proxy = proxy;
+		this.nonProxyHosts = nonProxyHosts;
+	}
+
+	/**
+	 * @return the local repository declared in the settings, null if it is not declared
+	 */
+	Path getLocalRepository() {
+		return localRepository != null ? Paths.get(localRepository) : null;
+	}
+
+	/**
+	 * @param repositories the roots of the remote repositories
+	 * @return the repositories, each one replaced by the URL of the first mirror matching it
+	 */
+	List<String> mirror(List<String> repositories) {
+		Set<String> mirroredRepositories = new LinkedHashSet<>();
+		for (String repository : repositories) {
+			mirroredRepositories.add(mirrors.stream()
+					.filter(mirror -> mirror.isMirrorOf(repository))
+					.map(mirror -> mirror.url)
+					.findFirst()
+					.orElse(repository));
+		}
+		return new ArrayList<>(mirroredRepositories);
+	}
+
+	/**
+	 * The proxy of the settings is only used when the JVM has no proxy configured through the
+	 * http.proxyHost and https.proxyHost system properties, which are honoured by the default ProxySelector.
+	 *
+	 * @param uri the downloaded URI
+	 * @return the proxy of the settings to use for the URI, null to use the proxy configuration of the JVM
+	 */
+	Proxy getProxy(URI uri) {
+		if (proxy == null || isJvmProxyConfigured() || uri.getHost() == null) {
+			return null;
+		}
+		String host = uri.getHost().toLowerCase(Locale.ROOT);
+		if (nonProxyHosts.stream().anyMatch(pattern -> pattern.matcher(host).matches())) {
+			return Proxy.NO_PROXY;
+		}
+		return proxy;
+	}
+
+	private static boolean isJvmProxyConfigured() {
+		return System.getProperty("http.proxyHost") != null || System.getProperty("https.proxyHost") != null;
+	}
+
+	/**
+	 * @param settingsFile the Maven settings, usually ~/.m2/settings.xml
+	 * @return the settings, empty if the file does not exist or cannot be read
+	 */
+	static MavenSettings read(Path settingsFile) {
+		if (!Files.isRegularFile(settingsFile)) {
+			return EMPTY;
+		}
+		XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		try (InputStream input = Files.newInputStream(settingsFile)) {
+			XMLStreamReader reader = inputFactory.createXMLStreamReader(input);
+			try {
+				return read(reader);
+			} finally {
+				reader.close();
+			}
+		} catch (IOException | XMLStreamException | IllegalArgumentException e) {
+			LOGGER.warn("Cannot read the Maven settings {}: {}", settingsFile, e.getMessage());
+			return EMPTY;
+		}
+	}
+
+	private static MavenSettings read(XMLStreamReader reader) throws XMLStreamException {
+		String localRepository = null;
+		List<Mirror> mirrors = new ArrayList<>();
+		Proxy proxy = null;
+		List<Pattern> nonProxyHosts = Collections.emptyList();
+		// the values of the current mirror or proxy element, reset when the element starts
+		String url = null;
+		String mirrorOf = null;
+		String active = null;
+		String protocol = null;
+		String host = null;
+		String port = null;
+		String proxyExclusions = null;
+		StringBuilder text = new StringBuilder();
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				text.setLength(0);
+				if ("mirror".equals(reader.getLocalName())) {
+					url = null;
+					mirrorOf = null;
+				} else if ("proxy".equals(reader.getLocalName())) {
+					active = null;
+					protocol = null;
+					host = null;
+					port = null;
+					proxyExclusions = null;
+				}
+			} else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+				text.append(reader.getText());
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				String value = text.toString().trim();
+				switch (reader.getLocalName()) {
+				case "localRepository":
+					localRepository = value.isEmpty() ? null : value;
+					break;
+				case "url":
+					url = value;
+					break;
+				case "mirrorOf":
+					mirrorOf = value;
+					break;
+				case "active":
+					active = value;
+					break;
+				case "protocol":
+					protocol = value;
+					break;
+				case "host":
+					host = value;
+					break;
+				case "port":
+					port = value;
+					break;
+				case "nonProxyHosts":
+					proxyExclusions = value;
+					break;
+				case "mirror":
+					if (url != null && mirrorOf != null) {
+						mirrors.add(new Mirror(url, mirrorOf));
+					}
+					break;
+				case "proxy":
+					// the first active proxy is used, as Maven does
+					if (proxy == null && !"false".equals(active) && host != null && (protocol == null || protocol.startsWith("http"))) {
+						proxy = new Proxy(Proxy.Type.HTTP, InetSocketAddress.createUnresolved(host, port != null ? Integer.parseInt(port) : 8080));
+						nonProxyHosts = parseNonProxyHosts(proxyExclusions);
+					}
+					break;
+				default:
+					break;
+				}
+				text.setLength(0);
+			}
+		}
+		return new MavenSettings(localRepository, mirrors, proxy, nonProxyHosts);
+	}
+
+	private static List<Pattern> parseNonProxyHosts(String nonProxyHosts) {
+		List<Pattern> patterns = new ArrayList<>();
+		if (nonProxyHosts != null) {
+			for (String nonProxyHost : nonProxyHosts.split("[|,]")) {
+				if (!nonProxyHost.trim().isEmpty()) {
+					String regex = Pattern.quote(nonProxyHost.trim().toLowerCase(Locale.ROOT)).replace("*", "\\E.*\\Q");
+					patterns.add(Pattern.compile(regex));
+				}
+			}
+		}
+		return patterns;
+	}
+}
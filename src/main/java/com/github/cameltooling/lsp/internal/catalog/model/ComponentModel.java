@@ -17,6 +17,7 @@
 package com.github.cameltooling.lsp.internal.catalog.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class ComponentModel {
@@ -162,7 +163,7 @@ public class ComponentModel {
 	}
 
 	public List<ComponentOptionModel> getComponentOptions() {
-		return componentOptions;
+		return Collections.unmodifiableList(componentOptions);
 	}
 
 	public void addComponentOption(ComponentOptionModel option) {
@@ -170,7 +171,7 @@ public class ComponentModel {
 	}
 
 	public List<EndpointOptionModel> getEndpointOptions() {
-		return endpointOptions;
+		return Collections.unmodifiableList(endpointOptions);
 	}
 
 	public void addEndpointOption(EndpointOptionModel option) {
@@ -186,7 +187,7 @@ public class ComponentModel {
 	}
 
 	public List<ApiOptionModel> getApis() {
-		return apiOptions;
+		return Collections.unmodifiableList(apiOptions);
 	}
 
 	public void addApiOption(ApiOptionModel option) {
@@ -194,7 +195,7 @@ public class ComponentModel {
 	}
 
 	public List<ApiPropertyOptionModel> getApiProperties() {
-		return apiPropertyOptions;
+		return Collections.unmodifiableList(apiPropertyOptions);
 	}
 	
 	public void addApiPropertyOptionModel(ApiPropertyOptionModel option) {
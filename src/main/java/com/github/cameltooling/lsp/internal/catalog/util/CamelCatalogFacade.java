@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.camel.catalog.CamelCatalog;
+
+/**
+ * Keeps track of the Camel catalog being loaded and of the last one which finished loading.
+ *
+ * Interactive requests are served with the last loaded catalog while a replacement is loading,
+ * instead of waiting for the new catalog. Once the replacement is loaded, the endpoint validation results
+ * of the replaced catalog are dropped.
+ */
+public class CamelCatalogFacade {
+
+	private CompletableFuture<CamelCatalog> latestCatalog;
+	private long latestSequence;
+	private CamelCatalog readyCatalog;
+	private long readySequence;
+
+	/**
+	 * @param catalog the catalog matching the latest configuration, possibly still loading
+	 */
+	public synchronized void setLatestCatalog(CompletableFuture<CamelCatalog> catalog) {
+		long sequence = ++latestSequence;
+		latestCatalog = catalog;
+		catalog.thenAccept(loadedCatalog -> onLoaded(sequence, loadedCatalog));
+	}
+
+	private synchronized void onLoaded(long sequence, CamelCatalog loadedCatalog) {
+		if (sequence > readySequence) {
+			CamelCatalog replacedCatalog = readyCatalog;
+			readySequence = sequence;
+			readyCatalog = loadedCatalog;
+			if (replacedCatalog != null && replacedCatalog != loadedCatalog) {
+				EndpointValidationCache.invalidate(replacedCatalog);
+			}
+		}
+	}
+
+	/**
+	 * @return the catalog matching the latest configuration, possibly still loading
+	 */
+	public synchronized CompletableFuture<CamelCatalog> getLatestCatalog() {
+		return latestCatalog;
+	}
+
+	/**
+	 * @return the latest catalog when it is loaded, otherwise the last catalog which finished loading.
+	 * 			When no catalog finished loading yet, the latest catalog.
+	 */
+	public synchronized CompletableFuture<CamelCatalog> getServedCatalog() {
+		if (readyCatalog == null || latestCatalog.isDone() && !latestCatalog.isCompletedExceptionally()) {
+			return latestCatalog;
+		}
+		return CompletableFuture.completedFuture(readyCatalog);
+	}
+
+	/**
+	 * @param catalog a catalog, possibly still loading
+	 * @return whether it is the catalog matching the latest configuration or the last catalog which finished loading
+	 */
+	public synchronized boolean isInUse(CompletableFuture<CamelCatalog> catalog) {
+		return catalog == latestCatalog
+				|| readyCatalog != null && catalog.isDone() && !catalog.isCompletedExceptionally() && catalog.join() == readyCatalog;
+	}
+
+	/**
+	 * @param catalog a catalog returned by {@link #getServedCatalog()}
+	 * @return whether it is the catalog matching the latest configuration
+	 */
+	public synchronized boolean isLatest(CompletableFuture<CamelCatalog> catalog) {
+		return catalog == latestCatalog;
+	}
+}
@@ -0,0 +1,261 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.VersionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+
+/**
+ * Keeps the most recently used Camel catalogs, so that switching back to a configuration
+ * used before does not reload the catalog, nor resolve its version again with Maven.
+ *
+ * The pool is bounded by a number of catalogs and also evicts the least recently used ones
+ * when the heap is still nearly full after a garbage collection. The requested catalog and the catalogs
+ * reported in use, for instance the one served while another configuration loads, are never evicted.
+ * The resources of a catalog, its version manager and its validation cache, are released when it leaves the pool.
+ */
+public class CamelCatalogPool {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CamelCatalogPool.class);
+
+	static final int DEFAULT_MAXIMUM_SIZE = 4;
+	static final double MAXIMUM_HEAP_USAGE_RATIO = 0.75;
+
+	/**
+	 * Identifies a catalog configuration: Camel version, runtime provider and extra components.
+	 */
+	public static final class Key {
+		private final String camelVersion;
+		private final String runtimeProvider;
+		private final String extraComponentsFingerprint;
+
+		private Key(String camelVersion, String runtimeProvider, String extraComponentsFingerprint) {
+			this.camelVersion = camelVersion;
+			this.runtimeProvider = runtimeProvider;
+			this.extraComponentsFingerprint = extraComponentsFingerprint;
+		}
+
+		public static Key of(String camelVersion, String runtimeProvider, List<Map<?,?>> extraComponents) {
+			return new Key(nullToEmpty(camelVersion), nullToEmpty(runtimeProvider), fingerprint(extraComponents));
+		}
+
+		private static String nullToEmpty(String value) {
+			return value != null ? value : "";
+		}
+
+		private static String fingerprint(List<Map<?,?>> extraComponents) {
+			if (extraComponents == null || extraComponents.isEmpty()) {
+				return "";
+			}
+			try {
+				byte[] digest = MessageDigest.getInstance("SHA-256").digest(new Gson().toJson(extraComponents).getBytes(StandardCharsets.UTF_8));
+				StringBuilder sb = new StringBuilder(digest.length * 2);
+				for (byte b : digest) {
+					sb.append(String.format("%02x", b));
+				}
+				return sb.toString();
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException("SHA-256 is not available", e);
+			}
+		}
+
+		public String getCamelVersion() {
+			return camelVersion;
+		}
+
+		public String getRuntimeProvider() {
+			return runtimeProvider;
+		}
+
+		public String getExtraComponentsFingerprint() {
+			return extraComponentsFingerprint;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(camelVersion, runtimeProvider, extraComponentsFingerprint);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return camelVersion.equals(other.camelVersion)
+					&& runtimeProvider.equals(other.runtimeProvider)
+					&& extraComponentsFingerprint.equals(other.extraComponentsFingerprint);
+		}
+
+		@Override
+		public String toString() {
+			return "version=" + camelVersion + ", runtimeProvider=" + runtimeProvider + ", extraComponents=" + extraComponentsFingerprint;
+		}
+	}
+
+	private final Map<Key, CompletableFuture<CamelCatalog>> catalogs = new LinkedHashMap<>(16, 0.75f, true);
+	private final int maximumSize;
+	private final BooleanSupplier memoryLow;
+	private final Predicate<CompletableFuture<CamelCatalog>> inUse;
+
+	public CamelCatalogPool() {
+		this(catalog -> false);
+	}
+
+	/**
+	 * @param inUse tells whether a pooled catalog is still in use, such catalogs are not evicted
+	 */
+	public CamelCatalogPool(Predicate<CompletableFuture<CamelCatalog>> inUse) {
+		this(DEFAULT_MAXIMUM_SIZE, CamelCatalogPool::isHeapNearlyFull, inUse);
+	}
+
+	CamelCatalogPool(int maximumSize, BooleanSupplier memoryLow) {
+		this(maximumSize, memoryLow, catalog -> false);
+	}
+
+	CamelCatalogPool(int maximumSize, BooleanSupplier memoryLow, Predicate<CompletableFuture<CamelCatalog>> inUse) {
+		this.maximumSize = maximumSize;
+		this.memoryLow = memoryLow;
+		this.inUse = inUse;
+	}
+
+	/**
+	 * @param key the configuration of the catalog
+	 * @param loader loads the catalog when it is not in the pool
+	 * @return the pooled catalog for this configuration, or the one provided by the loader.
+	 * 			A catalog which fails to load is not kept in the pool.
+	 */
+	public CompletableFuture<CamelCatalog> get(Key key, Supplier<CompletableFuture<CamelCatalog>> loader) {
+		return get(key, loader, catalog -> true);
+	}
+
+	/**
+	 * @param key the configuration of the catalog
+	 * @param loader loads the catalog when it is not in the pool
+	 * @param matchesKey tells whether a loaded catalog corresponds to the configuration of the key,
+	 * 			it is false for instance when the loader fell back to the bundled catalog
+	 * @return the pooled catalog for this configuration, or the one provided by the loader.
+	 * 			A catalog which fails to load or which does not match the key is not kept in the pool.
+	 */
+	public synchronized CompletableFuture<CamelCatalog> get(Key key, Supplier<CompletableFuture<CamelCatalog>> loader, Predicate<CamelCatalog> matchesKey) {
+		CompletableFuture<CamelCatalog> catalog = catalogs.get(key);
+		if (catalog == null || catalog.isCompletedExceptionally()) {
+			catalog = loader.get();
+			catalogs.put(key, catalog);
+			CompletableFuture<CamelCatalog> loadedCatalog = catalog;
+			catalog.whenComplete((result, error) -> {
+				if (error != null) {
+					remove(key, loadedCatalog);
+				} else if (!matchesKey.test(result)) {
+					LOGGER.debug("Camel catalog {} not kept in the pool, it does not match its configuration", key);
+					remove(key, loadedCatalog);
+				}
+			});
+			evict(key);
+		}
+		return catalog;
+	}
+
+	private synchronized void remove(Key key, CompletableFuture<CamelCatalog> catalog) {
+		catalogs.remove(key, catalog);
+	}
+
+	/**
+	 * Releases all pooled catalogs, it is expected to be called when the server shuts down.
+	 */
+	public synchronized void close() {
+		for (CompletableFuture<CamelCatalog> catalog : catalogs.values()) {
+			catalog.thenAccept(CamelCatalogPool::release);
+		}
+		catalogs.clear();
+	}
+
+	private static void release(CamelCatalog catalog) {
+		EndpointValidationCache.invalidate(catalog);
+		VersionManager versionManager = catalog.getVersionManager();
+		if (versionManager instanceof Closeable) {
+			try {
+				((Closeable) versionManager).close();
+			} catch (IOException e) {
+				LOGGER.debug("Cannot close the version manager of a Camel catalog", e);
+			}
+		}
+	}
+
+	private void evict(Key keptKey) {
+		Iterator<Map.Entry<Key, CompletableFuture<CamelCatalog>>> iterator = catalogs.entrySet().iterator();
+		while (catalogs.size() > 1 && iterator.hasNext() && (catalogs.size() > maximumSize || memoryLow.getAsBoolean())) {
+			Map.Entry<Key, CompletableFuture<CamelCatalog>> eldest = iterator.next();
+			if (!eldest.getKey().equals(keptKey) && !inUse.test(eldest.getValue())) {
+				LOGGER.debug("Evicting Camel catalog {} from the pool", eldest.getKey());
+				iterator.remove();
+				eldest.getValue().thenAccept(CamelCatalogPool::release);
+			}
+		}
+	}
+
+	/**
+	 * The usage of the heap pools after their last garbage collection is compared, instead of the current usage
+	 * which also counts the garbage not collected yet.
+	 */
+	private static boolean isHeapNearlyFull() {
+		for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (memoryPool.getType() == MemoryType.HEAP && memoryPool.isCollectionUsageThresholdSupported()
+					&& isNearlyFull(memoryPool.getCollectionUsage())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param collectionUsage the usage of a memory pool after its last garbage collection, null when not available
+	 */
+	static boolean isNearlyFull(MemoryUsage collectionUsage) {
+		return collectionUsage != null && collectionUsage.getMax() > 0 && collectionUsage.getUsed() > collectionUsage.getMax() * MAXIMUM_HEAP_USAGE_RATIO;
+	}
+
+	public synchronized int size() {
+		return catalogs.size();
+	}
+}
@@ -16,41 +16,136 @@
  */
 package com.github.cameltooling.lsp.internal.catalog.util;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.apache.camel.kafkaconnector.CamelSinkConnectorConfig;
+import org.apache.camel.kafkaconnector.CamelSourceConnectorConfig;
 import org.apache.camel.kafkaconnector.catalog.CamelKafkaConnectorCatalog;
 import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorModel;
+import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorOptionModel;
 import org.apache.kafka.common.config.ConfigDef;
-import org.eclipse.lsp4j.TextDocumentItem;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
 
 public class CamelKafkaConnectorCatalogManager {
 	
 	private static final String CAMEL_KAFKA_CONNECTOR_TYPE_SOURCE = "source";
-	private CamelKafkaConnectorCatalog catalog = new CamelKafkaConnectorCatalog();
-		
-	public CamelKafkaConnectorCatalog getCatalog() {
-		return catalog;
+	static final String SNAPSHOT_KEY = CamelKafkaConnectorCatalog.class.getPackage().getImplementationVersion();
+	private final CatalogSnapshotStore snapshotStore;
+	private volatile CamelKafkaConnectorCatalog catalog;
+	private volatile CamelKafkaConnectorIndex index;
+
+	public CamelKafkaConnectorCatalogManager() {
+		this(null);
+	}
+
+	/**
+	 * @param snapshotStore where the connector models of the bundled catalog are read from instead of loading the catalog,
+	 * 			and written to when there is no snapshot yet, null to always load the catalog
+	 */
+	public CamelKafkaConnectorCatalogManager(CatalogSnapshotStore snapshotStore) {
+		this.snapshotStore = snapshotStore;
+	}
+
+	/**
+	 * The catalog is loaded on first use, by {@link #warmUp()} when there is no snapshot, or when a connector is added or removed.
+	 * It is not exposed so that it is only modified through {@link #addConnector(String, String)} and {@link #removeConnector(String)},
+	 * which keep the index in sync.
+	 */
+	private CamelKafkaConnectorCatalog getCatalog() {
+		CamelKafkaConnectorCatalog result = catalog;
+		if (result == null) {
+			synchronized (this) {
+				result = catalog;
+				if (result == null) {
+					result = new CamelKafkaConnectorCatalog();
+					catalog = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Loads the catalog, or its snapshot, and builds its index.
+	 */
+	public void warmUp() {
+		getIndex();
 	}
 	
+	/**
+	 * Adds a connector to the catalog, connectors must be added through this method so that lookups are aware of it.
+	 */
+	public synchronized void addConnector(String connectorName, String connectorDefinitionAsJson) {
+		getCatalog().addConnector(connectorName, connectorDefinitionAsJson);
+		index = null;
+	}
+
+	public synchronized void removeConnector(String connectorName) {
+		getCatalog().removeConnector(connectorName);
+		index = null;
+	}
+
+	/**
+	 * @return the connector models of the catalog, unmodifiable
+	 */
+	public Collection<CamelKafkaConnectorModel> getConnectorModels() {
+		return getIndex().getConnectorModels();
+	}
+
 	public Optional<CamelKafkaConnectorModel> findConnectorModel(String connectorClass) {
-		return catalog.getConnectorsModel()
-				.values()
-				.stream()
-				.filter(connector -> connectorClass != null && connectorClass.equals(connector.getConnectorClass()))
-				.findAny();
+		return getIndex().findConnectorModel(connectorClass);
+	}
+
+	public Optional<CamelKafkaConnectorOptionModel> findOption(String connectorClass, String optionName) {
+		return getIndex().findOption(connectorClass, optionName);
+	}
+
+	private CamelKafkaConnectorIndex getIndex() {
+		CamelKafkaConnectorIndex result = index;
+		if (result == null) {
+			synchronized (this) {
+				result = index;
+				if (result == null) {
+					result = createIndex();
+					index = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Only the bundled catalog is stored in the snapshot store, once a connector is added or removed the catalog is loaded.
+	 */
+	private CamelKafkaConnectorIndex createIndex() {
+		if (catalog != null || snapshotStore == null || SNAPSHOT_KEY == null) {
+			return CamelKafkaConnectorIndex.of(getCatalog());
+		}
+		List<CamelKafkaConnectorModel> connectorModels = snapshotStore.readKafkaConnectorModels(SNAPSHOT_KEY);
+		if (connectorModels != null) {
+			return CamelKafkaConnectorIndex.of(connectorModels);
+		}
+		CamelKafkaConnectorIndex result = CamelKafkaConnectorIndex.of(getCatalog());
+		snapshotStore.writeKafkaConnectorModels(SNAPSHOT_KEY, result.getConnectorModels());
+		return result;
 	}
 
-	public ConfigDef retrieveBasicPropertiesConfigDef(TextDocumentItem textDocumentItem) {
+	/**
+	 * The basic configurations do not depend on the connectors, they are read without loading the catalog.
+	 */
+	public ConfigDef retrieveBasicPropertiesConfigDef(TextDocumentSnapshot textDocument) {
 		ConfigDef basicPropertiesConfigDef = null;
-		Optional<CamelKafkaConnectorModel> optional = findConnectorModel(new CamelKafkaUtil().findConnectorClass(textDocumentItem));
+		Optional<CamelKafkaConnectorModel> optional = findConnectorModel(new CamelKafkaUtil().findConnectorClass(textDocument));
 		if(optional.isPresent()) {
 			CamelKafkaConnectorModel model = optional.get();
 			if(CAMEL_KAFKA_CONNECTOR_TYPE_SOURCE.equals(model.getType())) {
-				basicPropertiesConfigDef = getCatalog().getBasicConfigurationForSource();
+				basicPropertiesConfigDef = CamelSourceConnectorConfig.conf();
 			} else {
-				basicPropertiesConfigDef = getCatalog().getBasicConfigurationForSink();
+				basicPropertiesConfigDef = CamelSinkConnectorConfig.conf();
 			}
 		}
 		return basicPropertiesConfigDef;
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.kafkaconnector.catalog.CamelKafkaConnectorCatalog;
+import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorModel;
+import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorOptionModel;
+import org.apache.camel.util.StringHelper;
+
+/**
+ * Hash based lookups over the Camel Kafka Connector catalog.
+ * 
+ * Connector models are listed and indexed by connector class when the index is created.
+ * Options of a connector are indexed on first access, by their camelCase name and by their dashed form.
+ */
+public final class CamelKafkaConnectorIndex {
+
+	private final Collection<CamelKafkaConnectorModel> connectors;
+	private final Map<String, CamelKafkaConnectorModel> connectorsByClass;
+	private final Map<String, Map<String, CamelKafkaConnectorOptionModel>> optionIndexes = new ConcurrentHashMap<>();
+
+	private CamelKafkaConnectorIndex(Collection<CamelKafkaConnectorModel> connectors, Map<String, CamelKafkaConnectorModel> connectorsByClass) {
+		this.connectors = Collections.unmodifiableCollection(connectors);
+		this.connectorsByClass = connectorsByClass;
+	}
+
+	public static CamelKafkaConnectorIndex of(CamelKafkaConnectorCatalog catalog) {
+		return of(catalog.getConnectorsModel().values());
+	}
+
+	/**
+	 * @param connectorModels the connector models, for instance read from a snapshot of the catalog
+	 * @return the index of the connectors
+	 */
+	public static CamelKafkaConnectorIndex of(Collection<CamelKafkaConnectorModel> connectorModels) {
+		Map<String, CamelKafkaConnectorModel> connectorsByClass = new HashMap<>();
+		for (CamelKafkaConnectorModel connectorModel : connectorModels) {
+			if (connectorModel.getConnectorClass() != null) {
+				connectorsByClass.putIfAbsent(connectorModel.getConnectorClass(), connectorModel);
+			}
+		}
+		return new CamelKafkaConnectorIndex(new ArrayList<>(connectorModels), connectorsByClass);
+	}
+
+	/**
+	 * @return the connector models of the catalog when the index was created
+	 */
+	public Collection<CamelKafkaConnectorModel> getConnectorModels() {
+		return connectors;
+	}
+
+	public Optional<CamelKafkaConnectorModel> findConnectorModel(String connectorClass) {
+		if (connectorClass == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(connectorsByClass.get(connectorClass));
+	}
+
+	/**
+	 * @param connectorClass the connector class
+	 * @param optionName the full name of the option, for instance camel.sink.path.timerName, either in camelCase or in dashed form
+	 * @return the option model of the connector, empty if the connector or the option is unknown
+	 */
+	public Optional<CamelKafkaConnectorOptionModel> findOption(String connectorClass, String optionName) {
+		if (optionName == null) {
+			return Optional.empty();
+		}
+		Map<String, CamelKafkaConnectorOptionModel> options = getOptionIndex(connectorClass);
+		CamelKafkaConnectorOptionModel option = options.get(optionName);
+		if (option == null) {
+			option = options.get(StringUtils.dashToCamelCase(optionName));
+		}
+		return Optional.ofNullable(option);
+	}
+
+	private Map<String, CamelKafkaConnectorOptionModel> getOptionIndex(String connectorClass) {
+		Optional<CamelKafkaConnectorModel> connectorModel = findConnectorModel(connectorClass);
+		if (!connectorModel.isPresent()) {
+			return Collections.emptyMap();
+		}
+		return optionIndexes.computeIfAbsent(connectorClass, key -> createOptionIndex(connectorModel.get()));
+	}
+
+	private static Map<String, CamelKafkaConnectorOptionModel> createOptionIndex(CamelKafkaConnectorModel connectorModel) {
+		Map<String, CamelKafkaConnectorOptionModel> options = new HashMap<>();
+		for (CamelKafkaConnectorOptionModel option : connectorModel.getOptions()) {
+			options.putIfAbsent(option.getName(), option);
+		}
+		for (CamelKafkaConnectorOptionModel option : connectorModel.getOptions()) {
+			options.putIfAbsent(StringHelper.camelCaseToDash(option.getName()), option);
+		}
+		return options;
+	}
+}
@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.apache.camel.tooling.model.MainModel;
+import org.apache.camel.tooling.model.MainModel.MainGroupModel;
+import org.apache.camel.tooling.model.MainModel.MainOptionModel;
+import org.apache.camel.util.StringHelper;
+
+import com.google.gson.Gson;
+
+/**
+ * Camel Main model of a Camel catalog, loaded once per catalog instance.
+ * 
+ * Options are indexed by name in camelCase and in dashed notation, and grouped by their prefix,
+ * for instance "camel.main." or "camel.health.".
+ */
+public final class CamelMainOptionIndex {
+
+	private static final Map<CamelCatalog, CamelMainOptionIndex> INDEXES = new WeakHashMap<>();
+
+	private static final class Content {
+		private final MainModel mainModel;
+		private final PrefixIndex<MainOptionModel> optionsByName;
+		private final PrefixIndex<MainOptionModel> optionsByDashedName;
+		private final Map<String, List<MainOptionModel>> optionsByGroupPrefix = new HashMap<>();
+
+		private Content(MainModel mainModel) {
+			this.mainModel = mainModel;
+			List<MainOptionModel> options = mainModel.getOptions() != null ? mainModel.getOptions() : Collections.emptyList();
+			this.optionsByName = PrefixIndex.of(options, MainOptionModel::getName);
+			this.optionsByDashedName = PrefixIndex.of(options, option -> StringHelper.camelCaseToDash(option.getName()));
+			for (MainOptionModel option : options) {
+				optionsByGroupPrefix.computeIfAbsent(getGroupPrefix(option.getName()), key -> new ArrayList<>()).add(option);
+			}
+		}
+	}
+
+	private volatile Content content;
+
+	private CamelMainOptionIndex() {
+	}
+
+	public static CamelMainOptionIndex of(CamelCatalog camelCatalog) {
+		return of(camelCatalog, null, null);
+	}
+
+	/**
+	 * @param camelCatalog the catalog
+	 * @param snapshotStore where the Camel Main model is read from, and written to when there is no snapshot yet
+	 * @param snapshotKey identifies the content of the catalog in the snapshot store
+	 * @return the index of the catalog
+	 */
+	public static CamelMainOptionIndex of(CamelCatalog camelCatalog, CatalogSnapshotStore snapshotStore, String snapshotKey) {
+		CamelMainOptionIndex index;
+		synchronized (INDEXES) {
+			index = INDEXES.computeIfAbsent(camelCatalog, catalog -> new CamelMainOptionIndex());
+		}
+		index.build(camelCatalog, snapshotStore, snapshotKey);
+		return index;
+	}
+
+	private void build(CamelCatalog camelCatalog, CatalogSnapshotStore snapshotStore, String snapshotKey) {
+		if (content == null) {
+			synchronized (this) {
+				if (content == null) {
+					MainModel mainModel = snapshotStore != null ? snapshotStore.readMainModel(snapshotKey) : null;
+					if (mainModel == null) {
+						mainModel = loadMainModel(camelCatalog);
+						if (snapshotStore != null) {
+							snapshotStore.writeMainModel(snapshotKey, mainModel);
+						}
+					}
+					content = new Content(mainModel);
+				}
+			}
+		}
+	}
+
+	private static MainModel loadMainModel(CamelCatalog camelCatalog) {
+		if (camelCatalog instanceof DefaultCamelCatalog) {
+			return ((DefaultCamelCatalog) camelCatalog).mainModel();
+		}
+		return new Gson().fromJson(camelCatalog.mainJsonSchema(), MainModel.class);
+	}
+
+	/**
+	 * @param optionName a full option name, for instance "camel.main.autoStartup"
+	 * @return the prefix of the group, composed of the two first segments, for instance "camel.main."
+	 */
+	static String getGroupPrefix(String optionName) {
+		int firstDot = optionName.indexOf('.');
+		int secondDot = firstDot != -1 ? optionName.indexOf('.', firstDot + 1) : -1;
+		return secondDot != -1 ? optionName.substring(0, secondDot + 1) : optionName;
+	}
+
+	public List<MainGroupModel> getGroups() {
+		List<MainGroupModel> groups = content.mainModel.getGroups();
+		return groups != null ? groups : Collections.emptyList();
+	}
+
+	/**
+	 * @param namePrefix the start of the full option name, for instance "camel.main.auto"
+	 * @return the options with a name starting with the prefix, in the order of the catalog
+	 */
+	public List<MainOptionModel> findOptions(String namePrefix) {
+		return content.optionsByName.findByPrefix(namePrefix);
+	}
+
+	/**
+	 * @param dashedNamePrefix the start of the full option name in dashed notation, for instance "camel.main.auto-st"
+	 * @return the options with a dashed name starting with the prefix, in the order of the catalog
+	 */
+	public List<MainOptionModel> findOptionsByDashedName(String dashedNamePrefix) {
+		return content.optionsByDashedName.findByPrefix(dashedNamePrefix);
+	}
+
+	/**
+	 * @param groupPrefix the prefix of the group ending with a dot, for instance "camel.main."
+	 * @return the options of this group, in the order of the catalog
+	 */
+	public List<MainOptionModel> getGroupOptions(String groupPrefix) {
+		return content.optionsByGroupPrefix.getOrDefault(groupPrefix, Collections.emptyList());
+	}
+}
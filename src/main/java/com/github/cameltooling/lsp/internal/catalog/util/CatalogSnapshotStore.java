@@ -0,0 +1,318 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorModel;
+import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorOptionModel;
+import org.apache.camel.tooling.model.MainModel;
+import org.apache.camel.tooling.model.MainModel.MainGroupModel;
+import org.apache.camel.tooling.model.MainModel.MainOptionModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ApiOptionMethodDescriptorModel;
+import com.github.cameltooling.lsp.internal.catalog.model.ApiOptionMethodsModel;
+import com.github.cameltooling.lsp.internal.catalog.model.ApiOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.model.ApiPropertyMethodOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.model.ApiPropertyOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.model.BaseOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletDescriptor;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletPropertyDescriptor;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.ToNumberPolicy;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Stores the models of the catalogs on disk, so that the next start of the language server
+ * reads one file per catalog instead of deserializing the JSON schema of every component, Kafka connector or Kamelet.
+ *
+ * A snapshot file starts with a format version, the kind and key of the catalog and the SHA-256 of the payload,
+ * followed by the models as gzipped JSON. The SHA-256 only detects truncated or corrupted files:
+ * the payload is read into the model classes and nothing else, so a snapshot cannot instantiate other types.
+ * A snapshot which does not match is ignored and rebuilt.
+ */
+public class CatalogSnapshotStore {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CatalogSnapshotStore.class);
+
+	public static final String CACHE_DIRECTORY_PROPERTY = "camel.language.server.cache.directory";
+	static final int FORMAT_VERSION = 3;
+	static final String COMPONENTS_KIND = "components";
+	static final String MAIN_KIND = "main";
+	static final String KAFKA_CONNECTORS_KIND = "kafka-connectors";
+	static final String KAMELETS_KIND = "kamelets";
+	private static final int MAGIC = 0xCA3E15C0;
+	private static final List<Class<?>> MODEL_CLASSES = Arrays.asList(
+			ComponentModel.class,
+			BaseOptionModel.class,
+			ComponentOptionModel.class,
+			EndpointOptionModel.class,
+			ApiOptionModel.class,
+			ApiOptionMethodsModel.class,
+			ApiOptionMethodDescriptorModel.class,
+			ApiPropertyOptionModel.class,
+			ApiPropertyMethodOptionModel.class,
+			MainModel.class,
+			MainGroupModel.class,
+			MainOptionModel.class,
+			org.apache.camel.tooling.model.BaseOptionModel.class,
+			CamelKafkaConnectorModel.class,
+			CamelKafkaConnectorOptionModel.class,
+			KameletDescriptor.class,
+			KameletPropertyDescriptor.class);
+	private static final String SERVER_VERSION = getServerVersion(CatalogSnapshotStore.class.getPackage().getImplementationVersion());
+	private static final Type COMPONENT_MODELS_TYPE = new TypeToken<LinkedHashMap<String, ComponentModel>>() {}.getType();
+	private static final Type KAFKA_CONNECTOR_MODELS_TYPE = new TypeToken<ArrayList<CamelKafkaConnectorModel>>() {}.getType();
+	private static final Type KAMELETS_TYPE = new TypeToken<ArrayList<KameletDescriptor>>() {}.getType();
+	/**
+	 * The default values of the options are kept as read from the catalog: strings, booleans and big decimals.
+	 */
+	private static final Gson GSON = new GsonBuilder()
+			.serializeNulls()
+			.setObjectToNumberStrategy(ToNumberPolicy.BIG_DECIMAL)
+			.create();
+
+	private final Path directory;
+
+	public CatalogSnapshotStore(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * @return a store in the default cache directory
+	 */
+	public static CatalogSnapshotStore createDefault() {
+		return new CatalogSnapshotStore(getDefaultCacheDirectory());
+	}
+
+	/**
+	 * @return the directory provided by the {@value #CACHE_DIRECTORY_PROPERTY} system property,
+	 * 			or else the camel-language-server directory of the user cache directory
+	 */
+	public static Path getDefaultCacheDirectory() {
+		String configuredDirectory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+		if (configuredDirectory != null && !configuredDirectory.isEmpty()) {
+			return Paths.get(configuredDirectory);
+		}
+		String xdgCacheHome = System.getenv("XDG_CACHE_HOME");
+		Path cacheHome = xdgCacheHome != null && !xdgCacheHome.isEmpty() ? Paths.get(xdgCacheHome) : Paths.get(System.getProperty("user.home"), ".cache");
+		return cacheHome.resolve("camel-language-server");
+	}
+
+	/**
+	 * @param key identifies the catalog content
+	 * @return the component models by component name stored for this key, null if there is no valid snapshot
+	 */
+	public Map<String, ComponentModel> readComponentModels(String key) {
+		return read(COMPONENTS_KIND, key, COMPONENT_MODELS_TYPE);
+	}
+
+	/**
+	 * @param key identifies the catalog content
+	 * @param componentModels the models to store, by component name
+	 */
+	public void writeComponentModels(String key, Map<String, ComponentModel> componentModels) {
+		write(COMPONENTS_KIND, key, componentModels, COMPONENT_MODELS_TYPE);
+	}
+
+	/**
+	 * @param key identifies the catalog content
+	 * @return the Camel Main model stored for this key, null if there is no valid snapshot
+	 */
+	public MainModel readMainModel(String key) {
+		return read(MAIN_KIND, key, MainModel.class);
+	}
+
+	public void writeMainModel(String key, MainModel mainModel) {
+		write(MAIN_KIND, key, mainModel, MainModel.class);
+	}
+
+	/**
+	 * @param key identifies the Camel Kafka Connector catalog
+	 * @return the connector models stored for this key, null if there is no valid snapshot
+	 */
+	public List<CamelKafkaConnectorModel> readKafkaConnectorModels(String key) {
+		return read(KAFKA_CONNECTORS_KIND, key, KAFKA_CONNECTOR_MODELS_TYPE);
+	}
+
+	public void writeKafkaConnectorModels(String key, Collection<CamelKafkaConnectorModel> connectorModels) {
+		write(KAFKA_CONNECTORS_KIND, key, new ArrayList<>(connectorModels), KAFKA_CONNECTOR_MODELS_TYPE);
+	}
+
+	/**
+	 * @param key identifies the Kamelets catalog
+	 * @return the prepared Kamelets stored for this key, null if there is no valid snapshot
+	 */
+	public List<KameletDescriptor> readKamelets(String key) {
+		return read(KAMELETS_KIND, key, KAMELETS_TYPE);
+	}
+
+	public void writeKamelets(String key, Collection<KameletDescriptor> kamelets) {
+		write(KAMELETS_KIND, key, new ArrayList<>(kamelets), KAMELETS_TYPE);
+	}
+
+	private <T> T read(String kind, String key, Type type) {
+		Path snapshotFile = getSnapshotFile(kind, key);
+		if (!Files.isRegularFile(snapshotFile)) {
+			return null;
+		}
+		try (DataInputStream input = new DataInputStream(Files.newInputStream(snapshotFile))) {
+			if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION || !qualify(kind, key).equals(input.readUTF())) {
+				LOGGER.debug("Ignoring outdated catalog snapshot {}", snapshotFile);
+				return null;
+			}
+			byte[] expectedHash = new byte[32];
+			input.readFully(expectedHash);
+			byte[] payload = new byte[input.readInt()];
+			input.readFully(payload);
+			if (!MessageDigest.isEqual(expectedHash, sha256(payload))) {
+				LOGGER.warn("Ignoring corrupted catalog snapshot {}", snapshotFile);
+				return null;
+			}
+			return deserialize(payload, type);
+		} catch (IOException | JsonParseException e) {
+			LOGGER.warn("Cannot read catalog snapshot {}", snapshotFile, e);
+			return null;
+		}
+	}
+
+	private void write(String kind, String key, Object content, Type type) {
+		Path snapshotFile = getSnapshotFile(kind, key);
+		try {
+			byte[] payload = serialize(content, type);
+			Files.createDirectories(directory);
+			Path temporaryFile = Files.createTempFile(directory, "catalog-", ".tmp");
+			try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(temporaryFile))) {
+				output.writeInt(MAGIC);
+				output.writeInt(FORMAT_VERSION);
+				output.writeUTF(qualify(kind, key));
+				output.write(sha256(payload));
+				output.writeInt(payload.length);
+				output.write(payload);
+			}
+			try {
+				Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Cannot write catalog snapshot {}", snapshotFile, e);
+		}
+	}
+
+	/**
+	 * The models of a same catalog can change with the language server version.
+	 */
+	private String qualify(String kind, String key) {
+		return kind + "|" + key + "|" + SERVER_VERSION;
+	}
+
+	/**
+	 * @param implementationVersion the version of the language server package, null when it is not packaged in a jar
+	 * @return the implementation version, or else a hash of the fields of the model classes
+	 */
+	static String getServerVersion(String implementationVersion) {
+		if (implementationVersion != null) {
+			return implementationVersion;
+		}
+		StringBuilder modelStructure = new StringBuilder();
+		for (Class<?> modelClass : MODEL_CLASSES) {
+			modelStructure.append(modelClass.getName()).append(':').append(modelClass.getSuperclass().getName()).append('{');
+			Arrays.stream(modelClass.getDeclaredFields())
+				.filter(field -> !Modifier.isStatic(field.getModifiers()))
+				.sorted(Comparator.comparing(Field::getName))
+				.forEach(field -> modelStructure.append(field.getName()).append('=').append(field.getGenericType().getTypeName()).append(';'));
+			modelStructure.append('}');
+		}
+		return "model-" + toHex(sha256(modelStructure.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	Path getSnapshotFile(String kind, String key) {
+		return directory.resolve(kind + "-" + toHex(sha256(qualify(kind, key).getBytes(StandardCharsets.UTF_8))) + ".bin");
+	}
+
+	private byte[] serialize(Object content, Type type) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (Writer output = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+			GSON.toJson(content, type, output);
+		}
+		return bytes.toByteArray();
+	}
+
+	private <T> T deserialize(byte[] payload, Type type) throws IOException {
+		try (Reader input = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(payload)), StandardCharsets.UTF_8)) {
+			T content = GSON.fromJson(input, type);
+			if (content == null) {
+				throw new JsonParseException("Empty catalog snapshot");
+			}
+			return content;
+		}
+	}
+
+	private static byte[] sha256(byte[] content) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(content);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder();
+		for (byte b : bytes) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+}
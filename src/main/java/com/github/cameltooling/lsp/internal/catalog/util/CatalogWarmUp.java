@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.progress.WorkDoneProgressReporter;
+
+/**
+ * Loads and indexes the catalogs in parallel when the server starts,
+ * so that the first completion does not pay the loading cost.
+ *
+ * Each step returns a future, steps are started together and are expected to run on a background executor.
+ * A step which fails is logged and does not prevent the others to complete.
+ */
+public class CatalogWarmUp {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CatalogWarmUp.class);
+
+	public enum Readiness {
+		NOT_STARTED,
+		WARMING_UP,
+		READY
+	}
+
+	private static final class Step {
+		private final String name;
+		private final Supplier<CompletableFuture<?>> loader;
+		private CompletableFuture<Long> loadTime;
+
+		private Step(String name, Supplier<CompletableFuture<?>> loader) {
+			this.name = name;
+			this.loader = loader;
+		}
+	}
+
+	private final List<Step> steps = new ArrayList<>();
+	private final Map<String, Long> loadTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+	private final CompletableFuture<Void> ready = new CompletableFuture<>();
+	private volatile Readiness readiness = Readiness.NOT_STARTED;
+
+	/**
+	 * @param name the name of the catalog, used in progress messages
+	 * @param loader starts loading and indexing the catalog
+	 * @return this warm-up
+	 */
+	public synchronized CatalogWarmUp addStep(String name, Supplier<CompletableFuture<?>> loader) {
+		if (readiness != Readiness.NOT_STARTED) {
+			throw new IllegalStateException("Cannot add a step to a started warm-up");
+		}
+		steps.add(new Step(name, loader));
+		return this;
+	}
+
+	/**
+	 * Starts all steps, calling it again has no effect.
+	 *
+	 * @return a future completed when all steps are done
+	 */
+	public synchronized CompletableFuture<Void> start() {
+		if (readiness != Readiness.NOT_STARTED) {
+			return ready;
+		}
+		readiness = Readiness.WARMING_UP;
+		long start = System.nanoTime();
+		List<CompletableFuture<Long>> loadTimeFutures = new ArrayList<>();
+		for (Step step : steps) {
+			step.loadTime = startStep(step).thenApply(result -> {
+				long loadTime = (System.nanoTime() - start) / 1_000_000;
+				loadTimes.put(step.name, loadTime);
+				LOGGER.info("{} ready after {} ms", step.name, loadTime);
+				return loadTime;
+			});
+			loadTimeFutures.add(step.loadTime.handle((loadTime, error) -> {
+				if (error != null) {
+					LOGGER.warn("Cannot warm up {}", step.name, error);
+				}
+				return loadTime;
+			}));
+		}
+		CompletableFuture.allOf(loadTimeFutures.toArray(new CompletableFuture[0])).thenRun(() -> {
+			readiness = Readiness.READY;
+			ready.complete(null);
+		});
+		return ready;
+	}
+
+	private CompletableFuture<?> startStep(Step step) {
+		try {
+			return step.loader.get();
+		} catch (RuntimeException e) {
+			CompletableFuture<?> failure = new CompletableFuture<>();
+			failure.completeExceptionally(e);
+			return failure;
+		}
+	}
+
+	/**
+	 * Reports the steps of a started warm-up, the steps already done are reported immediately.
+	 * The progress is ended when all steps are done.
+	 *
+	 * @param progress a progress begun by the caller
+	 */
+	public void reportTo(WorkDoneProgressReporter progress) {
+		List<Step> startedSteps;
+		synchronized (this) {
+			if (readiness == Readiness.NOT_STARTED) {
+				throw new IllegalStateException("The warm-up is not started");
+			}
+			startedSteps = new ArrayList<>(steps);
+		}
+		AtomicInteger doneSteps = new AtomicInteger();
+		List<CompletableFuture<Void>> reports = new ArrayList<>();
+		for (Step step : startedSteps) {
+			reports.add(step.loadTime.handle((loadTime, error) -> {
+				int percentage = doneSteps.incrementAndGet() * 100 / startedSteps.size();
+				progress.report(error != null ? "Cannot load " + step.name : step.name + " loaded in " + loadTime + " ms", percentage);
+				return null;
+			}));
+		}
+		CompletableFuture.allOf(reports.toArray(new CompletableFuture[0])).thenRun(() -> progress.end("Catalogs loaded"));
+	}
+
+	public Readiness getReadiness() {
+		return readiness;
+	}
+
+	/**
+	 * @return a future completed when all steps are done, successfully or not
+	 */
+	public CompletableFuture<Void> whenReady() {
+		return ready;
+	}
+
+	/**
+	 * @return the time in milliseconds between the start of the warm-up and the end of each successful step
+	 */
+	public Map<String, Long> getLoadTimes() {
+		synchronized (loadTimes) {
+			return new LinkedHashMap<>(loadTimes);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.util.StringHelper;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
+
+/**
+ * Component models of a Camel catalog, deserialized once from the JSON schemas.
+ *
+ * There is one index per catalog instance, built on first access or when the catalog is loaded.
+ * It is dropped with the catalog, so replacing the catalog future also replaces the index.
+ * The models are shared, they must not be modified.
+ *
+ * Schemes and option names are also available through {@link PrefixIndex} so that completion
+ * only builds items for the candidates matching what the user typed.
+ */
+public final class ComponentModelIndex {
+
+	private static final Map<CamelCatalog, ComponentModelIndex> INDEXES = new WeakHashMap<>();
+	private static final ComponentModel EMPTY_COMPONENT_MODEL = new ComponentModel();
+
+	private final Map<String, PrefixIndex<EndpointOptionModel>> endpointOptionIndexes = new ConcurrentHashMap<>();
+	private final Map<String, PrefixIndex<ComponentOptionModel>> componentOptionIndexes = new ConcurrentHashMap<>();
+	private final Map<String, PrefixIndex<ComponentOptionModel>> dashedComponentOptionIndexes = new ConcurrentHashMap<>();
+	private PrefixIndex<ComponentModel> componentsBySyntax;
+	private PrefixIndex<ComponentModel> componentsByScheme;
+	private volatile Map<String, ComponentModel> componentModels;
+
+	private ComponentModelIndex() {
+	}
+
+	public static ComponentModelIndex of(CamelCatalog camelCatalog) {
+		return of(camelCatalog, null, null);
+	}
+
+	/**
+	 * @param camelCatalog the catalog
+	 * @param snapshotStore where the models are read from, and written to when there is no snapshot yet
+	 * @param snapshotKey identifies the content of the catalog in the snapshot store
+	 * @return the index of the catalog
+	 */
+	public static ComponentModelIndex of(CamelCatalog camelCatalog, CatalogSnapshotStore snapshotStore, String snapshotKey) {
+		ComponentModelIndex index;
+		synchronized (INDEXES) {
+			index = INDEXES.computeIfAbsent(camelCatalog, catalog -> new ComponentModelIndex());
+		}
+		index.build(camelCatalog, snapshotStore, snapshotKey);
+		return index;
+	}
+
+	private void build(CamelCatalog camelCatalog, CatalogSnapshotStore snapshotStore, String snapshotKey) {
+		if (componentModels == null) {
+			synchronized (this) {
+				if (componentModels == null) {
+					Map<String, ComponentModel> models = snapshotStore != null ? snapshotStore.readComponentModels(snapshotKey) : null;
+					if (models == null) {
+						models = generateComponentModels(camelCatalog);
+						if (snapshotStore != null) {
+							snapshotStore.writeComponentModels(snapshotKey, models);
+						}
+					}
+					componentsBySyntax = PrefixIndex.of(models.values(), ComponentModel::getSyntax);
+					componentsByScheme = PrefixIndex.of(models.values(), ComponentModel::getScheme);
+					componentModels = Collections.unmodifiableMap(models);
+				}
+			}
+		}
+	}
+
+	private static Map<String, ComponentModel> generateComponentModels(CamelCatalog camelCatalog) {
+		Map<String, ComponentModel> models = new LinkedHashMap<>();
+		for (String componentName : camelCatalog.findComponentNames()) {
+			models.put(componentName, ModelHelper.generateComponentModel(camelCatalog.componentJSonSchema(componentName), true));
+		}
+		return models;
+	}
+
+	/**
+	 * @return the models of all components, in the order of the catalog
+	 */
+	public Collection<ComponentModel> getComponentModels() {
+		return componentModels.values();
+	}
+
+	/**
+	 * @param componentName the name of the component, i.e. the scheme
+	 * @return the model of the component, null if the catalog does not contain it
+	 */
+	public ComponentModel getComponentModel(String componentName) {
+		return componentName != null ? componentModels.get(componentName) : null;
+	}
+
+	/**
+	 * @param componentName the name of the component, i.e. the scheme
+	 * @return the model of the component, a model without option if the catalog does not contain it
+	 */
+	public ComponentModel getComponentModelOrEmpty(String componentName) {
+		ComponentModel componentModel = getComponentModel(componentName);
+		return componentModel != null ? componentModel : EMPTY_COMPONENT_MODEL;
+	}
+
+	/**
+	 * @param syntaxPrefix the start of the component syntax, for instance "tim" for "timer:timerName"
+	 * @return the matching component models, in the order of the catalog
+	 */
+	public List<ComponentModel> findComponentModelsBySyntax(String syntaxPrefix) {
+		return componentsBySyntax.findByPrefix(syntaxPrefix);
+	}
+
+	/**
+	 * @param schemePrefix the start of the component scheme
+	 * @return the matching component models, in the order of the catalog
+	 */
+	public List<ComponentModel> findComponentModelsByScheme(String schemePrefix) {
+		return componentsByScheme.findByPrefix(schemePrefix);
+	}
+
+	/**
+	 * @param componentName the name of the component
+	 * @param namePrefix the start of the option name
+	 * @return the endpoint options of the component with a name starting with the prefix, empty if the component is unknown
+	 */
+	public List<EndpointOptionModel> findEndpointOptions(String componentName, String namePrefix) {
+		ComponentModel componentModel = getComponentModelOrEmpty(componentName);
+		if (componentModel == EMPTY_COMPONENT_MODEL) {
+			return Collections.emptyList();
+		}
+		return endpointOptionIndexes
+				.computeIfAbsent(componentName, name -> PrefixIndex.of(componentModel.getEndpointOptions(), EndpointOptionModel::getName))
+				.findByPrefix(namePrefix);
+	}
+
+	/**
+	 * @param componentName the name of the component
+	 * @param namePrefix the start of the option name
+	 * @param dashedCase whether the prefix is written in dashed case, for instance "bridge-error-handler"
+	 * @return the component options of the component with a name starting with the prefix, empty if the component is unknown
+	 */
+	public List<ComponentOptionModel> findComponentOptions(String componentName, String namePrefix, boolean dashedCase) {
+		ComponentModel componentModel = getComponentModelOrEmpty(componentName);
+		if (componentModel == EMPTY_COMPONENT_MODEL) {
+			return Collections.emptyList();
+		}
+		if (dashedCase) {
+			return dashedComponentOptionIndexes
+					.computeIfAbsent(componentName, name -> PrefixIndex.of(componentModel.getComponentOptions(), option -> StringHelper.camelCaseToDash(option.getName())))
+					.findByPrefix(namePrefix);
+		}
+		return componentOptionIndexes
+				.computeIfAbsent(componentName, name -> PrefixIndex.of(componentModel.getComponentOptions(), ComponentOptionModel::getName))
+				.findByPrefix(namePrefix);
+	}
+}
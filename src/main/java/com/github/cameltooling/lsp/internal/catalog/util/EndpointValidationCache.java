@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.EndpointValidationResult;
+
+/**
+ * Memoizes the validation of endpoint URIs.
+ *
+ * There is one cache per Camel catalog instance. A catalog instance is created for a single combination of
+ * Camel version, runtime provider and extra components, so the instance identity is the identity of the catalog content.
+ * Only the URIs which were not validated yet with this catalog are sent to it, each cache keeps the most recently used ones.
+ */
+public final class EndpointValidationCache {
+
+	static final int MAXIMUM_SIZE = 2048;
+
+	private static final Map<CamelCatalog, Map<String, EndpointValidationResult>> CACHES = new WeakHashMap<>();
+
+	private EndpointValidationCache() {
+		// Utility class
+	}
+
+	/**
+	 * @param camelCatalog the catalog used to validate
+	 * @param uri the endpoint URI
+	 * @return the result of the non-lenient validation of the URI. It is shared, it must not be modified.
+	 */
+	public static EndpointValidationResult validateEndpointProperties(CamelCatalog camelCatalog, String uri) {
+		Map<String, EndpointValidationResult> validationResults = getValidationResults(camelCatalog);
+		EndpointValidationResult validationResult = validationResults.get(uri);
+		if (validationResult == null) {
+			validationResult = camelCatalog.validateEndpointProperties(uri, false);
+			validationResults.put(uri, validationResult);
+		}
+		return validationResult;
+	}
+
+	/**
+	 * Drops the validation results of a catalog which is not used anymore.
+	 *
+	 * @param camelCatalog the replaced catalog
+	 */
+	public static void invalidate(CamelCatalog camelCatalog) {
+		synchronized (CACHES) {
+			CACHES.remove(camelCatalog);
+		}
+	}
+
+	static int size(CamelCatalog camelCatalog) {
+		return getValidationResults(camelCatalog).size();
+	}
+
+	private static Map<String, EndpointValidationResult> getValidationResults(CamelCatalog camelCatalog) {
+		synchronized (CACHES) {
+			return CACHES.computeIfAbsent(camelCatalog, catalog -> Collections.synchronizedMap(new LinkedHashMap<String, EndpointValidationResult>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, EndpointValidationResult> eldest) {
+					return size() > MAXIMUM_SIZE;
+				}
+			}));
+		}
+	}
+}
@@ -0,0 +1,242 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.apache.camel.kamelets.catalog.KameletsCatalog;
+import org.apache.camel.kamelets.catalog.model.KameletTypeEnum;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.fabric8.camelk.v1alpha1.Kamelet;
+import io.fabric8.kubernetes.api.model.apiextensions.v1.JSONSchemaProps;
+
+/**
+ * Kamelets of a catalog, prepared once for completion and hover.
+ * 
+ * Kamelets are indexed by template id, with the description and properties needed by the language features,
+ * and template ids of sources and sinks are indexed by prefix.
+ */
+public final class KameletsCatalogIndex {
+
+	public static final class KameletDescriptor {
+		private final String templateId;
+		private final String type;
+		private final String description;
+		private final Map<String, KameletPropertyDescriptor> properties;
+
+		private KameletDescriptor(String templateId, String type, String description, Map<String, KameletPropertyDescriptor> properties) {
+			this.templateId = templateId;
+			this.type = type;
+			this.description = description;
+			this.properties = properties;
+		}
+
+		public String getTemplateId() {
+			return templateId;
+		}
+
+		/**
+		 * @return the value of the Kamelet type label, for instance source or sink, null if not specified
+		 */
+		public String getType() {
+			return type;
+		}
+
+		public String getDescription() {
+			return description;
+		}
+
+		public Collection<KameletPropertyDescriptor> getProperties() {
+			return properties.values();
+		}
+
+		public Optional<KameletPropertyDescriptor> getProperty(String name) {
+			return Optional.ofNullable(properties.get(name));
+		}
+	}
+
+	public static final class KameletPropertyDescriptor {
+		private final String name;
+		private final String description;
+		private final String type;
+		private final String insertText;
+
+		private KameletPropertyDescriptor(String name, JSONSchemaProps schema) {
+			this.name = name;
+			this.description = schema.getDescription();
+			this.type = schema.getType();
+			this.insertText = computeInsertText(name, schema);
+		}
+
+		private static String computeInsertText(String propertyName, JSONSchemaProps schema) {
+			JsonNode defaultValue = schema.getDefault();
+			String insertText = propertyName + "=";
+			if(defaultValue != null && defaultValue.isValueNode()) {
+				insertText += defaultValue.asText();
+			}
+			return insertText;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getDescription() {
+			return description;
+		}
+
+		/**
+		 * @return the JSON schema type of the property, null if not specified
+		 */
+		public String getType() {
+			return type;
+		}
+
+		/**
+		 * @return the property name followed by = and the default value when there is one
+		 */
+		public String getInsertText() {
+			return insertText;
+		}
+	}
+
+	private static final String KAMELET_TYPE_LABEL = "camel.apache.org/kamelet.type";
+
+	private final Map<String, KameletDescriptor> kameletsByTemplateId = new HashMap<>();
+	private final PrefixIndex<KameletDescriptor> sourcesByTemplateId;
+	private final PrefixIndex<KameletDescriptor> sinksByTemplateId;
+
+	private KameletsCatalogIndex(Collection<KameletDescriptor> kamelets) {
+		List<KameletDescriptor> sources = new ArrayList<>();
+		List<KameletDescriptor> sinks = new ArrayList<>();
+		for (KameletDescriptor kamelet : kamelets) {
+			kameletsByTemplateId.put(kamelet.getTemplateId(), kamelet);
+			if (KameletTypeEnum.SOURCE.type().equals(kamelet.getType())) {
+				sources.add(kamelet);
+			} else if (KameletTypeEnum.SINK.type().equals(kamelet.getType())) {
+				sinks.add(kamelet);
+			}
+		}
+		this.sourcesByTemplateId = PrefixIndex.of(sources, KameletDescriptor::getTemplateId);
+		this.sinksByTemplateId = PrefixIndex.of(sinks, KameletDescriptor::getTemplateId);
+	}
+
+	public static KameletsCatalogIndex of(KameletsCatalog kameletsCatalog) {
+		List<KameletDescriptor> kamelets = new ArrayList<>();
+		for (Object kamelet : kameletsCatalog.getKamelets().values()) {
+			KameletDescriptor descriptor = createDescriptor((Kamelet) kamelet);
+			if (descriptor != null) {
+				kamelets.add(descriptor);
+			}
+		}
+		return of(kamelets);
+	}
+
+	/**
+	 * @param kamelets the prepared Kamelets, for instance read from a snapshot of the catalog
+	 * @return the index of the Kamelets, the first one is kept when several have the same template id
+	 */
+	public static KameletsCatalogIndex of(Collection<KameletDescriptor> kamelets) {
+		Map<String, KameletDescriptor> kameletsByTemplateId = new TreeMap<>();
+		for (KameletDescriptor kamelet : kamelets) {
+			kameletsByTemplateId.putIfAbsent(kamelet.getTemplateId(), kamelet);
+		}
+		return new KameletsCatalogIndex(kameletsByTemplateId.values());
+	}
+
+	/**
+	 * @param bundledKamelets the index of the bundled catalog
+	 * @param additionalKamelets Kamelets overriding the bundled ones which have the same template id
+	 * @return a new index containing both
+	 */
+	public static KameletsCatalogIndex merge(KameletsCatalogIndex bundledKamelets, Collection<KameletDescriptor> additionalKamelets) {
+		Map<String, KameletDescriptor> kamelets = new TreeMap<>(bundledKamelets.kameletsByTemplateId);
+		for (KameletDescriptor kamelet : additionalKamelets) {
+			kamelets.put(kamelet.getTemplateId(), kamelet);
+		}
+		return new KameletsCatalogIndex(kamelets.values());
+	}
+
+	/**
+	 * @param kamelet a Kamelet definition
+	 * @return the prepared Kamelet, null if the Kamelet has no name
+	 */
+	public static KameletDescriptor createDescriptor(Kamelet kamelet) {
+		if (kamelet == null || kamelet.getMetadata() == null || kamelet.getMetadata().getName() == null) {
+			return null;
+		}
+		Map<String, String> labels = kamelet.getMetadata().getLabels();
+		String type = labels != null ? labels.get(KAMELET_TYPE_LABEL) : null;
+		JSONSchemaProps definition = kamelet.getSpec() != null ? kamelet.getSpec().getDefinition() : null;
+		Map<String, KameletPropertyDescriptor> properties = new LinkedHashMap<>();
+		if (definition != null && definition.getProperties() != null) {
+			for (Map.Entry<String, JSONSchemaProps> property : definition.getProperties().entrySet()) {
+				properties.put(property.getKey(), new KameletPropertyDescriptor(property.getKey(), property.getValue()));
+			}
+		}
+		return new KameletDescriptor(kamelet.getMetadata().getName(), type, definition != null ? definition.getDescription() : null, Collections.unmodifiableMap(properties));
+	}
+
+	/**
+	 * @param templateId the exact template id of the Kamelet
+	 * @return the Kamelet, empty if there is no Kamelet with this template id
+	 */
+	public Optional<KameletDescriptor> findKamelet(String templateId) {
+		if (templateId == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(kameletsByTemplateId.get(templateId));
+	}
+
+	/**
+	 * @param name a part of the template id
+	 * @return the first Kamelet, in template id order, with a template id containing the name
+	 */
+	public Optional<KameletDescriptor> findKameletContaining(String name) {
+		if (name == null) {
+			return Optional.empty();
+		}
+		return getKamelets().stream()
+				.filter(kamelet -> kamelet.getTemplateId().contains(name))
+				.findFirst();
+	}
+
+	/**
+	 * @return the Kamelets, in template id order
+	 */
+	public Collection<KameletDescriptor> getKamelets() {
+		return new TreeMap<>(kameletsByTemplateId).values();
+	}
+
+	public List<KameletDescriptor> findSourcesByTemplateId(String templateIdPrefix) {
+		return sourcesByTemplateId.findByPrefix(templateIdPrefix);
+	}
+
+	public List<KameletDescriptor> findSinksByTemplateId(String templateIdPrefix) {
+		return sinksByTemplateId.findByPrefix(templateIdPrefix);
+	}
+}
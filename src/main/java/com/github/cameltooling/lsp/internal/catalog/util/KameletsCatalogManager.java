@@ -16,18 +16,147 @@
  */
 package com.github.cameltooling.lsp.internal.catalog.util;
 
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
 import org.apache.camel.kamelets.catalog.KameletsCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletDescriptor;
 
 public class KameletsCatalogManager {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(KameletsCatalogManager.class);
+	static final String SNAPSHOT_KEY = KameletsCatalog.class.getPackage().getImplementationVersion();
 	
-	private KameletsCatalog kameletsCatalog;
+	private static final class MergedIndex {
+		private final long workspaceModificationCount;
+		private final KameletsCatalogIndex index;
+
+		private MergedIndex(long workspaceModificationCount, KameletsCatalogIndex index) {
+			this.workspaceModificationCount = workspaceModificationCount;
+			this.index = index;
+		}
+	}
+
+	private final Executor executor;
+	private final Executor workspaceExecutor;
+	private final CompletableFuture<KameletsCatalogIndex> kameletsCatalogIndex;
+	private final WorkspaceKameletsIndex workspaceKamelets = new WorkspaceKameletsIndex();
+	private volatile MergedIndex mergedIndex;
+	private CompletableFuture<Void> workspaceTasks = CompletableFuture.completedFuture(null);
 
 	public KameletsCatalogManager() {
-		kameletsCatalog = new KameletsCatalog();
+		this(Runnable::run);
+	}
+
+	/**
+	 * @param executor the executor used to load the catalog, to build its index and to scan the workspace
+	 */
+	public KameletsCatalogManager(Executor executor) {
+		this(executor, executor);
+	}
+
+	/**
+	 * @param executor the executor used to load the catalog and to build its index
+	 * @param workspaceExecutor the executor used to scan the workspace and to read the changed Kamelet files
+	 */
+	public KameletsCatalogManager(Executor executor, Executor workspaceExecutor) {
+		this(executor, workspaceExecutor, null);
+	}
+
+	/**
+	 * @param executor the executor used to load the catalog and to build its index
+	 * @param workspaceExecutor the executor used to scan the workspace and to read the changed Kamelet files
+	 * @param snapshotStore where the prepared Kamelets of the bundled catalog are read from instead of loading the catalog,
+	 * 			and written to when there is no snapshot yet, null to always load the catalog
+	 */
+	public KameletsCatalogManager(Executor executor, Executor workspaceExecutor, CatalogSnapshotStore snapshotStore) {
+		this.executor = executor;
+		this.workspaceExecutor = workspaceExecutor;
+		kameletsCatalogIndex = CompletableFuture.supplyAsync(() -> createIndex(snapshotStore), executor);
+	}
+
+	private static KameletsCatalogIndex createIndex(CatalogSnapshotStore snapshotStore) {
+		if (snapshotStore == null || SNAPSHOT_KEY == null) {
+			return KameletsCatalogIndex.of(new KameletsCatalog());
+		}
+		List<KameletDescriptor> kamelets = snapshotStore.readKamelets(SNAPSHOT_KEY);
+		if (kamelets != null) {
+			return KameletsCatalogIndex.of(kamelets);
+		}
+		KameletsCatalogIndex index = KameletsCatalogIndex.of(new KameletsCatalog());
+		snapshotStore.writeKamelets(SNAPSHOT_KEY, index.getKamelets());
+		return index;
+	}
+
+	/**
+	 * @return a future completed when the bundled catalog is loaded and indexed
+	 */
+	public CompletableFuture<KameletsCatalogIndex> whenIndexed() {
+		return kameletsCatalogIndex;
+	}
+
+	/**
+	 * @return the index of the bundled catalog merged with the Kamelets of the workspace, waiting for the catalog to be indexed if needed
+	 */
+	public KameletsCatalogIndex getIndex() {
+		KameletsCatalogIndex bundledIndex = kameletsCatalogIndex.join();
+		long workspaceModificationCount = workspaceKamelets.getModificationCount();
+		if (workspaceModificationCount == 0) {
+			return bundledIndex;
+		}
+		MergedIndex currentMergedIndex = mergedIndex;
+		if (currentMergedIndex == null || currentMergedIndex.workspaceModificationCount != workspaceModificationCount) {
+			currentMergedIndex = new MergedIndex(workspaceModificationCount, KameletsCatalogIndex.merge(bundledIndex, workspaceKamelets.getKamelets()));
+			mergedIndex = currentMergedIndex;
+		}
+		return currentMergedIndex.index;
+	}
+
+	/**
+	 * @param workspaceFolders the folders in which *.kamelet.yaml files are searched
+	 * @return a future completed when the scan is done
+	 */
+	public CompletableFuture<Void> scanWorkspace(Collection<Path> workspaceFolders) {
+		return submitWorkspaceTask(() -> workspaceKamelets.scan(workspaceFolders, workspaceExecutor));
+	}
+
+	/**
+	 * @return a future completed when the Kamelet file is parsed again
+	 */
+	public CompletableFuture<Void> kameletFileChanged(Path kameletFile) {
+		return submitWorkspaceTask(() -> {
+			workspaceKamelets.update(kameletFile);
+			return CompletableFuture.completedFuture(null);
+		});
+	}
+
+	/**
+	 * @return a future completed when the Kamelet of the file is removed
+	 */
+	public CompletableFuture<Void> kameletFileDeleted(Path kameletFile) {
+		return submitWorkspaceTask(() -> {
+			workspaceKamelets.remove(kameletFile);
+			return CompletableFuture.completedFuture(null);
+		});
 	}
 
-	public KameletsCatalog getCatalog() {
-		return kameletsCatalog;
+	/**
+	 * Workspace tasks run one after the other, in submission order, so that successive changes of a same file are applied in order.
+	 */
+	private synchronized CompletableFuture<Void> submitWorkspaceTask(Supplier<CompletableFuture<Void>> task) {
+		CompletableFuture<Void> result = workspaceTasks.thenComposeAsync(previous -> task.get(), workspaceExecutor);
+		workspaceTasks = result.exceptionally(e -> {
+			LOGGER.warn("Cannot update the Kamelets of the workspace", e);
+			return null;
+		});
+		return result;
 	}
 
 }
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable index of values by a String key, answering "which keys start with this prefix"
+ * with a binary search on the sorted keys instead of testing every value.
+ *
+ * Matching values are returned in their original order so that completion lists keep the order of the catalog.
+ *
+ * @param <T> the type of the indexed values
+ */
+public final class PrefixIndex<T> {
+
+	private final List<T> values;
+	private final String[] sortedKeys;
+	private final int[] sortedPositions;
+
+	private PrefixIndex(List<T> values, Function<T, String> keyExtractor) {
+		this.values = values;
+		Integer[] positions = new Integer[values.size()];
+		String[] keys = new String[values.size()];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = i;
+			String key = keyExtractor.apply(values.get(i));
+			keys[i] = key != null ? key : "";
+		}
+		Arrays.sort(positions, Comparator.comparing(position -> keys[position]));
+		sortedKeys = new String[positions.length];
+		sortedPositions = new int[positions.length];
+		for (int i = 0; i < positions.length; i++) {
+			sortedKeys[i] = keys[positions[i]];
+			sortedPositions[i] = positions[i];
+		}
+	}
+
+	/**
+	 * @param values the values to index
+	 * @param keyExtractor provides the key of a value, a null key is indexed as an empty String
+	 * @return the index
+	 */
+	public static <T> PrefixIndex<T> of(Collection<T> values, Function<T, String> keyExtractor) {
+		return new PrefixIndex<>(Collections.unmodifiableList(new ArrayList<>(values)), keyExtractor);
+	}
+
+	/**
+	 * @param prefix the prefix typed by the user, null or blank matches all values
+	 * @return the values which have a key starting with the prefix, in their original order
+	 */
+	public List<T> findByPrefix(String prefix) {
+		if (prefix == null || prefix.trim().isEmpty()) {
+			return values;
+		}
+		int first = lowerBound(prefix);
+		int last = first;
+		while (last < sortedKeys.length && sortedKeys[last].startsWith(prefix)) {
+			last++;
+		}
+		if (last - first == values.size()) {
+			return values;
+		}
+		int[] matchingPositions = Arrays.copyOfRange(sortedPositions, first, last);
+		Arrays.sort(matchingPositions);
+		List<T> result = new ArrayList<>(matchingPositions.length);
+		for (int position : matchingPositions) {
+			result.add(values.get(position));
+		}
+		return result;
+	}
+
+	private int lowerBound(String prefix) {
+		int low = 0;
+		int high = sortedKeys.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sortedKeys[middle].compareTo(prefix) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	public List<T> getValues() {
+		return values;
+	}
+
+	public int size() {
+		return values.size();
+	}
+}
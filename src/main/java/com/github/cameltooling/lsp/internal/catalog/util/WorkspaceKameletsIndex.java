@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletDescriptor;
+
+import io.fabric8.camelk.v1alpha1.Kamelet;
+
+/**
+ * Kamelets defined in *.kamelet.yaml files of the workspace folders.
+ * 
+ * Files are scanned in a few batches on the given executor, then kept up to date one file at a time.
+ * Each change increments the modification count, which allows to cache views merging these Kamelets.
+ */
+public class WorkspaceKameletsIndex {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceKameletsIndex.class);
+
+	public static final String KAMELET_FILE_SUFFIX = ".kamelet.yaml";
+	static final int PARSE_BATCHES = 4;
+
+	private final ObjectMapper mapper = new ObjectMapper(new YAMLFactory()).configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+	private final Map<Path, KameletDescriptor> kameletsByFile = new ConcurrentHashMap<>();
+	private final AtomicLong modificationCount = new AtomicLong();
+
+	public static boolean isKameletFile(Path file) {
+		Path fileName = file.getFileName();
+		return fileName != null && fileName.toString().endsWith(KAMELET_FILE_SUFFIX);
+	}
+
+	/**
+	 * Searches Kamelet files in the folders and parses them in batches on the executor.
+	 * Hidden folders, for instance .git, are skipped.
+	 * 
+	 * @param folders the workspace folders
+	 * @param executor the executor parsing the files
+	 * @return a future completed when all files are parsed
+	 */
+	public CompletableFuture<Void> scan(Collection<Path> folders, Executor executor) {
+		List<Path> kameletFiles = new ArrayList<>();
+		for (Path folder : folders) {
+			kameletFiles.addAll(findKameletFiles(folder));
+		}
+		int batchSize = Math.max(1, (kameletFiles.size() + PARSE_BATCHES - 1) / PARSE_BATCHES);
+		List<CompletableFuture<Void>> batches = new ArrayList<>();
+		for (int start = 0; start < kameletFiles.size(); start += batchSize) {
+			List<Path> batch = kameletFiles.subList(start, Math.min(start + batchSize, kameletFiles.size()));
+			batches.add(CompletableFuture.runAsync(() -> batch.forEach(this::parse), executor));
+		}
+		return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).thenRun(() -> {
+			modificationCount.incrementAndGet();
+			LOGGER.info("{} Kamelet(s) found in the workspace", kameletsByFile.size());
+		});
+	}
+
+	private List<Path> findKameletFiles(Path folder) {
+		if (!Files.isDirectory(folder)) {
+			return Collections.emptyList();
+		}
+		List<Path> kameletFiles = new ArrayList<>();
+		try {
+			Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+					Path dirName = dir.getFileName();
+					if (!dir.equals(folder) && dirName != null && dirName.toString().startsWith(".")) {
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					if (attrs.isRegularFile() && isKameletFile(file)) {
+						kameletFiles.add(file);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException exc) {
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			LOGGER.warn("Cannot search Kamelets in workspace folder " + folder, e);
+		}
+		return kameletFiles;
+	}
+
+	/**
+	 * Parses again a Kamelet file which has been created or modified.
+	 */
+	public void update(Path kameletFile) {
+		parse(kameletFile);
+		modificationCount.incrementAndGet();
+	}
+
+	public void remove(Path kameletFile) {
+		if (kameletsByFile.remove(kameletFile) != null) {
+			modificationCount.incrementAndGet();
+		}
+	}
+
+	private void parse(Path kameletFile) {
+		KameletDescriptor descriptor = null;
+		try (InputStream inputStream = Files.newInputStream(kameletFile)) {
+			descriptor = KameletsCatalogIndex.createDescriptor(mapper.readValue(inputStream, Kamelet.class));
+		} catch (IOException | RuntimeException e) {
+			LOGGER.debug("Cannot read Kamelet file " + kameletFile, e);
+		}
+		if (descriptor != null) {
+			kameletsByFile.put(kameletFile, descriptor);
+		} else {
+			kameletsByFile.remove(kameletFile);
+		}
+	}
+
+	public Collection<KameletDescriptor> getKamelets() {
+		return Collections.unmodifiableCollection(kameletsByFile.values());
+	}
+
+	public long getModificationCount() {
+		return modificationCount.get();
+	}
+}
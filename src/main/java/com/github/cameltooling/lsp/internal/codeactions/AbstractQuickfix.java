@@ -34,7 +34,6 @@ import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
@@ -42,6 +41,7 @@ import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 
@@ -54,7 +54,7 @@ public abstract class AbstractQuickfix {
 	}
 	
 	public List<Either<Command, CodeAction>> apply(CodeActionParams params) {
-		TextDocumentItem openedDocument = camelTextDocumentService.getOpenedDocument(params.getTextDocument().getUri());
+		TextDocumentSnapshot openedDocument = camelTextDocumentService.getOpenedDocument(params.getTextDocument().getUri());
 		List<Diagnostic> diagnostics = params.getContext().getDiagnostics();
 		List<Either<Command, CodeAction>> res = new ArrayList<>();
 		for(Diagnostic diagnostic : diagnostics) {
@@ -76,7 +76,7 @@ public abstract class AbstractQuickfix {
 		return res;
 	}
 
-	protected String retrieveCurrentErrorValue(TextDocumentItem openedDocument, Diagnostic diagnostic) {
+	protected String retrieveCurrentErrorValue(TextDocumentSnapshot openedDocument, Diagnostic diagnostic) {
 		Range diagnosticRange = diagnostic.getRange();
 		String line = new ParserFileHelperUtil().getLine(openedDocument, diagnosticRange.getStart().getLine());
 		int endCharacter = diagnosticRange.getEnd().getCharacter();
@@ -98,7 +98,7 @@ public abstract class AbstractQuickfix {
 		return codeAction;
 	}
 	
-	protected abstract List<String> retrievePossibleValues(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager, Position position, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager);
+	protected abstract List<String> retrievePossibleValues(TextDocumentSnapshot textDocument, CompletableFuture<CamelCatalog> camelCatalog, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager, Position position, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager);
 	protected abstract String getDiagnosticId();
 	
 }
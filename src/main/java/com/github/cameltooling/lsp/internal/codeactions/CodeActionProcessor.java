@@ -42,25 +42,29 @@ public class CodeActionProcessor {
 	public CompletableFuture<List<Either<Command, CodeAction>>> getCodeActions(CodeActionParams params) {
 		CodeActionContext context = params.getContext();
 		if (context != null) {
-			List<Either<Command, CodeAction>> codeActions = new ArrayList<>();
-			List<String> codeActionsType = context.getOnly();
-			if (codeActionsType == null) {
+			return CompletableFuture.supplyAsync(() -> computeCodeActions(params, context), camelTextDocumentService.getExecutorLanes().getBackgroundExecutor());
+		} else {
+			return CompletableFuture.completedFuture(Collections.emptyList());
+		}
+	}
+
+	private List<Either<Command, CodeAction>> computeCodeActions(CodeActionParams params, CodeActionContext context) {
+		List<Either<Command, CodeAction>> codeActions = new ArrayList<>();
+		List<String> codeActionsType = context.getOnly();
+		if (codeActionsType == null) {
+			codeActions.addAll(computeQuickfixes(params));
+			codeActions.addAll(computeConvertCamelKafkaConnectorUrl(params));
+			codeActions.addAll(computeConvertDeprecatedPropertyFileModeline(params));
+		} else {
+			if(codeActionsType.contains(CodeActionKind.QuickFix)) {
 				codeActions.addAll(computeQuickfixes(params));
+			}
+			if(codeActionsType.contains(CodeActionKind.Refactor)) {
 				codeActions.addAll(computeConvertCamelKafkaConnectorUrl(params));
 				codeActions.addAll(computeConvertDeprecatedPropertyFileModeline(params));
-			} else {
-				if(codeActionsType.contains(CodeActionKind.QuickFix)) {
-					codeActions.addAll(computeQuickfixes(params));
-				}
-				if(codeActionsType.contains(CodeActionKind.Refactor)) {
-					codeActions.addAll(computeConvertCamelKafkaConnectorUrl(params));
-					codeActions.addAll(computeConvertDeprecatedPropertyFileModeline(params));
-				}
 			}
-			return CompletableFuture.supplyAsync(() -> codeActions);
-		} else {
-			return CompletableFuture.completedFuture(Collections.emptyList());
 		}
+		return codeActions;
 	}
 	
 	private Collection<Either<Command, CodeAction>> computeConvertDeprecatedPropertyFileModeline(CodeActionParams params) {
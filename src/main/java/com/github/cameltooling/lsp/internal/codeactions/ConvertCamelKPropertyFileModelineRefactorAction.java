@@ -27,13 +27,13 @@ import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.CodeActionKind;
 import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.Command;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
 import com.github.cameltooling.lsp.internal.completion.modeline.CamelKModelineOptionNames;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModeline;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModelineOption;
 import com.github.cameltooling.lsp.internal.modelinemodel.ICamelKModelineOptionValue;
@@ -52,7 +52,7 @@ public class ConvertCamelKPropertyFileModelineRefactorAction {
 
 	public Collection<Either<Command, CodeAction>> getCodeActions(CodeActionParams params) {
 		String uri = params.getTextDocument().getUri();
-		TextDocumentItem openedDocument = camelTextDocumentService.getOpenedDocument(uri);
+		TextDocumentSnapshot openedDocument = camelTextDocumentService.getOpenedDocument(uri);
 		int startLine = params.getRange().getStart().getLine();
 		int endLine = params.getRange().getEnd().getLine();
 		if(startLine == endLine && new CamelKModelineParser().isOnCamelKModeline(startLine, openedDocument)) {
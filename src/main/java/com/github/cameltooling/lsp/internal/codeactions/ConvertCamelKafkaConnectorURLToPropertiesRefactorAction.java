@@ -31,12 +31,12 @@ import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.OptionParamValueURIInstance;
 import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
@@ -57,7 +57,7 @@ public class ConvertCamelKafkaConnectorURLToPropertiesRefactorAction {
 	public Collection<Either<Command, CodeAction>> getCodeActions(CodeActionParams params) {
 		String uri = params.getTextDocument().getUri();
 		if (uri.endsWith(".properties")) {
-			TextDocumentItem openedDocument = camelTextDocumentService.getOpenedDocument(uri);
+			TextDocumentSnapshot openedDocument = camelTextDocumentService.getOpenedDocument(uri);
 			int startLine = params.getRange().getStart().getLine();
 			int endLine = params.getRange().getEnd().getLine();
 			if (startLine == endLine) {
@@ -92,7 +92,7 @@ public class ConvertCamelKafkaConnectorURLToPropertiesRefactorAction {
 		return codeActions;
 	}
 
-	private TextEdit createTextEdit(TextDocumentItem openedDocument, int startLine, String line, int equalIndex, ParserFileHelper parserFileHelper, String camelComponentUri) {
+	private TextEdit createTextEdit(TextDocumentSnapshot openedDocument, int startLine, String line, int equalIndex, ParserFileHelper parserFileHelper, String camelComponentUri) {
 		CamelURIInstance camelURIInstance = parserFileHelper.createCamelURIInstance(openedDocument, new Position(startLine, equalIndex + 1), camelComponentUri);
 		String sinkOrSource = line.startsWith(CamelKafkaUtil.CAMEL_SINK_URL) ? CamelKafkaUtil.SINK : CamelKafkaUtil.SOURCE;
 		String pathParams = computePathParams(camelURIInstance, sinkOrSource);
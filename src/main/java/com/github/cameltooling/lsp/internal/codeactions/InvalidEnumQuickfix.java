@@ -25,7 +25,6 @@ import java.util.stream.Collectors;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +33,7 @@ import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCata
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
 import com.github.cameltooling.lsp.internal.completion.CamelEndpointCompletionProcessor;
 import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticService;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 
 public class InvalidEnumQuickfix extends AbstractQuickfix {
@@ -45,9 +45,9 @@ public class InvalidEnumQuickfix extends AbstractQuickfix {
 	}
 
 	@Override
-	protected List<String> retrievePossibleValues(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, CamelKafkaConnectorCatalogManager ckcCatalogmanager, Position position, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager) {
+	protected List<String> retrievePossibleValues(TextDocumentSnapshot textDocument, CompletableFuture<CamelCatalog> camelCatalog, CamelKafkaConnectorCatalogManager ckcCatalogmanager, Position position, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager) {
 		try {
-			return new CamelEndpointCompletionProcessor(textDocumentItem, camelCatalog, kameletsCatalogManager)
+			return new CamelEndpointCompletionProcessor(textDocument, camelCatalog, kameletsCatalogManager)
 					.getCompletions(position, settingsManager)
 					.thenApply(completionItems -> completionItems.stream().map(CompletionItem::getLabel).collect(Collectors.toList()))
 					.get();
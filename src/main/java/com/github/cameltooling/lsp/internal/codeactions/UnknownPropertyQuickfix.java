@@ -28,7 +28,6 @@ import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorModel;
 import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorOptionModel;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,8 +36,9 @@ import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCata
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
 import com.github.cameltooling.lsp.internal.completion.CamelEndpointCompletionProcessor;
 import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticService;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
+import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertiesFileModel;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyKeyInstance;
-import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 
 public class UnknownPropertyQuickfix extends AbstractQuickfix {
@@ -54,14 +54,14 @@ public class UnknownPropertyQuickfix extends AbstractQuickfix {
 	}
 	
 	@Override
-	protected List<String> retrievePossibleValues(TextDocumentItem textDocumentItem,
+	protected List<String> retrievePossibleValues(TextDocumentSnapshot textDocument,
 			CompletableFuture<CamelCatalog> camelCatalog,
 			CamelKafkaConnectorCatalogManager camelKafkaConnectorManager,
 			Position position,
 			SettingsManager settingsManager,
 			KameletsCatalogManager kameletsCatalogManager) {
-		if (textDocumentItem.getUri().endsWith(".properties")) {
-			Optional<CamelKafkaConnectorModel> optionalModel = camelKafkaConnectorManager.findConnectorModel(new CamelKafkaUtil().findConnectorClass(textDocumentItem));
+		if (textDocument.getUri().endsWith(".properties")) {
+			Optional<CamelKafkaConnectorModel> optionalModel = camelKafkaConnectorManager.findConnectorModel(CamelPropertiesFileModel.of(textDocument).getConnectorClass());
 			if (optionalModel.isPresent()) {
 				return optionalModel.get().getOptions()
 						.stream()
@@ -71,7 +71,7 @@ public class UnknownPropertyQuickfix extends AbstractQuickfix {
 			}
 		} else {
 			try {
-				return new CamelEndpointCompletionProcessor(textDocumentItem, camelCatalog, kameletsCatalogManager).getCompletions(position, settingsManager)
+				return new CamelEndpointCompletionProcessor(textDocument, camelCatalog, kameletsCatalogManager).getCompletions(position, settingsManager)
 						.thenApply(completionItems -> completionItems.stream().map(CompletionItem::getInsertText)
 								.collect(Collectors.toList()))
 						.get();
@@ -16,7 +16,6 @@
  */
 package com.github.cameltooling.lsp.internal.completion;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -25,21 +24,21 @@ import java.util.stream.Collectors;
 
 import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorModel;
 import org.eclipse.lsp4j.CompletionItem;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
+import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertiesFileModel;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyValueInstance;
-import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
 
 public abstract class AbstractConnectorClassDependentCompletionProcessor {
 
 	protected CamelPropertyValueInstance camelPropertyValueInstance;
 	protected CamelKafkaConnectorCatalogManager camelKafkaConnectorManager;
-	protected TextDocumentItem textDocumentItem;
+	protected TextDocumentSnapshot textDocument;
 
 
-	protected AbstractConnectorClassDependentCompletionProcessor(TextDocumentItem textDocumentItem, CamelPropertyValueInstance camelPropertyValueInstance, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager) {
-		this.textDocumentItem = textDocumentItem;
+	protected AbstractConnectorClassDependentCompletionProcessor(TextDocumentSnapshot textDocument, CamelPropertyValueInstance camelPropertyValueInstance, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager) {
+		this.textDocument = textDocument;
 		this.camelPropertyValueInstance = camelPropertyValueInstance;
 		this.camelKafkaConnectorManager = camelKafkaConnectorManager;
 	}
@@ -47,20 +46,15 @@ public abstract class AbstractConnectorClassDependentCompletionProcessor {
 	protected abstract List<String> retrieveList(CamelKafkaConnectorModel model);
 
 	public CompletableFuture<List<CompletionItem>> getCompletions(String startFilter) {
-		String connectorClass = new CamelKafkaUtil().findConnectorClass(textDocumentItem);
-		if (connectorClass != null) {
-			Collection<CamelKafkaConnectorModel> camelKafkaConnectors = camelKafkaConnectorManager.getCatalog().getConnectorsModel().values();
-			Optional<CamelKafkaConnectorModel> model = camelKafkaConnectors.stream()
-					.filter(iteratorModel -> connectorClass.equals(iteratorModel.getConnectorClass()))
-					.findAny();
-			if (model.isPresent()) {
-				List<String> converters = retrieveList(model.get());
-				if (converters != null) {
-					List<CompletionItem> completions = converters.stream()
-							.map(fullyQualifiedConverterClassname -> new CompletionItemCreator().createForQualifiedClassName(fullyQualifiedConverterClassname, camelPropertyValueInstance))
-							.filter(FilterPredicateUtils.matchesCompletionFilter(startFilter)).collect(Collectors.toList());
-					return CompletableFuture.completedFuture(completions);
-				}
+		String connectorClass = CamelPropertiesFileModel.of(textDocument).getConnectorClass();
+		Optional<CamelKafkaConnectorModel> model = camelKafkaConnectorManager.findConnectorModel(connectorClass);
+		if (model.isPresent()) {
+			List<String> converters = retrieveList(model.get());
+			if (converters != null) {
+				List<CompletionItem> completions = converters.stream()
+						.map(fullyQualifiedConverterClassname -> new CompletionItemCreator().createForQualifiedClassName(fullyQualifiedConverterClassname, camelPropertyValueInstance))
+						.filter(FilterPredicateUtils.matchesCompletionFilter(startFilter)).collect(Collectors.toList());
+				return CompletableFuture.completedFuture(completions);
 			}
 		}
 		return CompletableFuture.completedFuture(Collections.emptyList());
@@ -23,7 +23,7 @@ import java.util.stream.Collectors;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelComponentNamePropertyInstance;
 
 public class CamelComponentIdsCompletionsFuture implements Function<CamelCatalog, List<CompletionItem>> {
@@ -38,8 +38,7 @@ public class CamelComponentIdsCompletionsFuture implements Function<CamelCatalog
 
 	@Override
 	public List<CompletionItem> apply(CamelCatalog catalog) {
-		return catalog.findComponentNames().stream()
-			.map(componentName -> ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentName), true))
+		return ComponentModelIndex.of(catalog).findComponentModelsByScheme(startFilter).stream()
 			.map(componentModel -> {
 				CompletionItem completionItem = new CompletionItem(componentModel.getScheme());
 				completionItem.setDocumentation(componentModel.getDescription());
@@ -47,7 +46,6 @@ public class CamelComponentIdsCompletionsFuture implements Function<CamelCatalog
 				CompletionResolverUtils.applyTextEditToCompletionItem(camelComponentNamePropertyFileInstance, completionItem);
 				return completionItem;
 			})
-			.filter(FilterPredicateUtils.matchesCompletionFilter(startFilter))
 			.collect(Collectors.toList());
 	}
 
@@ -26,7 +26,7 @@ import org.apache.camel.util.StringHelper;
 import org.eclipse.lsp4j.CompletionItem;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentOptionModel;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelComponentParameterPropertyInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyValueInstance;
 
@@ -46,10 +46,11 @@ public class CamelComponentOptionNamesCompletionFuture implements Function<Camel
 
 	@Override
 	public List<CompletionItem> apply(CamelCatalog catalog) {
-		Stream<ComponentOptionModel> endpointOptions = ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentId), true).getComponentOptions().stream();
-		return endpointOptions
+		boolean useDashedCase = camelComponentParameterPropertyInstance.shouldUseDashedCase();
+		Stream<ComponentOptionModel> componentOptions = ComponentModelIndex.of(catalog).findComponentOptions(componentId, startFilter, useDashedCase).stream();
+		return componentOptions
 				.map(parameter -> {
-					String parameterDisplayName = computeDisplayName(parameter, camelComponentParameterPropertyInstance.shouldUseDashedCase());
+					String parameterDisplayName = computeDisplayName(parameter, useDashedCase);
 					CompletionItem completionItem = new CompletionItem(parameterDisplayName);
 					completionItem.setDocumentation(parameter.getDescription());
 					completionItem.setDetail(parameter.getJavaType());
@@ -62,7 +63,6 @@ public class CamelComponentOptionNamesCompletionFuture implements Function<Camel
 					CompletionResolverUtils.applyTextEditToCompletionItem(camelComponentParameterPropertyInstance, completionItem);
 					return completionItem;
 				})
-				.filter(FilterPredicateUtils.matchesCompletionFilter(startFilter))
 				.collect(Collectors.toList());
 	}
 
@@ -28,7 +28,7 @@ import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentOptionModel;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelComponentPropertyKey;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyValueInstance;
 
@@ -81,7 +81,7 @@ public class CamelComponentOptionValuesCompletionsFuture implements Function<Cam
 			String componentId = camelComponentPropertyFilekey.getComponentId();
 			String keyName = camelComponentPropertyFilekey.getComponentProperty();
 			if (keyName != null) {
-			List<ComponentOptionModel> endpointOptions = ModelHelper.generateComponentModel(camelCatalog.componentJSonSchema(componentId), true).getComponentOptions();
+			List<ComponentOptionModel> endpointOptions = ComponentModelIndex.of(camelCatalog).getComponentModelOrEmpty(componentId).getComponentOptions();
 				return endpointOptions.stream()
 						.filter(endpoint -> keyName.equals(endpoint.getName()))
 						.findAny();
@@ -23,11 +23,11 @@ import java.util.stream.Collectors;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.ReferenceUtils;
 import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
@@ -38,9 +38,9 @@ public final class CamelComponentSchemesCompletionsFuture implements Function<Ca
 	
 	private CamelUriElementInstance uriElement;
 	private String filterString;
-	private TextDocumentItem docItem;
+	private TextDocumentSnapshot docItem;
 	
-	public CamelComponentSchemesCompletionsFuture(CamelUriElementInstance uriElement, String filterText, TextDocumentItem docItem) {
+	public CamelComponentSchemesCompletionsFuture(CamelUriElementInstance uriElement, String filterText, TextDocumentSnapshot docItem) {
 		this.uriElement = uriElement;
 		this.filterString = filterText;
 		this.docItem = docItem;
@@ -56,8 +56,7 @@ public final class CamelComponentSchemesCompletionsFuture implements Function<Ca
 	}
 
 	private List<CompletionItem> getCompletionForComponents(CamelCatalog catalog) {
-		return catalog.findComponentNames().stream()
-			.map(componentName -> ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentName), true))
+		return ComponentModelIndex.of(catalog).findComponentModelsBySyntax(filterString).stream()
 			.map(componentModel -> {
 				CompletionItem completionItem = new CompletionItem(componentModel.getSyntax());
 				completionItem.setDocumentation(componentModel.getDescription());
@@ -65,7 +64,6 @@ public final class CamelComponentSchemesCompletionsFuture implements Function<Ca
 				CompletionResolverUtils.applyTextEditToCompletionItem(uriElement, completionItem);
 				return completionItem;
 			})
-			.filter(FilterPredicateUtils.matchesCompletionFilter(filterString))
 			.collect(Collectors.toList());
 	}
 	
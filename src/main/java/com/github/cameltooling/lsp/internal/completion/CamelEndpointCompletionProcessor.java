@@ -23,11 +23,11 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelper;
@@ -38,25 +38,25 @@ public class CamelEndpointCompletionProcessor {
 
 	public static final String ERROR_SEARCHING_FOR_CORRESPONDING_NODE_ELEMENTS = "Error searching for corresponding node elements";
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelEndpointCompletionProcessor.class);
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
 	private CompletableFuture<CamelCatalog> camelCatalog;
 	private KameletsCatalogManager kameletsCatalogManager;
 
-	public CamelEndpointCompletionProcessor(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, KameletsCatalogManager kameletsCatalogManager) {
-		this.textDocumentItem = textDocumentItem;
+	public CamelEndpointCompletionProcessor(TextDocumentSnapshot textDocument, CompletableFuture<CamelCatalog> camelCatalog, KameletsCatalogManager kameletsCatalogManager) {
+		this.textDocument = textDocument;
 		this.camelCatalog = camelCatalog;
 		this.kameletsCatalogManager = kameletsCatalogManager;
 	}
 
 	public CompletableFuture<List<CompletionItem>> getCompletions(Position position, SettingsManager settingsManager) {
-		if (textDocumentItem != null) {
+		if (textDocument != null) {
 			try {
-				ParserFileHelper parserFileHelper = new ParserFileHelperFactory().getCorrespondingParserFileHelper(textDocumentItem, position.getLine());
+				ParserFileHelper parserFileHelper = new ParserFileHelperFactory().getCorrespondingParserFileHelper(textDocument, position.getLine());
 				if (parserFileHelper != null) {
-					String camelComponentUri = parserFileHelper.getCamelComponentUri(textDocumentItem, position);
+					String camelComponentUri = parserFileHelper.getCamelComponentUri(textDocument, position);
 					if (camelComponentUri != null) {
-						CamelURIInstance camelURIInstance = parserFileHelper.createCamelURIInstance(textDocumentItem, position, camelComponentUri);
-						int positionInCamelUri = parserFileHelper.getPositionInCamelURI(textDocumentItem, position);
+						CamelURIInstance camelURIInstance = parserFileHelper.createCamelURIInstance(textDocument, position, camelComponentUri);
+						int positionInCamelUri = parserFileHelper.getPositionInCamelURI(textDocument, position);
 						return getCompletions(camelURIInstance, positionInCamelUri, settingsManager);
 					}
 				}
@@ -69,7 +69,7 @@ public class CamelEndpointCompletionProcessor {
 
 	private CompletableFuture<List<CompletionItem>> getCompletions(CamelURIInstance camelURIInstance, int positionInCamelUri, SettingsManager settingsManager) {
 		CamelUriElementInstance camelUriElementInstance = camelURIInstance.getSpecificElement(positionInCamelUri);
-		return camelUriElementInstance.getCompletions(camelCatalog, positionInCamelUri, textDocumentItem, settingsManager, kameletsCatalogManager);
+		return camelUriElementInstance.getCompletions(camelCatalog, positionInCamelUri, textDocument, settingsManager, kameletsCatalogManager);
 	}
 
 }
@@ -38,7 +38,7 @@ public class CamelKafkaConnectorClassCompletionProcessor {
 	}
 
 	public CompletableFuture<List<CompletionItem>> getCompletions(String startFilter) {
-		Collection<CamelKafkaConnectorModel> camelKafkaConnectors = camelKafkaConnectorManager.getCatalog().getConnectorsModel().values();
+		Collection<CamelKafkaConnectorModel> camelKafkaConnectors = camelKafkaConnectorManager.getConnectorModels();
 		List<CompletionItem> completions = camelKafkaConnectors.stream()
 				.map(camelKafkaConnector -> {
 					String qualifiedConnectorClassName = camelKafkaConnector.getConnectorClass();
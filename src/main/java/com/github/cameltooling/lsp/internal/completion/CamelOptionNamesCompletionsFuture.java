@@ -17,7 +17,6 @@
 package com.github.cameltooling.lsp.internal.completion;
 
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -28,20 +27,18 @@ import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.github.cameltooling.lsp.internal.catalog.model.BaseOptionModel;
-import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
 import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletDescriptor;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletPropertyDescriptor;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.ComponentNameConstants;
 import com.github.cameltooling.lsp.internal.instancemodel.OptionParamKeyURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.OptionParamURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.PathParamURIInstance;
 
-import io.fabric8.kubernetes.api.model.apiextensions.v1.JSONSchemaProps;
-
 public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog, List<CompletionItem>>  {
 
 	private CamelUriElementInstance uriElement;
@@ -64,20 +61,22 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 
 	@Override
 	public List<CompletionItem> apply(CamelCatalog catalog) {
-		ComponentModel componentModel = ModelHelper.generateComponentModel(catalog.componentJSonSchema(camelComponentName), true);
-		List<EndpointOptionModel> endpointOptions = componentModel.getEndpointOptions();
+		ComponentModelIndex componentModelIndex = ComponentModelIndex.of(catalog);
+		List<EndpointOptionModel> endpointOptions = componentModelIndex.findEndpointOptions(camelComponentName, filterString);
 		Stream<CompletionItem> endpointOptionsFiltered = initialFilter(endpointOptions).map(createCompletionItem(CompletionItemKind.Property));
 		
-		List<EndpointOptionModel> availableApiProperties = uriElement.findAvailableApiProperties(componentModel);
-		Stream<CompletionItem> availableApiPropertiesFiltered = initialFilter(availableApiProperties).map(createCompletionItem(CompletionItemKind.Variable));
+		List<EndpointOptionModel> availableApiProperties = uriElement.findAvailableApiProperties(componentModelIndex.getComponentModelOrEmpty(camelComponentName));
+		Stream<CompletionItem> availableApiPropertiesFiltered = initialFilter(availableApiProperties)
+				.filter(FilterPredicateUtils.matchesEndpointOptionFilter(filterString))
+				.map(createCompletionItem(CompletionItemKind.Variable));
 		
 		
-		Stream<CompletionItem> kameletProperties = retrieveKameletProperties();
+		Stream<CompletionItem> kameletProperties = retrieveKameletProperties()
+				.filter(FilterPredicateUtils.matchesCompletionFilter(filterString));
 		
 		return Stream.concat(Stream.concat(endpointOptionsFiltered, availableApiPropertiesFiltered), kameletProperties)
 				// filter duplicated uri options
 				.filter(FilterPredicateUtils.removeDuplicatedOptions(alreadyDefinedOptions, positionInCamelURI))
-				.filter(FilterPredicateUtils.matchesCompletionFilter(filterString))
 				.collect(Collectors.toList());
 	}
 
@@ -92,23 +91,20 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 					.map(PathParamURIInstance::getValue)
 					.findAny();
 			if(kameletTemplateId.isPresent()) {
-				JSONSchemaProps kameletDefinition = kameletsCatalogManager.getCatalog().getKameletDefinition(kameletTemplateId.get());
-				if(kameletDefinition != null) {
-					kameletProperties = kameletDefinition.getProperties().entrySet().stream().map(this::createCompletionItem);
+				Optional<KameletDescriptor> kamelet = kameletsCatalogManager.getIndex().findKamelet(kameletTemplateId.get());
+				if(kamelet.isPresent()) {
+					kameletProperties = kamelet.get().getProperties().stream().map(this::createCompletionItem);
 				}
 			}
 		}
 		return kameletProperties;
 	}
 
-	private CompletionItem createCompletionItem(Entry<String, JSONSchemaProps> property) {
-		String propertyName = property.getKey();
-		CompletionItem completionItem = new CompletionItem(propertyName);
-		JSONSchemaProps schema = property.getValue();
-		String insertText = computeInsertText(propertyName, schema);
-		completionItem.setInsertText(insertText);
-		completionItem.setDocumentation(schema.getDescription());
-		String type = schema.getType();
+	private CompletionItem createCompletionItem(KameletPropertyDescriptor property) {
+		CompletionItem completionItem = new CompletionItem(property.getName());
+		completionItem.setInsertText(property.getInsertText());
+		completionItem.setDocumentation(property.getDescription());
+		String type = property.getType();
 		if (type != null) {
 			completionItem.setDetail(type);
 		}
@@ -116,15 +112,6 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 		return completionItem;
 	}
 
-	private String computeInsertText(String propertyName, JSONSchemaProps schema) {
-		JsonNode defaultValue = schema.getDefault();
-		String insertText = propertyName + "=";
-		if(defaultValue != null && defaultValue.isValueNode()) {
-			insertText += defaultValue.asText();
-		}
-		return insertText;
-	}
-
 	private Stream<EndpointOptionModel> initialFilter(List<EndpointOptionModel> endpointOptions) {
 		return endpointOptions.stream()
 				.filter(endpoint -> "parameter".equals(endpoint.getKind()))
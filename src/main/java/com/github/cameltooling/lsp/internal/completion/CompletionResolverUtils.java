@@ -20,20 +20,20 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import org.apache.camel.parser.helper.CamelXmlHelper;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemTag;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
-import org.w3c.dom.Node;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 import com.github.cameltooling.lsp.internal.instancemodel.ReferenceUtils;
+import com.github.cameltooling.lsp.internal.instancemodel.XMLDSLModelHelper;
 import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
+import com.github.cameltooling.lsp.internal.parser.xml.XmlCamelElement;
 
 /**
  * @author lheinema
@@ -61,13 +61,13 @@ public class CompletionResolverUtils {
 		}
 	}
 
-	public static List<String> retrieveEndpointIDsOfScheme(String scheme, ParserXMLFileHelper xmlFileHelper, TextDocumentItem docItem) throws Exception {
-		List<Node> allEndpoints = xmlFileHelper.getAllEndpoints(docItem);
+	public static List<String> retrieveEndpointIDsOfScheme(String scheme, ParserXMLFileHelper xmlFileHelper, TextDocumentSnapshot docItem) throws Exception {
+		List<XmlCamelElement> allEndpoints = xmlFileHelper.getAllEndpoints(docItem);
 		List<String> endpointIDs = new ArrayList<>();
-		for (Node endpoint : allEndpoints) {
-			String uriToParse = CamelXmlHelper.getSafeAttribute(endpoint, "uri");
+		for (XmlCamelElement endpoint : allEndpoints) {
+			String uriToParse = endpoint.getUri();
 			if (uriToParse != null) {
-				CamelURIInstance uriInstance = new CamelURIInstance(uriToParse, endpoint, docItem);
+				CamelURIInstance uriInstance = new CamelURIInstance(uriToParse, new XMLDSLModelHelper(endpoint.getLocalName()), docItem);
 				if (ReferenceUtils.isReferenceComponentKind(uriInstance) && uriInstance.getComponentName().equalsIgnoreCase(scheme)) {
 					String dId = ReferenceUtils.getReferenceKey(uriInstance);
 					String directValue = String.format("%s:%s", scheme, dId);
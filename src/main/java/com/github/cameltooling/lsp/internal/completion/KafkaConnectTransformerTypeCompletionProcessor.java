@@ -19,15 +19,15 @@ package com.github.cameltooling.lsp.internal.completion;
 import java.util.List;
 
 import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorModel;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyValueInstance;
 
 public class KafkaConnectTransformerTypeCompletionProcessor extends AbstractConnectorClassDependentCompletionProcessor {
 
-	public KafkaConnectTransformerTypeCompletionProcessor(TextDocumentItem textDocumentItem, CamelPropertyValueInstance camelPropertyValueInstance, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager) {
-		super(textDocumentItem, camelPropertyValueInstance, camelKafkaConnectorManager);
+	public KafkaConnectTransformerTypeCompletionProcessor(TextDocumentSnapshot textDocument, CamelPropertyValueInstance camelPropertyValueInstance, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager) {
+		super(textDocument, camelPropertyValueInstance, camelKafkaConnectorManager);
 	}
 
 	@Override
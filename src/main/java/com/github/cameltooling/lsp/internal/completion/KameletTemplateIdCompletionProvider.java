@@ -16,21 +16,17 @@
  */
 package com.github.cameltooling.lsp.internal.completion;
 
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
-import org.apache.camel.kamelets.catalog.KameletsCatalog;
-import org.apache.camel.kamelets.catalog.model.KameletTypeEnum;
 import org.eclipse.lsp4j.CompletionItem;
 
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletDescriptor;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
 import com.github.cameltooling.lsp.internal.instancemodel.PathParamURIInstance;
 
-import io.fabric8.camelk.v1alpha1.Kamelet;
-
 public class KameletTemplateIdCompletionProvider {
 	
 	private KameletsCatalogManager kameletsCatalogManager;
@@ -39,31 +35,36 @@ public class KameletTemplateIdCompletionProvider {
 		this.kameletsCatalogManager = kameletsCatalogManager;
 	}
 
-	public CompletableFuture<List<CompletionItem>> get(PathParamURIInstance pathParamURIInstance) {
-		Collection<Kamelet> kamelets = retrievePotentialKamelets(pathParamURIInstance);
-			
+	public CompletableFuture<List<CompletionItem>> get(PathParamURIInstance pathParamURIInstance, int positionInCamelUri) {
+		String templateIdPrefix = computeTemplateIdPrefix(pathParamURIInstance, positionInCamelUri);
+		List<KameletDescriptor> kamelets = retrievePotentialKamelets(pathParamURIInstance, templateIdPrefix);
 		List<CompletionItem> completionItems = kamelets
 			.stream()
 				.map(kamelet -> {
-					CompletionItem completionItem = new CompletionItem(kamelet.getMetadata().getName());
+					CompletionItem completionItem = new CompletionItem(kamelet.getTemplateId());
 					CompletionResolverUtils.applyTextEditToCompletionItem(pathParamURIInstance, completionItem);
-					completionItem.setDocumentation(kamelet.getSpec().getDefinition().getDescription());
+					completionItem.setDocumentation(kamelet.getDescription());
 					return completionItem;
 				})
 				.collect(Collectors.toList());
 		return CompletableFuture.completedFuture(completionItems);
 	}
 
-	private Collection<Kamelet> retrievePotentialKamelets(PathParamURIInstance pathParamURIInstance) {
-		KameletsCatalog kameletsCatalog = kameletsCatalogManager.getCatalog();
-		if(kameletsCatalog != null) {
-			if (pathParamURIInstance.getCamelUriInstance().isProducer()) {
-				return kameletsCatalog.getKameletsByType(KameletTypeEnum.SINK.type());
-			} else {
-				return kameletsCatalog.getKameletsByType(KameletTypeEnum.SOURCE.type());
-			}
+	private String computeTemplateIdPrefix(PathParamURIInstance pathParamURIInstance, int positionInCamelUri) {
+		String value = pathParamURIInstance.getValue();
+		int prefixLength = positionInCamelUri - pathParamURIInstance.getStartPositionInUri();
+		if (value == null || prefixLength <= 0) {
+			return "";
+		}
+		return value.substring(0, Math.min(prefixLength, value.length()));
+	}
+
+	private List<KameletDescriptor> retrievePotentialKamelets(PathParamURIInstance pathParamURIInstance, String templateIdPrefix) {
+		KameletsCatalogIndex kameletsCatalogIndex = kameletsCatalogManager.getIndex();
+		if (pathParamURIInstance.getCamelUriInstance().isProducer()) {
+			return kameletsCatalogIndex.findSinksByTemplateId(templateIdPrefix);
 		} else {
-			return Collections.emptyList();
+			return kameletsCatalogIndex.findSourcesByTemplateId(templateIdPrefix);
 		}
 	}
 
@@ -22,24 +22,24 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModeline;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
 
 public class CamelKModelineCompletionprocessor {
 
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
 	private CompletableFuture<CamelCatalog> camelCatalog;
 
-	public CamelKModelineCompletionprocessor(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog) {
-		this.textDocumentItem = textDocumentItem;
+	public CamelKModelineCompletionprocessor(TextDocumentSnapshot textDocument, CompletableFuture<CamelCatalog> camelCatalog) {
+		this.textDocument = textDocument;
 		this.camelCatalog = camelCatalog;
 	}
 
 	public CompletableFuture<List<CompletionItem>>  getCompletions(Position position) {
-		String modelineString = new ParserFileHelperUtil().getLine(textDocumentItem, position.getLine());
-		return new CamelKModeline(modelineString, textDocumentItem, position.getLine()).getCompletions(position.getCharacter(), camelCatalog);
+		String modelineString = new ParserFileHelperUtil().getLine(textDocument, position.getLine());
+		return new CamelKModeline(modelineString, textDocument, position.getLine()).getCompletions(position.getCharacter(), camelCatalog);
 	}
 
 }
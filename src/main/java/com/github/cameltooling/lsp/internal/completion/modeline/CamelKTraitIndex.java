@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion.modeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Trait definitions of one Camel K trait catalog, indexed by trait name and by trait property name.
+ */
+public final class CamelKTraitIndex {
+
+	private final String camelKVersion;
+	private final Map<String, TraitDefinition> traitsByName = new LinkedHashMap<>();
+	private final Map<String, Map<String, TraitProperty>> propertiesByTraitName = new HashMap<>();
+	private final List<TraitDefinition> traits;
+
+	CamelKTraitIndex(String camelKVersion, List<TraitDefinition> traits) {
+		this.camelKVersion = camelKVersion;
+		for (TraitDefinition trait : traits) {
+			if (traitsByName.putIfAbsent(trait.getName(), trait) == null) {
+				Map<String, TraitProperty> properties = new HashMap<>();
+				if (trait.getProperties() != null) {
+					for (TraitProperty property : trait.getProperties()) {
+						properties.putIfAbsent(property.getName(), property);
+					}
+				}
+				propertiesByTraitName.put(trait.getName(), properties);
+			}
+		}
+		this.traits = Collections.unmodifiableList(new ArrayList<>(traitsByName.values()));
+	}
+
+	public String getCamelKVersion() {
+		return camelKVersion;
+	}
+
+	/**
+	 * @return the trait definitions, in the order of the catalog
+	 */
+	public List<TraitDefinition> getTraits() {
+		return traits;
+	}
+
+	public Optional<TraitDefinition> getTrait(String traitName) {
+		if (traitName == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(traitsByName.get(traitName));
+	}
+
+	public Optional<TraitProperty> getTraitProperty(String traitName, String traitPropertyName) {
+		if (traitName == null || traitPropertyName == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(propertiesByTraitName.getOrDefault(traitName, Collections.emptyMap()).get(traitPropertyName));
+	}
+}
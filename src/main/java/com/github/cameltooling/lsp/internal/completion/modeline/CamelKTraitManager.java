@@ -17,13 +17,18 @@
 package com.github.cameltooling.lsp.internal.completion.modeline;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.lsp4j.CompletionItem;
@@ -35,19 +40,47 @@ import com.google.gson.Gson;
 
 public class CamelKTraitManager {
 	
+	public static final String DEFAULT_CAMEL_K_VERSION = "1.3.2";
+	private static final String TRAIT_CATALOG_RESOURCE_PATTERN = "/trait-catalog-camel_k-%s.json";
+
+	private static final Map<String, Optional<CamelKTraitIndex>> INDEXES = new ConcurrentHashMap<>();
+
 	private CamelKTraitManager() {
 		
 	}
-	
-	private static List<TraitDefinition> traits;
 
-	public static List<TraitDefinition> getTraits() {
-		if(traits == null) {
-			InputStream inputStream = CamelKTraitManager.class.getResourceAsStream("/trait-catalog-camel_k-1.3.2.json");
-			String text = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)).lines().collect(Collectors.joining("\n"));
-			traits = Arrays.asList(new Gson().fromJson(text, TraitDefinition[].class));
+	/**
+	 * @return the trait index of the default Camel K version
+	 */
+	public static CamelKTraitIndex getIndex() {
+		return getIndex(DEFAULT_CAMEL_K_VERSION).orElseThrow(() -> new IllegalStateException("Missing trait catalog for Camel K " + DEFAULT_CAMEL_K_VERSION));
+	}
+
+	/**
+	 * Trait catalogs are loaded on first use and then kept for the lifetime of the server.
+	 * 
+	 * @param camelKVersion a Camel K version, for instance 1.3.2
+	 * @return the trait index of this Camel K version, empty if there is no trait catalog for it
+	 */
+	public static Optional<CamelKTraitIndex> getIndex(String camelKVersion) {
+		return INDEXES.computeIfAbsent(camelKVersion, CamelKTraitManager::loadIndex);
+	}
+
+	private static Optional<CamelKTraitIndex> loadIndex(String camelKVersion) {
+		InputStream inputStream = CamelKTraitManager.class.getResourceAsStream(String.format(TRAIT_CATALOG_RESOURCE_PATTERN, camelKVersion));
+		if (inputStream == null) {
+			return Optional.empty();
 		}
-		return traits;
+		try (Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+			TraitDefinition[] traits = new Gson().fromJson(reader, TraitDefinition[].class);
+			return Optional.of(new CamelKTraitIndex(camelKVersion, Arrays.asList(traits)));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public static List<TraitDefinition> getTraits() {
+		return getIndex().getTraits();
 	}
 	
 	public static List<CompletionItem> getTraitDefinitionNameCompletionItems(String filter, CamelKModelineTraitDefinition camelKModelineTraitDefinition){
@@ -58,7 +91,7 @@ public class CamelKTraitManager {
 	}
 
 	public static List<CompletionItem> getTraitPropertyNameCompletionItems(String filter, CamelKModelineTraitDefinitionProperty traitDefinitionProperty) {
-		Optional<TraitDefinition> traitDefinition = getTrait(traitDefinitionProperty.getTraitOption().getTraitDefinition().getValueAsString());
+		Optional<TraitDefinition> traitDefinition = getIndex().getTrait(traitDefinitionProperty.getTraitOption().getTraitDefinition().getValueAsString());
 		if(traitDefinition.isPresent()) {
 			return traitDefinition.get().getProperties().stream()
 					.map(traitProperty -> traitProperty.createCompletionItem(traitDefinitionProperty))
@@ -68,31 +101,12 @@ public class CamelKTraitManager {
 		return Collections.emptyList();
 	}
 
-	private static Optional<TraitDefinition> getTrait(String traitDefinitionName) {
-		return getTraits().stream().filter(traitdefinition -> traitDefinitionName.equals(traitdefinition.getName())).findFirst();
-	}
-
 	public static String getDescription(String traitDefinitionName) {
-		Optional<TraitDefinition> traitDefinition = getTrait(traitDefinitionName);
-		if(traitDefinition.isPresent()) {
-			return traitDefinition.get().getDescription();
-		}
-		return null;
+		return getIndex().getTrait(traitDefinitionName).map(TraitDefinition::getDescription).orElse(null);
 	}
 
 	public static String getPropertyDescription(String traitDefinitionName, String traitPropertyName) {
-		Optional<TraitDefinition> traitDefinition = getTrait(traitDefinitionName);
-		if(traitDefinition.isPresent()) {
-			Optional<TraitProperty> traitProperty = getTraitProperty(traitDefinition.get(), traitPropertyName);
-			if(traitProperty.isPresent()) {
-				return traitProperty.get().getDescription();
-			}
-		}
-		return null;
-	}
-
-	private static Optional<TraitProperty> getTraitProperty(TraitDefinition traitDefinition, String traitPropertyName) {
-		return traitDefinition.getProperties().stream().filter(traitProperty -> traitPropertyName.equals(traitProperty.getName())).findFirst();
+		return getIndex().getTraitProperty(traitDefinitionName, traitPropertyName).map(TraitProperty::getDescription).orElse(null);
 	}
 
 }
@@ -22,37 +22,36 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
-import org.apache.camel.parser.helper.CamelXmlHelper;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.LocationLink;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Node;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.PathParamURIInstance;
 import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
+import com.github.cameltooling.lsp.internal.parser.xml.XmlCamelElement;
 
 public class DefinitionProcessor {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(DefinitionProcessor.class);
 	
 	private ParserXMLFileHelper parserXMLFileHelper = new ParserXMLFileHelper();
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
 
-	public DefinitionProcessor(TextDocumentItem textDocumentItem) {
-		this.textDocumentItem = textDocumentItem;
+	public DefinitionProcessor(TextDocumentSnapshot textDocument) {
+		this.textDocument = textDocument;
 	}
 	
 	@SuppressWarnings("squid:S1452")
 	public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> getDefinitions(Position position) {
-		if (textDocumentItem.getUri().endsWith(".xml")) {
-			String camelComponentUri = parserXMLFileHelper.getCamelComponentUri(textDocumentItem, position);
+		if (textDocument.getUri().endsWith(".xml")) {
+			String camelComponentUri = parserXMLFileHelper.getCamelComponentUri(textDocument, position);
 			if (camelComponentUri != null) {
-				CamelURIInstance camelURIInstance = parserXMLFileHelper.createCamelURIInstance(textDocumentItem, position, camelComponentUri);
+				CamelURIInstance camelURIInstance = parserXMLFileHelper.createCamelURIInstance(textDocument, position, camelComponentUri);
 				if (camelURIInstance != null && "ref".equals(camelURIInstance.getComponentName())) {
 					Set<PathParamURIInstance> pathParams = camelURIInstance.getComponentAndPathUriElementInstance().getPathParams();
 					if(!pathParams.isEmpty()) {
@@ -67,15 +66,14 @@ public class DefinitionProcessor {
 
 	private CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> searchEndpointsWithId(String refId) {
 		try {
-			List<Node> allEndpoints = parserXMLFileHelper.getAllEndpoints(textDocumentItem);
-			for (Node endpoint : allEndpoints) {
-				String id = CamelXmlHelper.getSafeAttribute(endpoint, "id");
-				if (refId.equals(id)) {
-					return CompletableFuture.completedFuture(Either.forLeft(Arrays.asList(parserXMLFileHelper.retrieveLocation(endpoint, textDocumentItem))));
+			List<XmlCamelElement> allEndpoints = parserXMLFileHelper.getAllEndpoints(textDocument);
+			for (XmlCamelElement endpoint : allEndpoints) {
+				if (refId.equals(endpoint.getId())) {
+					return CompletableFuture.completedFuture(Either.forLeft(Arrays.asList(parserXMLFileHelper.retrieveLocation(endpoint, textDocument))));
 				}
 			}
 		} catch (Exception e) {
-			LOGGER.error("Cannot compute defintions for "+ textDocumentItem.getUri(), e);
+			LOGGER.error("Cannot compute defintions for "+ textDocument.getUri(), e);
 		}
 		return CompletableFuture.completedFuture(Either.forLeft(Collections.emptyList()));
 	}
@@ -27,8 +27,8 @@ import java.util.stream.Collectors;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModeline;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModelineOption;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModelineTraitOption;
@@ -40,7 +40,7 @@ public class CamelKModelineDiagnosticService extends DiagnosticService {
 		super(null, null);
 	}
 
-	public Collection<Diagnostic> compute(String camelText, TextDocumentItem documentItem) {
+	public Collection<Diagnostic> compute(String camelText, TextDocumentSnapshot textDocument) {
 		BufferedReader bufReader = new BufferedReader(new StringReader(camelText));
 		String line=null;
 		int lineNumber = 0;
@@ -49,19 +49,19 @@ public class CamelKModelineDiagnosticService extends DiagnosticService {
 		try {
 			while((line=bufReader.readLine()) != null){
 				if(camelKModelineParser.retrieveModelineCamelKStart(line) != null) {
-					diagnostics.addAll(computeDiagnosticForLine(documentItem, line, lineNumber));
+					diagnostics.addAll(computeDiagnosticForLine(textDocument, line, lineNumber));
 				}
 				lineNumber++;
 			}
 		} catch (IOException e) {
-			logExceptionValidatingDocument(documentItem.getUri(), e);
+			logExceptionValidatingDocument(textDocument.getUri(), e);
 		}
 		return diagnostics;
 	}
 
-	private Collection<Diagnostic> computeDiagnosticForLine(TextDocumentItem documentItem, String line, int lineNumber) {
+	private Collection<Diagnostic> computeDiagnosticForLine(TextDocumentSnapshot textDocument, String line, int lineNumber) {
 		Collection<Diagnostic> diagnostics = new HashSet<>();
-		CamelKModeline camelKModeline = new CamelKModeline(line, documentItem, lineNumber);
+		CamelKModeline camelKModeline = new CamelKModeline(line, textDocument, lineNumber);
 		List<CamelKModelineTraitOption> traitOptions = camelKModeline.getOptions().stream()
 				.map(CamelKModelineOption::getOptionValue)
 				.filter(CamelKModelineTraitOption.class::isInstance)
@@ -16,25 +16,19 @@
  */
 package com.github.cameltooling.lsp.internal.diagnostic;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorModel;
 import org.eclipse.lsp4j.Diagnostic;
-import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
+import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertiesFileModel;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyEntryInstance;
-import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
 
 public class CamelKafkaConnectorDiagnosticService extends DiagnosticService {
 
@@ -42,32 +36,17 @@ public class CamelKafkaConnectorDiagnosticService extends DiagnosticService {
 		super(null, camelKafkaConnectorCatalogManager);
 	}
 
-	public Collection<Diagnostic> compute(String camelText, TextDocumentItem documentItem) {
-		String docUri = documentItem.getUri();
+	public Collection<Diagnostic> compute(String camelText, TextDocumentSnapshot textDocument) {
+		String docUri = textDocument.getUri();
 		if(docUri.endsWith(".properties")) {
-			String connectorClass = new CamelKafkaUtil().findConnectorClass(documentItem);
-			Optional<CamelKafkaConnectorModel> connectorModelOptional = camelKafkaConnectorCatalogManager.findConnectorModel(connectorClass);
+			CamelPropertiesFileModel propertiesFileModel = CamelPropertiesFileModel.of(textDocument);
+			Optional<CamelKafkaConnectorModel> connectorModelOptional = camelKafkaConnectorCatalogManager.findConnectorModel(propertiesFileModel.getConnectorClass());
 			if (connectorModelOptional.isPresent()) {
 				List<Diagnostic> lspDiagnostics = new ArrayList<>();
-				BufferedReader reader = new BufferedReader(new StringReader(camelText));
-				int lineNumber = 0;
-				String line;
-				try {
-					Set<CamelPropertyEntryInstance> camelPropertyEntries = new HashSet<>();
-					while((line = reader.readLine())!= null) {
-						CamelPropertyEntryInstance camelPropertyEntryInstance = new CamelPropertyEntryInstance(line, new Position(lineNumber, 0), documentItem);
-						camelPropertyEntries.add(camelPropertyEntryInstance);
-						lineNumber++;
-					}
-					
-					for (CamelPropertyEntryInstance camelPropertyEntryInstance : camelPropertyEntries) {
-						lspDiagnostics.addAll(camelPropertyEntryInstance.validate(camelKafkaConnectorCatalogManager, camelPropertyEntries));
-					}
-					
-					return lspDiagnostics;
-				} catch (IOException e) {
-					logExceptionValidatingDocument(docUri, e);
+				for (CamelPropertyEntryInstance camelPropertyEntryInstance : propertiesFileModel.getEntries()) {
+					lspDiagnostics.addAll(camelPropertyEntryInstance.validate(camelKafkaConnectorCatalogManager, propertiesFileModel));
 				}
+				return lspDiagnostics;
 			}
 		}
 		return Collections.emptyList();
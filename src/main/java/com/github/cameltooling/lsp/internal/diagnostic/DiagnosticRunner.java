@@ -27,6 +27,7 @@ import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 
 /**
  * @author lheinema
@@ -48,44 +49,84 @@ public class DiagnosticRunner {
 	}
 
 	public void compute(DidSaveTextDocumentParams params) {
-		String camelText = retrieveFullText(params);
-		computeDiagnostics(camelText, camelLanguageServer.getTextDocumentService().getOpenedDocument(params.getTextDocument().getUri()));
+		TextDocumentSnapshot openedDocument = camelLanguageServer.getTextDocumentService().getOpenedDocument(params.getTextDocument().getUri());
+		if (openedDocument != null) {
+			String camelText = params.getText();
+			TextDocumentSnapshot textDocument = openedDocument;
+			if (camelText != null && !camelText.equals(openedDocument.getText())) {
+				textDocument = TextDocumentSnapshot.of(new TextDocumentItem(openedDocument.getUri(), openedDocument.getLanguageId(), openedDocument.getVersion(), camelText));
+			}
+			TextDocumentSnapshot validatedDocument = textDocument;
+			getScheduler().scheduleNow(validatedDocument.getUri(), runSequence -> computeDiagnostics(validatedDocument.getText(), validatedDocument, runSequence));
+		}
 	}
 
+	/**
+	 * Diagnostics are computed once the debounce delay is elapsed without newer change.
+	 */
 	public void compute(DidChangeTextDocumentParams params) {
-		String camelText = params.getContentChanges().get(0).getText();
-		
-		computeDiagnostics(camelText, camelLanguageServer.getTextDocumentService().getOpenedDocument(params.getTextDocument().getUri()));
+		TextDocumentSnapshot openedDocument = camelLanguageServer.getTextDocumentService().getOpenedDocument(params.getTextDocument().getUri());
+		if (openedDocument != null) {
+			getScheduler().scheduleDebounced(openedDocument.getUri(), runSequence -> computeLatestDiagnostics(openedDocument.getUri(), runSequence));
+		}
 	}
 
 	public void compute(DidOpenTextDocumentParams params) {
-		String camelText = params.getTextDocument().getText();
-		computeDiagnostics(camelText, params.getTextDocument());
+		String uri = params.getTextDocument().getUri();
+		getScheduler().scheduleNow(uri, runSequence -> computeLatestDiagnostics(uri, runSequence));
+	}
+
+	private void computeLatestDiagnostics(String uri, long runSequence) {
+		TextDocumentSnapshot openedDocument = camelLanguageServer.getTextDocumentService().getOpenedDocument(uri);
+		if (openedDocument != null) {
+			computeDiagnostics(openedDocument.getText(), openedDocument, runSequence);
+		}
 	}
 
-	public void computeDiagnostics(String camelText, TextDocumentItem documentItem) {
-		String uri = documentItem.getUri();
-		CompletableFuture.runAsync(() -> {
-			Map<CamelEndpointDetails, EndpointValidationResult> endpointErrors = endpointDiagnosticService.computeCamelEndpointErrors(camelText, uri);
-			TextDocumentItem openedDocument = camelLanguageServer.getTextDocumentService().getOpenedDocument(uri);
-			List<Diagnostic> diagnostics = endpointDiagnosticService.converToLSPDiagnostics(camelText, endpointErrors, openedDocument);
-			Map<String, ConfigurationPropertiesValidationResult> configurationPropertiesErrors = configurationPropertiesDiagnosticService.computeCamelConfigurationPropertiesErrors(camelText, uri);
-			diagnostics.addAll(configurationPropertiesDiagnosticService.converToLSPDiagnostics(configurationPropertiesErrors));
-			diagnostics.addAll(camelKModelineDiagnosticService.compute(camelText, documentItem));
-			diagnostics.addAll(camelKafkaConnectorDiagnosticService.compute(camelText, documentItem));
-			camelLanguageServer.getClient().publishDiagnostics(new PublishDiagnosticsParams(uri, diagnostics));
-		});
+	/**
+	 * Computes the diagnostics in the calling thread. The computation stops as soon as a newer version of the document is opened.
+	 *
+	 * @param camelText the text to validate, it must be the text of the document
+	 * @param textDocument the snapshot of the document to validate. Diagnostics are not published if a newer version is opened meanwhile.
+	 */
+	public void computeDiagnostics(String camelText, TextDocumentSnapshot textDocument) {
+		computeDiagnostics(camelText, textDocument, getScheduler().startRun(textDocument.getUri()));
 	}
 
-	private String retrieveFullText(DidSaveTextDocumentParams params) {
-		String camelText = params.getText();
-		if (camelText == null) {
-			camelText = camelLanguageServer.getTextDocumentService().getOpenedDocument(params.getTextDocument().getUri()).getText();
+	/**
+	 * @param runSequence the sequence number of the diagnostic run. Diagnostics are not published if another run was scheduled for the document meanwhile.
+	 */
+	private void computeDiagnostics(String camelText, TextDocumentSnapshot textDocument, long runSequence) {
+		String uri = textDocument.getUri();
+		if (isOutdated(textDocument)) {
+			return;
+		}
+		Map<CamelEndpointDetails, EndpointValidationResult> endpointErrors = endpointDiagnosticService.computeCamelEndpointErrors(textDocument);
+		List<Diagnostic> diagnostics = endpointDiagnosticService.converToLSPDiagnostics(camelText, endpointErrors, textDocument);
+		if (isOutdated(textDocument)) {
+			return;
 		}
-		return camelText;
+		Map<String, ConfigurationPropertiesValidationResult> configurationPropertiesErrors = configurationPropertiesDiagnosticService.computeCamelConfigurationPropertiesErrors(camelText, uri);
+		diagnostics.addAll(configurationPropertiesDiagnosticService.converToLSPDiagnostics(configurationPropertiesErrors));
+		diagnostics.addAll(camelKModelineDiagnosticService.compute(camelText, textDocument));
+		if (isOutdated(textDocument)) {
+			return;
+		}
+		diagnostics.addAll(camelKafkaConnectorDiagnosticService.compute(camelText, textDocument));
+		if (!isOutdated(textDocument)) {
+			getScheduler().publishIfLatest(uri, runSequence, () -> camelLanguageServer.getClient().publishDiagnostics(new PublishDiagnosticsParams(uri, diagnostics, textDocument.getVersion())));
+		}
+	}
+
+	private DiagnosticScheduler getScheduler() {
+		return camelLanguageServer.getTextDocumentService().getDiagnosticScheduler();
+	}
+
+	private boolean isOutdated(TextDocumentSnapshot textDocument) {
+		return !camelLanguageServer.getTextDocumentService().isLatestVersion(textDocument);
 	}
 
 	public void clear(String uri) {
-		camelLanguageServer.getClient().publishDiagnostics(new PublishDiagnosticsParams(uri, Collections.emptyList()));
+		getScheduler().cancel(uri, () -> camelLanguageServer.getClient().publishDiagnostics(new PublishDiagnosticsParams(uri, Collections.emptyList())));
 	}
 }
@@ -0,0 +1,212 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.diagnostic;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.executor.ExecutorLanes;
+
+/**
+ * Schedules diagnostic runs per document.
+ *
+ * A run scheduled for a document replaces the one still pending for the same document,
+ * so that fast typing leads to a single validation once the debounce delay is elapsed.
+ * Runs already started are expected to stop by themselves when they notice that they are working on an outdated version.
+ * Each run receives a sequence number, increasing in scheduling order. Runs publish through {@link #publishIfLatest(String, long, Runnable)}
+ * so that the diagnostics of a run never replace the ones of a run scheduled after it for the same document.
+ * The delays are handled by a single timer thread, the runs themselves are executed by the provided executor, usually the background lane.
+ */
+public class DiagnosticScheduler {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DiagnosticScheduler.class);
+
+	public static final long DEFAULT_DEBOUNCE_DELAY = 250;
+
+	@FunctionalInterface
+	public interface DiagnosticRun {
+		/**
+		 * @param runSequence the sequence number of this run, to provide when publishing
+		 */
+		void run(long runSequence);
+	}
+
+	private final ScheduledThreadPoolExecutor timer;
+	private final Executor runExecutor;
+	private final ConcurrentMap<String, PendingRun> pendingRuns = new ConcurrentHashMap<>();
+	private final AtomicLong runSequence = new AtomicLong();
+	private final ConcurrentMap<String, Long> latestRunSequences = new ConcurrentHashMap<>();
+	private final Object publicationLock = new Object();
+	private volatile long debounceDelay = DEFAULT_DEBOUNCE_DELAY;
+
+	public DiagnosticScheduler(Executor runExecutor) {
+		this.runExecutor = runExecutor;
+		timer = new ScheduledThreadPoolExecutor(1, new ExecutorLanes.NamedThreadFactory("camel-lsp-diagnostic-scheduler", Thread.NORM_PRIORITY));
+		timer.setRemoveOnCancelPolicy(true);
+		timer.setKeepAliveTime(1, TimeUnit.MINUTES);
+		timer.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * @param uri the uri of the validated document
+	 * @param run the validation to run once the debounce delay is elapsed without newer run scheduled for this document
+	 */
+	public void scheduleDebounced(String uri, DiagnosticRun run) {
+		schedule(uri, run, debounceDelay);
+	}
+
+	/**
+	 * @param uri the uri of the validated document
+	 * @param run the validation to run as soon as possible, it replaces the run pending for this document
+	 */
+	public void scheduleNow(String uri, DiagnosticRun run) {
+		schedule(uri, run, 0);
+	}
+
+	private void schedule(String uri, DiagnosticRun run, long delay) {
+		pendingRuns.compute(uri, (key, previousRun) -> {
+			if (previousRun != null) {
+				previousRun.cancel();
+			}
+			PendingRun pendingRun = new PendingRun(key, run, startRun(key));
+			pendingRun.timerTask = timer.schedule(pendingRun, delay, TimeUnit.MILLISECONDS);
+			return pendingRun;
+		});
+	}
+
+	/**
+	 * A run waiting for its delay. It is created before being submitted to the timer,
+	 * so that it can always remove itself from the pending runs when the delay is elapsed, even with no delay.
+	 */
+	private final class PendingRun implements Runnable {
+		private final String uri;
+		private final DiagnosticRun run;
+		private final long sequence;
+		private volatile Future<?> timerTask;
+
+		private PendingRun(String uri, DiagnosticRun run, long sequence) {
+			this.uri = uri;
+			this.run = run;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public void run() {
+			pendingRuns.remove(uri, this);
+			try {
+				runExecutor.execute(() -> DiagnosticScheduler.this.run(uri, run, sequence));
+			} catch (RejectedExecutionException e) {
+				LOGGER.warn("Diagnostics of {} skipped, too many pending background tasks", uri);
+			}
+		}
+
+		private void cancel() {
+			Future<?> task = timerTask;
+			if (task != null) {
+				task.cancel(false);
+			}
+		}
+	}
+
+	private void run(String uri, DiagnosticRun run, long sequence) {
+		try {
+			run.run(sequence);
+		} catch (RuntimeException e) {
+			LOGGER.warn("Error while computing diagnostics of " + uri, e);
+		}
+	}
+
+	/**
+	 * Registers a run started directly by the caller, without scheduling. It outdates all the runs scheduled before for this document.
+	 *
+	 * @param uri the uri of the validated document
+	 * @return the sequence number of the run
+	 */
+	public long startRun(String uri) {
+		long sequence = runSequence.incrementAndGet();
+		latestRunSequences.put(uri, sequence);
+		return sequence;
+	}
+
+	/**
+	 * @param uri the uri of the validated document
+	 * @param runSequence the sequence number of the run which computed the diagnostics
+	 * @param publication publishes the diagnostics, called only if no run was scheduled after this one for the document
+	 * @return true if the diagnostics were published
+	 */
+	public boolean publishIfLatest(String uri, long runSequence, Runnable publication) {
+		synchronized (publicationLock) {
+			Long latestRunSequence = latestRunSequences.get(uri);
+			if (latestRunSequence == null || latestRunSequence != runSequence) {
+				return false;
+			}
+			publication.run();
+			return true;
+		}
+	}
+
+	public void cancel(String uri) {
+		PendingRun pendingRun = pendingRuns.remove(uri);
+		if (pendingRun != null) {
+			pendingRun.cancel();
+		}
+		latestRunSequences.remove(uri);
+	}
+
+	/**
+	 * @param uri the uri of the document
+	 * @param publication publishes the diagnostics replacing the ones of the cancelled runs, called once none of them can publish anymore
+	 */
+	public void cancel(String uri, Runnable publication) {
+		synchronized (publicationLock) {
+			cancel(uri);
+			publication.run();
+		}
+	}
+
+	boolean hasPendingRun(String uri) {
+		return pendingRuns.containsKey(uri);
+	}
+
+	public long getDebounceDelay() {
+		return debounceDelay;
+	}
+
+	/**
+	 * @param debounceDelay delay in milliseconds, negative values are ignored
+	 */
+	public void setDebounceDelay(long debounceDelay) {
+		if (debounceDelay >= 0) {
+			this.debounceDelay = debounceDelay;
+		}
+	}
+
+	public void shutdown() {
+		pendingRuns.clear();
+		latestRunSequences.clear();
+		timer.shutdownNow();
+	}
+}
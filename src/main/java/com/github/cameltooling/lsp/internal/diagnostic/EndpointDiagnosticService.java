@@ -17,10 +17,8 @@
 package com.github.cameltooling.lsp.internal.diagnostic;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringReader;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -32,17 +30,11 @@ import java.util.concurrent.ExecutionException;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.catalog.EndpointValidationResult;
-import org.apache.camel.parser.RouteBuilderParser;
-import org.apache.camel.parser.XmlRouteParser;
 import org.apache.camel.parser.model.CamelEndpointDetails;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
-import org.jboss.forge.roaster.Roaster;
-import org.jboss.forge.roaster.model.JavaType;
-import org.jboss.forge.roaster.model.source.JavaClassSource;
 
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.BooleanErrorMsg;
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.EnumErrorMsg;
@@ -52,7 +44,11 @@ import com.github.cameltooling.lsp.internal.catalog.diagnostic.NumberErrorMsg;
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.ReferenceErrorMsg;
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.RequiredErrorMsg;
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.UnknownErrorMsg;
+import com.github.cameltooling.lsp.internal.catalog.util.EndpointValidationCache;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
+import com.github.cameltooling.lsp.internal.parser.ParserJavaFileHelper;
+import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
 
 public class EndpointDiagnosticService extends DiagnosticService {
 
@@ -60,8 +56,9 @@ public class EndpointDiagnosticService extends DiagnosticService {
 		super(camelCatalog, null);
 	}
 	
-	Map<CamelEndpointDetails, EndpointValidationResult> computeCamelEndpointErrors(String camelText, String uri) {
-		List<CamelEndpointDetails> endpoints = retrieveEndpoints(uri, camelText);
+	Map<CamelEndpointDetails, EndpointValidationResult> computeCamelEndpointErrors(TextDocumentSnapshot textDocument) {
+		String uri = textDocument.getUri();
+		List<CamelEndpointDetails> endpoints = retrieveEndpoints(textDocument);
 		return diagnoseEndpoints(uri, endpoints);
 	}
 	
@@ -70,7 +67,7 @@ public class EndpointDiagnosticService extends DiagnosticService {
 		try {
 			CamelCatalog camelCatalogResolved = camelCatalog.get();
 			for (CamelEndpointDetails camelEndpointDetails : endpoints) {
-				EndpointValidationResult validateEndpointProperties = camelCatalogResolved.validateEndpointProperties(camelEndpointDetails.getEndpointUri(), false);
+				EndpointValidationResult validateEndpointProperties = EndpointValidationCache.validateEndpointProperties(camelCatalogResolved, camelEndpointDetails.getEndpointUri());
 				if (validateEndpointProperties.hasErrors() && wasCapableToValidate(validateEndpointProperties)) {
 					endpointErrors.put(camelEndpointDetails, validateEndpointProperties);
 				}
@@ -88,21 +85,18 @@ public class EndpointDiagnosticService extends DiagnosticService {
 		return validateEndpointProperties.getIncapable() == null;
 	}
 
-	private List<CamelEndpointDetails> retrieveEndpoints(String uri, String camelText) {
+	private List<CamelEndpointDetails> retrieveEndpoints(TextDocumentSnapshot textDocument) {
+		String uri = textDocument.getUri();
 		List<CamelEndpointDetails> endpoints = new ArrayList<>();
 		if (uri.endsWith(".xml")) {
 			try {
-				XmlRouteParser.parseXmlRouteEndpoints(new ByteArrayInputStream(camelText.getBytes(StandardCharsets.UTF_8)), "", "/"+uri, endpoints);
+				endpoints.addAll(ParserXMLFileHelper.getCamelEndpointDetails(textDocument));
 			} catch (Exception e) {
 				logExceptionValidatingDocument(uri, e);
 			}
 		} else if(uri.endsWith(".java")) {
 			try {
-				JavaType<?> parsedJavaFile = Roaster.parse(camelText);
-				if (parsedJavaFile instanceof JavaClassSource) {
-					JavaClassSource clazz = (JavaClassSource) parsedJavaFile;
-					RouteBuilderParser.parseRouteBuilderEndpoints(clazz, "", "/"+uri, endpoints);
-				}
+				endpoints.addAll(ParserJavaFileHelper.getCamelEndpointDetails(textDocument));
 			} catch(Exception e) {
 				logExceptionValidatingDocument(uri, e);
 			}
@@ -110,18 +104,18 @@ public class EndpointDiagnosticService extends DiagnosticService {
 		return endpoints;
 	}
 	
-	public List<Diagnostic> converToLSPDiagnostics(String fullCamelText, Map<CamelEndpointDetails, EndpointValidationResult> endpointErrors, TextDocumentItem textDocumentItem) {
+	public List<Diagnostic> converToLSPDiagnostics(String fullCamelText, Map<CamelEndpointDetails, EndpointValidationResult> endpointErrors, TextDocumentSnapshot textDocument) {
 		List<Diagnostic> lspDiagnostics = new ArrayList<>();
 		for (Map.Entry<CamelEndpointDetails, EndpointValidationResult> endpointError : endpointErrors.entrySet()) {
 			EndpointValidationResult validationResult = endpointError.getValue();
 			CamelEndpointDetails camelEndpointDetails = endpointError.getKey();
-			List<Diagnostic> unknownParameterDiagnostics = computeUnknowParameters(fullCamelText, textDocumentItem, validationResult, camelEndpointDetails);
+			List<Diagnostic> unknownParameterDiagnostics = computeUnknowParameters(fullCamelText, textDocument, validationResult, camelEndpointDetails);
 			lspDiagnostics.addAll(unknownParameterDiagnostics);
-			List<Diagnostic> invalidEnumDiagnostics = computeInvalidEnumsDiagnostic(fullCamelText, textDocumentItem, validationResult, camelEndpointDetails);
+			List<Diagnostic> invalidEnumDiagnostics = computeInvalidEnumsDiagnostic(fullCamelText, textDocument, validationResult, camelEndpointDetails);
 			lspDiagnostics.addAll(invalidEnumDiagnostics);
 			if (invalidEnumDiagnostics.size() + unknownParameterDiagnostics.size() < validationResult.getNumberOfErrors()) {
 				lspDiagnostics.add(new Diagnostic(
-						computeRange(fullCamelText, textDocumentItem, camelEndpointDetails),
+						computeRange(fullCamelText, textDocument, camelEndpointDetails),
 						computeErrorMessage(validationResult),
 						DiagnosticSeverity.Error,
 						APACHE_CAMEL_VALIDATION,
@@ -131,13 +125,13 @@ public class EndpointDiagnosticService extends DiagnosticService {
 		return lspDiagnostics;
 	}
 
-	private List<Diagnostic> computeInvalidEnumsDiagnostic(String fullCamelText, TextDocumentItem textDocumentItem, EndpointValidationResult validationResult, CamelEndpointDetails camelEndpointDetails) {
+	private List<Diagnostic> computeInvalidEnumsDiagnostic(String fullCamelText, TextDocumentSnapshot textDocument, EndpointValidationResult validationResult, CamelEndpointDetails camelEndpointDetails) {
 		List<Diagnostic> lspDiagnostics = new ArrayList<>();
 		Map<String, String> invalidEnums = validationResult.getInvalidEnum();
 		if (invalidEnums != null) {
 			for (Entry<String, String> invalidEnum : invalidEnums.entrySet()) {
 				lspDiagnostics.add(new Diagnostic(
-						computeRange(fullCamelText, textDocumentItem, camelEndpointDetails, invalidEnum),
+						computeRange(fullCamelText, textDocument, camelEndpointDetails, invalidEnum),
 						new EnumErrorMsg().getErrorMessage(validationResult, invalidEnum),
 						DiagnosticSeverity.Error,
 						APACHE_CAMEL_VALIDATION,
@@ -147,13 +141,13 @@ public class EndpointDiagnosticService extends DiagnosticService {
 		return lspDiagnostics;
 	}
 
-	private List<Diagnostic> computeUnknowParameters(String fullCamelText, TextDocumentItem textDocumentItem, EndpointValidationResult validationResult, CamelEndpointDetails camelEndpointDetails) {
+	private List<Diagnostic> computeUnknowParameters(String fullCamelText, TextDocumentSnapshot textDocument, EndpointValidationResult validationResult, CamelEndpointDetails camelEndpointDetails) {
 		List<Diagnostic> lspDiagnostics = new ArrayList<>();
 		Set<String> unknownParameters = validationResult.getUnknown();
 		if (unknownParameters != null) {
 			for (String unknownParameter : unknownParameters) {
 				lspDiagnostics.add(new Diagnostic(
-						computeRange(fullCamelText, textDocumentItem, camelEndpointDetails, unknownParameter),
+						computeRange(fullCamelText, textDocument, camelEndpointDetails, unknownParameter),
 						new UnknownErrorMsg().getErrorMessage(unknownParameter),
 						DiagnosticSeverity.Error,
 						APACHE_CAMEL_VALIDATION,
@@ -163,11 +157,11 @@ public class EndpointDiagnosticService extends DiagnosticService {
 		return lspDiagnostics;
 	}
 	
-	private Range computeRange(String fullCamelText, TextDocumentItem textDocumentItem, CamelEndpointDetails camelEndpointDetails, Entry<String, String> invalidEnum) {
+	private Range computeRange(String fullCamelText, TextDocumentSnapshot textDocument, CamelEndpointDetails camelEndpointDetails, Entry<String, String> invalidEnum) {
 		int endLine = camelEndpointDetails.getLineNumberEnd() != null ? Integer.valueOf(camelEndpointDetails.getLineNumberEnd()) - 1 : findLine(fullCamelText, camelEndpointDetails);
 		int startLine = camelEndpointDetails.getLineNumber() != null ? Integer.valueOf(camelEndpointDetails.getLineNumber()) - 1 : findLine(fullCamelText, camelEndpointDetails);
 		if(startLine == endLine) {
-			String lineContainingTheCamelURI = new ParserFileHelperUtil().getLine(textDocumentItem, endLine);
+			String lineContainingTheCamelURI = new ParserFileHelperUtil().getLine(textDocument, endLine);
 			int startCharacterOfProperty = lineContainingTheCamelURI.indexOf(invalidEnum.getKey());
 			if (startCharacterOfProperty != -1) {
 				int startCharacter = lineContainingTheCamelURI.indexOf(invalidEnum.getValue(), startCharacterOfProperty);
@@ -177,28 +171,28 @@ public class EndpointDiagnosticService extends DiagnosticService {
 				}
 			}
 		}
-		return computeRange(fullCamelText, textDocumentItem, camelEndpointDetails);
+		return computeRange(fullCamelText, textDocument, camelEndpointDetails);
 	}
 
-	private Range computeRange(String fullCamelText, TextDocumentItem textDocumentItem, CamelEndpointDetails camelEndpointDetails, String unknownParameter) {
+	private Range computeRange(String fullCamelText, TextDocumentSnapshot textDocument, CamelEndpointDetails camelEndpointDetails, String unknownParameter) {
 		int endLine = camelEndpointDetails.getLineNumberEnd() != null ? Integer.valueOf(camelEndpointDetails.getLineNumberEnd()) - 1 : findLine(fullCamelText, camelEndpointDetails);
 		int startLine = camelEndpointDetails.getLineNumber() != null ? Integer.valueOf(camelEndpointDetails.getLineNumber()) - 1 : findLine(fullCamelText, camelEndpointDetails);
 		if(startLine == endLine) {
-			String lineContainingTheCamelURI = new ParserFileHelperUtil().getLine(textDocumentItem, endLine);
+			String lineContainingTheCamelURI = new ParserFileHelperUtil().getLine(textDocument, endLine);
 			int startCharacter = lineContainingTheCamelURI.indexOf(unknownParameter);
 			if (startCharacter != -1) {
 				int endCharacter = startCharacter + unknownParameter.length();
 				return new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter));
 			}
 		}
-		return computeRange(fullCamelText, textDocumentItem, camelEndpointDetails);
+		return computeRange(fullCamelText, textDocument, camelEndpointDetails);
 	}
 
-	private Range computeRange(String fullCamelText, TextDocumentItem textDocumentItem, CamelEndpointDetails camelEndpointDetails) {
+	private Range computeRange(String fullCamelText, TextDocumentSnapshot textDocument, CamelEndpointDetails camelEndpointDetails) {
 		int endLine = camelEndpointDetails.getLineNumberEnd() != null ? Integer.valueOf(camelEndpointDetails.getLineNumberEnd()) - 1 : findLine(fullCamelText, camelEndpointDetails);
-		String lineContainingTheCamelURI = new ParserFileHelperUtil().getLine(textDocumentItem, endLine);
+		String lineContainingTheCamelURI = new ParserFileHelperUtil().getLine(textDocument, endLine);
 		String endpointUri = camelEndpointDetails.getEndpointUri();
-		if(textDocumentItem.getUri().endsWith(".xml")) {
+		if(textDocument.getUri().endsWith(".xml")) {
 			endpointUri = endpointUri.replace("&", "&amp;");
 		}
 		int startOfUri = lineContainingTheCamelURI.indexOf(endpointUri);
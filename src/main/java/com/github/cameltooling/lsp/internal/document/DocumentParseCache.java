@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.document;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Shares parse results between all processors working on the same version of a document.
+ *
+ * Only the most recent version of each artifact is kept for a document, with a global bound on the number of entries.
+ * When several threads request the same artifact at the same time, the parse is done only once.
+ * A parse failure is cached as well, it is rethrown to every caller working on this version.
+ * For incremental artifacts, the result of a new version is updated from the cached result of the previous one
+ * when the changes between both versions are known.
+ */
+public class DocumentParseCache {
+
+	static final int DEFAULT_MAXIMUM_SIZE = 128;
+
+	private static final class Key {
+		private final String uri;
+		private final ParsedArtifact<?> artifact;
+
+		private Key(String uri, ParsedArtifact<?> artifact) {
+			this.uri = uri;
+			this.artifact = artifact;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return uri.equals(other.uri) && artifact == other.artifact;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(uri, artifact);
+		}
+	}
+
+	private static final class Entry {
+		private final int version;
+		private final FutureTask<Object> parseTask;
+
+		private Entry(int version, FutureTask<Object> parseTask) {
+			this.version = version;
+			this.parseTask = parseTask;
+		}
+	}
+
+	private final Map<Key, Entry> entries;
+
+	public DocumentParseCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	DocumentParseCache(int maximumSize) {
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > maximumSize;
+			}
+		};
+	}
+
+	/**
+	 * @param <T> the type of the parse result
+	 * @param textDocument the document to parse. Results are cached only for the current snapshot of a document opened in a {@link TextDocumentRegistry}
+	 * @param artifact the kind of parse result
+	 * @return the parse result, shared with all callers working on the same version of the document
+	 * @throws Exception the exception thrown by the parser
+	 */
+	public static <T> T parse(TextDocumentSnapshot textDocument, ParsedArtifact<T> artifact) throws Exception {
+		TextDocumentRegistry registry = textDocument.getRegistry();
+		if (registry != null && registry.isCurrent(textDocument)) {
+			return registry.getParseCache().get(textDocument, artifact);
+		}
+		return artifact.parse(textDocument);
+	}
+
+	@SuppressWarnings("unchecked")
+	<T> T get(TextDocumentSnapshot snapshot, ParsedArtifact<T> artifact) throws Exception {
+		Key key = new Key(snapshot.getUri(), artifact);
+		int version = snapshot.getVersion();
+		Entry entry;
+		boolean shouldParse = false;
+		synchronized (entries) {
+			entry = entries.get(key);
+			if (entry == null || entry.version < version) {
+				Entry previousEntry = entry;
+				entry = new Entry(version, new FutureTask<>(() -> parseOrUpdate(snapshot, artifact, previousEntry)));
+				entries.put(key, entry);
+				shouldParse = true;
+			} else if (entry.version > version) {
+				entry = null;
+			}
+		}
+		if (entry == null) {
+			// outdated version requested, not worth caching
+			return artifact.parse(snapshot);
+		}
+		if (shouldParse) {
+			entry.parseTask.run();
+		}
+		try {
+			return (T) entry.parseTask.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw e;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception) {
+				throw (Exception) cause;
+			}
+			throw e;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T parseOrUpdate(TextDocumentSnapshot snapshot, ParsedArtifact<T> artifact, Entry previousEntry) throws Exception {
+		if (previousEntry != null && artifact.isIncremental()) {
+			TextChange change = snapshot.getChangeSince(previousEntry.version);
+			if (change != null) {
+				T previous;
+				try {
+					previous = (T) previousEntry.parseTask.get();
+				} catch (ExecutionException e) {
+					// the previous version could not be parsed, nothing to update
+					return artifact.parse(snapshot);
+				}
+				T updated = artifact.update(previous, snapshot, change);
+				if (updated != null) {
+					return updated;
+				}
+			}
+		}
+		return artifact.parse(snapshot);
+	}
+
+	public void invalidate(String uri) {
+		synchronized (entries) {
+			Iterator<Key> keys = entries.keySet().iterator();
+			while (keys.hasNext()) {
+				if (keys.next().uri.equals(uri)) {
+					keys.remove();
+				}
+			}
+		}
+	}
+
+	int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+}
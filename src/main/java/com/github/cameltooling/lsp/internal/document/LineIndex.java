@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.document;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import org.eclipse.lsp4j.Position;
+
+/**
+ * Offsets of the start of each line of a text.
+ *
+ * Lines are separated by '\n', an optional '\r' before it is not part of the line content.
+ */
+public final class LineIndex {
+
+	private final String text;
+	private final int[] lineStarts;
+
+	private LineIndex(String text, int[] lineStarts) {
+		this.text = text;
+		this.lineStarts = lineStarts;
+	}
+
+	public static LineIndex of(String text) {
+		int[] lineStarts = new int[16];
+		int lineCount = 1;
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) == '\n') {
+				if (lineCount == lineStarts.length) {
+					lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+				}
+				lineStarts[lineCount++] = i + 1;
+			}
+		}
+		return new LineIndex(text, Arrays.copyOf(lineStarts, lineCount));
+	}
+
+	/**
+	 * Only the replacing text is read, the lines after the change are shifted.
+	 *
+	 * @param newText the changed text
+	 * @param change the region changed since the text of this index
+	 * @return the index of the changed text
+	 */
+	public LineIndex update(String newText, TextChange change) {
+		int linesBefore = countLineStartsUpTo(change.getStart());
+		int firstLineAfter = countLineStartsUpTo(change.getOldEnd());
+		int insertedLines = 0;
+		for (int i = change.getStart(); i < change.getNewEnd(); i++) {
+			if (newText.charAt(i) == '\n') {
+				insertedLines++;
+			}
+		}
+		int[] newLineStarts = new int[linesBefore + insertedLines + lineStarts.length - firstLineAfter];
+		System.arraycopy(lineStarts, 0, newLineStarts, 0, linesBefore);
+		int line = linesBefore;
+		for (int i = change.getStart(); i < change.getNewEnd(); i++) {
+			if (newText.charAt(i) == '\n') {
+				newLineStarts[line++] = i + 1;
+			}
+		}
+		for (int i = firstLineAfter; i < lineStarts.length; i++) {
+			newLineStarts[line++] = lineStarts[i] + change.getDelta();
+		}
+		return new LineIndex(newText, newLineStarts);
+	}
+
+	private int countLineStartsUpTo(int offset) {
+		int index = Arrays.binarySearch(lineStarts, offset);
+		return index >= 0 ? index + 1 : -index - 1;
+	}
+
+	public int getLineCount() {
+		return lineStarts.length;
+	}
+
+	/**
+	 * @param line the line number, starting at 0
+	 * @return the offset of the first character of the line, 0 before the first line and {@link Integer#MAX_VALUE} after the last line
+	 */
+	public int getLineStart(int line) {
+		if (line < 0) {
+			return 0;
+		}
+		return line < lineStarts.length ? lineStarts[line] : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * @param offset an offset in the text
+	 * @return the LSP position of this offset
+	 */
+	public Position getPosition(int offset) {
+		int line = Arrays.binarySearch(lineStarts, offset);
+		if (line < 0) {
+			line = -line - 2;
+		}
+		return new Position(line, offset - lineStarts[line]);
+	}
+
+	/**
+	 * @param line the line number, starting at 0
+	 * @return the offset just after the last character of the line, excluding line delimiters
+	 */
+	public int getLineEnd(int line) {
+		if (line + 1 < lineStarts.length) {
+			int lineEnd = lineStarts[line + 1] - 1;
+			if (lineEnd > lineStarts[line] && text.charAt(lineEnd - 1) == '\r') {
+				lineEnd--;
+			}
+			return lineEnd;
+		}
+		return text.length();
+	}
+
+	/**
+	 * @param line the line number, starting at 0
+	 * @return the content of the line without line delimiters, null if the line doesn't exist
+	 */
+	public String getLine(int line) {
+		if (line < 0 || line >= lineStarts.length) {
+			return null;
+		}
+		return text.substring(lineStarts[line], getLineEnd(line));
+	}
+
+	/**
+	 * @param line the line number, starting at 0
+	 * @return a read-only view on the content of the line without line delimiters, the text is not copied. null if the line doesn't exist
+	 */
+	public CharSequence getLineView(int line) {
+		if (line < 0 || line >= lineStarts.length) {
+			return null;
+		}
+		return CharBuffer.wrap(text, lineStarts[line], getLineEnd(line));
+	}
+
+	public String getText() {
+		return text;
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.document;
+
+/**
+ * A kind of parse result which can be computed from a document and shared between processors.
+ *
+ * Instances are used as keys of the {@link DocumentParseCache}, they must be declared as constants.
+ *
+ * @param <T> the type of the parse result
+ */
+public final class ParsedArtifact<T> {
+
+	@FunctionalInterface
+	public interface Parser<T> {
+		T parse(TextDocumentSnapshot textDocument) throws Exception;
+	}
+
+	@FunctionalInterface
+	public interface Updater<T> {
+		/**
+		 * @param previous the parse result of a previous version of the document
+		 * @param textDocument the new version of the document
+		 * @param change the region changed since the previous version
+		 * @return the parse result of the new version, null when the document must be parsed again
+		 */
+		T update(T previous, TextDocumentSnapshot textDocument, TextChange change) throws Exception;
+	}
+
+	private final String name;
+	private final Parser<T> parser;
+	private final Updater<T> updater;
+
+	private ParsedArtifact(String name, Parser<T> parser, Updater<T> updater) {
+		this.name = name;
+		this.parser = parser;
+		this.updater = updater;
+	}
+
+	public static <T> ParsedArtifact<T> of(String name, Parser<T> parser) {
+		return new ParsedArtifact<>(name, parser, null);
+	}
+
+	/**
+	 * @param updater updates the result of a previous version of a document instead of parsing the whole new version
+	 */
+	public static <T> ParsedArtifact<T> of(String name, Parser<T> parser, Updater<T> updater) {
+		return new ParsedArtifact<>(name, parser, updater);
+	}
+
+	T parse(TextDocumentSnapshot textDocument) throws Exception {
+		return parser.parse(textDocument);
+	}
+
+	boolean isIncremental() {
+		return updater != null;
+	}
+
+	T update(T previous, TextDocumentSnapshot textDocument, TextChange change) throws Exception {
+		return updater.update(previous, textDocument, change);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
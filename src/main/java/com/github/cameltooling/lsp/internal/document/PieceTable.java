@@ -0,0 +1,231 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Immutable piece table storing the content of an opened document.
+ *
+ * Each edit produces a new table sharing the unchanged pieces with the previous one,
+ * so applying a ranged change costs O(number of pieces) instead of copying the whole text.
+ * Every piece knows how many line feeds it contains, which provides the line-start index
+ * used to convert LSP positions to offsets.
+ */
+public final class PieceTable {
+
+	/**
+	 * Above this number of pieces, the table is flattened into a single piece
+	 * to keep position lookups fast after a long editing session.
+	 */
+	static final int MAX_PIECES = 512;
+
+	private static final class Piece {
+		private final String source;
+		private final int start;
+		private final int length;
+		private final int lineFeeds;
+
+		private Piece(String source, int start, int length) {
+			this.source = source;
+			this.start = start;
+			this.length = length;
+			this.lineFeeds = countLineFeeds(source, start, start + length);
+		}
+
+		private Piece subPiece(int from, int to) {
+			return new Piece(source, start + from, to - from);
+		}
+	}
+
+	private final Piece[] pieces;
+	private final int length;
+	private final int lineFeeds;
+	private volatile String text;
+
+	private PieceTable(Piece[] pieces) {
+		this.pieces = pieces;
+		int computedLength = 0;
+		int computedLineFeeds = 0;
+		for (Piece piece : pieces) {
+			computedLength += piece.length;
+			computedLineFeeds += piece.lineFeeds;
+		}
+		this.length = computedLength;
+		this.lineFeeds = computedLineFeeds;
+	}
+
+	public static PieceTable of(String text) {
+		if (text.isEmpty()) {
+			return new PieceTable(new Piece[0]);
+		}
+		PieceTable pieceTable = new PieceTable(new Piece[] { new Piece(text, 0, text.length()) });
+		pieceTable.text = text;
+		return pieceTable;
+	}
+
+	/**
+	 * @param range the range to replace, following LSP position semantic
+	 * @param newText the text to insert in place of the range
+	 * @return a new piece table with the change applied
+	 */
+	public PieceTable replace(Range range, String newText) {
+		int startOffset = getOffset(range.getStart());
+		int endOffset = Math.max(startOffset, getOffset(range.getEnd()));
+		return replace(startOffset, endOffset, newText);
+	}
+
+	public PieceTable replace(int startOffset, int endOffset, String newText) {
+		List<Piece> newPieces = new ArrayList<>(pieces.length + 2);
+		int pieceOffset = 0;
+		boolean inserted = false;
+		for (Piece piece : pieces) {
+			int pieceEnd = pieceOffset + piece.length;
+			if (pieceEnd <= startOffset || pieceOffset >= endOffset && inserted) {
+				newPieces.add(piece);
+			} else {
+				if (pieceOffset < startOffset) {
+					newPieces.add(piece.subPiece(0, startOffset - pieceOffset));
+				}
+				if (!inserted) {
+					addInsertedPiece(newPieces, newText);
+					inserted = true;
+				}
+				if (pieceEnd > endOffset) {
+					newPieces.add(piece.subPiece(Math.max(endOffset - pieceOffset, 0), piece.length));
+				}
+			}
+			pieceOffset = pieceEnd;
+		}
+		if (!inserted) {
+			addInsertedPiece(newPieces, newText);
+		}
+		if (newPieces.size() > MAX_PIECES) {
+			return of(new PieceTable(newPieces.toArray(new Piece[0])).getText());
+		}
+		return new PieceTable(newPieces.toArray(new Piece[0]));
+	}
+
+	private void addInsertedPiece(List<Piece> newPieces, String newText) {
+		if (newText != null && !newText.isEmpty()) {
+			newPieces.add(new Piece(newText, 0, newText.length()));
+		}
+	}
+
+	/**
+	 * @param position an LSP position
+	 * @return the offset in the text. Positions after the end of a line are clamped to the end of this line,
+	 * 			positions after the last line are clamped to the end of the text.
+	 */
+	public int getOffset(Position position) {
+		int line = position.getLine();
+		if (line > lineFeeds) {
+			return length;
+		}
+		int lineStart = getLineStartOffset(line);
+		int offset = lineStart;
+		int remainingCharacters = position.getCharacter();
+		int pieceOffset = 0;
+		for (Piece piece : pieces) {
+			int pieceEnd = pieceOffset + piece.length;
+			if (pieceEnd > offset) {
+				for (int i = offset - pieceOffset; i < piece.length; i++) {
+					char c = piece.source.charAt(piece.start + i);
+					if (remainingCharacters == 0 || c == '\n' || c == '\r') {
+						return offset;
+					}
+					remainingCharacters--;
+					offset++;
+				}
+			}
+			pieceOffset = pieceEnd;
+		}
+		return offset;
+	}
+
+	/**
+	 * @param line the line number, starting at 0
+	 * @return the offset of the first character of the line
+	 */
+	public int getLineStartOffset(int line) {
+		if (line <= 0) {
+			return 0;
+		}
+		if (line > lineFeeds) {
+			return length;
+		}
+		int remainingLineFeeds = line;
+		int pieceOffset = 0;
+		for (Piece piece : pieces) {
+			if (piece.lineFeeds < remainingLineFeeds) {
+				remainingLineFeeds -= piece.lineFeeds;
+			} else {
+				for (int i = piece.start; i < piece.start + piece.length; i++) {
+					if (piece.source.charAt(i) == '\n' && --remainingLineFeeds == 0) {
+						return pieceOffset + i - piece.start + 1;
+					}
+				}
+			}
+			pieceOffset += piece.length;
+		}
+		return length;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	public int getLineCount() {
+		return lineFeeds + 1;
+	}
+
+	int getPieceCount() {
+		return pieces.length;
+	}
+
+	public String getText() {
+		String materializedText = text;
+		if (materializedText == null) {
+			StringBuilder sb = new StringBuilder(length);
+			for (Piece piece : pieces) {
+				sb.append(piece.source, piece.start, piece.start + piece.length);
+			}
+			materializedText = sb.toString();
+			text = materializedText;
+		}
+		return materializedText;
+	}
+
+	private static int countLineFeeds(String source, int start, int end) {
+		int count = 0;
+		for (int i = start; i < end; i++) {
+			if (source.charAt(i) == '\n') {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public String toString() {
+		return getText();
+	}
+}
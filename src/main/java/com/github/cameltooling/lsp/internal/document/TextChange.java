@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.document;
+
+/**
+ * A replaced region of a text, in offsets: the characters between start and oldEnd in the old text
+ * are replaced by the characters between start and newEnd in the new text.
+ */
+public final class TextChange {
+
+	private final int start;
+	private final int oldEnd;
+	private final int newEnd;
+
+	public TextChange(int start, int oldEnd, int newEnd) {
+		this.start = start;
+		this.oldEnd = oldEnd;
+		this.newEnd = newEnd;
+	}
+
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 * @return the offset after the replaced region in the old text
+	 */
+	public int getOldEnd() {
+		return oldEnd;
+	}
+
+	/**
+	 * @return the offset after the replaced region in the new text
+	 */
+	public int getNewEnd() {
+		return newEnd;
+	}
+
+	/**
+	 * @return the difference between the offsets in the new text and in the old text, for offsets after the replaced region
+	 */
+	public int getDelta() {
+		return newEnd - oldEnd;
+	}
+
+	/**
+	 * @param next a change applied on the text produced by this change
+	 * @return a single change covering both changes, from the text before this change to the text after the next one
+	 */
+	public TextChange merge(TextChange next) {
+		int mergedStart = Math.min(start, next.start);
+		int mergedOldEnd = next.oldEnd > newEnd ? Math.max(oldEnd, next.oldEnd - getDelta()) : oldEnd;
+		int mergedNewEnd = Math.max(newEnd, next.oldEnd) + next.getDelta();
+		return new TextChange(mergedStart, mergedOldEnd, mergedNewEnd);
+	}
+
+	@Override
+	public String toString() {
+		return "TextChange [start=" + start + ", oldEnd=" + oldEnd + ", newEnd=" + newEnd + "]";
+	}
+}
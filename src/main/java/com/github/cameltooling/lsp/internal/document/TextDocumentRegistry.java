@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.document;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentItem;
+
+/**
+ * Registry of the documents opened in the client.
+ *
+ * It can be read safely from any thread. Readers are always provided immutable {@link TextDocumentSnapshot},
+ * which allows asynchronous jobs to detect that they are working on an outdated version.
+ * The snapshots share a {@link DocumentParseCache}, cleared when a document is opened or closed.
+ */
+public class TextDocumentRegistry {
+
+	private final ConcurrentMap<String, TextDocumentSnapshot> documents = new ConcurrentHashMap<>();
+	private final DocumentParseCache parseCache = new DocumentParseCache();
+
+	public TextDocumentSnapshot open(TextDocumentItem textDocumentItem) {
+		TextDocumentSnapshot snapshot = TextDocumentSnapshot.of(textDocumentItem, this);
+		parseCache.invalidate(snapshot.getUri());
+		documents.put(snapshot.getUri(), snapshot);
+		return snapshot;
+	}
+
+	/**
+	 * @param uri the uri of the document
+	 * @param contentChanges the changes to apply, in order
+	 * @param version the version provided by the client, can be null
+	 * @return the new snapshot, or null if the document is not opened
+	 */
+	public TextDocumentSnapshot change(String uri, List<TextDocumentContentChangeEvent> contentChanges, Integer version) {
+		return documents.computeIfPresent(uri, (key, snapshot) -> snapshot.apply(contentChanges, version));
+	}
+
+	public TextDocumentSnapshot close(String uri) {
+		TextDocumentSnapshot closed = documents.remove(uri);
+		parseCache.invalidate(uri);
+		return closed;
+	}
+
+	public TextDocumentSnapshot get(String uri) {
+		return documents.get(uri);
+	}
+
+	public Collection<TextDocumentSnapshot> getAll() {
+		return Collections.unmodifiableList(new ArrayList<>(documents.values()));
+	}
+
+	/**
+	 * @param textDocument a document, usually taken previously from this registry
+	 * @return true if it corresponds to the current version of an opened document
+	 */
+	public boolean isLatest(TextDocumentSnapshot textDocument) {
+		TextDocumentSnapshot current = documents.get(textDocument.getUri());
+		return current != null && current.getVersion() == textDocument.getVersion();
+	}
+
+	/**
+	 * @return true if the snapshot is the current version of a document opened in this registry
+	 */
+	boolean isCurrent(TextDocumentSnapshot snapshot) {
+		return documents.get(snapshot.getUri()) == snapshot;
+	}
+
+	DocumentParseCache getParseCache() {
+		return parseCache;
+	}
+}
@@ -0,0 +1,192 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.document;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentItem;
+
+/**
+ * Immutable state of a document at a given version, given to the processors.
+ *
+ * The snapshots of the documents opened in a {@link TextDocumentRegistry} share the parse results of the registry.
+ * The text is materialized from the underlying {@link PieceTable} only when it is first requested.
+ */
+public final class TextDocumentSnapshot {
+
+	/**
+	 * Number of versions for which the changes are remembered, parse results older than that are not updated incrementally.
+	 */
+	static final int MAX_TRACKED_CHANGES = 32;
+
+	/**
+	 * The change which produced the version following fromVersion.
+	 */
+	private static final class TrackedChange {
+		private final int fromVersion;
+		private final TextChange change;
+
+		private TrackedChange(int fromVersion, TextChange change) {
+			this.fromVersion = fromVersion;
+			this.change = change;
+		}
+	}
+
+	private final String uri;
+	private final String languageId;
+	private final int version;
+	private final PieceTable content;
+	private final TextDocumentRegistry registry;
+	private final List<TrackedChange> trackedChanges;
+	private volatile LineIndex lineIndex;
+
+	TextDocumentSnapshot(String uri, String languageId, int version, PieceTable content, TextDocumentRegistry registry) {
+		this(uri, languageId, version, content, registry, Collections.emptyList());
+	}
+
+	private TextDocumentSnapshot(String uri, String languageId, int version, PieceTable content, TextDocumentRegistry registry, List<TrackedChange> trackedChanges) {
+		this.uri = uri;
+		this.languageId = languageId != null ? languageId : "";
+		this.version = version;
+		this.content = content;
+		this.registry = registry;
+		this.trackedChanges = trackedChanges;
+	}
+
+	/**
+	 * @param textDocumentItem a document which is not opened in a registry, for instance a file read from the disk
+	 * @return a snapshot of the document, its parse results are not cached
+	 */
+	public static TextDocumentSnapshot of(TextDocumentItem textDocumentItem) {
+		return of(textDocumentItem, null);
+	}
+
+	static TextDocumentSnapshot of(TextDocumentItem textDocumentItem, TextDocumentRegistry registry) {
+		return new TextDocumentSnapshot(
+				textDocumentItem.getUri(),
+				textDocumentItem.getLanguageId(),
+				textDocumentItem.getVersion(),
+				PieceTable.of(textDocumentItem.getText()),
+				registry);
+	}
+
+	/**
+	 * @param contentChanges the changes to apply, in order
+	 * @param requestedVersion the version provided by the client, can be null
+	 * @return a new snapshot with the changes applied and a version strictly greater than the current one
+	 */
+	TextDocumentSnapshot apply(List<TextDocumentContentChangeEvent> contentChanges, Integer requestedVersion) {
+		PieceTable newContent = content;
+		TextChange appliedChange = null;
+		boolean replaced = false;
+		for (TextDocumentContentChangeEvent contentChange : contentChanges) {
+			if (contentChange.getRange() == null) {
+				newContent = PieceTable.of(contentChange.getText());
+				replaced = true;
+			} else {
+				int startOffset = newContent.getOffset(contentChange.getRange().getStart());
+				int endOffset = Math.max(startOffset, newContent.getOffset(contentChange.getRange().getEnd()));
+				String newText = contentChange.getText() != null ? contentChange.getText() : "";
+				newContent = newContent.replace(startOffset, endOffset, newText);
+				TextChange change = new TextChange(startOffset, endOffset, startOffset + newText.length());
+				appliedChange = appliedChange == null ? change : appliedChange.merge(change);
+			}
+		}
+		int currentVersion = getVersion();
+		int newVersion = requestedVersion != null && requestedVersion > currentVersion ? requestedVersion : currentVersion + 1;
+		List<TrackedChange> newTrackedChanges = Collections.emptyList();
+		if (!replaced && appliedChange != null) {
+			newTrackedChanges = new ArrayList<>(trackedChanges.subList(Math.max(0, trackedChanges.size() - MAX_TRACKED_CHANGES + 1), trackedChanges.size()));
+			newTrackedChanges.add(new TrackedChange(currentVersion, appliedChange));
+		}
+		return new TextDocumentSnapshot(getUri(), getLanguageId(), newVersion, newContent, registry, newTrackedChanges);
+	}
+
+	/**
+	 * @param version a previous version of this document
+	 * @return the region changed since this version, null when the changes since this version are not known
+	 */
+	public TextChange getChangeSince(int version) {
+		TextChange change = null;
+		for (TrackedChange trackedChange : trackedChanges) {
+			if (change != null) {
+				change = change.merge(trackedChange.change);
+			} else if (trackedChange.fromVersion == version) {
+				change = trackedChange.change;
+			}
+		}
+		return change;
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	public String getLanguageId() {
+		return languageId;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public String getText() {
+		return content.getText();
+	}
+
+	public LineIndex getLineIndex() {
+		LineIndex index = lineIndex;
+		if (index == null) {
+			index = LineIndex.of(getText());
+			lineIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * @return the registry in which the document is opened, null for a standalone snapshot
+	 */
+	TextDocumentRegistry getRegistry() {
+		return registry;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		TextDocumentSnapshot other = (TextDocumentSnapshot) obj;
+		return getUri().equals(other.getUri()) && getVersion() == other.getVersion();
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(getUri(), getVersion());
+	}
+
+	@Override
+	public String toString() {
+		return "TextDocumentSnapshot [uri=" + getUri() + ", version=" + getVersion() + "]";
+	}
+}
@@ -30,21 +30,21 @@ import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
 
 public abstract class AbstractDocumentSymbolProcessor {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDocumentSymbolProcessor.class);
 
-	protected TextDocumentItem textDocumentItem;
+	protected TextDocumentSnapshot textDocument;
 
-	protected AbstractDocumentSymbolProcessor(TextDocumentItem textDocumentItem) {
-		this.textDocumentItem = textDocumentItem;
+	protected AbstractDocumentSymbolProcessor(TextDocumentSnapshot textDocument) {
+		this.textDocument = textDocument;
 	}
 
 	protected List<Either<SymbolInformation, DocumentSymbol>> createSymbolInformations(List<CamelNodeDetails> camelNodes, List<CamelEndpointDetails> endpoints) {
@@ -70,13 +70,13 @@ public abstract class AbstractDocumentSymbolProcessor {
 				new SymbolInformation(
 						componentPath.isPresent() ? nodeDetailsName + " " + componentPath.get() : nodeDetailsName,
 						SymbolKind.Field,
-						new Location(textDocumentItem.getUri(), range)));
+						new Location(textDocument.getUri(), range)));
 	}
 
 	private Range computeRange(CamelNodeDetails camelNodeDetails) {
 		int endLine = retrieveEndline(camelNodeDetails);
 		Position startPosition = new Position(Integer.valueOf(camelNodeDetails.getLineNumber()) - 1, 0);
-		Position endPosition = new Position(endLine, new ParserFileHelperUtil().getLine(textDocumentItem, endLine).length());
+		Position endPosition = new Position(endLine, new ParserFileHelperUtil().getLineView(textDocument, endLine).length());
 		return new Range(startPosition, endPosition);
 	}
 
@@ -18,44 +18,42 @@ package com.github.cameltooling.lsp.internal.documentsymbol;
 
 import java.io.File;
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import org.apache.camel.parser.RouteBuilderParser;
-import org.apache.camel.parser.model.CamelEndpointDetails;
 import org.apache.camel.parser.model.CamelNodeDetails;
 import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.SymbolInformation;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
-import org.jboss.forge.roaster.Roaster;
-import org.jboss.forge.roaster.model.JavaType;
 import org.jboss.forge.roaster.model.source.JavaClassSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
+import com.github.cameltooling.lsp.internal.parser.ParserJavaFileHelper;
+
 public class DocumentSymbolJavaProcessor extends AbstractDocumentSymbolProcessor {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(DocumentSymbolJavaProcessor.class);
 
-	public DocumentSymbolJavaProcessor(TextDocumentItem textDocumentItem) {
-		super(textDocumentItem);
+	public DocumentSymbolJavaProcessor(TextDocumentSnapshot textDocument) {
+		super(textDocument);
 	}
 
 	public List<Either<SymbolInformation, DocumentSymbol>> getSymbolInformations() {
 		try {
-			JavaType<?> parsedJavaFile = Roaster.parse(textDocumentItem.getText());
-			if (parsedJavaFile instanceof JavaClassSource) {
-				JavaClassSource clazz = (JavaClassSource) parsedJavaFile;
-				String absolutePathOfCamelFile = new File(URI.create(textDocumentItem.getUri())).getAbsolutePath();
-				List<CamelNodeDetails> camelNodes = RouteBuilderParser.parseRouteBuilderTree(clazz, "", absolutePathOfCamelFile, true);
-				List<CamelEndpointDetails> endpoints = new ArrayList<>();
-				RouteBuilderParser.parseRouteBuilderEndpoints(clazz, "", absolutePathOfCamelFile, endpoints);
-				return createSymbolInformations(camelNodes, endpoints);
+			JavaClassSource clazz = ParserJavaFileHelper.parseJavaClassSource(textDocument);
+			if (clazz != null) {
+				String absolutePathOfCamelFile = new File(URI.create(textDocument.getUri())).getAbsolutePath();
+				List<CamelNodeDetails> camelNodes;
+				synchronized (clazz) {
+					camelNodes = RouteBuilderParser.parseRouteBuilderTree(clazz, "", absolutePathOfCamelFile, true);
+				}
+				return createSymbolInformations(camelNodes, ParserJavaFileHelper.getCamelEndpointDetails(textDocument));
 			}
 		} catch (Exception ex) {
-			LOGGER.warn("Error while computing Document symbols for "+ textDocumentItem.getUri(), ex);
+			LOGGER.warn("Error while computing Document symbols for "+ textDocument.getUri(), ex);
 		}
 		return Collections.emptyList();
 	}
@@ -19,29 +19,33 @@ package com.github.cameltooling.lsp.internal.documentsymbol;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.SymbolInformation;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
+
 public class DocumentSymbolProcessor {
 
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
+	private Executor executor;
 
-	public DocumentSymbolProcessor(TextDocumentItem textDocumentItem) {
-		this.textDocumentItem = textDocumentItem;
+	public DocumentSymbolProcessor(TextDocumentSnapshot textDocument, Executor executor) {
+		this.textDocument = textDocument;
+		this.executor = executor;
 	}
 
 	public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> getDocumentSymbols() {
 		return CompletableFuture.supplyAsync(() -> {
 			List<Either<SymbolInformation, DocumentSymbol>> symbolInformations = new ArrayList<>();
-			if (textDocumentItem.getUri().endsWith(".xml")) {
-				return new DocumentSymbolXMLProcessor(textDocumentItem).getSymbolInformations();
-			} else if (textDocumentItem.getUri().endsWith(".java")) {
-				return new DocumentSymbolJavaProcessor(textDocumentItem).getSymbolInformations();
+			if (textDocument.getUri().endsWith(".xml")) {
+				return new DocumentSymbolXMLProcessor(textDocument).getSymbolInformations();
+			} else if (textDocument.getUri().endsWith(".java")) {
+				return new DocumentSymbolJavaProcessor(textDocument).getSymbolInformations();
 			}
 			return symbolInformations;
-		});
+		}, executor);
 	}
 }
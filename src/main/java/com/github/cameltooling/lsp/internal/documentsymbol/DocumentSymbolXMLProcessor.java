@@ -28,13 +28,13 @@ import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
 
 public class DocumentSymbolXMLProcessor extends AbstractDocumentSymbolProcessor {
@@ -45,23 +45,22 @@ public class DocumentSymbolXMLProcessor extends AbstractDocumentSymbolProcessor
 	
 	private ParserXMLFileHelper parserFileHelper = new ParserXMLFileHelper();
 
-	public DocumentSymbolXMLProcessor(TextDocumentItem textDocumentItem) {
-		super(textDocumentItem);
+	public DocumentSymbolXMLProcessor(TextDocumentSnapshot textDocument) {
+		super(textDocument);
 	}
 
 	public List<Either<SymbolInformation, DocumentSymbol>> getSymbolInformations() {
 		List<Either<SymbolInformation, DocumentSymbol>> symbolInformations = new ArrayList<>();
 		try {
-			String rawpath = URI.create(textDocumentItem.getUri()).getRawPath();
-			List<CamelNodeDetails> camelNodeDetails = XmlRouteParser.parseXmlRouteTree(createInputStream(textDocumentItem), "", rawpath);
-			List<CamelEndpointDetails> endpoints = new ArrayList<>();
-			XmlRouteParser.parseXmlRouteEndpoints(createInputStream(textDocumentItem), "", rawpath, endpoints);
+			String rawpath = URI.create(textDocument.getUri()).getRawPath();
+			List<CamelNodeDetails> camelNodeDetails = XmlRouteParser.parseXmlRouteTree(createInputStream(textDocument), "", rawpath);
+			List<CamelEndpointDetails> endpoints = ParserXMLFileHelper.getCamelEndpointDetails(textDocument);
 			symbolInformations.addAll(createSymbolInformations(camelNodeDetails, endpoints));
-			NodeList routeNodes = parserFileHelper.getRouteNodes(textDocumentItem);
+			NodeList routeNodes = parserFileHelper.getRouteNodes(textDocument);
 			if (routeNodes != null) {
 				symbolInformations.addAll(convertToSymbolInformation(routeNodes));
 			}
-			NodeList camelContextNodes = parserFileHelper.getCamelContextNodes(textDocumentItem);
+			NodeList camelContextNodes = parserFileHelper.getCamelContextNodes(textDocument);
 			if (camelContextNodes != null) {
 				symbolInformations.addAll(convertToSymbolInformation(camelContextNodes));
 			}
@@ -71,15 +70,15 @@ public class DocumentSymbolXMLProcessor extends AbstractDocumentSymbolProcessor
 		return symbolInformations;
 	}
 
-	private ByteArrayInputStream createInputStream(TextDocumentItem textDocumentItem) {
-		return new ByteArrayInputStream(textDocumentItem.getText().getBytes());
+	private ByteArrayInputStream createInputStream(TextDocumentSnapshot textDocument) {
+		return new ByteArrayInputStream(textDocument.getText().getBytes());
 	}
 	
 	private List<Either<SymbolInformation, DocumentSymbol>> convertToSymbolInformation(NodeList routeNodes) {
 		List<Either<SymbolInformation, DocumentSymbol>> res = new ArrayList<>();
 		for (int i = 0; i < routeNodes.getLength(); i++) {
 			Node routeNode = routeNodes.item(i);
-			Location location = parserFileHelper.retrieveLocation(routeNode, textDocumentItem);
+			Location location = parserFileHelper.retrieveLocation(routeNode, textDocument);
 			String displayNameOfSymbol = computeDisplayNameOfSymbol(routeNode);
 			res.add(Either.forLeft(new SymbolInformation(displayNameOfSymbol, SymbolKind.Field, location)));
 		}
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors used by the language server instead of the common fork-join pool.
+ *
+ * The interactive lane serves the requests for which the user is waiting: completion, hover, definition and references.
+ * The background lane serves diagnostics, document symbols and code actions.
+ * Each lane has its own threads and a bounded queue, a burst of background work cannot delay interactive requests.
+ * When a queue is full, the submission is rejected with a {@link java.util.concurrent.RejectedExecutionException}.
+ * The catalog lane loads and indexes the catalogs. Tasks of the other lanes wait for the catalogs,
+ * so catalogs are loaded on their own threads, with an unbounded queue: a loading is never rejected nor delayed by these tasks.
+ */
+public class ExecutorLanes {
+
+	static final int INTERACTIVE_QUEUE_CAPACITY = 64;
+	static final int BACKGROUND_QUEUE_CAPACITY = 256;
+	static final int CATALOG_THREADS = 2;
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	private final ThreadPoolExecutor interactiveExecutor;
+	private final ThreadPoolExecutor backgroundExecutor;
+	private final ThreadPoolExecutor catalogExecutor;
+
+	public ExecutorLanes() {
+		int availableProcessors = Runtime.getRuntime().availableProcessors();
+		interactiveExecutor = createExecutor("camel-lsp-interactive", Math.max(2, availableProcessors / 2), new ArrayBlockingQueue<>(INTERACTIVE_QUEUE_CAPACITY), Thread.NORM_PRIORITY);
+		backgroundExecutor = createExecutor("camel-lsp-background", Math.max(2, availableProcessors / 2), new ArrayBlockingQueue<>(BACKGROUND_QUEUE_CAPACITY), Thread.NORM_PRIORITY - 1);
+		catalogExecutor = createExecutor("camel-lsp-catalog", CATALOG_THREADS, new LinkedBlockingQueue<>(), Thread.NORM_PRIORITY - 1);
+	}
+
+	private static ThreadPoolExecutor createExecutor(String name, int threads, BlockingQueue<Runnable> queue, int threadPriority) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				threads,
+				threads,
+				KEEP_ALIVE_SECONDS,
+				TimeUnit.SECONDS,
+				queue,
+				new NamedThreadFactory(name, threadPriority));
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	public Executor getInteractiveExecutor() {
+		return interactiveExecutor;
+	}
+
+	public Executor getBackgroundExecutor() {
+		return backgroundExecutor;
+	}
+
+	public Executor getCatalogExecutor() {
+		return catalogExecutor;
+	}
+
+	public void shutdown() {
+		interactiveExecutor.shutdownNow();
+		backgroundExecutor.shutdownNow();
+		catalogExecutor.shutdownNow();
+	}
+
+	/**
+	 * Creates daemon threads named after the lane, they do not prevent the JVM to exit.
+	 */
+	public static class NamedThreadFactory implements ThreadFactory {
+
+		private final String name;
+		private final int threadPriority;
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		public NamedThreadFactory(String name, int threadPriority) {
+			this.name = name;
+			this.threadPriority = threadPriority;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, name + "-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			thread.setPriority(threadPriority);
+			return thread;
+		}
+	}
+}
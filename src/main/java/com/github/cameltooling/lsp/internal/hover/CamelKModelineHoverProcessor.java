@@ -21,22 +21,22 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModeline;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
 
 public class CamelKModelineHoverProcessor {
 
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
 
-	public CamelKModelineHoverProcessor(TextDocumentItem textDocumentItem) {
-		this.textDocumentItem = textDocumentItem;
+	public CamelKModelineHoverProcessor(TextDocumentSnapshot textDocument) {
+		this.textDocument = textDocument;
 	}
 
 	public CompletableFuture<Hover> getHover(Position position, CompletableFuture<CamelCatalog> camelCatalog) {
 		int lineNumber = position.getLine();
-		CamelKModeline camelKModeline = new CamelKModeline(new ParserFileHelperUtil().getLine(textDocumentItem, lineNumber), textDocumentItem, lineNumber);
+		CamelKModeline camelKModeline = new CamelKModeline(new ParserFileHelperUtil().getLine(textDocument, lineNumber), textDocument, lineNumber);
 		return camelKModeline.getHover(position, camelCatalog);
 	}
 
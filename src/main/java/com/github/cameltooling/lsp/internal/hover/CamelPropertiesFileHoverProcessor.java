@@ -21,25 +21,25 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyEntryInstance;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
 
 public class CamelPropertiesFileHoverProcessor {
 
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
 
-	public CamelPropertiesFileHoverProcessor(TextDocumentItem textDocumentItem) {
-		this.textDocumentItem = textDocumentItem;
+	public CamelPropertiesFileHoverProcessor(TextDocumentSnapshot textDocument) {
+		this.textDocument = textDocument;
 	}
 
 	public CompletableFuture<Hover> getHover(Position position, CompletableFuture<CamelCatalog> camelCatalog, CamelKafkaConnectorCatalogManager camelKafkaConnectorCatalog, KameletsCatalogManager kameletCatalogManager) {
 		int line = position.getLine();
-		String propertyEntryTextLine = new ParserFileHelperUtil().getLine(textDocumentItem, line);
-		return new CamelPropertyEntryInstance(propertyEntryTextLine, new Position(line, 0), textDocumentItem).getHover(position, camelCatalog, camelKafkaConnectorCatalog, kameletCatalogManager);
+		String propertyEntryTextLine = new ParserFileHelperUtil().getLine(textDocument, line);
+		return new CamelPropertyEntryInstance(propertyEntryTextLine, new Position(line, 0), textDocument).getHover(position, camelCatalog, camelKafkaConnectorCatalog, kameletCatalogManager);
 	}
 
 }
@@ -27,7 +27,7 @@ import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
 
 public class CamelURIHoverFuture implements Function<CamelCatalog, Hover> {
@@ -42,10 +42,9 @@ public class CamelURIHoverFuture implements Function<CamelCatalog, Hover> {
 
 	@Override
 	public Hover apply(CamelCatalog camelCatalog) {
-		String componentJSonSchema = camelCatalog.componentJSonSchema(uriElement.getComponentName());
-		if (componentJSonSchema != null) {
+		ComponentModel componentModel = ComponentModelIndex.of(camelCatalog).getComponentModel(uriElement.getComponentName());
+		if (componentModel != null) {
 			Hover hover = new Hover();
-			ComponentModel componentModel = ModelHelper.generateComponentModel(componentJSonSchema, true);
 			hover.setContents(Collections.singletonList((Either.forLeft(uriElement.getDescription(componentModel, kameletCatalogManager)))));
 			Position start = new Position(uriElement.getLine(), uriElement.getStartPositionInLine());
 			hover.setRange(new Range(start, new Position(uriElement.getLine(), uriElement.getEndPositionInLine())));
@@ -21,12 +21,12 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
 import com.github.cameltooling.lsp.internal.catalog.util.StringUtils;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelper;
@@ -35,25 +35,25 @@ import com.github.cameltooling.lsp.internal.parser.ParserFileHelperFactory;
 public class CamelURIHoverProcessor {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelURIHoverProcessor.class);
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
 	private CompletableFuture<CamelCatalog> camelCatalog;
 	private KameletsCatalogManager kameletCatalogManager;
 
-	public CamelURIHoverProcessor(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, KameletsCatalogManager kameletCatalogManager) {
-		this.textDocumentItem = textDocumentItem;
+	public CamelURIHoverProcessor(TextDocumentSnapshot textDocument, CompletableFuture<CamelCatalog> camelCatalog, KameletsCatalogManager kameletCatalogManager) {
+		this.textDocument = textDocument;
 		this.camelCatalog = camelCatalog;
 		this.kameletCatalogManager = kameletCatalogManager;
 	}
 
 	public CompletableFuture<Hover> getHover(Position position) {
 		try {
-			ParserFileHelper parserFileHelper = new ParserFileHelperFactory().getCorrespondingParserFileHelper(textDocumentItem, position.getLine());
+			ParserFileHelper parserFileHelper = new ParserFileHelperFactory().getCorrespondingParserFileHelper(textDocument, position.getLine());
 			if (parserFileHelper != null){
-				String camelComponentUri = parserFileHelper.getCamelComponentUri(textDocumentItem, position);
+				String camelComponentUri = parserFileHelper.getCamelComponentUri(textDocument, position);
 				String componentName = StringUtils.asComponentName(camelComponentUri);
 				if (componentName != null) {
-					CamelURIInstance camelURIInstance = parserFileHelper.createCamelURIInstance(textDocumentItem, position, camelComponentUri);
-					int positionInCamelUri = parserFileHelper.getPositionInCamelURI(textDocumentItem, position);
+					CamelURIInstance camelURIInstance = parserFileHelper.createCamelURIInstance(textDocument, position, camelComponentUri);
+					int positionInCamelUri = parserFileHelper.getPositionInCamelURI(textDocument, position);
 					CamelUriElementInstance elem = camelURIInstance.getSpecificElement(positionInCamelUri);
 					return camelCatalog.thenApply(new CamelURIHoverFuture(elem, kameletCatalogManager));
 				}
@@ -27,12 +27,12 @@ import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.w3c.dom.Node;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
 import com.github.cameltooling.lsp.internal.completion.CamelComponentSchemesCompletionsFuture;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 
 /**
@@ -53,23 +53,23 @@ public class CamelURIInstance extends CamelUriElementInstance {
 	private CamelComponentAndPathUriInstance componentAndPathUriElementInstance;
 	private Set<OptionParamURIInstance> optionParams = new HashSet<>();
 		
-	public CamelURIInstance(String uriToParse, Node node, TextDocumentItem textDocumentItem) {
+	public CamelURIInstance(String uriToParse, Node node, TextDocumentSnapshot textDocument) {
 		super(0, uriToParse != null ? uriToParse.length() : 0);
-		setDocument(textDocumentItem);
+		setDocument(textDocument);
 		dslModelHelper = new XMLDSLModelHelper(node);
 		init(uriToParse);
 	}
 	
-	public CamelURIInstance(String uriToParse, String methodName, TextDocumentItem textDocumentItem) {
+	public CamelURIInstance(String uriToParse, String methodName, TextDocumentSnapshot textDocument) {
 		super(0, uriToParse != null ? uriToParse.length() : 0);
-		setDocument(textDocumentItem);
+		setDocument(textDocument);
 		dslModelHelper = new JavaDSLModelHelper(methodName);
 		init(uriToParse);
 	}
 	
-	public CamelURIInstance(String uriToParse, DSLModelHelper dslModelHelper, TextDocumentItem textDocumentItem) {
+	public CamelURIInstance(String uriToParse, DSLModelHelper dslModelHelper, TextDocumentSnapshot textDocument) {
 		super(0, uriToParse != null ? uriToParse.length() : 0);
-		setDocument(textDocumentItem);
+		setDocument(textDocument);
 		this.dslModelHelper = dslModelHelper;
 		init(uriToParse);
 	}
@@ -119,7 +119,7 @@ public class CamelURIInstance extends CamelUriElementInstance {
 	}
 
 	@Override
-	public CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentItem docItem, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager) {
+	public CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentSnapshot docItem, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager) {
 		if(getStartPositionInUri() <= positionInCamelUri && positionInCamelUri <= getEndPositionInUri()) {
 			return camelCatalog.thenApply(new CamelComponentSchemesCompletionsFuture(this, getFilter(), docItem));
 		} else {
@@ -25,7 +25,6 @@ import java.util.concurrent.CompletableFuture;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ApiOptionModel;
 import com.github.cameltooling.lsp.internal.catalog.model.ApiPropertyMethodOptionModel;
@@ -33,13 +32,14 @@ import com.github.cameltooling.lsp.internal.catalog.model.ApiPropertyOptionModel
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
 import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 
 public abstract class CamelUriElementInstance implements ILineRangeDefineable{
 
 	private int startPositionInUri;
 	private int endPositionInUri;
-	private TextDocumentItem document;
+	private TextDocumentSnapshot document;
 
 	protected CamelUriElementInstance(int startPositionInUri, int endPositionInUri) {
 		this.startPositionInUri = startPositionInUri;
@@ -58,11 +58,11 @@ public abstract class CamelUriElementInstance implements ILineRangeDefineable{
 		return startPositionInUri <= position && position <= endPositionInUri;
 	}
 	
-	public TextDocumentItem getDocument() {
+	public TextDocumentSnapshot getDocument() {
 		return document;
 	}
 
-	public void setDocument(TextDocumentItem document) {
+	public void setDocument(TextDocumentSnapshot document) {
 		this.document = document;
 	}
 
@@ -78,7 +78,7 @@ public abstract class CamelUriElementInstance implements ILineRangeDefineable{
 		return getCamelUriInstance().getAbsoluteBounds().getStart().getLine();
 	}
 	
-	public abstract CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentItem docItem, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager);
+	public abstract CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentSnapshot docItem, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager);
 	
 	public abstract String getComponentName();
 	
@@ -23,16 +23,16 @@ import java.util.concurrent.CompletableFuture;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
 import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletDescriptor;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletPropertyDescriptor;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 
-import io.fabric8.camelk.v1alpha1.Kamelet;
-import io.fabric8.kubernetes.api.model.apiextensions.v1.JSONSchemaProps;
-
 /**
  * For a Camel URI "timer:timerName?delay=10s", it represents "delay=10s"
  *
@@ -75,7 +75,7 @@ public class OptionParamURIInstance extends CamelUriElementInstance {
 	}
 	
 	@Override
-	public CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentItem docItem, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager) {
+	public CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentSnapshot docItem, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager) {
 		return CompletableFuture.completedFuture(Collections.emptyList());
 	}
 
@@ -94,9 +94,9 @@ public class OptionParamURIInstance extends CamelUriElementInstance {
 		if(model != null) {
 			return model.getDescription();
 		} else if (ComponentNameConstants.COMPONENT_NAME_KAMELET.equalsIgnoreCase(componentModel.getScheme())) {
-			JSONSchemaProps prop = getKameletPropertyByKeyName(kameletCatalogManager, keyName);
-			if (prop != null) {
-				return prop.getDescription();
+			String kameletPropertyDescription = getKameletPropertyDescription(kameletCatalogManager, keyName);
+			if (kameletPropertyDescription != null) {
+				return kameletPropertyDescription;
 			}
 			return String.format(INVALID_URI_OPTION, keyName);
 		} else {
@@ -112,16 +112,19 @@ public class OptionParamURIInstance extends CamelUriElementInstance {
 		return camelURIInstance;
 	}
 	
-	private JSONSchemaProps getKameletPropertyByKeyName(KameletsCatalogManager kameletCatalogManager, String keyName) {
+	private String getKameletPropertyDescription(KameletsCatalogManager kameletCatalogManager, String keyName) {
 		Optional<String> kameletTemplateId = this.getCamelUriInstance().getComponentAndPathUriElementInstance().getPathParams()
 				.stream()
 				.filter(pathParam -> pathParam.getPathParamIndex() == 0)
 				.map(PathParamURIInstance::getValue).findAny();
 		if(kameletTemplateId.isPresent()) {
-			List<Kamelet> kamelets = kameletCatalogManager.getCatalog().getKameletsByName(kameletTemplateId.get());
-			if (!kamelets.isEmpty()) {
-				Kamelet kamelet = kamelets.get(0);
-				return kamelet.getSpec().getDefinition().getProperties().get(keyName);
+			KameletsCatalogIndex kameletsIndex = kameletCatalogManager.getIndex();
+			Optional<KameletDescriptor> kamelet = kameletsIndex.findKamelet(kameletTemplateId.get());
+			if (!kamelet.isPresent()) {
+				kamelet = kameletsIndex.findKameletContaining(kameletTemplateId.get());
+			}
+			if (kamelet.isPresent()) {
+				return kamelet.get().getProperty(keyName).map(KameletPropertyDescriptor::getDescription).orElse(null);
 			}
 		}
 		return null;
@@ -29,24 +29,23 @@ import java.util.stream.Collectors;
 import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.tooling.model.ComponentModel.EndpointOptionModel;
 import org.eclipse.lsp4j.CompletionItem;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ApiOptionMethodsModel;
 import com.github.cameltooling.lsp.internal.catalog.model.ApiOptionModel;
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletDescriptor;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.completion.CamelComponentSchemesCompletionsFuture;
 import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
 import com.github.cameltooling.lsp.internal.completion.FilterPredicateUtils;
 import com.github.cameltooling.lsp.internal.completion.KafkaTopicCompletionProvider;
 import com.github.cameltooling.lsp.internal.completion.KameletTemplateIdCompletionProvider;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 
-import io.fabric8.kubernetes.api.model.apiextensions.v1.JSONSchemaProps;
-
 /**
  * For a Camel URI "timer:timerName?delay=10s", it represents "timerName"
  */
@@ -70,13 +69,13 @@ public class PathParamURIInstance extends CamelUriElementInstance {
 	}
 	
 	@Override
-	public CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentItem docItem, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager) {
+	public CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentSnapshot docItem, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager) {
 		if(pathParamIndex == 0) {
 			String componentName = uriInstance.getComponentName();
 			if(ComponentNameConstants.COMPONENT_NAME_KAFKA.equals(componentName)) {
 				return new KafkaTopicCompletionProvider().get(this, settingsManager);
 			} else if(ComponentNameConstants.COMPONENT_NAME_KAMELET.equals(componentName)){
-				return new KameletTemplateIdCompletionProvider(kameletsCatalogManager).get(this);
+				return new KameletTemplateIdCompletionProvider(kameletsCatalogManager).get(this, positionInCamelUri);
 			} else {
 				return getCompletionForApiName(camelCatalog, positionInCamelUri, docItem);
 			}
@@ -87,9 +86,9 @@ public class PathParamURIInstance extends CamelUriElementInstance {
 		return CompletableFuture.completedFuture(Collections.emptyList());
 	}
 
-	private CompletableFuture<List<CompletionItem>> getCompletionForApiMethodName(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentItem docItem) {
+	private CompletableFuture<List<CompletionItem>> getCompletionForApiMethodName(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentSnapshot docItem) {
 		return camelCatalog.thenApply(catalog -> {
-			ComponentModel model = ModelHelper.generateComponentModel(catalog.componentJSonSchema(getComponentName()), true);
+			ComponentModel model = ComponentModelIndex.of(catalog).getComponentModelOrEmpty(getComponentName());
 			List<ApiOptionModel> apis = model.getApis();
 			if (apis != null && !apis.isEmpty()) {
 				Optional<ApiOptionModel> optionModel = apis.stream()
@@ -141,9 +140,9 @@ public class PathParamURIInstance extends CamelUriElementInstance {
 	}
 
 	private CompletableFuture<List<CompletionItem>> getCompletionForApiName(
-			CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentItem docItem) {
+			CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentSnapshot docItem) {
 		return camelCatalog.thenApply(catalog -> {
-			ComponentModel model = ModelHelper.generateComponentModel(catalog.componentJSonSchema(getComponentName()), true);
+			ComponentModel model = ComponentModelIndex.of(catalog).getComponentModelOrEmpty(getComponentName());
 			String start = value.substring(0, positionInCamelUri - getStartPositionInUri());
 			List<ApiOptionModel> apis = model.getApis();
 			if(apis !=null && !apis.isEmpty()) {
@@ -191,9 +190,9 @@ public class PathParamURIInstance extends CamelUriElementInstance {
 	@Override
 	public String getDescription(ComponentModel componentModel, KameletsCatalogManager kameletCatalogManager) {
 		if(pathParamIndex == 0 && ComponentNameConstants.COMPONENT_NAME_KAMELET.equals(getComponentName())) {
-			JSONSchemaProps kamelet = kameletCatalogManager.getCatalog().getKameletDefinition(getValue());
-			if(kamelet != null) {
-				return kamelet.getDescription();
+			Optional<KameletDescriptor> kamelet = kameletCatalogManager.getIndex().findKamelet(getValue());
+			if(kamelet.isPresent()) {
+				return kamelet.get().getDescription();
 			}
 		}
 		return componentModel.getSyntax();
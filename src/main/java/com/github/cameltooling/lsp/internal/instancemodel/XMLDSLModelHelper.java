@@ -20,10 +20,19 @@ import org.w3c.dom.Node;
 
 public class XMLDSLModelHelper implements DSLModelHelper {
 	
-	private Node node;
+	private String elementName;
 
 	public XMLDSLModelHelper(Node node) {
-		this.node = node;
+		if (node != null) {
+			this.elementName = node.getLocalName() != null ? node.getLocalName() : node.getNodeName();
+		}
+	}
+
+	/**
+	 * @param elementName the local name of the element holding the uri, for instance from or to
+	 */
+	public XMLDSLModelHelper(String elementName) {
+		this.elementName = elementName;
 	}
 
 	@Override
@@ -33,11 +42,7 @@ public class XMLDSLModelHelper implements DSLModelHelper {
 	
 	@Override
 	public String getTypeDeterminingProducerConsumer() {
-		if(node.getLocalName() != null) {
-			return node.getLocalName();
-		} else {
-			return node.getNodeName();
-		}
+		return elementName;
 	}
 	
 }
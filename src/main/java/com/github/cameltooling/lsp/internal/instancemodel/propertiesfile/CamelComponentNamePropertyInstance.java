@@ -25,7 +25,7 @@ import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.completion.CamelComponentIdsCompletionsFuture;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 
@@ -72,14 +72,11 @@ public class CamelComponentNamePropertyInstance implements ILineRangeDefineable
 
 	public CompletableFuture<Hover> getHover(CompletableFuture<CamelCatalog> camelCatalog) {
 		return camelCatalog.thenApply(catalog -> {
-			String componentJSonSchema = catalog.componentJSonSchema(componentName);
-			if (componentJSonSchema != null) {
-				ComponentModel componentModel = ModelHelper.generateComponentModel(componentJSonSchema, true);
-				if (componentModel != null) {
-					String description = componentModel.getDescription();
-					if (description != null) {
-						return createHover(description);
-					}
+			ComponentModel componentModel = ComponentModelIndex.of(catalog).getComponentModel(componentName);
+			if (componentModel != null) {
+				String description = componentModel.getDescription();
+				if (description != null) {
+					return createHover(description);
 				}
 			}
 			return null;
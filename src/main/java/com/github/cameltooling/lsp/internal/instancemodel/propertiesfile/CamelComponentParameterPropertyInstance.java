@@ -26,7 +26,7 @@ import org.eclipse.lsp4j.Position;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentOptionModel;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.catalog.util.StringUtils;
 import com.github.cameltooling.lsp.internal.completion.CamelComponentOptionNamesCompletionFuture;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
@@ -77,16 +77,13 @@ public class CamelComponentParameterPropertyInstance implements ILineRangeDefine
 
 	public CompletableFuture<Hover> getHover(CompletableFuture<CamelCatalog> camelCatalog) {
 		return camelCatalog.thenApply(catalog -> {
-			String componentJSonSchema = catalog.componentJSonSchema(camelComponentPropertykey.getComponentId());
-			if (componentJSonSchema != null) {
-				ComponentModel componentModel = ModelHelper.generateComponentModel(componentJSonSchema, true);
-				if (componentModel != null) {
-					ComponentOptionModel componentOptionModel = findComponentOptionModel(componentModel);
-					if (componentOptionModel != null) {
-						String description = componentOptionModel.getDescription();
-						if (description != null) {
-							return createHover(description);
-						}
+			ComponentModel componentModel = ComponentModelIndex.of(catalog).getComponentModel(camelComponentPropertykey.getComponentId());
+			if (componentModel != null) {
+				ComponentOptionModel componentOptionModel = findComponentOptionModel(componentModel);
+				if (componentOptionModel != null) {
+					String description = componentOptionModel.getDescription();
+					if (description != null) {
+						return createHover(description);
 					}
 				}
 			}
@@ -25,17 +25,17 @@ import java.util.stream.Collectors;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.catalog.DefaultCamelCatalog;
-import org.apache.camel.tooling.model.MainModel;
 import org.apache.camel.tooling.model.MainModel.MainOptionModel;
 import org.apache.camel.util.StringHelper;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
+import com.github.cameltooling.lsp.internal.catalog.util.CamelMainOptionIndex;
 import com.github.cameltooling.lsp.internal.catalog.util.StringUtils;
 import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
 
@@ -49,12 +49,12 @@ public class CamelGroupPropertyKey implements ILineRangeDefineable {
 	private String groupConfiguration;
 	private CamelPropertyKeyInstance camelPropertyKeyInstance;
 	private String groupName;
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
 
-	public CamelGroupPropertyKey(String groupProperty, CamelPropertyKeyInstance camelPropertyKeyInstance, TextDocumentItem textDocumentItem) {
+	public CamelGroupPropertyKey(String groupProperty, CamelPropertyKeyInstance camelPropertyKeyInstance, TextDocumentSnapshot textDocument) {
 		this.groupConfiguration = groupProperty;
 		this.camelPropertyKeyInstance = camelPropertyKeyInstance;
-		this.textDocumentItem = textDocumentItem;
+		this.textDocument = textDocument;
 		int secondDotIndex = groupProperty.indexOf('.');
 		if (secondDotIndex != -1) {
 			groupName = groupProperty.substring(0, secondDotIndex);
@@ -86,16 +86,14 @@ public class CamelGroupPropertyKey implements ILineRangeDefineable {
 	public CompletableFuture<Hover> getHover(Position position, CompletableFuture<CamelCatalog> camelCatalog) {
 		if (isInGroupAttribute(position)) {
 			return camelCatalog.thenApply(catalog -> {
-				if (catalog instanceof DefaultCamelCatalog) {
-					MainModel mainModel = ((DefaultCamelCatalog) catalog).mainModel();
-					String fullName = CamelPropertyKeyInstance.CAMEL_KEY_PREFIX + groupConfiguration;
-					Optional<MainOptionModel> mainOptionModel = findFirstOption(mainModel, fullName);
-					if (!mainOptionModel.isPresent() && fullName.contains("-")) {
-						mainOptionModel = findFirstOption(mainModel,StringUtils.dashToCamelCase(fullName));
-					}
-					if (mainOptionModel.isPresent()) {
-						return createHover(mainOptionModel.get().getDescription());
-					}
+				CamelMainOptionIndex mainOptionIndex = CamelMainOptionIndex.of(catalog);
+				String fullName = CamelPropertyKeyInstance.CAMEL_KEY_PREFIX + groupConfiguration;
+				Optional<MainOptionModel> mainOptionModel = findFirstOption(mainOptionIndex.findOptions(fullName));
+				if (!mainOptionModel.isPresent() && fullName.contains("-")) {
+					mainOptionModel = findFirstOption(mainOptionIndex.findOptionsByDashedName(fullName));
+				}
+				if (mainOptionModel.isPresent()) {
+					return createHover(mainOptionModel.get().getDescription());
 				}
 				return null;
 			});
@@ -103,10 +101,8 @@ public class CamelGroupPropertyKey implements ILineRangeDefineable {
 		return CompletableFuture.completedFuture(null);
 	}
 
-	private Optional<MainOptionModel> findFirstOption(MainModel mainModel, String fullName) {
-		return mainModel.getOptions().stream()
-				.filter(option -> option.getName().startsWith(fullName))
-				.findFirst();
+	private Optional<MainOptionModel> findFirstOption(List<MainOptionModel> options) {
+		return options.isEmpty() ? Optional.empty() : Optional.of(options.get(0));
 	}
 
 	private boolean isInGroupAttribute(Position position) {
@@ -120,7 +116,7 @@ public class CamelGroupPropertyKey implements ILineRangeDefineable {
 				if (catalog instanceof DefaultCamelCatalog) {
 					List<CompletionItem> completions = new ArrayList<>();
 					completions.addAll(retrieveCamelMainCompletions(shouldUseDashed, catalog));
-					completions.addAll(retrieveCamelKafkaConnectorBasicProperties(shouldUseDashed, camelkafkaConnectorManager, textDocumentItem));
+					completions.addAll(retrieveCamelKafkaConnectorBasicProperties(shouldUseDashed, camelkafkaConnectorManager, textDocument));
 					return completions;
 				} else {
 					return Collections.emptyList();
@@ -130,15 +126,14 @@ public class CamelGroupPropertyKey implements ILineRangeDefineable {
 		return CompletableFuture.completedFuture(Collections.emptyList());
 	}
 
-	private List<CompletionItem> retrieveCamelKafkaConnectorBasicProperties(boolean shouldUseDashed, CamelKafkaConnectorCatalogManager camelkafkaConnectorManager, TextDocumentItem textDocumentItem) {
+	private List<CompletionItem> retrieveCamelKafkaConnectorBasicProperties(boolean shouldUseDashed, CamelKafkaConnectorCatalogManager camelkafkaConnectorManager, TextDocumentSnapshot textDocument) {
 		String groupPrefix = CamelPropertyKeyInstance.CAMEL_KEY_PREFIX + groupName;
-		return new CamelKafkaUtil().getBasicPropertiesCompletion(camelkafkaConnectorManager, textDocumentItem, shouldUseDashed, groupPrefix, camelPropertyKeyInstance);
+		return new CamelKafkaUtil().getBasicPropertiesCompletion(camelkafkaConnectorManager, textDocument, shouldUseDashed, groupPrefix, camelPropertyKeyInstance);
 	}
 
 	private List<CompletionItem> retrieveCamelMainCompletions(boolean shouldUseDashed, CamelCatalog catalog) {
-		MainModel mainModel = ((DefaultCamelCatalog) catalog).mainModel();
 		String groupPrefix = CamelPropertyKeyInstance.CAMEL_KEY_PREFIX + groupName + ".";
-		return mainModel.getOptions().stream().filter(option -> option.getName().startsWith(groupPrefix))
+		return CamelMainOptionIndex.of(catalog).getGroupOptions(groupPrefix).stream()
 				.map(option -> {
 					String realOptionName = option.getName().substring(groupPrefix.length());
 					if(shouldUseDashed) {
@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.instancemodel.propertiesfile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.lsp4j.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.catalog.util.PrefixIndex;
+import com.github.cameltooling.lsp.internal.catalog.util.StringUtils;
+import com.github.cameltooling.lsp.internal.document.DocumentParseCache;
+import com.github.cameltooling.lsp.internal.document.ParsedArtifact;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
+import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
+
+/**
+ * All entries of a properties file, parsed in a single pass and shared for a version of the document.
+ * 
+ * Entries are indexed by their key in camelCase notation, so that "camel.sink.path.timer-name" and
+ * "camel.sink.path.timerName" are considered as the same key.
+ */
+public final class CamelPropertiesFileModel {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CamelPropertiesFileModel.class);
+
+	private static final ParsedArtifact<CamelPropertiesFileModel> PROPERTIES_FILE_MODEL = ParsedArtifact.of("Camel properties file model", CamelPropertiesFileModel::parse);
+
+	private final String connectorClass;
+	private final List<CamelPropertyEntryInstance> entries;
+	private final Map<String, List<CamelPropertyEntryInstance>> entriesByKey = new HashMap<>();
+	private final PrefixIndex<CamelPropertyEntryInstance> entriesByPrefix;
+
+	private CamelPropertiesFileModel(String connectorClass, List<CamelPropertyEntryInstance> entries) {
+		this.connectorClass = connectorClass;
+		this.entries = Collections.unmodifiableList(entries);
+		for (CamelPropertyEntryInstance entry : entries) {
+			entriesByKey.computeIfAbsent(getCamelCaseKey(entry), key -> new ArrayList<>()).add(entry);
+		}
+		this.entriesByPrefix = PrefixIndex.of(entries, CamelPropertiesFileModel::getCamelCaseKey);
+	}
+
+	public static CamelPropertiesFileModel of(TextDocumentSnapshot textDocument) {
+		try {
+			return DocumentParseCache.parse(textDocument, PROPERTIES_FILE_MODEL);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			LOGGER.error("Cannot parse the properties file " + textDocument.getUri(), e);
+		}
+		return new CamelPropertiesFileModel(null, Collections.emptyList());
+	}
+
+	private static CamelPropertiesFileModel parse(TextDocumentSnapshot textDocument) throws IOException {
+		String connectorClass = new CamelKafkaUtil().findConnectorClass(textDocument);
+		List<CamelPropertyEntryInstance> entries = new ArrayList<>();
+		BufferedReader reader = new BufferedReader(new StringReader(textDocument.getText()));
+		int lineNumber = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			entries.add(new CamelPropertyEntryInstance(line, new Position(lineNumber, 0), textDocument, connectorClass));
+			lineNumber++;
+		}
+		return new CamelPropertiesFileModel(connectorClass, entries);
+	}
+
+	private static String getCamelCaseKey(CamelPropertyEntryInstance entry) {
+		return StringUtils.dashToCamelCase(entry.getCamelPropertyKeyInstance().getCamelPropertyKey());
+	}
+
+	/**
+	 * @return the value of the connector.class property, null if there is none
+	 */
+	public String getConnectorClass() {
+		return connectorClass;
+	}
+
+	/**
+	 * @return all entries of the file, in line order
+	 */
+	public List<CamelPropertyEntryInstance> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * @param propertyKey a property key, either in camelCase or in dashed notation
+	 * @return the entries using this key in any notation, in line order
+	 */
+	public List<CamelPropertyEntryInstance> getEntries(String propertyKey) {
+		return entriesByKey.getOrDefault(StringUtils.dashToCamelCase(propertyKey), Collections.emptyList());
+	}
+
+	/**
+	 * @param prefix a prefix in camelCase notation, for instance "camel.sink."
+	 * @return the entries whose key in camelCase notation starts with the prefix, in line order
+	 */
+	public List<CamelPropertyEntryInstance> getEntriesWithPrefix(String prefix) {
+		return entriesByPrefix.findByPrefix(prefix);
+	}
+}
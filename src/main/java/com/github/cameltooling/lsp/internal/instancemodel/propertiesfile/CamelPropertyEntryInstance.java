@@ -19,7 +19,6 @@ package com.github.cameltooling.lsp.internal.instancemodel.propertiesfile;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import org.apache.camel.catalog.CamelCatalog;
@@ -27,10 +26,10 @@ import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 
@@ -44,12 +43,20 @@ public class CamelPropertyEntryInstance implements ILineRangeDefineable {
 	private CamelPropertyValueInstance camelPropertyValueInstance;
 	private String line;
 	private Position startPosition;
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
 
-	public CamelPropertyEntryInstance(String line, Position startPosition, TextDocumentItem textDocumentItem) {
+	public CamelPropertyEntryInstance(String line, Position startPosition, TextDocumentSnapshot textDocument) {
+		this(line, startPosition, textDocument, null, false);
+	}
+
+	CamelPropertyEntryInstance(String line, Position startPosition, TextDocumentSnapshot textDocument, String connectorClass) {
+		this(line, startPosition, textDocument, connectorClass, true);
+	}
+
+	private CamelPropertyEntryInstance(String line, Position startPosition, TextDocumentSnapshot textDocument, String connectorClass, boolean connectorClassResolved) {
 		this.line = line;
 		this.startPosition = startPosition;
-		this.textDocumentItem = textDocumentItem;
+		this.textDocument = textDocument;
 		int indexOf = line.indexOf('=');
 		String camelPropertyFileKeyInstanceString;
 		String camelPropertyFileValueInstanceString;
@@ -60,8 +67,8 @@ public class CamelPropertyEntryInstance implements ILineRangeDefineable {
 			camelPropertyFileKeyInstanceString = line;
 			camelPropertyFileValueInstanceString = null;
 		}
-		camelPropertyKeyInstance = new CamelPropertyKeyInstance(camelPropertyFileKeyInstanceString, this, textDocumentItem);
-		camelPropertyValueInstance = new CamelPropertyValueInstance(camelPropertyFileValueInstanceString, camelPropertyKeyInstance, textDocumentItem);
+		camelPropertyKeyInstance = new CamelPropertyKeyInstance(camelPropertyFileKeyInstanceString, this, textDocument, connectorClass, connectorClassResolved);
+		camelPropertyValueInstance = new CamelPropertyValueInstance(camelPropertyFileValueInstanceString, camelPropertyKeyInstance, textDocument);
 	}
 	
 	public CompletableFuture<List<CompletionItem>> getCompletions(Position position, CompletableFuture<CamelCatalog> camelCatalog, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager) {
@@ -107,13 +114,13 @@ public class CamelPropertyEntryInstance implements ILineRangeDefineable {
 	}
 
 	public boolean shouldUseDashedCase() {
-		return textDocumentItem != null
-				&& new DashedCaseDetector().hasDashedCaseInCamelPropertyOption(textDocumentItem.getText());
+		return textDocument != null
+				&& new DashedCaseDetector().hasDashedCaseInCamelPropertyOption(textDocument.getText());
 	}
 
-	public Collection<Diagnostic> validate(CamelKafkaConnectorCatalogManager camelKafkaConnectorManager, Set<CamelPropertyEntryInstance> allCamelPropertyEntriesOfTheFile) {
+	public Collection<Diagnostic> validate(CamelKafkaConnectorCatalogManager camelKafkaConnectorManager, CamelPropertiesFileModel propertiesFileModel) {
 		if (camelPropertyKeyInstance != null) {
-			return camelPropertyKeyInstance.validate(camelKafkaConnectorManager, allCamelPropertyEntriesOfTheFile);
+			return camelPropertyKeyInstance.validate(camelKafkaConnectorManager, propertiesFileModel);
 		}
 		return Collections.emptyList();
 	}
@@ -21,31 +21,29 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.camel.catalog.CamelCatalog;
-import org.apache.camel.tooling.model.MainModel;
+import org.apache.camel.tooling.model.MainModel.MainGroupModel;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
+import com.github.cameltooling.lsp.internal.catalog.util.CamelMainOptionIndex;
 import com.github.cameltooling.lsp.internal.catalog.util.StringUtils;
 import com.github.cameltooling.lsp.internal.completion.FilterPredicateUtils;
 import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticService;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
-import com.google.gson.Gson;
 
 /**
  * Represents one key in properties file.
@@ -65,21 +63,25 @@ public class CamelPropertyKeyInstance implements ILineRangeDefineable {
 	private CamelComponentPropertyKey camelComponentPropertyKey;
 	private CamelPropertyEntryInstance camelPropertyEntryInstance;
 	private CamelSinkOrSourcePropertyKey camelSinkOrSourcePropertyKey;
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
 
-	public CamelPropertyKeyInstance(String camelPropertyFileKey, CamelPropertyEntryInstance camelPropertyEntryInstance, TextDocumentItem textDocumentItem) {
+	public CamelPropertyKeyInstance(String camelPropertyFileKey, CamelPropertyEntryInstance camelPropertyEntryInstance, TextDocumentSnapshot textDocument) {
+		this(camelPropertyFileKey, camelPropertyEntryInstance, textDocument, null, false);
+	}
+
+	CamelPropertyKeyInstance(String camelPropertyFileKey, CamelPropertyEntryInstance camelPropertyEntryInstance, TextDocumentSnapshot textDocument, String connectorClass, boolean connectorClassResolved) {
 		this.camelPropertyKey = camelPropertyFileKey;
 		this.camelPropertyEntryInstance = camelPropertyEntryInstance;
-		this.textDocumentItem = textDocumentItem;
+		this.textDocument = textDocument;
 		if (camelPropertyFileKey.startsWith(CAMEL_COMPONENT_KEY_PREFIX)) {
 			camelComponentPropertyKey = new CamelComponentPropertyKey(camelPropertyFileKey.substring(CAMEL_COMPONENT_KEY_PREFIX.length()), this);
 		} else if(camelPropertyFileKey.startsWith(CAMEL_SINK_KEY_PREFIX)) {
-			camelSinkOrSourcePropertyKey = new CamelSinkOrSourcePropertyKey(camelPropertyFileKey.substring(CAMEL_SINK_KEY_PREFIX.length()), this, textDocumentItem, CAMEL_SINK_KEY_PREFIX);
+			camelSinkOrSourcePropertyKey = new CamelSinkOrSourcePropertyKey(camelPropertyFileKey.substring(CAMEL_SINK_KEY_PREFIX.length()), this, textDocument, CAMEL_SINK_KEY_PREFIX, connectorClass, connectorClassResolved);
 		} else if(camelPropertyFileKey.startsWith(CAMEL_SOURCE_KEY_PREFIX)) {
-			camelSinkOrSourcePropertyKey = new CamelSinkOrSourcePropertyKey(camelPropertyFileKey.substring(CAMEL_SOURCE_KEY_PREFIX.length()), this, textDocumentItem, CAMEL_SOURCE_KEY_PREFIX);
+			camelSinkOrSourcePropertyKey = new CamelSinkOrSourcePropertyKey(camelPropertyFileKey.substring(CAMEL_SOURCE_KEY_PREFIX.length()), this, textDocument, CAMEL_SOURCE_KEY_PREFIX, connectorClass, connectorClassResolved);
 		}
 		if(camelPropertyKey.startsWith(CAMEL_KEY_PREFIX)) {
-			propertyGroup = new CamelGroupPropertyKey(camelPropertyFileKey.substring(CAMEL_KEY_PREFIX.length()), this, textDocumentItem);
+			propertyGroup = new CamelGroupPropertyKey(camelPropertyFileKey.substring(CAMEL_KEY_PREFIX.length()), this, textDocument);
 		}
 	}
 
@@ -121,9 +123,8 @@ public class CamelPropertyKeyInstance implements ILineRangeDefineable {
 	protected CompletableFuture<List<CompletionItem>> getTopLevelCamelCompletion(CompletableFuture<CamelCatalog> camelCatalog, CamelKafkaConnectorCatalogManager camelKafkaConnectorCatalogManager, int indexOfSecondDot, int completionPositionRequest) {
 		String filterString = camelPropertyKey.substring(CAMEL_KEY_PREFIX.length(), completionPositionRequest - getStartPositionInLine());
 		return camelCatalog.thenApply(catalog -> {
-			MainModel mainModel = new Gson().fromJson(catalog.mainJsonSchema(), MainModel.class);
 			List<CompletionItem> allCompletionItems = new ArrayList<>();
-			allCompletionItems.addAll(createGroupCompletionFromMainModel(mainModel, indexOfSecondDot));
+			allCompletionItems.addAll(createGroupCompletionFromMainModel(CamelMainOptionIndex.of(catalog).getGroups(), indexOfSecondDot));
 			allCompletionItems.add(createCompletionItemForCamelComponent(indexOfSecondDot));
 			allCompletionItems.addAll(createCompletionItemForCamelKafkaConnectorBasicProperties(camelKafkaConnectorCatalogManager));
 			return allCompletionItems.stream().filter(FilterPredicateUtils.matchesCompletionFilter(filterString)).collect(Collectors.toList());
@@ -131,7 +132,7 @@ public class CamelPropertyKeyInstance implements ILineRangeDefineable {
 	}
 
 	private List<CompletionItem> createCompletionItemForCamelKafkaConnectorBasicProperties(CamelKafkaConnectorCatalogManager camelKafkaConnectorCatalogManager) {
-		return new CamelKafkaUtil().getBasicPropertiesCompletion(camelKafkaConnectorCatalogManager, textDocumentItem, shouldUseDashedCase(), "", this);
+		return new CamelKafkaUtil().getBasicPropertiesCompletion(camelKafkaConnectorCatalogManager, textDocument, shouldUseDashedCase(), "", this);
 	}
 
 	private CompletionItem createCompletionItemForCamelComponent(int indexOfSecondDot) {
@@ -146,8 +147,8 @@ public class CamelPropertyKeyInstance implements ILineRangeDefineable {
 		return completionItem;
 	}
 
-	private List<CompletionItem> createGroupCompletionFromMainModel(MainModel mainModel, int indexOfSecondDot) {
-		return mainModel.getGroups().stream().map(group -> {
+	private List<CompletionItem> createGroupCompletionFromMainModel(List<MainGroupModel> groups, int indexOfSecondDot) {
+		return groups.stream().map(group -> {
 			String realGroupName = group.getName().replaceFirst(CAMEL_KEY_PREFIX, "");
 			CompletionItem completionItem = new CompletionItem(realGroupName);
 			completionItem.setDocumentation(group.getDescription());
@@ -202,20 +203,16 @@ public class CamelPropertyKeyInstance implements ILineRangeDefineable {
 		return camelPropertyEntryInstance.shouldUseDashedCase();
 	}
 
-	public Collection<Diagnostic> validate(CamelKafkaConnectorCatalogManager camelKafkaConnectorManager, Set<CamelPropertyEntryInstance> allCamelPropertyEntriesOfTheFile) {
+	public Collection<Diagnostic> validate(CamelKafkaConnectorCatalogManager camelKafkaConnectorManager, CamelPropertiesFileModel propertiesFileModel) {
 		Collection<Diagnostic> diagnostics = new HashSet<>();
 		if(camelSinkOrSourcePropertyKey != null) {
-			diagnostics.addAll(camelSinkOrSourcePropertyKey.validate(camelKafkaConnectorManager, allCamelPropertyEntriesOfTheFile));
+			diagnostics.addAll(camelSinkOrSourcePropertyKey.validate(camelKafkaConnectorManager, propertiesFileModel));
 		}
 		if(camelPropertyKey != null && camelPropertyKey.startsWith(CAMEL_KEY_PREFIX)) {
-			Optional<String> duplicateByDashCamelNotationDifference = allCamelPropertyEntriesOfTheFile.stream()
+			Optional<String> duplicateByDashCamelNotationDifference = propertiesFileModel.getEntries(camelPropertyKey).stream()
 				.map(CamelPropertyEntryInstance::getCamelPropertyKeyInstance)
-				.filter(Objects::nonNull)
 				.map(CamelPropertyKeyInstance::getCamelPropertyKey)
-				.filter(Objects::nonNull)
-				.filter(iterCamelPropertyKey ->
-					!iterCamelPropertyKey.equals(camelPropertyKey)
-					&& StringUtils.dashToCamelCase(iterCamelPropertyKey).equals(StringUtils.dashToCamelCase(camelPropertyKey)))
+				.filter(iterCamelPropertyKey -> !iterCamelPropertyKey.equals(camelPropertyKey))
 				.findAny();
 			if(duplicateByDashCamelNotationDifference.isPresent()) {
 				diagnostics.add(new Diagnostic(
@@ -25,7 +25,6 @@ import org.apache.camel.kafkaconnector.model.CamelKafkaConnectorModel;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
@@ -34,6 +33,7 @@ import com.github.cameltooling.lsp.internal.completion.CamelEndpointCompletionPr
 import com.github.cameltooling.lsp.internal.completion.CamelKafkaConnectorClassCompletionProcessor;
 import com.github.cameltooling.lsp.internal.completion.CamelKafkaConverterCompletionProcessor;
 import com.github.cameltooling.lsp.internal.completion.KafkaConnectTransformerTypeCompletionProcessor;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.hover.CamelURIHoverProcessor;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
@@ -49,27 +49,27 @@ public class CamelPropertyValueInstance implements ILineRangeDefineable {
 	private String camelPropertyValue;
 	private CamelPropertyKeyInstance key;
 
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
 
-	public CamelPropertyValueInstance(String camelPropertyFileValue, CamelPropertyKeyInstance key, TextDocumentItem textDocumentItem) {
+	public CamelPropertyValueInstance(String camelPropertyFileValue, CamelPropertyKeyInstance key, TextDocumentSnapshot textDocument) {
 		this.camelPropertyValue = camelPropertyFileValue;
 		this.key = key;
-		this.textDocumentItem = textDocumentItem;
+		this.textDocument = textDocument;
 	}
 
 	public CompletableFuture<List<CompletionItem>> getCompletions(Position position, CompletableFuture<CamelCatalog> camelCatalog, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager) {
 		String propertyKey = key.getCamelPropertyKey();
 		if (new CamelKafkaUtil().isCamelURIForKafka(propertyKey)) {
-			return new CamelEndpointCompletionProcessor(textDocumentItem, camelCatalog, kameletsCatalogManager).getCompletions(position, settingsManager);
+			return new CamelEndpointCompletionProcessor(textDocument, camelCatalog, kameletsCatalogManager).getCompletions(position, settingsManager);
 		} else if (new CamelKafkaUtil().isConnectorClassForCamelKafkaConnector(propertyKey)) {
 			String startFilter = computeStartFilter(position);
 			return new CamelKafkaConnectorClassCompletionProcessor(this, camelKafkaConnectorManager).getCompletions(startFilter);
 		} else if (new CamelKafkaUtil().isConverterForCamelKafkaConnector(propertyKey)) {
 			String startFilter = computeStartFilter(position);
-			return new CamelKafkaConverterCompletionProcessor(textDocumentItem, this, camelKafkaConnectorManager).getCompletions(startFilter);
+			return new CamelKafkaConverterCompletionProcessor(textDocument, this, camelKafkaConnectorManager).getCompletions(startFilter);
 		} else if(new KafkaConnectTransformerTypePropertyKeyDetector().isTransformerTypeKey(propertyKey)) {
 			String startFilter = computeStartFilter(position);
-			return new KafkaConnectTransformerTypeCompletionProcessor(textDocumentItem, this, camelKafkaConnectorManager).getCompletions(startFilter);
+			return new KafkaConnectTransformerTypeCompletionProcessor(textDocument, this, camelKafkaConnectorManager).getCompletions(startFilter);
 		} else {
 			String startFilter = computeStartFilter(position);
 			return camelCatalog.thenApply(new CamelComponentOptionValuesCompletionsFuture(this, startFilter));
@@ -107,7 +107,7 @@ public class CamelPropertyValueInstance implements ILineRangeDefineable {
 		String propertyKey = key.getCamelPropertyKey();
 		CamelKafkaUtil camelKafkaUtil = new CamelKafkaUtil();
 		if (camelKafkaUtil.isCamelURIForKafka(propertyKey)) {
-			return new CamelURIHoverProcessor(textDocumentItem, camelCatalog, kameletCatalogManager).getHover(position);
+			return new CamelURIHoverProcessor(textDocument, camelCatalog, kameletCatalogManager).getHover(position);
 		} else if (camelKafkaUtil.isConnectorClassForCamelKafkaConnector(propertyKey)) {
 			Optional<CamelKafkaConnectorModel> optional = camelKafkaConnectorManager.findConnectorModel(camelPropertyValue);
 			if(optional.isPresent()) {
@@ -35,13 +35,12 @@ import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
-import com.github.cameltooling.lsp.internal.catalog.util.StringUtils;
 import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
 import com.github.cameltooling.lsp.internal.completion.FilterPredicateUtils;
 import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticService;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 import com.github.cameltooling.lsp.internal.parser.CamelKafkaUtil;
 
@@ -56,15 +55,33 @@ public class CamelSinkOrSourcePropertyKey implements ILineRangeDefineable {
 	private String optionKey;
 	private CamelPropertyKeyInstance camelPropertyKeyInstance;
 	private String connectorClass;
+	private boolean connectorClassResolved;
 	private String prefix;
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
 
-	public CamelSinkOrSourcePropertyKey(String optionKey, CamelPropertyKeyInstance camelPropertyKeyInstance, TextDocumentItem textDocumentItem, String prefix) {
+	public CamelSinkOrSourcePropertyKey(String optionKey, CamelPropertyKeyInstance camelPropertyKeyInstance, TextDocumentSnapshot textDocument, String prefix) {
+		this(optionKey, camelPropertyKeyInstance, textDocument, prefix, null, false);
+	}
+
+	/**
+	 * @param connectorClass the connector class of the document when it is already known
+	 * @param connectorClassResolved false to search for the connector class in the document on first use
+	 */
+	CamelSinkOrSourcePropertyKey(String optionKey, CamelPropertyKeyInstance camelPropertyKeyInstance, TextDocumentSnapshot textDocument, String prefix, String connectorClass, boolean connectorClassResolved) {
 		this.optionKey = optionKey;
 		this.camelPropertyKeyInstance = camelPropertyKeyInstance;
-		this.textDocumentItem = textDocumentItem;
-		this.connectorClass = new CamelKafkaUtil().findConnectorClass(textDocumentItem);
+		this.textDocument = textDocument;
 		this.prefix = prefix;
+		this.connectorClass = connectorClass;
+		this.connectorClassResolved = connectorClassResolved;
+	}
+
+	private String getConnectorClass() {
+		if (!connectorClassResolved) {
+			connectorClass = new CamelKafkaUtil().findConnectorClass(textDocument);
+			connectorClassResolved = true;
+		}
+		return connectorClass;
 	}
 
 	@Override
@@ -92,14 +109,14 @@ public class CamelSinkOrSourcePropertyKey implements ILineRangeDefineable {
 	}
 
 	public CompletableFuture<List<CompletionItem>> getCompletions(Position position, CamelKafkaConnectorCatalogManager camelKafkaConnectorManager) {
-		if (connectorClass != null) {
+		if (getConnectorClass() != null) {
 			boolean shouldUseDashed = camelPropertyKeyInstance.shouldUseDashedCase();
-			Optional<CamelKafkaConnectorModel> camelKafkaConnectorModel = camelKafkaConnectorManager.findConnectorModel(connectorClass);
+			Optional<CamelKafkaConnectorModel> camelKafkaConnectorModel = camelKafkaConnectorManager.findConnectorModel(getConnectorClass());
 			if (camelKafkaConnectorModel.isPresent()) {
 				String filterString = optionKey.substring(0, position.getCharacter() - getStartPositionInLine());
 				List<CompletionItem> completions = new ArrayList<>();
 				completions.addAll(retrieveCompletionForSpecificConnector(shouldUseDashed, camelKafkaConnectorModel.get(), filterString));
-				completions.addAll(new CamelKafkaUtil().getBasicPropertiesCompletion(camelKafkaConnectorManager, textDocumentItem, shouldUseDashed, filterString, camelPropertyKeyInstance));
+				completions.addAll(new CamelKafkaUtil().getBasicPropertiesCompletion(camelKafkaConnectorManager, textDocument, shouldUseDashed, filterString, camelPropertyKeyInstance));
 				return CompletableFuture.completedFuture(completions);
 			}
 		}
@@ -133,19 +150,11 @@ public class CamelSinkOrSourcePropertyKey implements ILineRangeDefineable {
 
 
 	public CompletableFuture<Hover> getHover(CamelKafkaConnectorCatalogManager camelKafkaConnectorManager) {
-		if (connectorClass != null) {
-			Optional<CamelKafkaConnectorModel> camelKafkaConnectorModel = camelKafkaConnectorManager.findConnectorModel(connectorClass);
-			if (camelKafkaConnectorModel.isPresent()) {
-				String propertyKey = getPrefix() + optionKey;
-				String camelCasePropertyKey = StringUtils.dashToCamelCase(propertyKey);
-				Hover hover = camelKafkaConnectorModel.get()
-						.getOptions()
-						.stream()
-						.filter(option -> camelCasePropertyKey.equals(option.getName()))
-						.map(option -> createHover(option.getDescription()))
-						.findAny().orElse(null);
-				return CompletableFuture.completedFuture(hover);
-			}
+		if (getConnectorClass() != null) {
+			Hover hover = camelKafkaConnectorManager.findOption(getConnectorClass(), getPrefix() + optionKey)
+					.map(option -> createHover(option.getDescription()))
+					.orElse(null);
+			return CompletableFuture.completedFuture(hover);
 		}
 		return CompletableFuture.completedFuture(null);
 	}
@@ -154,31 +163,24 @@ public class CamelSinkOrSourcePropertyKey implements ILineRangeDefineable {
 		return optionKey;
 	}
 
-	public Collection<Diagnostic> validate(CamelKafkaConnectorCatalogManager camelKafkaConnectorManager, Set<CamelPropertyEntryInstance> allCamelPropertyEntriesOfTheFile) {
+	public Collection<Diagnostic> validate(CamelKafkaConnectorCatalogManager camelKafkaConnectorManager, CamelPropertiesFileModel propertiesFileModel) {
 		Set<Diagnostic> diagnostics = new HashSet<>();
-		Optional<CamelKafkaConnectorModel> connectorModelOptional = camelKafkaConnectorManager.findConnectorModel(connectorClass);
+		Optional<CamelKafkaConnectorModel> connectorModelOptional = camelKafkaConnectorManager.findConnectorModel(getConnectorClass());
 		if (connectorModelOptional.isPresent()) {
 			CamelKafkaConnectorModel connectorModel = connectorModelOptional.get();
-			diagnostics.addAll(validateExistingProperty(connectorModel));
+			diagnostics.addAll(validateExistingProperty(camelKafkaConnectorManager, connectorModel));
 			diagnostics.addAll(validateSourceSinkMatch(connectorModel));
 			diagnostics.addAll(validateSinkSourceMatch(connectorModel));
-			diagnostics.addAll(validateUrlNotMixedWithListOfProperties(connectorModel, allCamelPropertyEntriesOfTheFile));
+			diagnostics.addAll(validateUrlNotMixedWithListOfProperties(camelKafkaConnectorManager, connectorModel, propertiesFileModel));
 		}
 		return diagnostics;
 	}
 
-	private Collection<Diagnostic> validateUrlNotMixedWithListOfProperties(CamelKafkaConnectorModel connectorModel, Set<CamelPropertyEntryInstance> allCamelPropertyEntriesOfTheFile) {
+	private Collection<Diagnostic> validateUrlNotMixedWithListOfProperties(CamelKafkaConnectorCatalogManager camelKafkaConnectorManager, CamelKafkaConnectorModel connectorModel, CamelPropertiesFileModel propertiesFileModel) {
 		if("url".equals(optionKey)) {
-			Set<String> modelProperties = connectorModel
-					.getOptions()
-					.stream()
-					.map(CamelKafkaConnectorOptionModel::getName)
-					.filter(propertyName -> propertyName.startsWith(prefix))
-					.collect(Collectors.toSet());
-			
-			Set<String> camelComponentProperties = allCamelPropertyEntriesOfTheFile.stream()
+			Set<String> camelComponentProperties = propertiesFileModel.getEntriesWithPrefix(prefix).stream()
 									.map(property -> property.getCamelPropertyKeyInstance().getCamelPropertyKey())
-									.filter(propertyKey -> modelProperties.contains(StringUtils.dashToCamelCase(propertyKey)))
+									.filter(propertyKey -> camelKafkaConnectorManager.findOption(connectorModel.getConnectorClass(), propertyKey).isPresent())
 									.collect(Collectors.toSet());
 			if(!camelComponentProperties.isEmpty()) {
 				return Collections.singleton(new Diagnostic(
@@ -210,15 +212,9 @@ public class CamelSinkOrSourcePropertyKey implements ILineRangeDefineable {
 		return Collections.emptySet();
 	}
 
-	private Set<Diagnostic> validateExistingProperty(CamelKafkaConnectorModel connectorModel) {
+	private Set<Diagnostic> validateExistingProperty(CamelKafkaConnectorCatalogManager camelKafkaConnectorManager, CamelKafkaConnectorModel connectorModel) {
 		if (!"url".equals(optionKey) && (optionKey.startsWith("endpoint") || optionKey.startsWith("path"))) {
-			String propertyKey = getPrefix() + optionKey;
-			String camelCasePropertyKey = StringUtils.dashToCamelCase(propertyKey);
-			Optional<CamelKafkaConnectorOptionModel> optionModel = connectorModel
-					.getOptions()
-					.stream()
-					.filter(option -> camelCasePropertyKey.equals(option.getName()))
-					.findAny();
+			Optional<CamelKafkaConnectorOptionModel> optionModel = camelKafkaConnectorManager.findOption(connectorModel.getConnectorClass(), getPrefix() + optionKey);
 			if (!optionModel.isPresent()) {
 				return Collections.singleton(new Diagnostic(
 						new Range(new Position(getLine(), getStartPositionInLine()), new Position(getLine(), getEndPositionInLine())),
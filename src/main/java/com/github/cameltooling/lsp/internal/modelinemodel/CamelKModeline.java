@@ -25,9 +25,9 @@ import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.completion.modeline.CamelKModelineOptionNames;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 import com.github.cameltooling.lsp.internal.parser.CamelKModelineParser;
 
@@ -38,30 +38,30 @@ public class CamelKModeline implements ILineRangeDefineable {
 	private int endOfPrefixPositionInline;
 	private int line;
 
-	public CamelKModeline(String fullModeline, TextDocumentItem documentItem, int line) {
+	public CamelKModeline(String fullModeline, TextDocumentSnapshot textDocument, int line) {
 		this.fullModeline = fullModeline;
 		this.line = line;
 		String modelineCamelkStart = new CamelKModelineParser().retrieveModelineCamelKStart(fullModeline);
 		if(modelineCamelkStart != null) {
 			endOfPrefixPositionInline = modelineCamelkStart.length();
-			parseOptions(fullModeline, modelineCamelkStart, documentItem);
+			parseOptions(fullModeline, modelineCamelkStart, textDocument);
 		} else {
 			endOfPrefixPositionInline = -1;
 		}
 	}
 
-	private void parseOptions(String fullModeline, String modelineCamelkStart, TextDocumentItem documentItem) {
+	private void parseOptions(String fullModeline, String modelineCamelkStart, TextDocumentSnapshot textDocument) {
 		int currentPosition = modelineCamelkStart.length();
 		String remainingModeline = fullModeline.substring(currentPosition);
 		while(!remainingModeline.isEmpty()) {
 			int nextSpaceLikeCharacter = getNextSpaceLikeCharacter(remainingModeline);
 			if(nextSpaceLikeCharacter != -1) {
-				options.add(new CamelKModelineOption(remainingModeline.substring(1, nextSpaceLikeCharacter), currentPosition + 1, documentItem, line));
+				options.add(new CamelKModelineOption(remainingModeline.substring(1, nextSpaceLikeCharacter), currentPosition + 1, textDocument, line));
 				remainingModeline = remainingModeline.substring(nextSpaceLikeCharacter);
 				currentPosition += nextSpaceLikeCharacter; 
 			} else {
 				if(!remainingModeline.trim().isEmpty() && !isEnfOfXmlModeline(remainingModeline.trim())) {
-					options.add(new CamelKModelineOption(remainingModeline.substring(1), currentPosition + 1, documentItem, line));
+					options.add(new CamelKModelineOption(remainingModeline.substring(1), currentPosition + 1, textDocument, line));
 				}
 				remainingModeline = "";
 			}
@@ -28,7 +28,7 @@ import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.InsertTextFormat;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
-import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.catalog.util.ComponentModelIndex;
 import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
 import com.github.cameltooling.lsp.internal.completion.FilterPredicateUtils;
 
@@ -99,8 +99,7 @@ public class CamelKModelineDependencyOption implements ICamelKModelineOptionValu
 	}
 
 	private Function<? super CamelCatalog, ? extends List<CompletionItem>> retrieveCamelComponentCompletionItems(String filter) {
-		return catalog -> catalog.findComponentNames().stream()
-			.map(componentName -> ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentName), true))
+		return catalog -> ComponentModelIndex.of(catalog).getComponentModels().stream()
 			.map(componentModel -> {
 				CompletionItem completionItem = new CompletionItem(componentModel.getArtifactId());
 				completionItem.setDocumentation(componentModel.getDescription());
@@ -134,8 +133,7 @@ public class CamelKModelineDependencyOption implements ICamelKModelineOptionValu
 	}
 
 	private Optional<ComponentModel> findComponentModel(CamelCatalog catalog) {
-		return catalog.findComponentNames().stream().map(
-				componentName -> ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentName), true))
+		return ComponentModelIndex.of(catalog).getComponentModels().stream()
 				.filter(componentModel -> value.equals(componentModel.getArtifactId())).findAny();
 	}
 
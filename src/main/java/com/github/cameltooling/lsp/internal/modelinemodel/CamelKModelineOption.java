@@ -25,10 +25,10 @@ import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import com.github.cameltooling.lsp.internal.completion.modeline.CamelKModelineOptionNames;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
 
@@ -40,18 +40,18 @@ public class CamelKModelineOption implements ILineRangeDefineable {
 	private int startCharacter;
 	private int line;
 
-	public CamelKModelineOption(String option, int startCharacter, TextDocumentItem documentItem, int line) {
+	public CamelKModelineOption(String option, int startCharacter, TextDocumentSnapshot textDocument, int line) {
 		this.line = line;
 		int nameValueIndexSeparator = option.indexOf('=');
 		this.startCharacter = startCharacter;
 		this.optionName = option.substring(0, nameValueIndexSeparator != -1 ? nameValueIndexSeparator : option.length());
-		this.optionValue = createOptionValue(option, nameValueIndexSeparator, documentItem);
+		this.optionValue = createOptionValue(option, nameValueIndexSeparator, textDocument);
 	}
 
-	private ICamelKModelineOptionValue createOptionValue(String option, int nameValueIndexSeparator, TextDocumentItem documentItem){
+	private ICamelKModelineOptionValue createOptionValue(String option, int nameValueIndexSeparator, TextDocumentSnapshot textDocument){
 		if(nameValueIndexSeparator != -1) {
 			String value = option.substring(nameValueIndexSeparator+1);
-			if (isEndOfCommentStuckToEndLine(option, documentItem, value)) {
+			if (isEndOfCommentStuckToEndLine(option, textDocument, value)) {
 				value = value.substring(0, value.length() - END_OF_XML_COMMENT.length());
 			}
 			int startPosition = getStartPositionInLine() + optionName.length() + 1;
@@ -60,15 +60,15 @@ public class CamelKModelineOption implements ILineRangeDefineable {
 			} else if(CamelKModelineOptionNames.OPTION_NAME_DEPENDENCY.equals(optionName)) {
 				return new CamelKModelineDependencyOption(value, startPosition, line);
 			} else if(CamelKModelineOptionNames.OPTION_NAME_PROPERTY.equals(optionName)) {
-				return new CamelKModelinePropertyOption(value, startPosition, documentItem, line);
+				return new CamelKModelinePropertyOption(value, startPosition, textDocument, line);
 			} else if(CamelKModelineOptionNames.OPTION_NAME_PROPERTY_FILE.equals(optionName)) {
-				return new CamelKModelinePropertyDashFileOption(value, startPosition, documentItem.getUri(), line);
+				return new CamelKModelinePropertyDashFileOption(value, startPosition, textDocument.getUri(), line);
 			} else if(CamelKModelineOptionNames.OPTION_NAME_RESOURCE.equals(optionName)) {
-				return new CamelKModelineResourceOption(value, startPosition, documentItem.getUri(), line);
+				return new CamelKModelineResourceOption(value, startPosition, textDocument.getUri(), line);
 			} else if(CamelKModelineOptionNames.OPTION_NAME_OPEN_API.equals(optionName)) {
-				return new CamelKModelineOpenAPIOption(value, startPosition, documentItem.getUri(), line);
+				return new CamelKModelineOpenAPIOption(value, startPosition, textDocument.getUri(), line);
 			} else if(CamelKModelineOptionNames.OPTION_NAME_CONFIG.equals(optionName)) {
-				return new CamelKModelineConfigOption(value, startPosition, documentItem.getUri(), line);
+				return new CamelKModelineConfigOption(value, startPosition, textDocument.getUri(), line);
 			} else {
 				return new GenericCamelKModelineOptionValue(value, startPosition, line);
 			}
@@ -77,10 +77,10 @@ public class CamelKModelineOption implements ILineRangeDefineable {
 		}
 	}
 
-	private boolean isEndOfCommentStuckToEndLine(String option, TextDocumentItem documentItem, String value) {
+	private boolean isEndOfCommentStuckToEndLine(String option, TextDocumentSnapshot textDocument, String value) {
 		return value.endsWith(END_OF_XML_COMMENT)
-				&& documentItem.getUri().endsWith(".xml")
-				&& startCharacter + option.length() == new ParserFileHelperUtil().getLine(documentItem, getLine()).length();
+				&& textDocument.getUri().endsWith(".xml")
+				&& startCharacter + option.length() == new ParserFileHelperUtil().getLine(textDocument, getLine()).length();
 	}
 	
 	@Override
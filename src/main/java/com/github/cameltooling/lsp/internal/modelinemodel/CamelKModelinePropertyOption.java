@@ -26,8 +26,8 @@ import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.propertiesfile.CamelPropertyEntryInstance;
 
 /**
@@ -47,12 +47,12 @@ public class CamelKModelinePropertyOption implements ICamelKModelineOptionValue
 	private String fullStringValue;
 	private int line;
 
-	public CamelKModelinePropertyOption(String value, int startPosition, TextDocumentItem documentItem, int line) {
+	public CamelKModelinePropertyOption(String value, int startPosition, TextDocumentSnapshot textDocument, int line) {
 		this.line = line;
 		if(value.startsWith(FILE_PREFIX)) {
-			this.fileValue = new CamelKModelinePropertyFileOption(value.substring(FILE_PREFIX.length()), startPosition + FILE_PREFIX.length(), documentItem.getUri(), line);
+			this.fileValue = new CamelKModelinePropertyFileOption(value.substring(FILE_PREFIX.length()), startPosition + FILE_PREFIX.length(), textDocument.getUri(), line);
 		} else {
-			this.singlePropertyValue = new CamelPropertyEntryInstance(value, new Position(0, startPosition), documentItem);
+			this.singlePropertyValue = new CamelPropertyEntryInstance(value, new Position(0, startPosition), textDocument);
 		}
 		this.fullStringValue = value;
 		this.startPosition = startPosition;
@@ -16,7 +16,7 @@
  */
 package com.github.cameltooling.lsp.internal.parser;
 
-import org.eclipse.lsp4j.TextDocumentItem;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 
 public class CamelKModelineParser {
 
@@ -35,8 +35,8 @@ public class CamelKModelineParser {
 		return null;
 	}
 	
-	public boolean isOnCamelKModeline(int line, TextDocumentItem textDocumentItem) {
-		return retrieveModelineCamelKStart(new ParserFileHelperUtil().getLine(textDocumentItem, line)) != null;
+	public boolean isOnCamelKModeline(int line, TextDocumentSnapshot textDocument) {
+		return retrieveModelineCamelKStart(new ParserFileHelperUtil().getLine(textDocument, line)) != null;
 	}
 	
 }
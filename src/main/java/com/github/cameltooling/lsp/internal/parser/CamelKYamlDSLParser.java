@@ -17,44 +17,85 @@
 package com.github.cameltooling.lsp.internal.parser;
 
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.yaml.snakeyaml.Yaml;
 
 import java.util.List;
 import java.util.Map;
 
+import com.github.cameltooling.lsp.internal.document.DocumentParseCache;
+import com.github.cameltooling.lsp.internal.document.ParsedArtifact;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.YamlDSLModelHelper;
+import com.github.cameltooling.lsp.internal.parser.yaml.YamlRouteModel;
 
 /**
  * @author Lars Heinemann
  */
 public class CamelKYamlDSLParser extends ParserFileHelper {
 	
+	private static final Logger LOGGER = LoggerFactory.getLogger(CamelKYamlDSLParser.class);
+
 	public static final String URI_KEY = "uri";
 	public static final String REST_KEY = "rest";
 	public static final String FROM_KEY = "from";
 	public static final String TO_KEY = "to";
 
+	private static final ParsedArtifact<YamlRouteModel> YAML_ROUTE_MODEL = ParsedArtifact.of("Camel K YAML route model", textDocument -> YamlRouteModel.parse(textDocument.getText()));
+
 	@Override
 	public String getCamelComponentUri(String line, int characterPosition) {
+		return getCamelComponentUri(parseYaml(line), characterPosition);
+	}
+
+	@Override
+	public String getCamelComponentUri(TextDocumentSnapshot textDocument, Position position) {
+		YamlRouteModel yamlRouteModel = getYamlRouteModel(textDocument, position.getLine());
+		if (yamlRouteModel == null) {
+			return super.getCamelComponentUri(textDocument, position);
+		}
+		return getCamelComponentUri(yamlRouteModel.getLineData(position.getLine()), position.getCharacter());
+	}
+
+	private String getCamelComponentUri(Map<?, ?> data, int characterPosition) {
 		String camelComponentURI = null;
-		Map<?, ?> data = parseYaml(line);
 		if (data != null && data.containsKey(URI_KEY) && URI_KEY.length() < characterPosition) {
 			camelComponentURI = getNonNullValue(data.get(URI_KEY));
-		} else if(data != null && data.containsKey(TO_KEY) && data.get(TO_KEY).toString().trim().length()>0) {
+		} else if(data != null && data.containsKey(TO_KEY) && getNonNullValue(data.get(TO_KEY)).trim().length()>0) {
 			camelComponentURI = getNonNullValue(data.get(TO_KEY));
 		}
 		return camelComponentURI;
 	}
 
+	/**
+	 * The model is parsed once per version of the document. Lines of documents which are not valid YAML,
+	 * typically while typing, and lines with values spanning several lines are parsed on their own.
+	 *
+	 * @param textDocument the Camel K YAML document
+	 * @param line the line number, starting at 0
+	 * @return the model of the document, null if it cannot describe the line
+	 */
+	private YamlRouteModel getYamlRouteModel(TextDocumentSnapshot textDocument, int line) {
+		try {
+			YamlRouteModel yamlRouteModel = DocumentParseCache.parse(textDocument, YAML_ROUTE_MODEL);
+			if (yamlRouteModel != null && yamlRouteModel.isIndexed(line)) {
+				return yamlRouteModel;
+			}
+		} catch (Exception e) {
+			LOGGER.debug("Cannot parse the YAML document {}", textDocument.getUri(), e);
+		}
+		return null;
+	}
+
 	@Override
-	public CamelURIInstance createCamelURIInstance(TextDocumentItem textDocumentItem, Position position,
+	public CamelURIInstance createCamelURIInstance(TextDocumentSnapshot textDocument, Position position,
 			String camelComponentUri) {
-		String line = parserFileHelperUtil.getLine(textDocumentItem, position.getLine());
+		String line = parserFileHelperUtil.getLine(textDocument, position.getLine());
 		String stringEncloser = getStringEncloser(line);
-		CamelURIInstance uriInstance = new CamelURIInstance(repairLostEscapeChars(stringEncloser, camelComponentUri), new YamlDSLModelHelper(getCorrespondingType(textDocumentItem, position.getLine())), textDocumentItem);
-		int start = getStartCharacterInDocumentOnLinePosition(textDocumentItem, position);
+		CamelURIInstance uriInstance = new CamelURIInstance(repairLostEscapeChars(stringEncloser, camelComponentUri), new YamlDSLModelHelper(getCorrespondingType(textDocument, position.getLine())), textDocument);
+		int start = getStartCharacterInDocumentOnLinePosition(textDocument, position);
 		uriInstance.setStartPositionInDocument(new Position(position.getLine(), start));
 		uriInstance.setEndPositionInDocument(new Position(position.getLine(), start+repairLostEscapeChars(stringEncloser, camelComponentUri).length()));
 		return uriInstance;
@@ -67,21 +108,25 @@ public class CamelKYamlDSLParser extends ParserFileHelper {
 		return "";
 	}
 
-	private int getStartCharacterInDocumentOnLinePosition(TextDocumentItem textDocumentItem, Position position) {
-		String line = parserFileHelperUtil.getLine(textDocumentItem, position.getLine());
-		String stringEncloser = getStringEncloser(line);
-		String uri = extractUriFromYamlData(line);
+	private int getStartCharacterInDocumentOnLinePosition(TextDocumentSnapshot textDocument, Position position) {
+		String line = parserFileHelperUtil.getLine(textDocument, position.getLine());
+		YamlRouteModel yamlRouteModel = getYamlRouteModel(textDocument, position.getLine());
+		Map<?, ?> data = yamlRouteModel != null ? yamlRouteModel.getLineData(position.getLine()) : parseYaml(line);
+		String uri = extractUriFromYamlData(data);
 		if (uri == null || uri.isEmpty()) {
 			// empty uri
 			return findStartPositionOfURI(line);
 		}
-		uri = repairLostEscapeChars(stringEncloser, uri);
+		if (yamlRouteModel != null) {
+			return yamlRouteModel.getFirstValueStart(position.getLine());
+		}
+		uri = repairLostEscapeChars(getStringEncloser(line), uri);
 		return line.indexOf(uri);
 	}
 
 	@Override
-	public int getPositionInCamelURI(TextDocumentItem textDocumentItem, Position position) {
-		String line = parserFileHelperUtil.getLine(textDocumentItem, position.getLine());
+	public int getPositionInCamelURI(TextDocumentSnapshot textDocument, Position position) {
+		String line = parserFileHelperUtil.getLine(textDocument, position.getLine());
 		return position.getCharacter() - findStartPositionOfURI(line);
 	}
 
@@ -174,9 +219,14 @@ public class CamelKYamlDSLParser extends ParserFileHelper {
 		return true;
 	}
 
-	public String getCorrespondingType(TextDocumentItem textDocumentItem, int lineNumber) {
+	public String getCorrespondingType(TextDocumentSnapshot textDocument, int lineNumber) {
+		YamlRouteModel yamlRouteModel = getYamlRouteModel(textDocument, lineNumber);
+		if (yamlRouteModel != null) {
+			String typeKey = yamlRouteModel.getTypeKey(lineNumber);
+			return REST_KEY.equals(typeKey) ? null : typeKey;
+		}
 		for (int lineNo = lineNumber; lineNo >=0; lineNo--) {
-			String tempLine = parserFileHelperUtil.getLine(textDocumentItem, lineNo);
+			String tempLine = parserFileHelperUtil.getLine(textDocument, lineNo);
 			Map<?, ?> data = parseYaml(tempLine);
 			if (data != null) {
 				if (data.containsKey(TO_KEY)) {
@@ -197,12 +247,9 @@ public class CamelKYamlDSLParser extends ParserFileHelper {
 		return extractMapFromYaml(obj);
 	}
 
-	private String extractUriFromYamlData(String line) {
-		Yaml yaml = new Yaml();
-		Object obj = yaml.load(line);
-		Map<?, ?> m = extractMapFromYaml(obj);
-		if (m != null && !m.values().isEmpty()) {
-			return getNonNullValue(m.values().toArray()[0]);
+	private String extractUriFromYamlData(Map<?, ?> data) {
+		if (data != null && !data.values().isEmpty()) {
+			return getNonNullValue(data.values().iterator().next());
 		}
 		return null;
 	}
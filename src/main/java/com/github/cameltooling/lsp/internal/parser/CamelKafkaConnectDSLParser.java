@@ -21,10 +21,10 @@ import java.io.StringReader;
 import java.util.Properties;
 
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.PropertiesDSLModelHelper;
 
@@ -57,28 +57,28 @@ public class CamelKafkaConnectDSLParser extends ParserFileHelper {
 	}
 
 	@Override
-	public CamelURIInstance createCamelURIInstance(TextDocumentItem textDocumentItem, Position position,
+	public CamelURIInstance createCamelURIInstance(TextDocumentSnapshot textDocument, Position position,
 			String camelComponentUri) {
-		CamelURIInstance uriInstance = new CamelURIInstance(camelComponentUri, new PropertiesDSLModelHelper(getCorrespondingMethodName(textDocumentItem, position.getLine())), textDocumentItem);
-		int start = getStartCharacterInDocumentOnLinePosition(textDocumentItem, position);
+		CamelURIInstance uriInstance = new CamelURIInstance(camelComponentUri, new PropertiesDSLModelHelper(getCorrespondingMethodName(textDocument, position.getLine())), textDocument);
+		int start = getStartCharacterInDocumentOnLinePosition(textDocument, position);
 		uriInstance.setStartPositionInDocument(new Position(position.getLine(), start));
 		uriInstance.setEndPositionInDocument(new Position(position.getLine(), start+camelComponentUri.length()));
 		return uriInstance;
 	}
 
-	private int getStartCharacterInDocumentOnLinePosition(TextDocumentItem textDocumentItem, Position position) {
-		String line = parserFileHelperUtil.getLine(textDocumentItem, position.getLine());
+	private int getStartCharacterInDocumentOnLinePosition(TextDocumentSnapshot textDocument, Position position) {
+		String line = parserFileHelperUtil.getLine(textDocument, position.getLine());
 		return line.indexOf('=') + 1;
 	}
 
 	@Override
-	public int getPositionInCamelURI(TextDocumentItem textDocumentItem, Position position) {
-		String line = parserFileHelperUtil.getLine(textDocumentItem, position.getLine());
+	public int getPositionInCamelURI(TextDocumentSnapshot textDocument, Position position) {
+		String line = parserFileHelperUtil.getLine(textDocument, position.getLine());
 		return position.getCharacter() - line.indexOf('=') - 1;
 	}
 
-	public String getCorrespondingMethodName(TextDocumentItem textDocumentItem, int lineNumber) {
-		String line = parserFileHelperUtil.getLine(textDocumentItem, lineNumber);
+	public String getCorrespondingMethodName(TextDocumentSnapshot textDocument, int lineNumber) {
+		String line = parserFileHelperUtil.getLine(textDocument, lineNumber);
 		if (line.startsWith(CamelKafkaUtil.CAMEL_SINK_URL)) {
 			return "to";
 		} else if(line.startsWith(CamelKafkaUtil.CAMEL_SOURCE_URL)) {
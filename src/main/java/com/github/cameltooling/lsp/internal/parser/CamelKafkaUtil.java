@@ -17,7 +17,6 @@
 package com.github.cameltooling.lsp.internal.parser;
 
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
@@ -26,12 +25,14 @@ import java.util.stream.Collectors;
 import org.apache.camel.util.StringHelper;
 import org.apache.kafka.common.config.ConfigDef;
 import org.eclipse.lsp4j.CompletionItem;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
+import com.github.cameltooling.lsp.internal.document.DocumentParseCache;
+import com.github.cameltooling.lsp.internal.document.ParsedArtifact;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
 
 public class CamelKafkaUtil {
@@ -48,6 +49,12 @@ public class CamelKafkaUtil {
 	public static final String KEY_CONVERTER = "key.converter";
 	public static final String VALUE_CONVERTER = "value.converter";
 	
+	private static final ParsedArtifact<Properties> PROPERTIES = ParsedArtifact.of("Java properties", textDocument -> {
+		Properties properties = new Properties();
+		properties.load(new ByteArrayInputStream(textDocument.getText().getBytes()));
+		return properties;
+	});
+	
 	public boolean isCamelURIForKafka(String propertyKey) {
 		return CamelKafkaUtil.CAMEL_SINK_URL.equals(propertyKey)
 				|| CamelKafkaUtil.CAMEL_SOURCE_URL.equals(propertyKey);
@@ -67,15 +74,14 @@ public class CamelKafkaUtil {
 				|| VALUE_CONVERTER.equals(propertyKey);
 	}
 	
-	public String findConnectorClass(TextDocumentItem textDocumentItem) {
-		Properties properties = new Properties();
+	public String findConnectorClass(TextDocumentSnapshot textDocument) {
 		try {
-			properties.load(new ByteArrayInputStream(textDocumentItem.getText().getBytes()));
+			Properties properties = DocumentParseCache.parse(textDocument, PROPERTIES);
 			Object connectorClassValue = properties.get(CONNECTOR_CLASS);
 			if (connectorClassValue != null) {
 				return connectorClassValue.toString();
 			}
-		} catch (IOException e) {
+		} catch (Exception e) {
 			LOGGER.error("Cannot load Properties file to search for 'connector.class' property value.", e);
 		}
 		return null;
@@ -83,12 +89,12 @@ public class CamelKafkaUtil {
 
 	public List<CompletionItem> getBasicPropertiesCompletion(
 			CamelKafkaConnectorCatalogManager camelkafkaConnectorManager,
-			TextDocumentItem textDocumentItem,
+			TextDocumentSnapshot textDocument,
 			boolean shouldUseDashed,
 			String groupPrefix,
 			ILineRangeDefineable lineRangeDefineableItem) {
 		if (camelkafkaConnectorManager != null) {
-			ConfigDef basicPropertiesConfigDef = camelkafkaConnectorManager.retrieveBasicPropertiesConfigDef(textDocumentItem);
+			ConfigDef basicPropertiesConfigDef = camelkafkaConnectorManager.retrieveBasicPropertiesConfigDef(textDocument);
 			if (basicPropertiesConfigDef != null) {
 				return basicPropertiesConfigDef.configKeys().values().stream()
 						.filter(configKey -> configKey.name.startsWith(groupPrefix)).map(configKey -> {
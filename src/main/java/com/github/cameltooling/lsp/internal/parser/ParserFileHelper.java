@@ -17,8 +17,8 @@
 package com.github.cameltooling.lsp.internal.parser;
 
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 
 public abstract class ParserFileHelper {
@@ -27,16 +27,16 @@ public abstract class ParserFileHelper {
 	
 	public abstract String getCamelComponentUri(String line, int characterPosition);
 	
-	public String getCamelComponentUri(TextDocumentItem textDocumentItem, Position position) {
-		return getCamelComponentUri(parserFileHelperUtil.getLine(textDocumentItem, position), position.getCharacter());
+	public String getCamelComponentUri(TextDocumentSnapshot textDocument, Position position) {
+		return getCamelComponentUri(parserFileHelperUtil.getLine(textDocument, position), position.getCharacter());
 	}
 	
 	protected boolean isBetween(int position, int start, int end) {
 		return end != -1 && position <= end && position >= start;
 	}
 
-	public abstract CamelURIInstance createCamelURIInstance(TextDocumentItem textDocumentItem, Position position, String camelComponentUri);
+	public abstract CamelURIInstance createCamelURIInstance(TextDocumentSnapshot textDocument, Position position, String camelComponentUri);
 
-	public abstract int getPositionInCamelURI(TextDocumentItem textDocumentItem, Position position);
+	public abstract int getPositionInCamelURI(TextDocumentSnapshot textDocument, Position position);
 	
 }
@@ -16,7 +16,7 @@
  */
 package com.github.cameltooling.lsp.internal.parser;
 
-import org.eclipse.lsp4j.TextDocumentItem;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 
 public class ParserFileHelperFactory {
 	
@@ -26,109 +26,109 @@ public class ParserFileHelperFactory {
 	private static final String CAMELK_JS_FILENAME_SUFFIX = ".camelk.js";
 	private static final String SHEBANG_CAMEL_K = "#!/usr/bin/env camel-k";
 
-	public ParserFileHelper getCorrespondingParserFileHelper(TextDocumentItem textDocumentItem, int line) {
+	public ParserFileHelper getCorrespondingParserFileHelper(TextDocumentSnapshot textDocument, int line) {
 		ParserXMLFileHelper xmlParser = new ParserXMLFileHelper();
-		String uri = textDocumentItem.getUri();
-		if (uri.endsWith(".xml") && xmlParser.getCorrespondingCamelNodeForCompletion(textDocumentItem, line) != null) {
+		String uri = textDocument.getUri();
+		if (uri.endsWith(".xml") && xmlParser.getCorrespondingCamelElementForCompletion(textDocument, line) != null) {
 			return xmlParser;
-		} else if(isCamelJavaDSL(textDocumentItem, uri)) {
+		} else if(isCamelJavaDSL(textDocument, uri)) {
 			ParserJavaFileHelper javaParser = new ParserJavaFileHelper();
-			if (javaParser.getCorrespondingMethodName(textDocumentItem, line) != null) {
+			if (javaParser.getCorrespondingMethodName(textDocument, line) != null) {
 				return javaParser;
 			}
-		} else if(isCamelKGroovyDSL(textDocumentItem, uri)) {
+		} else if(isCamelKGroovyDSL(textDocument, uri)) {
 			CamelKGroovyDSLParser camelKGroovyDSLParser = new CamelKGroovyDSLParser();
-			if (camelKGroovyDSLParser.getCorrespondingMethodName(textDocumentItem, line) != null) {
+			if (camelKGroovyDSLParser.getCorrespondingMethodName(textDocument, line) != null) {
 				return camelKGroovyDSLParser;
 			}
-		} else if(isCamelKYamlDSL(textDocumentItem, uri)) {
+		} else if(isCamelKYamlDSL(textDocument, uri)) {
 			CamelKYamlDSLParser camelKYamlDSLParser = new CamelKYamlDSLParser();
-			if (camelKYamlDSLParser.getCorrespondingType(textDocumentItem, line) != null) {
+			if (camelKYamlDSLParser.getCorrespondingType(textDocument, line) != null) {
 				return camelKYamlDSLParser;
 			}
-		} else if(isCamelKafkaConnectDSL(textDocumentItem, uri)) {
+		} else if(isCamelKafkaConnectDSL(textDocument, uri)) {
 			CamelKafkaConnectDSLParser camelKafkaConnectDSLParser = new CamelKafkaConnectDSLParser();
-			if (camelKafkaConnectDSLParser.getCorrespondingMethodName(textDocumentItem, line) != null) {
+			if (camelKafkaConnectDSLParser.getCorrespondingMethodName(textDocument, line) != null) {
 				return camelKafkaConnectDSLParser;
 			}
-		} else if(isCamelKKotlinDSL(textDocumentItem, uri)) {
+		} else if(isCamelKKotlinDSL(textDocument, uri)) {
 			CamelKKotlinDSLParser camelKKotlinDSLParser = new CamelKKotlinDSLParser();
-			if (camelKKotlinDSLParser.getCorrespondingMethodName(textDocumentItem, line) != null) {
+			if (camelKKotlinDSLParser.getCorrespondingMethodName(textDocument, line) != null) {
 				return camelKKotlinDSLParser;
 			}
-		} else if(isCamelKJSDSL(textDocumentItem, uri)) {
+		} else if(isCamelKJSDSL(textDocument, uri)) {
 			CamelKJSDSLParser camelKJSDSLParser = new CamelKJSDSLParser();
-			if (camelKJSDSLParser.getCorrespondingMethodName(textDocumentItem, line) != null) {
+			if (camelKJSDSLParser.getCorrespondingMethodName(textDocument, line) != null) {
 				return camelKJSDSLParser;
 			}
 		}
 		return null;
 	}
 	
-	private boolean isCamelKJSDSL(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isCamelKJSDSL(TextDocumentSnapshot textDocument, String uri) {
 		//improve this method to provide better heuristic to detect if it is a Camel file or not
 		return uri.endsWith(CAMELK_JS_FILENAME_SUFFIX)
-				|| isJSFileWithCamelKModelineLike(textDocumentItem, uri);
+				|| isJSFileWithCamelKModelineLike(textDocument, uri);
 	}
 
-	private boolean isJSFileWithCamelKModelineLike(TextDocumentItem textDocumentItem, String uri) {
-		return uri.endsWith(".js") && textDocumentItem.getText().startsWith(CamelKModelineParser.MODELINE_LIKE_CAMEL_K);
+	private boolean isJSFileWithCamelKModelineLike(TextDocumentSnapshot textDocument, String uri) {
+		return uri.endsWith(".js") && textDocument.getText().startsWith(CamelKModelineParser.MODELINE_LIKE_CAMEL_K);
 	}
 
-	private boolean isCamelKafkaConnectDSL(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isCamelKafkaConnectDSL(TextDocumentSnapshot textDocument, String uri) {
 		return uri.endsWith(".properties")
-				&& containsCamelKafkaConnectPropertyKey(textDocumentItem);
+				&& containsCamelKafkaConnectPropertyKey(textDocument);
 	}
 
-	protected boolean containsCamelKafkaConnectPropertyKey(TextDocumentItem textDocumentItem) {
-		String text = textDocumentItem.getText();
+	protected boolean containsCamelKafkaConnectPropertyKey(TextDocumentSnapshot textDocument) {
+		String text = textDocument.getText();
 		return text.contains(CamelKafkaUtil.CAMEL_SINK_URL)
 				|| text.contains(CamelKafkaUtil.CAMEL_SOURCE_URL);
 	}
 
-	private boolean isCamelKKotlinDSL(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isCamelKKotlinDSL(TextDocumentSnapshot textDocument, String uri) {
 		//improve this method to provide better heuristic to detect if it is a Camel file or not
 		return uri.endsWith(CAMELK_KOTLIN_FILENAME_SUFFIX)
-				|| isKotlinFileWithCamelKModelineLike(textDocumentItem, uri);
+				|| isKotlinFileWithCamelKModelineLike(textDocument, uri);
 	}
 
-	private boolean isKotlinFileWithCamelKModelineLike(TextDocumentItem textDocumentItem, String uri) {
-		return uri.endsWith(".kts") && textDocumentItem.getText().startsWith(CamelKModelineParser.MODELINE_LIKE_CAMEL_K);
+	private boolean isKotlinFileWithCamelKModelineLike(TextDocumentSnapshot textDocument, String uri) {
+		return uri.endsWith(".kts") && textDocument.getText().startsWith(CamelKModelineParser.MODELINE_LIKE_CAMEL_K);
 	}
 
-	private boolean isCamelKGroovyDSL(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isCamelKGroovyDSL(TextDocumentSnapshot textDocument, String uri) {
 		//improve this method to provide better heuristic to detect if it is a Camel file or not
 		return uri.endsWith(CAMELK_GROOVY_FILENAME_SUFFIX)
-				|| isGroovyFileWithCamelKShebang(textDocumentItem, uri)
-				|| isGroovyFileWithCamelKModelineLike(textDocumentItem, uri);
+				|| isGroovyFileWithCamelKShebang(textDocument, uri)
+				|| isGroovyFileWithCamelKModelineLike(textDocument, uri);
 	}
 
-	private boolean isGroovyFileWithCamelKModelineLike(TextDocumentItem textDocumentItem, String uri) {
-		return uri.endsWith(".groovy") && textDocumentItem.getText().startsWith(CamelKModelineParser.MODELINE_LIKE_CAMEL_K);
+	private boolean isGroovyFileWithCamelKModelineLike(TextDocumentSnapshot textDocument, String uri) {
+		return uri.endsWith(".groovy") && textDocument.getText().startsWith(CamelKModelineParser.MODELINE_LIKE_CAMEL_K);
 	}
 
-	protected boolean isGroovyFileWithCamelKShebang(TextDocumentItem textDocumentItem, String uri) {
-		return uri.endsWith(".groovy") && textDocumentItem.getText().startsWith(SHEBANG_CAMEL_K);
+	protected boolean isGroovyFileWithCamelKShebang(TextDocumentSnapshot textDocument, String uri) {
+		return uri.endsWith(".groovy") && textDocument.getText().startsWith(SHEBANG_CAMEL_K);
 	}
 
-	private boolean isCamelKYamlDSL(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isCamelKYamlDSL(TextDocumentSnapshot textDocument, String uri) {
 		//improve this method to provide better heuristic to detect if it is a Camel file or not
 		return uri.endsWith(CAMELK_YAML_FILENAME_SUFFIX)
-				|| isYamlFileWithCamelKShebang(textDocumentItem, uri)
-				|| isYamlFileWithCamelKModelineLike(textDocumentItem, uri);
+				|| isYamlFileWithCamelKShebang(textDocument, uri)
+				|| isYamlFileWithCamelKModelineLike(textDocument, uri);
 	}
 
-	private boolean isYamlFileWithCamelKModelineLike(TextDocumentItem textDocumentItem, String uri) {
-		return uri.endsWith(".yaml") && textDocumentItem.getText().startsWith(CamelKModelineParser.MODELINE_LIKE_CAMEL_K_YAML);
+	private boolean isYamlFileWithCamelKModelineLike(TextDocumentSnapshot textDocument, String uri) {
+		return uri.endsWith(".yaml") && textDocument.getText().startsWith(CamelKModelineParser.MODELINE_LIKE_CAMEL_K_YAML);
 	}
 
-	protected boolean isYamlFileWithCamelKShebang(TextDocumentItem textDocumentItem, String uri) {
-		return uri.endsWith(".yaml") && textDocumentItem.getText().startsWith(SHEBANG_CAMEL_K);
+	protected boolean isYamlFileWithCamelKShebang(TextDocumentSnapshot textDocument, String uri) {
+		return uri.endsWith(".yaml") && textDocument.getText().startsWith(SHEBANG_CAMEL_K);
 	}
 
-	private boolean isCamelJavaDSL(TextDocumentItem textDocumentItem, String uri) {
+	private boolean isCamelJavaDSL(TextDocumentSnapshot textDocument, String uri) {
 		//improve this method to provide better heuristic to detect if it is a Camel file or not
-		return uri.endsWith(".java") && textDocumentItem.getText().contains("camel");
+		return uri.endsWith(".java") && textDocument.getText().contains("camel");
 	}
 
 }
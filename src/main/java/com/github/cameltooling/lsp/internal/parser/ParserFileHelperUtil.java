@@ -17,24 +17,49 @@
 package com.github.cameltooling.lsp.internal.parser;
 
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
+
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 
 public class ParserFileHelperUtil {
 
-	public String getLine(TextDocumentItem textDocumentItem, Position position) {
-		return getLine(textDocumentItem, position.getLine());
+	public String getLine(TextDocumentSnapshot textDocument, Position position) {
+		return getLine(textDocument, position.getLine());
 	}
 	
-	public String getLine(TextDocumentItem textDocumentItem, int line) {
-		return getLine(textDocumentItem.getText(), line);
+	public String getLine(TextDocumentSnapshot textDocument, int line) {
+		return textDocument.getLineIndex().getLine(line);
+	}
+
+	/**
+	 * @param textDocument the document
+	 * @param line the line number, starting at 0
+	 * @return a read-only view on the line without line delimiters, null if the line doesn't exist.
+	 * 			It is served from the line index of the snapshot without copying the text.
+	 */
+	public CharSequence getLineView(TextDocumentSnapshot textDocument, int line) {
+		return textDocument.getLineIndex().getLineView(line);
 	}
 
 	public String getLine(String text, int line) {
-		String[] lines = text.split("\\r?\\n", line + 2);
-		if (lines.length >= line + 1) {
-			return lines[line];
+		if (line < 0) {
+			return null;
+		}
+		int lineStart = 0;
+		for (int currentLine = 0; currentLine < line; currentLine++) {
+			int lineFeed = text.indexOf('\n', lineStart);
+			if (lineFeed == -1) {
+				return null;
+			}
+			lineStart = lineFeed + 1;
+		}
+		int lineEnd = text.indexOf('\n', lineStart);
+		if (lineEnd == -1) {
+			return text.substring(lineStart);
+		}
+		if (lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r') {
+			lineEnd--;
 		}
-		return null;
+		return text.substring(lineStart, lineEnd);
 	}
 	
 }
@@ -16,18 +16,99 @@
  */
 package com.github.cameltooling.lsp.internal.parser;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import org.apache.camel.parser.RouteBuilderParser;
+import org.apache.camel.parser.model.CamelEndpointDetails;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.Range;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.JavaType;
+import org.jboss.forge.roaster.model.source.JavaClassSource;
 
+import com.github.cameltooling.lsp.internal.document.DocumentParseCache;
+import com.github.cameltooling.lsp.internal.document.ParsedArtifact;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+import com.github.cameltooling.lsp.internal.parser.java.JavaCamelEndpoint;
+import com.github.cameltooling.lsp.internal.parser.java.JavaRouteModel;
+import com.github.cameltooling.lsp.internal.parser.java.JavaRouteScanner;
 
 public class ParserJavaFileHelper extends ParserFileHelper {
 	
 	protected static final List<String> CAMEL_POSSIBLE_TYPES = Arrays.asList("to", "from");
 	private static final char ENCLOSING_STRING_CHARACTER_FOR_JAVA = '\"';
+	private static final ParsedArtifact<JavaType<?>> JAVA_TYPE = ParsedArtifact.of("Roaster Java type", textDocument -> Roaster.parse(textDocument.getText()));
+	private static final ParsedArtifact<List<CamelEndpointDetails>> CAMEL_ENDPOINT_DETAILS = ParsedArtifact.of("Camel Java endpoints", ParserJavaFileHelper::createCamelEndpointDetails);
+	
+	/**
+	 * The returned class source is shared with other processors working on the same version of the document,
+	 * it must not be modified and walking through it must be synchronized on it.
+	 *
+	 * @param textDocument the Java document
+	 * @return the parsed class, or null if the document does not contain a class
+	 * @throws Exception if the document cannot be parsed
+	 */
+	public static JavaClassSource parseJavaClassSource(TextDocumentSnapshot textDocument) throws Exception {
+		JavaType<?> parsedJavaFile = DocumentParseCache.parse(textDocument, JAVA_TYPE);
+		if (parsedJavaFile instanceof JavaClassSource) {
+			return (JavaClassSource) parsedJavaFile;
+		}
+		return null;
+	}
+
+	/**
+	 * @param textDocument the Java document
+	 * @return the Camel endpoints, shared with other processors working on the same version of the document
+	 * @throws Exception if the document cannot be parsed
+	 */
+	public static List<CamelEndpointDetails> getCamelEndpointDetails(TextDocumentSnapshot textDocument) throws Exception {
+		return DocumentParseCache.parse(textDocument, CAMEL_ENDPOINT_DETAILS);
+	}
+
+	/**
+	 * The endpoints are extracted by the {@link JavaRouteScanner} when it recognizes the document,
+	 * the document is parsed with Roaster for the Camel route parser otherwise.
+	 */
+	private static List<CamelEndpointDetails> createCamelEndpointDetails(TextDocumentSnapshot textDocument) throws Exception {
+		String fileName = "/" + textDocument.getUri();
+		List<CamelEndpointDetails> endpoints = new ArrayList<>();
+		JavaRouteModel javaRouteModel = JavaRouteScanner.scan(textDocument.getText());
+		if (javaRouteModel != null) {
+			for (JavaCamelEndpoint endpoint : javaRouteModel.getEndpoints()) {
+				endpoints.add(createCamelEndpointDetails(fileName, javaRouteModel.getClassName(), endpoint));
+			}
+		} else {
+			JavaClassSource clazz = parseJavaClassSource(textDocument);
+			if (clazz != null) {
+				synchronized (clazz) {
+					RouteBuilderParser.parseRouteBuilderEndpoints(clazz, "", fileName, endpoints);
+				}
+			}
+		}
+		return Collections.unmodifiableList(endpoints);
+	}
+
+	private static CamelEndpointDetails createCamelEndpointDetails(String fileName, String className, JavaCamelEndpoint endpoint) {
+		String uri = endpoint.getUri();
+		Range range = endpoint.getRange();
+		CamelEndpointDetails details = new CamelEndpointDetails();
+		details.setFileName(fileName);
+		details.setClassName(className);
+		details.setMethodName("configure");
+		details.setLineNumber(Integer.toString(range.getStart().getLine() + 1));
+		details.setLineNumberEnd(Integer.toString(range.getEnd().getLine() + 1));
+		details.setAbsolutePosition(endpoint.getStartOffset());
+		details.setLinePosition(range.getStart().getCharacter() + 1);
+		details.setEndpointUri(uri);
+		details.setEndpointComponentName(uri.indexOf(':') > 0 ? uri.substring(0, uri.indexOf(':')) : null);
+		details.setConsumerOnly(endpoint.isConsumer());
+		details.setProducerOnly(!endpoint.isConsumer());
+		return details;
+	}
 	
 	@Override
 	public String getCamelComponentUri(String line, int characterPosition) {
@@ -50,8 +131,8 @@ public class ParserJavaFileHelper extends ParserFileHelper {
 		return ENCLOSING_STRING_CHARACTER_FOR_JAVA;
 	}
 
-	public String getCorrespondingMethodName(TextDocumentItem textDocumentItem, int line) {
-		String lineString = parserFileHelperUtil.getLine(textDocumentItem, line);
+	public String getCorrespondingMethodName(TextDocumentSnapshot textDocument, int line) {
+		String lineString = parserFileHelperUtil.getLine(textDocument, line);
 		for (String methodName : CAMEL_POSSIBLE_TYPES) {
 			if(lineString.contains(methodName + "(" + getEnclosingStringCharacter())) {
 				return methodName;
@@ -61,23 +142,23 @@ public class ParserJavaFileHelper extends ParserFileHelper {
 	}
 
 	@Override
-	public CamelURIInstance createCamelURIInstance(TextDocumentItem textDocumentItem, Position position, String camelComponentUri) {
-		CamelURIInstance uriInstance = new CamelURIInstance(camelComponentUri, getCorrespondingMethodName(textDocumentItem, position.getLine()), textDocumentItem);
-		int start = getStartCharacterInDocumentOnLinePosition(textDocumentItem, position);
+	public CamelURIInstance createCamelURIInstance(TextDocumentSnapshot textDocument, Position position, String camelComponentUri) {
+		CamelURIInstance uriInstance = new CamelURIInstance(camelComponentUri, getCorrespondingMethodName(textDocument, position.getLine()), textDocument);
+		int start = getStartCharacterInDocumentOnLinePosition(textDocument, position);
 		uriInstance.setStartPositionInDocument(new Position(position.getLine(), start));
 		uriInstance.setEndPositionInDocument(new Position(position.getLine(), start+camelComponentUri.length()));
 		return uriInstance;
 	}
 	
-	private int getStartCharacterInDocumentOnLinePosition(TextDocumentItem textDocumentItem, Position position) {
-		String beforeCamelURI = getCorrespondingMethodName(textDocumentItem, position.getLine()) + "(" + getEnclosingStringCharacter();
-		return parserFileHelperUtil.getLine(textDocumentItem, position).indexOf(beforeCamelURI) + beforeCamelURI.length();
+	private int getStartCharacterInDocumentOnLinePosition(TextDocumentSnapshot textDocument, Position position) {
+		String beforeCamelURI = getCorrespondingMethodName(textDocument, position.getLine()) + "(" + getEnclosingStringCharacter();
+		return parserFileHelperUtil.getLine(textDocument, position).indexOf(beforeCamelURI) + beforeCamelURI.length();
 	}
 
 	@Override
-	public int getPositionInCamelURI(TextDocumentItem textDocumentItem, Position position) {
-		String beforeCamelURI = getCorrespondingMethodName(textDocumentItem, position.getLine()) + "(" + getEnclosingStringCharacter();
-		return position.getCharacter() - parserFileHelperUtil.getLine(textDocumentItem, position).indexOf(beforeCamelURI) - beforeCamelURI.length();
+	public int getPositionInCamelURI(TextDocumentSnapshot textDocument, Position position) {
+		String beforeCamelURI = getCorrespondingMethodName(textDocument, position.getLine()) + "(" + getEnclosingStringCharacter();
+		return position.getCharacter() - parserFileHelperUtil.getLine(textDocument, position).indexOf(beforeCamelURI) - beforeCamelURI.length();
 	}
 
 }
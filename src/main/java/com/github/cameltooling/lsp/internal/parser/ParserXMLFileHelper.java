@@ -17,79 +17,123 @@
 package com.github.cameltooling.lsp.internal.parser;
 
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.regex.Pattern;
 
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
-import org.apache.camel.parser.helper.CamelXmlHelper;
 import org.apache.camel.parser.helper.XmlLineNumberParser;
+import org.apache.camel.parser.model.CamelEndpointDetails;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
+import com.github.cameltooling.lsp.internal.document.DocumentParseCache;
+import com.github.cameltooling.lsp.internal.document.ParsedArtifact;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+import com.github.cameltooling.lsp.internal.instancemodel.XMLDSLModelHelper;
+import com.github.cameltooling.lsp.internal.parser.xml.XmlCamelElement;
+import com.github.cameltooling.lsp.internal.parser.xml.XmlRouteModel;
+import com.github.cameltooling.lsp.internal.parser.xml.XmlRouteScanner;
 
 public class ParserXMLFileHelper extends ParserFileHelper {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(ParserXMLFileHelper.class);
 	
-	protected static final List<String> CAMEL_POSSIBLE_TYPES = Arrays.asList("to", "from", "endpoint");
+	private static final List<String> CONSUMER_ONLY_ELEMENT_NAMES = Arrays.asList("from", "pollEnrich");
+	private static final List<String> PRODUCER_ONLY_ELEMENT_NAMES = Arrays.asList("to", "enrich", "wireTap");
 	protected static final List<Character> POSSIBLE_URI_CLOSURE_CHARS = Arrays.asList('\"', '\'');
 	
 	private static final String ATTRIBUTE_ROUTE = "route";
 	private static final String ATTRIBUTE_CAMEL_CONTEXT = "camelContext";
-	private static final String NAMESPACEURI_CAMEL_BLUEPRINT = "http://camel.apache.org/schema/blueprint";
-	private static final String NAMESPACEURI_CAMEL_SPRING = "http://camel.apache.org/schema/spring";
-	private static final List<String> CAMEL_NAMESPACE_URIS = Arrays.asList(NAMESPACEURI_CAMEL_BLUEPRINT, NAMESPACEURI_CAMEL_SPRING);
-	private static final List<String> DOCUMENT_SYMBOL_POSSIBLE_TYPES = Arrays.asList(ATTRIBUTE_CAMEL_CONTEXT, ATTRIBUTE_ROUTE);
 	private static final String URI_PARAM = "uri=";
+	private static final Pattern SPACES_BEFORE_AMPERSAND = Pattern.compile("(\\s+)(\\&)");
+	private static final Pattern SPACES_AFTER_AMPERSAND = Pattern.compile("(\\&)(\\s+)");
+	private static final Pattern SPACES_AFTER_QUESTION_MARK = Pattern.compile("(\\?)(\\s+)");
+	
+	private static final ParsedArtifact<Document> XML_DOCUMENT_WITH_LINE_INFORMATION = ParsedArtifact.of("XML DOM with line information",
+			textDocument -> XmlLineNumberParser.parseXml(new ByteArrayInputStream(textDocument.getText().getBytes(StandardCharsets.UTF_8))));
+	private static final ParsedArtifact<XmlRouteModel> XML_ROUTE_MODEL = ParsedArtifact.of("Camel XML route model",
+			textDocument -> XmlRouteScanner.scan(textDocument.getText()),
+			(previous, textDocument, change) -> XmlRouteScanner.update(previous, textDocument.getText(), change));
+	private static final ParsedArtifact<List<CamelEndpointDetails>> CAMEL_ENDPOINT_DETAILS = ParsedArtifact.of("Camel XML endpoints", ParserXMLFileHelper::createCamelEndpointDetails);
 	
 	private String prefixCamelNamespace = null;
 
+	/**
+	 * Copy of a live {@link NodeList}, it can be read without holding the lock on the shared DOM.
+	 */
+	private static class StaticNodeList implements NodeList {
+		private final List<Node> nodes = new ArrayList<>();
+
+		private StaticNodeList(NodeList nodeList) {
+			for (int i = 0; i < nodeList.getLength(); i++) {
+				nodes.add(nodeList.item(i));
+			}
+		}
+
+		@Override
+		public Node item(int index) {
+			return index >= 0 && index < nodes.size() ? nodes.get(index) : null;
+		}
+
+		@Override
+		public int getLength() {
+			return nodes.size();
+		}
+	}
+
 	public String getCamelComponentUri(String line, int characterPosition) {
 		int uriAttribute = line.indexOf(URI_PARAM);
 		if(uriAttribute != -1) {
 			int firstQuote = uriAttribute + URI_PARAM.length();
+			if (firstQuote >= line.length()) {
+				return null;
+			}
 			Character closure = line.charAt(firstQuote);
 			if (POSSIBLE_URI_CLOSURE_CHARS.contains(closure)) {
 				int nextQuote = line.indexOf(closure, firstQuote+1);
+				if (nextQuote == -1) {
+					nextQuote = getUnterminatedUriEnd(line, firstQuote+1);
+				}
 				if (isBetween(characterPosition, firstQuote, nextQuote)) {
 					return line.substring(firstQuote+1, nextQuote);
 				}
 			} else {
-				LOGGER.warn("Encountered an unsupported URI closure char {}", closure);
+				LOGGER.debug("Encountered an unsupported URI closure char {}", closure);
 			}
 		}
 		return null;
 	}
 	
 	/**
-	 * @param textDocumentItem	the text document item
+	 * While the uri is typed, the closing quote is often missing: the uri ends before the next tag or at the end of the line.
+	 */
+	private int getUnterminatedUriEnd(String line, int uriStart) {
+		int nextTag = line.indexOf('<', uriStart);
+		return nextTag != -1 ? nextTag : line.length();
+	}
+
+	/**
+	 * @param textDocument	the text document item
 	 * @param line 	the line number
-	 * @return Currently returns the first from Camel Node ignoring the exact position
+	 * @return the first from, to or endpoint element of the Camel namespace spanning the line, null if there is none.
+	 * 			The document does not need to be well-formed.
 	 */
-	public Node getCorrespondingCamelNodeForCompletion(TextDocumentItem textDocumentItem, int line) {
+	public XmlCamelElement getCorrespondingCamelElementForCompletion(TextDocumentSnapshot textDocument, int line) {
 		try {
-			if (hasElementFromCamelNamespace(textDocumentItem)) {
-				Document parseXml = getDocumentWithLineInformation(textDocumentItem);
-				Element documentElement = parseXml.getDocumentElement();
-				return findElementAtLine(line, documentElement);
+			XmlRouteModel xmlRouteModel = getXmlRouteModel(textDocument);
+			prefixCamelNamespace = xmlRouteModel.getCamelNamespacePrefix();
+			if (xmlRouteModel.hasCamelElement()) {
+				return xmlRouteModel.findCamelUriElementAtLine(line);
 			} else {
 				return null;
 			}
@@ -99,108 +143,138 @@ public class ParserXMLFileHelper extends ParserFileHelper {
 		}
 	}
 
-	private boolean hasElementFromCamelNamespace(TextDocumentItem textDocumentItem) throws SAXException, IOException, ParserConfigurationException {
-		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-		dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-		dbf.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-		dbf.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-		dbf.setNamespaceAware(true);
-		Document xmlParsed = dbf.newDocumentBuilder().parse(new ByteArrayInputStream(textDocumentItem.getText().getBytes(StandardCharsets.UTF_8)));
-		Set<String> interestingCamelNodeType = new HashSet<>(CAMEL_POSSIBLE_TYPES);
-		interestingCamelNodeType.addAll(DOCUMENT_SYMBOL_POSSIBLE_TYPES);
-		for (String camelNodeTag : interestingCamelNodeType) {
-			for (String camelNamespace : CAMEL_NAMESPACE_URIS) {
-				if (hasElementFromCamelNameSpaces(xmlParsed.getElementsByTagNameNS(camelNamespace, camelNodeTag))) {
-					return true;
-				}
-			}
-		}
-		return false;
+	private boolean hasElementFromCamelNamespace(TextDocumentSnapshot textDocument) throws Exception {
+		XmlRouteModel xmlRouteModel = getXmlRouteModel(textDocument);
+		prefixCamelNamespace = xmlRouteModel.getCamelNamespacePrefix();
+		return xmlRouteModel.hasCamelElement();
 	}
 
-	private Node findElementAtLine(int line, Node node) {
-		if (CAMEL_POSSIBLE_TYPES.contains(prefixCamelNamespace != null ? node.getNodeName().substring(prefixCamelNamespace.length() + 1) : node.getNodeName())) {
-			return node;
-		}
-		NodeList childNodes = node.getChildNodes();
-		for (int i = 0; i < childNodes.getLength(); i++) {
-			Node childNode = childNodes.item(i);
-			String nodeLineStart = (String)childNode.getUserData(XmlLineNumberParser.LINE_NUMBER);
-			String nodeLineEnd = (String)childNode.getUserData(XmlLineNumberParser.LINE_NUMBER_END);
-			// -1 is due to Camel XMLLineParser which is starting index at 1 although LSP is starting at 0
-			if (nodeLineStart != null && nodeLineEnd != null && isBetween(line, Integer.parseInt(nodeLineStart) - 1, Integer.parseInt(nodeLineEnd) - 1)) {
-				return findElementAtLine(line, childNode);
-			}
-		}
-		return null;
-	}
-
-	private boolean hasElementFromCamelNameSpaces(NodeList childNodes) {
-		for (int i = 0; i < childNodes.getLength(); i++) {
-			Node child = childNodes.item(i);
-			if (NAMESPACEURI_CAMEL_BLUEPRINT.equals(child.getNamespaceURI()) || NAMESPACEURI_CAMEL_SPRING.equals(child.getNamespaceURI())) {
-				prefixCamelNamespace = child.getPrefix();
-				return true;
-			}
-		}
-		return false;
+	/**
+	 * @param textDocument the XML document
+	 * @return the Camel elements of the document, shared with other processors working on the same version of the document
+	 * @throws Exception if the document cannot be parsed
+	 */
+	public static XmlRouteModel getXmlRouteModel(TextDocumentSnapshot textDocument) throws Exception {
+		return DocumentParseCache.parse(textDocument, XML_ROUTE_MODEL);
 	}
 
-	public NodeList getRouteNodes(TextDocumentItem textDocumentItem) throws Exception {
-		return getNodesOfType(textDocumentItem, ATTRIBUTE_ROUTE);
+	public NodeList getRouteNodes(TextDocumentSnapshot textDocument) throws Exception {
+		return getNodesOfType(textDocument, ATTRIBUTE_ROUTE);
 	}
 
-	public NodeList getCamelContextNodes(TextDocumentItem textDocumentItem) throws Exception {
-		return getNodesOfType(textDocumentItem, ATTRIBUTE_CAMEL_CONTEXT);
+	public NodeList getCamelContextNodes(TextDocumentSnapshot textDocument) throws Exception {
+		return getNodesOfType(textDocument, ATTRIBUTE_CAMEL_CONTEXT);
 	}
 	
-	private NodeList getNodesOfType(TextDocumentItem textDocumentItem, String attributeTypeToFilter) throws Exception {
-		if (hasElementFromCamelNamespace(textDocumentItem)) {
-			Document parsedXml = XmlLineNumberParser.parseXml(new ByteArrayInputStream(textDocumentItem.getText().getBytes(StandardCharsets.UTF_8)));
-			if (prefixCamelNamespace != null) {
-				return parsedXml.getElementsByTagName(prefixCamelNamespace+":"+attributeTypeToFilter);
-			} else {
-				return parsedXml.getElementsByTagName(attributeTypeToFilter);
+	private NodeList getNodesOfType(TextDocumentSnapshot textDocument, String attributeTypeToFilter) throws Exception {
+		if (hasElementFromCamelNamespace(textDocument)) {
+			Document parsedXml = getDocumentWithLineInformation(textDocument);
+			String tagName = prefixCamelNamespace != null ? prefixCamelNamespace + ":" + attributeTypeToFilter : attributeTypeToFilter;
+			synchronized (parsedXml) {
+				return new StaticNodeList(parsedXml.getElementsByTagName(tagName));
 			}
 		}
 		return null;
 	}
 
-	private Document getDocumentWithLineInformation(TextDocumentItem textDocumentItem) throws Exception {
-		return XmlLineNumberParser.parseXml(new ByteArrayInputStream(textDocumentItem.getText().getBytes(StandardCharsets.UTF_8)));
+	/**
+	 * The returned DOM is shared with other processors working on the same version of the document.
+	 * DOM implementations are not thread-safe even for read operations, traversals must be synchronized on the document.
+	 */
+	private Document getDocumentWithLineInformation(TextDocumentSnapshot textDocument) throws Exception {
+		return DocumentParseCache.parse(textDocument, XML_DOCUMENT_WITH_LINE_INFORMATION);
 	}
 
 	@Override
-	public CamelURIInstance createCamelURIInstance(TextDocumentItem textDocumentItem, Position position, String camelComponentUri) {
-		Node correspondingCamelNode = getCorrespondingCamelNodeForCompletion(textDocumentItem, position.getLine());
-		CamelURIInstance uriInstance = new CamelURIInstance(camelComponentUri, correspondingCamelNode, textDocumentItem);
-		int start = getStartCharacterInDocumentOnLinePosition(textDocumentItem, position);
+	public CamelURIInstance createCamelURIInstance(TextDocumentSnapshot textDocument, Position position, String camelComponentUri) {
+		XmlCamelElement correspondingCamelElement = getCorrespondingCamelElementForCompletion(textDocument, position.getLine());
+		CamelURIInstance uriInstance = new CamelURIInstance(camelComponentUri, new XMLDSLModelHelper(correspondingCamelElement != null ? correspondingCamelElement.getLocalName() : null), textDocument);
+		int start = getStartCharacterInDocumentOnLinePosition(textDocument, position, correspondingCamelElement);
 		uriInstance.setStartPositionInDocument(new Position(position.getLine(), start));
 		uriInstance.setEndPositionInDocument(new Position(position.getLine(), start+camelComponentUri.length()));
 		return uriInstance;
 	}
 
-	private int getStartCharacterInDocumentOnLinePosition(TextDocumentItem textDocumentItem, Position position) {
-		return parserFileHelperUtil.getLine(textDocumentItem, position.getLine()).indexOf(URI_PARAM) + 1 + URI_PARAM.length();
+	private int getStartCharacterInDocumentOnLinePosition(TextDocumentSnapshot textDocument, Position position, XmlCamelElement camelElement) {
+		Range uriRange = camelElement != null ? camelElement.getUriRange() : null;
+		if (uriRange != null && uriRange.getStart().getLine() == position.getLine()) {
+			return uriRange.getStart().getCharacter();
+		}
+		return parserFileHelperUtil.getLine(textDocument, position.getLine()).indexOf(URI_PARAM) + 1 + URI_PARAM.length();
 	}
 
 	@Override
-	public int getPositionInCamelURI(TextDocumentItem textDocumentItem, Position position) {
-		return position.getCharacter() - parserFileHelperUtil.getLine(textDocumentItem, position).indexOf(URI_PARAM) - 5;
+	public int getPositionInCamelURI(TextDocumentSnapshot textDocument, Position position) {
+		return position.getCharacter() - parserFileHelperUtil.getLine(textDocument, position).indexOf(URI_PARAM) - 5;
 	}
 
-	public List<Node> getAllEndpoints(TextDocumentItem textDocumentItem) throws Exception {
-		if (hasElementFromCamelNamespace(textDocumentItem)) {
-			return CamelXmlHelper.findAllEndpoints(getDocumentWithLineInformation(textDocumentItem));
+	/**
+	 * @param textDocument the XML document
+	 * @return the endpoints of the document when it contains Camel elements
+	 * @throws Exception if the document cannot be parsed
+	 */
+	public List<XmlCamelElement> getAllEndpoints(TextDocumentSnapshot textDocument) throws Exception {
+		XmlRouteModel xmlRouteModel = getXmlRouteModel(textDocument);
+		if (xmlRouteModel.hasCamelElement()) {
+			return xmlRouteModel.getEndpoints();
 		}
 		return Collections.emptyList();
 	}
 
-	public Location retrieveLocation(Node node, TextDocumentItem textDocumentItem) {
+	/**
+	 * @param textDocument the XML document
+	 * @return the Camel endpoints, shared with other processors working on the same version of the document
+	 * @throws Exception if the document cannot be parsed
+	 */
+	public static List<CamelEndpointDetails> getCamelEndpointDetails(TextDocumentSnapshot textDocument) throws Exception {
+		return DocumentParseCache.parse(textDocument, CAMEL_ENDPOINT_DETAILS);
+	}
+
+	/**
+	 * Builds the same endpoint details as the Camel XML route parser, except that line numbers are the ones of the uri attribute value.
+	 * The route model is updated incrementally, so building the details costs no parsing.
+	 * Endpoints with an unterminated start tag are skipped, their uri is likely being typed.
+	 */
+	private static List<CamelEndpointDetails> createCamelEndpointDetails(TextDocumentSnapshot textDocument) throws Exception {
+		List<CamelEndpointDetails> endpoints = new ArrayList<>();
+		for (XmlCamelElement element : getXmlRouteModel(textDocument).getEndpoints()) {
+			String uri = trimEndpointUri(element.getUri());
+			if (uri != null && !uri.isEmpty() && !element.isRecovered()) {
+				Range uriRange = element.getUriRange();
+				CamelEndpointDetails details = new CamelEndpointDetails();
+				details.setFileName("/" + textDocument.getUri());
+				details.setLineNumber(Integer.toString(uriRange.getStart().getLine() + 1));
+				details.setLineNumberEnd(Integer.toString(uriRange.getEnd().getLine() + 1));
+				details.setLinePosition(uriRange.getStart().getCharacter() + 1);
+				details.setEndpointInstance(element.getId());
+				details.setEndpointUri(uri);
+				details.setEndpointComponentName(uri.contains(":") ? uri.substring(0, uri.indexOf(':')) : null);
+				details.setConsumerOnly(CONSUMER_ONLY_ELEMENT_NAMES.contains(element.getLocalName()));
+				details.setProducerOnly(PRODUCER_ONLY_ELEMENT_NAMES.contains(element.getLocalName()));
+				endpoints.add(details);
+			}
+		}
+		return Collections.unmodifiableList(endpoints);
+	}
+
+	private static String trimEndpointUri(String uri) {
+		if (uri == null) {
+			return null;
+		}
+		String trimmedUri = SPACES_BEFORE_AMPERSAND.matcher(uri.trim()).replaceAll("$2");
+		trimmedUri = SPACES_AFTER_AMPERSAND.matcher(trimmedUri).replaceAll("$1");
+		return SPACES_AFTER_QUESTION_MARK.matcher(trimmedUri).replaceAll("$1");
+	}
+
+	public Location retrieveLocation(XmlCamelElement element, TextDocumentSnapshot textDocument) {
+		return new Location(textDocument.getUri(), element.getRange());
+	}
+
+	public Location retrieveLocation(Node node, TextDocumentSnapshot textDocument) {
 		Position startPosition = new Position(retrieveIntUserData(node, XmlLineNumberParser.LINE_NUMBER), retrieveIntUserData(node, XmlLineNumberParser.COLUMN_NUMBER));
 		Position endPosition = new Position(retrieveIntUserData(node, XmlLineNumberParser.LINE_NUMBER_END), retrieveIntUserData(node, XmlLineNumberParser.COLUMN_NUMBER_END));
 		Range range = new Range(startPosition, endPosition);
-		return new Location(textDocumentItem.getUri(), range);
+		return new Location(textDocument.getUri(), range);
 	}
 	
 	private int retrieveIntUserData(Node node, String userData) {
@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser.java;
+
+import org.eclipse.lsp4j.Range;
+
+/**
+ * An endpoint uri found by the {@link JavaRouteScanner}, with the range of the expression defining it.
+ */
+public final class JavaCamelEndpoint {
+
+	private final String methodName;
+	private final String uri;
+	private final boolean consumer;
+	private final int startOffset;
+	private final Range range;
+
+	JavaCamelEndpoint(String methodName, String uri, boolean consumer, int startOffset, Range range) {
+		this.methodName = methodName;
+		this.uri = uri;
+		this.consumer = consumer;
+		this.startOffset = startOffset;
+		this.range = range;
+	}
+
+	/**
+	 * @return the name of the DSL method receiving the uri, for instance from or to
+	 */
+	public String getMethodName() {
+		return methodName;
+	}
+
+	/**
+	 * @return the value of the expression, string literals are unescaped and concatenated
+	 */
+	public String getUri() {
+		return uri;
+	}
+
+	public boolean isConsumer() {
+		return consumer;
+	}
+
+	public int getStartOffset() {
+		return startOffset;
+	}
+
+	/**
+	 * @return the range of the expression, from the opening quote of its first literal to the closing quote of its last one
+	 */
+	public Range getRange() {
+		return range;
+	}
+}
@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser.java;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The Camel endpoints of the configure method of a Java RouteBuilder, as found by the {@link JavaRouteScanner}.
+ */
+public final class JavaRouteModel {
+
+	private final String className;
+	private final List<JavaCamelEndpoint> endpoints;
+
+	JavaRouteModel(String className, List<JavaCamelEndpoint> endpoints) {
+		this.className = className;
+		this.endpoints = Collections.unmodifiableList(endpoints);
+	}
+
+	/**
+	 * @return the qualified name of the class declared by the document
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * @return the endpoints of consumer methods followed by the endpoints of producer methods, each in document order
+	 */
+	public List<JavaCamelEndpoint> getEndpoints() {
+		return endpoints;
+	}
+}
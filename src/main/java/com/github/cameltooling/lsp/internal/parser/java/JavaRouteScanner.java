@@ -0,0 +1,529 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser.java;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Extracts the Camel endpoints of a Java RouteBuilder from its tokens, without building a syntax tree.
+ *
+ * The endpoints are the arguments of the from, to and similar methods called in the public configure method of the class.
+ * An argument can be a string literal, a String field or variable initialized with literals, or a concatenation of them,
+ * possibly spanning several lines.
+ * Documents using anything else, such as formatted uris, annotated endpoints, computed arguments or several top-level types,
+ * are not recognized: the scanner returns null and the caller has to parse the document with a Java parser.
+ */
+public final class JavaRouteScanner {
+
+	private static final Set<String> CONSUMER_METHOD_NAMES = new HashSet<>(Arrays.asList("from", "interceptFrom", "pollEnrich"));
+	private static final Set<String> PRODUCER_METHOD_NAMES = new HashSet<>(Arrays.asList("to", "toD", "enrich", "wireTap"));
+	private static final Set<String> FORMATTED_METHOD_NAMES = new HashSet<>(Arrays.asList("fromF", "toF"));
+	private static final Set<String> ENDPOINT_ANNOTATION_NAMES = new HashSet<>(Arrays.asList("EndpointInject", "Uri"));
+	private static final Set<String> TYPE_KEYWORDS = new HashSet<>(Arrays.asList("class", "interface", "enum", "record"));
+	private static final String CONFIGURE_METHOD_NAME = "configure";
+	private static final String STRING_TYPE = "String";
+
+	private enum TokenKind {
+		IDENTIFIER,
+		STRING,
+		OTHER
+	}
+
+	private static final class Token {
+		private final TokenKind kind;
+		private final int start;
+		private final int end;
+		/**
+		 * The identifier, the unescaped value of a string literal or the text of other tokens.
+		 */
+		private final String value;
+		private int match = -1;
+		private int depth;
+
+		private Token(TokenKind kind, int start, int end, String value) {
+			this.kind = kind;
+			this.start = start;
+			this.end = end;
+			this.value = value;
+		}
+
+		private boolean is(String other) {
+			return kind != TokenKind.STRING && value.equals(other);
+		}
+
+		private boolean isIdentifier() {
+			return kind == TokenKind.IDENTIFIER;
+		}
+	}
+
+	/**
+	 * Thrown when the document uses a construct that the scanner does not handle.
+	 */
+	private static final class UnsupportedSourceException extends Exception {
+		private static final long serialVersionUID = 1L;
+
+		private UnsupportedSourceException(String message) {
+			super(message, null, false, false);
+		}
+	}
+
+	private final String text;
+	private final List<Token> tokens = new ArrayList<>();
+	private final List<Integer> lineStarts = new ArrayList<>();
+	/**
+	 * Index of the first token of the initializer of each String field or variable, -1 when a name is declared several times.
+	 */
+	private final Map<String, Integer> stringDeclarations = new HashMap<>();
+	private int classKeyword = -1;
+
+	private JavaRouteScanner(String text) {
+		this.text = text;
+	}
+
+	/**
+	 * @param text the content of a Java document
+	 * @return the endpoints of the document, null if it uses constructs that require a Java parser
+	 */
+	public static JavaRouteModel scan(String text) {
+		try {
+			return new JavaRouteScanner(text).scan();
+		} catch (UnsupportedSourceException e) {
+			return null;
+		}
+	}
+
+	private JavaRouteModel scan() throws UnsupportedSourceException {
+		tokenize();
+		matchBrackets();
+		String className = findClassName();
+		int classBodyStart = findClassBodyStart();
+		int configureBodyStart = findConfigureBodyStart(classBodyStart);
+		int configureBodyEnd = tokens.get(configureBodyStart).match;
+		for (int i = classBodyStart + 1; i < tokens.get(classBodyStart).match; i++) {
+			if (tokens.get(i).depth == 1 || i > configureBodyStart && i < configureBodyEnd) {
+				collectStringDeclaration(i);
+			}
+		}
+		List<JavaCamelEndpoint> consumers = new ArrayList<>();
+		List<JavaCamelEndpoint> producers = new ArrayList<>();
+		for (int i = configureBodyStart + 1; i < configureBodyEnd; i++) {
+			Token token = tokens.get(i);
+			if (token.isIdentifier() && tokens.get(i + 1).is("(")) {
+				if (FORMATTED_METHOD_NAMES.contains(token.value)) {
+					throw new UnsupportedSourceException("Formatted uri");
+				} else if (CONSUMER_METHOD_NAMES.contains(token.value)) {
+					addEndpoint(consumers, i, true);
+				} else if (PRODUCER_METHOD_NAMES.contains(token.value)) {
+					addEndpoint(producers, i, false);
+				}
+			}
+		}
+		List<JavaCamelEndpoint> endpoints = new ArrayList<>(consumers);
+		endpoints.addAll(producers);
+		return new JavaRouteModel(className, endpoints);
+	}
+
+	private void tokenize() throws UnsupportedSourceException {
+		int length = text.length();
+		int offset = 0;
+		lineStarts.add(0);
+		while (offset < length) {
+			char c = text.charAt(offset);
+			if (c == '\n' || c == '\r') {
+				offset += c == '\r' && offset + 1 < length && text.charAt(offset + 1) == '\n' ? 2 : 1;
+				lineStarts.add(offset);
+			} else if (Character.isWhitespace(c)) {
+				offset++;
+			} else if (text.startsWith("//", offset)) {
+				while (offset < length && text.charAt(offset) != '\n' && text.charAt(offset) != '\r') {
+					offset++;
+				}
+			} else if (text.startsWith("/*", offset)) {
+				int commentEnd = text.indexOf("*/", offset + 2);
+				if (commentEnd == -1) {
+					throw new UnsupportedSourceException("Unterminated comment");
+				}
+				for (int i = offset + 2; i < commentEnd; i++) {
+					char commentChar = text.charAt(i);
+					if (commentChar == '\n' || commentChar == '\r' && (i + 1 >= length || text.charAt(i + 1) != '\n')) {
+						lineStarts.add(i + 1);
+					}
+				}
+				offset = commentEnd + 2;
+			} else if (c == '"') {
+				offset = readString(offset);
+			} else if (c == '\'') {
+				offset = readCharacter(offset);
+			} else if (Character.isJavaIdentifierStart(c)) {
+				int end = offset + 1;
+				while (end < length && Character.isJavaIdentifierPart(text.charAt(end))) {
+					end++;
+				}
+				tokens.add(new Token(TokenKind.IDENTIFIER, offset, end, text.substring(offset, end)));
+				offset = end;
+			} else if (Character.isDigit(c)) {
+				int end = offset + 1;
+				while (end < length && (Character.isJavaIdentifierPart(text.charAt(end)) || text.charAt(end) == '.')) {
+					end++;
+				}
+				tokens.add(new Token(TokenKind.OTHER, offset, end, text.substring(offset, end)));
+				offset = end;
+			} else if (c == '\\') {
+				throw new UnsupportedSourceException("Unicode escape outside of a literal");
+			} else {
+				tokens.add(new Token(TokenKind.OTHER, offset, offset + 1, String.valueOf(c)));
+				offset++;
+			}
+		}
+	}
+
+	private int readString(int start) throws UnsupportedSourceException {
+		if (text.startsWith("\"\"\"", start)) {
+			throw new UnsupportedSourceException("Text block");
+		}
+		StringBuilder value = new StringBuilder();
+		int offset = start + 1;
+		while (offset < text.length() && text.charAt(offset) != '"') {
+			char c = text.charAt(offset);
+			if (c == '\n' || c == '\r') {
+				break;
+			} else if (c == '\\') {
+				offset = readEscape(offset, value);
+			} else {
+				value.append(c);
+				offset++;
+			}
+		}
+		if (offset >= text.length() || text.charAt(offset) != '"') {
+			throw new UnsupportedSourceException("Unterminated string literal");
+		}
+		tokens.add(new Token(TokenKind.STRING, start, offset + 1, value.toString()));
+		return offset + 1;
+	}
+
+	private int readCharacter(int start) throws UnsupportedSourceException {
+		int offset = start + 1;
+		while (offset < text.length() && text.charAt(offset) != '\'') {
+			char c = text.charAt(offset);
+			if (c == '\n' || c == '\r') {
+				break;
+			}
+			offset = c == '\\' ? readEscape(offset, new StringBuilder()) : offset + 1;
+		}
+		if (offset >= text.length() || text.charAt(offset) != '\'') {
+			throw new UnsupportedSourceException("Unterminated character literal");
+		}
+		tokens.add(new Token(TokenKind.OTHER, start, offset + 1, text.substring(start, offset + 1)));
+		return offset + 1;
+	}
+
+	/**
+	 * @param offset the offset of the backslash
+	 * @param value the value of the literal, to which the escaped character is appended
+	 * @return the offset after the escape sequence
+	 */
+	private int readEscape(int offset, StringBuilder value) throws UnsupportedSourceException {
+		if (offset + 1 >= text.length()) {
+			throw new UnsupportedSourceException("Unterminated escape sequence");
+		}
+		char escaped = text.charAt(offset + 1);
+		switch (escaped) {
+		case 'b':
+			value.append('\b');
+			return offset + 2;
+		case 't':
+			value.append('\t');
+			return offset + 2;
+		case 'n':
+			value.append('\n');
+			return offset + 2;
+		case 'f':
+			value.append('\f');
+			return offset + 2;
+		case 'r':
+			value.append('\r');
+			return offset + 2;
+		case 's':
+			value.append(' ');
+			return offset + 2;
+		case '"':
+		case '\'':
+		case '\\':
+			value.append(escaped);
+			return offset + 2;
+		case 'u':
+			return readUnicodeEscape(offset, value);
+		default:
+			return readOctalEscape(offset, value);
+		}
+	}
+
+	private int readUnicodeEscape(int offset, StringBuilder value) throws UnsupportedSourceException {
+		int hexStart = offset + 1;
+		while (hexStart < text.length() && text.charAt(hexStart) == 'u') {
+			hexStart++;
+		}
+		if (hexStart + 4 > text.length()) {
+			throw new UnsupportedSourceException("Invalid unicode escape");
+		}
+		char decoded;
+		try {
+			decoded = (char) Integer.parseInt(text.substring(hexStart, hexStart + 4), 16);
+		} catch (NumberFormatException e) {
+			throw new UnsupportedSourceException("Invalid unicode escape");
+		}
+		if (decoded == '"' || decoded == '\'' || decoded == '\\' || decoded == '\n' || decoded == '\r') {
+			// unicode escapes are translated before lexing, such a character changes the structure of the literal
+			throw new UnsupportedSourceException("Unicode escape of a delimiter");
+		}
+		value.append(decoded);
+		return hexStart + 4;
+	}
+
+	private int readOctalEscape(int offset, StringBuilder value) throws UnsupportedSourceException {
+		char first = text.charAt(offset + 1);
+		if (first < '0' || first > '7') {
+			throw new UnsupportedSourceException("Invalid escape sequence");
+		}
+		int maxEnd = offset + 1 + (first <= '3' ? 3 : 2);
+		int end = offset + 2;
+		while (end < maxEnd && end < text.length() && text.charAt(end) >= '0' && text.charAt(end) <= '7') {
+			end++;
+		}
+		value.append((char) Integer.parseInt(text.substring(offset + 1, end), 8));
+		return end;
+	}
+
+	private void matchBrackets() throws UnsupportedSourceException {
+		Deque<Integer> openBrackets = new ArrayDeque<>();
+		int depth = 0;
+		for (int i = 0; i < tokens.size(); i++) {
+			Token token = tokens.get(i);
+			if (token.is("}")) {
+				depth--;
+			}
+			token.depth = depth;
+			if (token.is("{") || token.is("(") || token.is("[")) {
+				openBrackets.push(i);
+			} else if (token.is("}") || token.is(")") || token.is("]")) {
+				if (openBrackets.isEmpty() || !isMatchingBracket(tokens.get(openBrackets.peek()), token)) {
+					throw new UnsupportedSourceException("Unbalanced brackets");
+				}
+				int openBracket = openBrackets.pop();
+				tokens.get(openBracket).match = i;
+				token.match = openBracket;
+			}
+			if (token.is("{")) {
+				depth++;
+			}
+		}
+		if (!openBrackets.isEmpty()) {
+			throw new UnsupportedSourceException("Unbalanced brackets");
+		}
+	}
+
+	private boolean isMatchingBracket(Token open, Token close) {
+		return open.is("{") && close.is("}") || open.is("(") && close.is(")") || open.is("[") && close.is("]");
+	}
+
+	/**
+	 * @return the qualified name of the single top-level type, which must be a class
+	 */
+	private String findClassName() throws UnsupportedSourceException {
+		String packageName = null;
+		String className = null;
+		for (int i = 0; i < tokens.size(); i++) {
+			Token token = tokens.get(i);
+			if (token.depth != 0 || !token.isIdentifier() || i > 0 && tokens.get(i - 1).is(".")) {
+				continue;
+			}
+			if (token.is("package") && packageName == null && className == null) {
+				packageName = readQualifiedName(i + 1);
+			} else if (TYPE_KEYWORDS.contains(token.value)) {
+				if (className != null || !token.is("class") || i + 1 >= tokens.size() || !tokens.get(i + 1).isIdentifier()) {
+					throw new UnsupportedSourceException("The document does not declare a single class");
+				}
+				classKeyword = i;
+				className = tokens.get(i + 1).value;
+			}
+		}
+		if (className == null) {
+			throw new UnsupportedSourceException("The document does not declare a class");
+		}
+		return packageName != null ? packageName + "." + className : className;
+	}
+
+	private String readQualifiedName(int start) {
+		StringBuilder name = new StringBuilder();
+		for (int i = start; i < tokens.size() && (tokens.get(i).isIdentifier() || tokens.get(i).is(".")); i++) {
+			name.append(tokens.get(i).value);
+		}
+		return name.toString();
+	}
+
+	private int findClassBodyStart() throws UnsupportedSourceException {
+		int classBodyStart = -1;
+		for (int i = 0; i < tokens.size(); i++) {
+			Token token = tokens.get(i);
+			if (token.is("@") && i + 1 < tokens.size() && isEndpointAnnotation(i + 1)) {
+				throw new UnsupportedSourceException("Annotated endpoint");
+			}
+			if (classBodyStart == -1 && i > classKeyword && token.depth == 0 && token.is("{")) {
+				classBodyStart = i;
+			}
+		}
+		if (classBodyStart == -1) {
+			throw new UnsupportedSourceException("The class has no body");
+		}
+		return classBodyStart;
+	}
+
+	private boolean isEndpointAnnotation(int nameStart) {
+		String annotationName = readQualifiedName(nameStart);
+		return ENDPOINT_ANNOTATION_NAMES.contains(annotationName.substring(annotationName.lastIndexOf('.') + 1));
+	}
+
+	/**
+	 * @return the index of the opening brace of the public void configure() method of the class
+	 */
+	private int findConfigureBodyStart(int classBodyStart) throws UnsupportedSourceException {
+		int configureBodyStart = -1;
+		int memberStart = classBodyStart + 1;
+		for (int i = classBodyStart + 1; i < tokens.get(classBodyStart).match; i++) {
+			Token token = tokens.get(i);
+			if (token.depth != 1) {
+				continue;
+			}
+			if (token.is(";") || token.is("}")) {
+				memberStart = i + 1;
+			} else if (token.is(CONFIGURE_METHOD_NAME) && tokens.get(i + 1).is("(")) {
+				if (configureBodyStart != -1 || !isPublicVoidMethodWithoutParameter(memberStart, i)) {
+					throw new UnsupportedSourceException("The configure method is overloaded or not public");
+				}
+				configureBodyStart = tokens.get(i + 1).match + 1;
+				while (configureBodyStart < tokens.size() && !tokens.get(configureBodyStart).is("{")) {
+					if (tokens.get(configureBodyStart).is(";")) {
+						throw new UnsupportedSourceException("The configure method has no body");
+					}
+					configureBodyStart++;
+				}
+			}
+		}
+		if (configureBodyStart == -1) {
+			throw new UnsupportedSourceException("The class has no configure method");
+		}
+		return configureBodyStart;
+	}
+
+	private boolean isPublicVoidMethodWithoutParameter(int memberStart, int methodName) {
+		boolean isPublic = false;
+		for (int i = memberStart; i < methodName; i++) {
+			isPublic |= tokens.get(i).is("public");
+		}
+		return isPublic && tokens.get(methodName - 1).is("void") && tokens.get(methodName + 2).is(")");
+	}
+
+	private void collectStringDeclaration(int index) {
+		if (index + 3 < tokens.size()
+				&& tokens.get(index).is(STRING_TYPE)
+				&& tokens.get(index + 1).isIdentifier()
+				&& tokens.get(index + 2).is("=")) {
+			String name = tokens.get(index + 1).value;
+			stringDeclarations.put(name, stringDeclarations.containsKey(name) ? -1 : index + 3);
+		}
+	}
+
+	private void addEndpoint(List<JavaCamelEndpoint> endpoints, int methodName, boolean consumer) throws UnsupportedSourceException {
+		if (methodName > 0 && tokens.get(methodName - 1).isIdentifier()) {
+			throw new UnsupportedSourceException("Declaration of a method named as a Camel DSL method");
+		}
+		int argumentStart = methodName + 2;
+		int argumentEnd = tokens.get(methodName + 1).match;
+		if (argumentStart == argumentEnd) {
+			return;
+		}
+		String uri = evaluate(argumentStart, argumentEnd, new HashSet<>());
+		Token first = tokens.get(argumentStart);
+		Token last = tokens.get(argumentEnd - 1);
+		endpoints.add(new JavaCamelEndpoint(tokens.get(methodName).value, uri, consumer, first.start, new Range(getPosition(first.start), getPosition(last.end))));
+	}
+
+	/**
+	 * @param start index of the first token of the expression
+	 * @param end index after the last token of the expression
+	 * @param resolvingNames the names being resolved, to detect cycles
+	 * @return the value of a concatenation of string literals and String fields or variables
+	 */
+	private String evaluate(int start, int end, Set<String> resolvingNames) throws UnsupportedSourceException {
+		StringBuilder value = new StringBuilder();
+		for (int i = start; i < end; i += 2) {
+			Token operand = tokens.get(i);
+			if (operand.kind == TokenKind.STRING) {
+				value.append(operand.value);
+			} else if (operand.isIdentifier()) {
+				value.append(resolve(operand.value, resolvingNames));
+			} else {
+				throw new UnsupportedSourceException("Unsupported expression");
+			}
+			if (i + 1 < end && (!tokens.get(i + 1).is("+") || i + 2 == end)) {
+				throw new UnsupportedSourceException("Unsupported expression");
+			}
+		}
+		return value.toString();
+	}
+
+	private String resolve(String name, Set<String> resolvingNames) throws UnsupportedSourceException {
+		Integer initializerStart = stringDeclarations.get(name);
+		if (initializerStart == null || initializerStart == -1 || !resolvingNames.add(name)) {
+			throw new UnsupportedSourceException("Cannot resolve " + name);
+		}
+		int initializerEnd = initializerStart;
+		while (initializerEnd < tokens.size() && !tokens.get(initializerEnd).is(";") && !tokens.get(initializerEnd).is(",")) {
+			initializerEnd++;
+		}
+		String value = evaluate(initializerStart, initializerEnd, resolvingNames);
+		resolvingNames.remove(name);
+		return value;
+	}
+
+	private Position getPosition(int offset) {
+		int line = 0;
+		int low = 0;
+		int high = lineStarts.size() - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (lineStarts.get(middle) <= offset) {
+				line = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return new Position(line, offset - lineStarts.get(line));
+	}
+}
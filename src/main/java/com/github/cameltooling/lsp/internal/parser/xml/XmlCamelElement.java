@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser.xml;
+
+import java.util.Map;
+
+import org.eclipse.lsp4j.Range;
+
+import com.github.cameltooling.lsp.internal.document.LineIndex;
+
+/**
+ * An element found by the {@link XmlRouteScanner}, with the positions of the element and of its uri attribute value.
+ *
+ * Offsets are stored, positions are computed on demand so that elements can be moved cheaply when the document changes.
+ */
+public final class XmlCamelElement {
+
+	private final String localName;
+	private final String prefix;
+	private final boolean inCamelNamespace;
+	private final Map<String, String> declaredNamespaces;
+	private final String id;
+	private final String uri;
+	private final boolean endpoint;
+	private final boolean recovered;
+	private final LineIndex lineIndex;
+	private final int startOffset;
+	private final int uriStartOffset;
+	private final int uriEndOffset;
+	private int endOffset;
+
+	XmlCamelElement(String localName, String prefix, boolean inCamelNamespace, Map<String, String> declaredNamespaces, String id, String uri, boolean endpoint,
+			boolean recovered, LineIndex lineIndex, int startOffset, int uriStartOffset, int uriEndOffset) {
+		this.localName = localName;
+		this.prefix = prefix;
+		this.inCamelNamespace = inCamelNamespace;
+		this.declaredNamespaces = declaredNamespaces;
+		this.id = id;
+		this.uri = uri;
+		this.endpoint = endpoint;
+		this.recovered = recovered;
+		this.lineIndex = lineIndex;
+		this.startOffset = startOffset;
+		this.uriStartOffset = uriStartOffset;
+		this.uriEndOffset = uriEndOffset;
+		this.endOffset = startOffset;
+	}
+
+	void setEnd(int endOffset) {
+		this.endOffset = endOffset;
+	}
+
+	/**
+	 * @param startShift the shift applied to the start of the element and to its uri attribute value
+	 * @param endShift the shift applied to the end of the element
+	 * @param newLineIndex the lines of the changed document
+	 * @return a copy of this element at its place in the changed document
+	 */
+	XmlCamelElement move(int startShift, int endShift, LineIndex newLineIndex) {
+		XmlCamelElement moved = new XmlCamelElement(localName, prefix, inCamelNamespace, declaredNamespaces, id, uri, endpoint, recovered, newLineIndex,
+				startOffset + startShift, uriStartOffset != -1 ? uriStartOffset + startShift : -1, uriEndOffset != -1 ? uriEndOffset + startShift : -1);
+		moved.setEnd(endOffset + endShift);
+		return moved;
+	}
+
+	String getQualifiedName() {
+		return prefix != null ? prefix + ":" + localName : localName;
+	}
+
+	/**
+	 * @return the namespaces declared by this element, by prefix. null when it declares none.
+	 */
+	Map<String, String> getDeclaredNamespaces() {
+		return declaredNamespaces;
+	}
+
+	public String getLocalName() {
+		return localName;
+	}
+
+	/**
+	 * @return the namespace prefix of the element, null when the element is not prefixed
+	 */
+	public String getPrefix() {
+		return prefix;
+	}
+
+	public boolean isInCamelNamespace() {
+		return inCamelNamespace;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * @return the value of the uri attribute with XML entities resolved, null when there is no uri attribute
+	 * 			or when its value contains a '&amp;' which does not start a valid reference
+	 */
+	public String getUri() {
+		return uri;
+	}
+
+	/**
+	 * @return whether the Camel route parser considers this element as an endpoint: an endpoint element
+	 * 			or an element with an uri attribute inside a route, an interceptor, an error handler or a rest definition
+	 */
+	public boolean isEndpoint() {
+		return endpoint;
+	}
+
+	/**
+	 * @return whether the start tag is not terminated, for instance because the user is typing the uri attribute value.
+	 * 			The attributes of such an element may be incomplete.
+	 */
+	public boolean isRecovered() {
+		return recovered;
+	}
+
+	public int getStartOffset() {
+		return startOffset;
+	}
+
+	/**
+	 * @return the offset after the end tag, or after the start tag for an empty element
+	 */
+	public int getEndOffset() {
+		return endOffset;
+	}
+
+	/**
+	 * @return the range from the start tag to the end tag
+	 */
+	public Range getRange() {
+		return new Range(lineIndex.getPosition(startOffset), lineIndex.getPosition(endOffset));
+	}
+
+	/**
+	 * @return the offset of the first character of the uri attribute value as written in the document, -1 when there is no uri attribute
+	 */
+	public int getUriStartOffset() {
+		return uriStartOffset;
+	}
+
+	/**
+	 * @return the range of the uri attribute value as written in the document, without the quotes. null when there is no uri attribute.
+	 */
+	public Range getUriRange() {
+		if (uriStartOffset == -1) {
+			return null;
+		}
+		return new Range(lineIndex.getPosition(uriStartOffset), lineIndex.getPosition(uriEndOffset));
+	}
+
+	public boolean containsLine(int line) {
+		return containsOffsetsOfLine(lineIndex.getLineStart(line), lineIndex.getLineStart(line + 1));
+	}
+
+	/**
+	 * @param lineStart the offset of the start of a line
+	 * @param nextLineStart the offset of the start of the following line
+	 * @return whether the element starts before the end of this line and ends after its start
+	 */
+	boolean containsOffsetsOfLine(int lineStart, int nextLineStart) {
+		return startOffset < nextLineStart && endOffset >= lineStart;
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser.xml;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.github.cameltooling.lsp.internal.document.LineIndex;
+
+/**
+ * The Camel elements of an XML document, as found by the {@link XmlRouteScanner}.
+ */
+public final class XmlRouteModel {
+
+	static final List<String> CAMEL_URI_ELEMENT_NAMES = Arrays.asList("to", "from", "endpoint");
+	private static final Set<String> CAMEL_NAMESPACE_DETECTING_ELEMENT_NAMES = new HashSet<>(Arrays.asList("to", "from", "endpoint", "camelContext", "route"));
+
+	private final LineIndex lineIndex;
+	private final List<XmlCamelElement> elements;
+	private final List<XmlCamelElement> endpoints;
+	private final boolean hasCamelElement;
+	private final String camelNamespacePrefix;
+	private final boolean wellFormed;
+
+	XmlRouteModel(LineIndex lineIndex, List<XmlCamelElement> elements, boolean wellFormed) {
+		this.lineIndex = lineIndex;
+		this.elements = Collections.unmodifiableList(elements);
+		this.wellFormed = wellFormed;
+		XmlCamelElement firstCamelElement = null;
+		for (XmlCamelElement element : elements) {
+			if (element.isInCamelNamespace() && CAMEL_NAMESPACE_DETECTING_ELEMENT_NAMES.contains(element.getLocalName())) {
+				firstCamelElement = element;
+				break;
+			}
+		}
+		this.hasCamelElement = firstCamelElement != null;
+		this.camelNamespacePrefix = firstCamelElement != null ? firstCamelElement.getPrefix() : null;
+		List<XmlCamelElement> endpointElements = new ArrayList<>();
+		for (XmlCamelElement element : elements) {
+			if (element.isEndpoint()) {
+				endpointElements.add(element);
+			}
+		}
+		this.endpoints = Collections.unmodifiableList(endpointElements);
+	}
+
+	LineIndex getLineIndex() {
+		return lineIndex;
+	}
+
+	/**
+	 * @return whether the document contains a camelContext, route, from, to or endpoint element from a Camel namespace
+	 */
+	public boolean hasCamelElement() {
+		return hasCamelElement;
+	}
+
+	/**
+	 * @return the prefix used for the Camel namespace, null when the Camel namespace is the default one
+	 */
+	public String getCamelNamespacePrefix() {
+		return camelNamespacePrefix;
+	}
+
+	/**
+	 * @return false when the scanner had to recover from unterminated tags or attribute values, missing or mismatched end tags
+	 */
+	public boolean isWellFormed() {
+		return wellFormed;
+	}
+
+	/**
+	 * @return all elements of the document in document order
+	 */
+	public List<XmlCamelElement> getElements() {
+		return elements;
+	}
+
+	/**
+	 * @return the endpoints in document order, see {@link XmlCamelElement#isEndpoint()}
+	 */
+	public List<XmlCamelElement> getEndpoints() {
+		return endpoints;
+	}
+
+	/**
+	 * @param line a line of the document, starting at 0
+	 * @return the first from, to or endpoint element of the Camel namespace with a readable uri spanning this line, null if there is none
+	 */
+	public XmlCamelElement findCamelUriElementAtLine(int line) {
+		int lineStart = lineIndex.getLineStart(line);
+		int nextLineStart = lineIndex.getLineStart(line + 1);
+		for (XmlCamelElement element : elements) {
+			if (element.isInCamelNamespace() && element.getUri() != null && CAMEL_URI_ELEMENT_NAMES.contains(element.getLocalName())
+					&& element.containsOffsetsOfLine(lineStart, nextLineStart)) {
+				return element;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,493 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser.xml;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.github.cameltooling.lsp.internal.document.LineIndex;
+import com.github.cameltooling.lsp.internal.document.TextChange;
+
+/**
+ * Reads an XML document in a single pass to find the Camel namespace and the Camel elements,
+ * with the exact positions of the elements and of their uri attribute values.
+ *
+ * The tokenizer recovers from the errors of a document being typed instead of failing at the first one:
+ * <ul>
+ * <li>an attribute value ends at its closing quote, or at the end of its first line when there is no closing quote before the next '&lt;',</li>
+ * <li>a tag ends at its '&gt;', or before the next '&lt;' when the '&gt;' is missing, or with an unterminated attribute,</li>
+ * <li>an end tag closes the nearest open element with the same name, the elements left open in between
+ * 		and the elements still open at the end of the document end with their start tag.</li>
+ * </ul>
+ * No exception is thrown and no DOM is built.
+ */
+public final class XmlRouteScanner {
+
+	public static final String NAMESPACEURI_CAMEL_BLUEPRINT = "http://camel.apache.org/schema/blueprint";
+	public static final String NAMESPACEURI_CAMEL_SPRING = "http://camel.apache.org/schema/spring";
+	private static final Set<String> CAMEL_NAMESPACE_URIS = new HashSet<>(Arrays.asList(NAMESPACEURI_CAMEL_BLUEPRINT, NAMESPACEURI_CAMEL_SPRING));
+	/**
+	 * Elements in which elements with an uri attribute are endpoints, the same as the Camel XML route parser.
+	 */
+	private static final Set<String> ENDPOINT_CONTAINER_NAMES = new HashSet<>(Arrays.asList("route", "onException", "onCompletion", "intercept", "interceptFrom", "interceptSendToEndpoint", "rest"));
+	private static final String ENDPOINT_ELEMENT_NAME = "endpoint";
+	private static final String URI_ATTRIBUTE = "uri";
+	private static final String ID_ATTRIBUTE = "id";
+	private static final String XMLNS_ATTRIBUTE = "xmlns";
+	private static final String XMLNS_ATTRIBUTE_PREFIX = "xmlns:";
+
+	/**
+	 * An element which is not closed yet, with the namespaces it declares.
+	 */
+	private static final class OpenElement {
+		private final String qualifiedName;
+		private final XmlCamelElement element;
+		private final Map<String, String> namespaces;
+		private final boolean endpointContainer;
+
+		private OpenElement(String qualifiedName, XmlCamelElement element, Map<String, String> namespaces, boolean endpointContainer) {
+			this.qualifiedName = qualifiedName;
+			this.element = element;
+			this.namespaces = namespaces;
+			this.endpointContainer = endpointContainer;
+		}
+	}
+
+	/**
+	 * An attribute of the start tag being read.
+	 */
+	private static final class Attribute {
+		private final String name;
+		private final int valueStart;
+		private final int valueEnd;
+		private final boolean terminated;
+
+		private Attribute(String name, int valueStart, int valueEnd, boolean terminated) {
+			this.name = name;
+			this.valueStart = valueStart;
+			this.valueEnd = valueEnd;
+			this.terminated = terminated;
+		}
+	}
+
+	private final String text;
+	private final LineIndex lineIndex;
+	private final int limit;
+	/**
+	 * Number of open elements enclosing the scanned region, they cannot be closed by the region.
+	 */
+	private final int enclosingDepth;
+	private final List<XmlCamelElement> elements = new ArrayList<>();
+	private final Deque<OpenElement> openElements = new ArrayDeque<>();
+	private int openEndpointContainers = 0;
+	private boolean wellFormed = true;
+	private int index;
+
+	private XmlRouteScanner(String text, LineIndex lineIndex, int start, int limit, List<XmlCamelElement> enclosingElements) {
+		this.text = text;
+		this.lineIndex = lineIndex;
+		this.index = start;
+		this.limit = limit;
+		this.enclosingDepth = enclosingElements.size();
+		for (XmlCamelElement enclosingElement : enclosingElements) {
+			boolean endpointContainer = ENDPOINT_CONTAINER_NAMES.contains(enclosingElement.getLocalName());
+			if (endpointContainer) {
+				openEndpointContainers++;
+			}
+			openElements.push(new OpenElement(enclosingElement.getQualifiedName(), enclosingElement, enclosingElement.getDeclaredNamespaces(), endpointContainer));
+		}
+	}
+
+	/**
+	 * @param text the XML document, well-formed or not
+	 * @return the Camel elements of the document
+	 */
+	public static XmlRouteModel scan(String text) {
+		XmlRouteScanner scanner = new XmlRouteScanner(text, LineIndex.of(text), 0, text.length(), Collections.emptyList());
+		scanner.scanRegion();
+		while (!scanner.openElements.isEmpty()) {
+			scanner.closeImplicitly(scanner.openElements.pop());
+		}
+		return new XmlRouteModel(scanner.lineIndex, scanner.elements, scanner.wellFormed);
+	}
+
+	/**
+	 * Updates the model of a well-formed document by scanning again only the smallest element enclosing the change.
+	 * The elements before this element are kept, the ones after it are moved.
+	 *
+	 * @param previous the model of the previous version of the document
+	 * @param text the new version of the document
+	 * @param change the region changed since the previous version
+	 * @return the model of the new version, null when the document must be scanned entirely:
+	 * 			the previous version is not well-formed, no element encloses the change or the enclosing element is not well-formed anymore
+	 */
+	public static XmlRouteModel update(XmlRouteModel previous, String text, TextChange change) {
+		if (!previous.isWellFormed()) {
+			return null;
+		}
+		List<XmlCamelElement> previousElements = previous.getElements();
+		List<XmlCamelElement> enclosingElements = new ArrayList<>();
+		int changedElementIndex = -1;
+		for (int i = 0; i < previousElements.size() && previousElements.get(i).getStartOffset() < change.getStart(); i++) {
+			if (change.getOldEnd() < previousElements.get(i).getEndOffset()) {
+				enclosingElements.add(previousElements.get(i));
+				changedElementIndex = i;
+			}
+		}
+		if (changedElementIndex == -1) {
+			return null;
+		}
+		XmlCamelElement changedElement = enclosingElements.remove(enclosingElements.size() - 1);
+		int regionStart = changedElement.getStartOffset();
+		int regionEnd = changedElement.getEndOffset() + change.getDelta();
+		LineIndex lineIndex = previous.getLineIndex().update(text, change);
+		XmlRouteScanner scanner = new XmlRouteScanner(text, lineIndex, regionStart, regionEnd, enclosingElements);
+		scanner.scanRegion();
+		if (!scanner.wellFormed || scanner.openElements.size() != scanner.enclosingDepth || scanner.elements.isEmpty()
+				|| scanner.elements.get(0).getStartOffset() != regionStart || scanner.elements.get(0).getEndOffset() != regionEnd) {
+			return null;
+		}
+		List<XmlCamelElement> elements = new ArrayList<>(previousElements.size() + scanner.elements.size());
+		for (int i = 0; i < changedElementIndex; i++) {
+			XmlCamelElement element = previousElements.get(i);
+			elements.add(element.move(0, enclosingElements.contains(element) ? change.getDelta() : 0, lineIndex));
+		}
+		elements.addAll(scanner.elements);
+		for (int i = changedElementIndex + 1; i < previousElements.size(); i++) {
+			XmlCamelElement element = previousElements.get(i);
+			if (element.getStartOffset() >= changedElement.getEndOffset()) {
+				elements.add(element.move(change.getDelta(), change.getDelta(), lineIndex));
+			}
+		}
+		return new XmlRouteModel(lineIndex, elements, true);
+	}
+
+	private void scanRegion() {
+		while (index < limit) {
+			int tagStart = text.indexOf('<', index);
+			if (tagStart == -1) {
+				break;
+			}
+			if (text.startsWith("<!--", tagStart)) {
+				index = skipMarkup(tagStart, "-->");
+			} else if (text.startsWith("<![CDATA[", tagStart)) {
+				index = skipMarkup(tagStart, "]]>");
+			} else if (text.startsWith("<?", tagStart)) {
+				index = skipMarkup(tagStart, "?>");
+			} else if (text.startsWith("<!", tagStart)) {
+				index = skipDeclaration(tagStart);
+			} else if (text.startsWith("</", tagStart)) {
+				readEndTag(tagStart);
+			} else {
+				readStartTag(tagStart);
+			}
+		}
+	}
+
+	private void readStartTag(int tagStart) {
+		index = tagStart + 1;
+		String qualifiedName = readName();
+		if (qualifiedName.isEmpty()) {
+			wellFormed = false;
+			return;
+		}
+		List<Attribute> attributes = new ArrayList<>();
+		boolean terminated = true;
+		boolean empty = false;
+		while (true) {
+			skipWhitespaces();
+			if (index >= limit || text.charAt(index) == '<') {
+				terminated = false;
+				break;
+			}
+			char c = text.charAt(index);
+			if (c == '>') {
+				index++;
+				break;
+			}
+			if (c == '/' && index + 1 < limit && text.charAt(index + 1) == '>') {
+				index += 2;
+				empty = true;
+				break;
+			}
+			Attribute attribute = readAttribute();
+			if (attribute == null) {
+				index++;
+			} else {
+				attributes.add(attribute);
+				if (!attribute.terminated) {
+					terminated = false;
+					break;
+				}
+			}
+		}
+		if (!terminated) {
+			wellFormed = false;
+		}
+		Map<String, String> declaredNamespaces = null;
+		for (Attribute attribute : attributes) {
+			if (XMLNS_ATTRIBUTE.equals(attribute.name) || attribute.name.startsWith(XMLNS_ATTRIBUTE_PREFIX)) {
+				if (declaredNamespaces == null) {
+					declaredNamespaces = new HashMap<>();
+				}
+				String prefix = XMLNS_ATTRIBUTE.equals(attribute.name) ? "" : attribute.name.substring(XMLNS_ATTRIBUTE_PREFIX.length());
+				declaredNamespaces.put(prefix, getValue(attribute));
+			}
+		}
+		int colon = qualifiedName.indexOf(':');
+		String prefix = colon != -1 ? qualifiedName.substring(0, colon) : "";
+		String localName = qualifiedName.substring(colon + 1);
+		boolean inCamelNamespace = CAMEL_NAMESPACE_URIS.contains(resolveNamespace(prefix, declaredNamespaces));
+		boolean endpointContainer = ENDPOINT_CONTAINER_NAMES.contains(localName);
+		if (endpointContainer) {
+			openEndpointContainers++;
+		}
+		Attribute uriAttribute = findAttribute(attributes, URI_ATTRIBUTE);
+		Attribute idAttribute = findAttribute(attributes, ID_ATTRIBUTE);
+		boolean endpoint = ENDPOINT_ELEMENT_NAME.equals(localName) ? inCamelNamespace : uriAttribute != null && openEndpointContainers > 0;
+		XmlCamelElement element = new XmlCamelElement(localName, emptyToNull(prefix), inCamelNamespace, declaredNamespaces,
+				idAttribute != null ? getValue(idAttribute) : null, uriAttribute != null ? getValue(uriAttribute) : null, endpoint, !terminated,
+				lineIndex, tagStart, uriAttribute != null ? uriAttribute.valueStart : -1, uriAttribute != null ? uriAttribute.valueEnd : -1);
+		element.setEnd(index);
+		elements.add(element);
+		OpenElement openElement = new OpenElement(qualifiedName, element, declaredNamespaces, endpointContainer);
+		if (empty) {
+			closed(openElement);
+		} else {
+			openElements.push(openElement);
+		}
+	}
+
+	/**
+	 * @return the attribute starting at the current index, null if there is no attribute name at the current index
+	 */
+	private Attribute readAttribute() {
+		String name = readName();
+		if (name.isEmpty()) {
+			return null;
+		}
+		skipWhitespaces();
+		if (index >= limit || text.charAt(index) != '=') {
+			return new Attribute(name, index, index, false);
+		}
+		index++;
+		skipWhitespaces();
+		if (index >= limit || text.charAt(index) != '"' && text.charAt(index) != '\'') {
+			return new Attribute(name, index, index, false);
+		}
+		char quote = text.charAt(index);
+		int valueStart = index + 1;
+		for (index = valueStart; index < limit && text.charAt(index) != '<'; index++) {
+			if (text.charAt(index) == quote) {
+				return new Attribute(name, valueStart, index++, true);
+			}
+		}
+		index = valueStart;
+		while (index < limit && text.charAt(index) != '<' && text.charAt(index) != '\n' && text.charAt(index) != '\r') {
+			index++;
+		}
+		return new Attribute(name, valueStart, index, false);
+	}
+
+	private void readEndTag(int tagStart) {
+		index = tagStart + 2;
+		String qualifiedName = readName();
+		skipWhitespaces();
+		if (index < limit && text.charAt(index) == '>') {
+			index++;
+		} else {
+			wellFormed = false;
+		}
+		if (!containsOpenElement(qualifiedName)) {
+			wellFormed = false;
+			return;
+		}
+		OpenElement openElement = openElements.pop();
+		while (!openElement.qualifiedName.equals(qualifiedName)) {
+			wellFormed = false;
+			closeImplicitly(openElement);
+			openElement = openElements.pop();
+		}
+		openElement.element.setEnd(index);
+		closed(openElement);
+	}
+
+	/**
+	 * The elements enclosing the scanned region are not considered, they are not part of the scan.
+	 */
+	private boolean containsOpenElement(String qualifiedName) {
+		Iterator<OpenElement> iterator = openElements.iterator();
+		for (int i = openElements.size() - enclosingDepth; i > 0; i--) {
+			if (iterator.next().qualifiedName.equals(qualifiedName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * An element without end tag keeps the end of its start tag as end, so that it does not span the following elements.
+	 */
+	private void closeImplicitly(OpenElement openElement) {
+		wellFormed = false;
+		closed(openElement);
+	}
+
+	private void closed(OpenElement openElement) {
+		if (openElement.endpointContainer) {
+			openEndpointContainers--;
+		}
+	}
+
+	private String resolveNamespace(String prefix, Map<String, String> declaredNamespaces) {
+		if (declaredNamespaces != null && declaredNamespaces.containsKey(prefix)) {
+			return declaredNamespaces.get(prefix);
+		}
+		for (OpenElement openElement : openElements) {
+			if (openElement.namespaces != null && openElement.namespaces.containsKey(prefix)) {
+				return openElement.namespaces.get(prefix);
+			}
+		}
+		return null;
+	}
+
+	private static Attribute findAttribute(List<Attribute> attributes, String name) {
+		for (Attribute attribute : attributes) {
+			if (name.equals(attribute.name)) {
+				return attribute;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the attribute value normalized as an XML parser does: white spaces replaced by spaces and references resolved.
+	 * 			null when the value contains a '&amp;' which does not start a valid reference.
+	 */
+	private String getValue(Attribute attribute) {
+		StringBuilder value = new StringBuilder(attribute.valueEnd - attribute.valueStart);
+		for (int i = attribute.valueStart; i < attribute.valueEnd; i++) {
+			char c = text.charAt(i);
+			if (c == '\r' && i + 1 < attribute.valueEnd && text.charAt(i + 1) == '\n') {
+				continue;
+			}
+			if (c == '\r' || c == '\n' || c == '\t') {
+				value.append(' ');
+			} else if (c == '&') {
+				int referenceEnd = text.indexOf(';', i);
+				String resolved = referenceEnd != -1 && referenceEnd < attribute.valueEnd ? resolveReference(text.substring(i + 1, referenceEnd)) : null;
+				if (resolved == null) {
+					wellFormed = false;
+					return null;
+				}
+				value.append(resolved);
+				i = referenceEnd;
+			} else {
+				value.append(c);
+			}
+		}
+		return value.toString();
+	}
+
+	private static String resolveReference(String name) {
+		switch (name) {
+		case "amp":
+			return "&";
+		case "lt":
+			return "<";
+		case "gt":
+			return ">";
+		case "quot":
+			return "\"";
+		case "apos":
+			return "'";
+		default:
+			return resolveCharacterReference(name);
+		}
+	}
+
+	private static String resolveCharacterReference(String name) {
+		if (!name.startsWith("#") || name.length() < 2) {
+			return null;
+		}
+		try {
+			int codePoint = name.charAt(1) == 'x' ? Integer.parseInt(name.substring(2), 16) : Integer.parseInt(name.substring(1));
+			return Character.isValidCodePoint(codePoint) ? new String(Character.toChars(codePoint)) : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private String readName() {
+		int nameStart = index;
+		while (index < limit && isNameChar(text.charAt(index))) {
+			index++;
+		}
+		return text.substring(nameStart, index);
+	}
+
+	private static boolean isNameChar(char c) {
+		return !Character.isWhitespace(c) && c != '<' && c != '>' && c != '/' && c != '=' && c != '"' && c != '\'';
+	}
+
+	private void skipWhitespaces() {
+		while (index < limit && Character.isWhitespace(text.charAt(index))) {
+			index++;
+		}
+	}
+
+	private int skipMarkup(int markupStart, String close) {
+		int markupEnd = text.indexOf(close, markupStart + 2);
+		if (markupEnd == -1 || markupEnd + close.length() > limit) {
+			wellFormed = false;
+			return limit;
+		}
+		return markupEnd + close.length();
+	}
+
+	/**
+	 * Skips a DOCTYPE, with its internal subset if any.
+	 */
+	private int skipDeclaration(int declarationStart) {
+		int declarationEnd = text.indexOf('>', declarationStart);
+		int internalSubsetStart = text.indexOf('[', declarationStart);
+		if (internalSubsetStart != -1 && (declarationEnd == -1 || internalSubsetStart < declarationEnd)) {
+			declarationEnd = text.indexOf("]>", internalSubsetStart);
+			if (declarationEnd != -1) {
+				declarationEnd++;
+			}
+		}
+		if (declarationEnd == -1 || declarationEnd >= limit) {
+			wellFormed = false;
+			return limit;
+		}
+		return declarationEnd + 1;
+	}
+
+	private static String emptyToNull(String value) {
+		return value == null || value.isEmpty() ? null : value;
+	}
+}
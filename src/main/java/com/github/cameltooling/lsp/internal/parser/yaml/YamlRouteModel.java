@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser.yaml;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.yaml.snakeyaml.DumperOptions.ScalarStyle;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import com.github.cameltooling.lsp.internal.parser.CamelKYamlDSLParser;
+
+/**
+ * The mapping entries of a Camel K YAML document, indexed by line.
+ *
+ * The document is composed once into a SnakeYAML node tree. For each line, the entries of the first mapping
+ * having a key on this line are kept, as a line-per-line load of this line would return them.
+ * The lines with a from, to or rest key are kept sorted to find the type of an endpoint.
+ */
+public final class YamlRouteModel {
+
+	/**
+	 * The keys defining the type of an endpoint, by decreasing priority when several are on the same line.
+	 */
+	private static final List<String> TYPE_KEYS = Arrays.asList(CamelKYamlDSLParser.TO_KEY, CamelKYamlDSLParser.FROM_KEY, CamelKYamlDSLParser.REST_KEY);
+
+	private static final class LineEntries {
+		private final MappingNode mapping;
+		private final Map<String, Object> data = new LinkedHashMap<>();
+		private int firstValueStart = -1;
+
+		private LineEntries(MappingNode mapping) {
+			this.mapping = mapping;
+		}
+	}
+
+	private final Map<Integer, LineEntries> entriesByLine = new HashMap<>();
+	private final Set<Integer> linesWithMultilineValues = new HashSet<>();
+	private final TreeMap<Integer, String> typeKeyByLine = new TreeMap<>();
+
+	private YamlRouteModel() {
+	}
+
+	/**
+	 * @param text the content of the document
+	 * @return the model of the document, null if the document is not valid YAML
+	 */
+	public static YamlRouteModel parse(String text) {
+		YamlRouteModel model = new YamlRouteModel();
+		Set<Node> visitedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+		try {
+			for (Node document : new Yaml().composeAll(new StringReader(text))) {
+				model.index(document, visitedNodes);
+			}
+		} catch (YAMLException e) {
+			return null;
+		}
+		return model;
+	}
+
+	private void index(Node node, Set<Node> visitedNodes) {
+		if (node == null || !visitedNodes.add(node)) {
+			// aliases are indexed where their anchor is declared
+			return;
+		}
+		if (node instanceof MappingNode) {
+			MappingNode mapping = (MappingNode) node;
+			for (NodeTuple tuple : mapping.getValue()) {
+				if (tuple.getKeyNode() instanceof ScalarNode) {
+					addEntry(mapping, (ScalarNode) tuple.getKeyNode(), tuple.getValueNode());
+				}
+				index(tuple.getKeyNode(), visitedNodes);
+				index(tuple.getValueNode(), visitedNodes);
+			}
+		} else if (node instanceof SequenceNode) {
+			for (Node item : ((SequenceNode) node).getValue()) {
+				index(item, visitedNodes);
+			}
+		}
+	}
+
+	private void addEntry(MappingNode mapping, ScalarNode keyNode, Node valueNode) {
+		int line = keyNode.getStartMark().getLine();
+		LineEntries lineEntries = entriesByLine.computeIfAbsent(line, newLine -> new LineEntries(mapping));
+		if (lineEntries.mapping != mapping) {
+			// an inner mapping starting on the line of its parent entry, as in a flow mapping
+			return;
+		}
+		String key = keyNode.getValue();
+		String value = null;
+		int valueStart = -1;
+		if (valueNode instanceof ScalarNode && !Tag.NULL.equals(valueNode.getTag())) {
+			if (valueNode.getStartMark().getLine() != line || valueNode.getEndMark().getLine() != line) {
+				linesWithMultilineValues.add(line);
+			}
+			ScalarNode scalar = (ScalarNode) valueNode;
+			value = scalar.getValue();
+			valueStart = valueNode.getStartMark().getColumn() + (isQuoted(scalar) ? 1 : 0);
+		}
+		if (lineEntries.data.isEmpty()) {
+			lineEntries.firstValueStart = valueStart;
+		}
+		lineEntries.data.put(key, value);
+		int priority = TYPE_KEYS.indexOf(key);
+		if (priority != -1) {
+			String previousTypeKey = typeKeyByLine.get(line);
+			if (previousTypeKey == null || priority < TYPE_KEYS.indexOf(previousTypeKey)) {
+				typeKeyByLine.put(line, key);
+			}
+		}
+	}
+
+	private boolean isQuoted(ScalarNode scalar) {
+		return scalar.getScalarStyle() == ScalarStyle.DOUBLE_QUOTED || scalar.getScalarStyle() == ScalarStyle.SINGLE_QUOTED;
+	}
+
+	/**
+	 * @param line the line number, starting at 0
+	 * @return false when a value starting on this line spans several lines, the model cannot describe such a line
+	 */
+	public boolean isIndexed(int line) {
+		return !linesWithMultilineValues.contains(line);
+	}
+
+	/**
+	 * @param line the line number, starting at 0
+	 * @return the entries of the mapping starting on this line, null if there is none.
+	 * 			Values which are not scalars, or which are null, are mapped to null.
+	 */
+	public Map<String, Object> getLineData(int line) {
+		LineEntries lineEntries = entriesByLine.get(line);
+		return lineEntries != null ? Collections.unmodifiableMap(lineEntries.data) : null;
+	}
+
+	/**
+	 * @param line the line number, starting at 0
+	 * @return the character where the value of the first entry of this line starts, after the opening quote if any.
+	 * 			-1 if there is no scalar value.
+	 */
+	public int getFirstValueStart(int line) {
+		LineEntries lineEntries = entriesByLine.get(line);
+		return lineEntries != null ? lineEntries.firstValueStart : -1;
+	}
+
+	/**
+	 * @param line the line number, starting at 0
+	 * @return the from, to or rest key of the nearest line at or before the given one, null if there is none
+	 */
+	public String getTypeKey(int line) {
+		Map.Entry<Integer, String> typeKey = typeKeyByLine.floorEntry(line);
+		return typeKey != null ? typeKey.getValue() : null;
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.progress;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.WorkDoneProgressBegin;
+import org.eclipse.lsp4j.WorkDoneProgressCreateParams;
+import org.eclipse.lsp4j.WorkDoneProgressEnd;
+import org.eclipse.lsp4j.WorkDoneProgressNotification;
+import org.eclipse.lsp4j.WorkDoneProgressReport;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports a long running task to the client with $/progress notifications.
+ *
+ * Nothing is sent when the client does not support work done progress.
+ * Notifications are sent in order, once the client has created the progress.
+ * When the client fails to create the progress, the reporter is disabled and the notifications are dropped.
+ */
+public class WorkDoneProgressReporter {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(WorkDoneProgressReporter.class);
+
+	private final LanguageClient client;
+	private final Either<String, Integer> token;
+	private CompletableFuture<Void> lastNotification;
+	private volatile boolean disabled;
+
+	private WorkDoneProgressReporter(LanguageClient client, String title, String message) {
+		this.client = client;
+		this.token = client != null ? Either.forLeft("camel-lsp-" + UUID.randomUUID()) : null;
+		if (client != null) {
+			lastNotification = client.createProgress(new WorkDoneProgressCreateParams(token))
+					.exceptionally(error -> {
+						disabled = true;
+						LOGGER.debug("The client cannot create the progress, it will not be reported", error);
+						return null;
+					});
+			WorkDoneProgressBegin begin = new WorkDoneProgressBegin();
+			begin.setTitle(title);
+			begin.setMessage(message);
+			notify(begin);
+		}
+	}
+
+	/**
+	 * @param client the client, null when no client is connected
+	 * @param supported whether the client declared the window.workDoneProgress capability
+	 * @param title the title of the task
+	 * @param message the first message
+	 * @return a started progress
+	 */
+	public static WorkDoneProgressReporter begin(LanguageClient client, boolean supported, String title, String message) {
+		return new WorkDoneProgressReporter(supported ? client : null, title, message);
+	}
+
+	public void report(String message, Integer percentage) {
+		if (client != null) {
+			WorkDoneProgressReport report = new WorkDoneProgressReport();
+			report.setMessage(message);
+			report.setPercentage(percentage);
+			notify(report);
+		}
+	}
+
+	public void end(String message) {
+		if (client != null) {
+			WorkDoneProgressEnd end = new WorkDoneProgressEnd();
+			end.setMessage(message);
+			notify(end);
+		}
+	}
+
+	boolean isDisabled() {
+		return disabled;
+	}
+
+	private synchronized void notify(WorkDoneProgressNotification notification) {
+		if (disabled) {
+			return;
+		}
+		lastNotification = lastNotification
+				.thenRun(() -> {
+					// notifications queued before the creation failed are dropped too
+					if (!disabled) {
+						client.notifyProgress(new ProgressParams(token, Either.forLeft(notification)));
+					}
+				})
+				.exceptionally(error -> {
+					LOGGER.debug("Cannot report progress to the client", error);
+					return null;
+				});
+	}
+}
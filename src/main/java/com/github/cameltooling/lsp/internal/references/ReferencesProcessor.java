@@ -24,39 +24,39 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
 
-import org.apache.camel.parser.helper.CamelXmlHelper;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Node;
 
 import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.ReferenceUtils;
+import com.github.cameltooling.lsp.internal.instancemodel.XMLDSLModelHelper;
 import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
+import com.github.cameltooling.lsp.internal.parser.xml.XmlCamelElement;
 
 public class ReferencesProcessor {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(ReferencesProcessor.class);
 	private ParserXMLFileHelper parserXMLFileHelper = new ParserXMLFileHelper();
-	private TextDocumentItem textDocumentItem;
+	private TextDocumentSnapshot textDocument;
 	private CamelTextDocumentService textDocumentService;
 
-	public ReferencesProcessor(CamelTextDocumentService textDocumentService, TextDocumentItem textDocumentItem) {
+	public ReferencesProcessor(CamelTextDocumentService textDocumentService, TextDocumentSnapshot textDocument) {
 		this.textDocumentService = textDocumentService;
-		this.textDocumentItem = textDocumentItem;
+		this.textDocument = textDocument;
 	}
 
 	@SuppressWarnings("squid:S1452")
 	public CompletableFuture<List<? extends Location>> getReferences(Position position) {
-		if (textDocumentItem.getUri().endsWith(".xml")) {
+		if (textDocument.getUri().endsWith(".xml")) {
 			try {
-				String camelComponentUri = parserXMLFileHelper.getCamelComponentUri(textDocumentItem, position);
-				CamelURIInstance camelURIInstanceToSearchReference = parserXMLFileHelper.createCamelURIInstance(textDocumentItem, position, camelComponentUri);
+				String camelComponentUri = parserXMLFileHelper.getCamelComponentUri(textDocument, position);
+				CamelURIInstance camelURIInstanceToSearchReference = parserXMLFileHelper.createCamelURIInstance(textDocument, position, camelComponentUri);
 				if (ReferenceUtils.isReferenceComponentKind(camelURIInstanceToSearchReference)) {
-					Map<CamelURIInstance, Node> allCamelUriInstances = retrieveAllEndpoints();
+					Map<CamelURIInstance, XmlCamelElement> allCamelUriInstances = retrieveAllEndpoints();
 					return CompletableFuture.completedFuture(findReferences(camelURIInstanceToSearchReference, allCamelUriInstances));
 				}
 			} catch (Exception e) {
@@ -66,11 +66,11 @@ public class ReferencesProcessor {
 		return CompletableFuture.completedFuture(Collections.emptyList());
 	}
 
-	private List<Location> findReferences(CamelURIInstance camelURIInstanceToSearchReference, Map<CamelURIInstance, Node> allCamelUriInstance) {
+	private List<Location> findReferences(CamelURIInstance camelURIInstanceToSearchReference, Map<CamelURIInstance, XmlCamelElement> allCamelUriInstance) {
 		List<Location> references = new ArrayList<>();
 		String directId = ReferenceUtils.getReferenceKey(camelURIInstanceToSearchReference);
 		if (directId != null && !directId.isEmpty()) {
-			for (Entry<CamelURIInstance, Node> entry : allCamelUriInstance.entrySet()) {
+			for (Entry<CamelURIInstance, XmlCamelElement> entry : allCamelUriInstance.entrySet()) {
 				CamelURIInstance camelURIInstance = entry.getKey();
 				if (isReference(camelURIInstanceToSearchReference, directId, camelURIInstance)) {
 					references.add(parserXMLFileHelper.retrieveLocation(entry.getValue(), camelURIInstance.getDocument()));
@@ -87,13 +87,13 @@ public class ReferencesProcessor {
 				&& directId.equals(ReferenceUtils.getReferenceKey(camelURIInstance));
 	}
 
-	private Map<CamelURIInstance, Node> retrieveAllEndpoints() throws Exception {
-		Map<CamelURIInstance, Node> allCamelUriInstance = new HashMap<>();
-		for (TextDocumentItem docItem : textDocumentService.getAllOpenedDocuments()) {
-			for (Node endpoint : parserXMLFileHelper.getAllEndpoints(docItem)) {
-				String uriToParse = CamelXmlHelper.getSafeAttribute(endpoint, "uri");
+	private Map<CamelURIInstance, XmlCamelElement> retrieveAllEndpoints() throws Exception {
+		Map<CamelURIInstance, XmlCamelElement> allCamelUriInstance = new HashMap<>();
+		for (TextDocumentSnapshot docItem : textDocumentService.getAllOpenedDocuments()) {
+			for (XmlCamelElement endpoint : parserXMLFileHelper.getAllEndpoints(docItem)) {
+				String uriToParse = endpoint.getUri();
 				if (uriToParse != null) {
-					allCamelUriInstance.put(new CamelURIInstance(uriToParse, endpoint, docItem), endpoint);
+					allCamelUriInstance.put(new CamelURIInstance(uriToParse, new XMLDSLModelHelper(endpoint.getLocalName()), docItem), endpoint);
 				}
 			}
 		}
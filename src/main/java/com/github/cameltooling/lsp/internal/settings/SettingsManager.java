@@ -24,6 +24,7 @@ import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.InitializeParams;
 
 import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
+import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticScheduler;
 
 public class SettingsManager {
 
@@ -32,6 +33,7 @@ public class SettingsManager {
 	public static final String EXTRA_COMPONENTS = "extra-components";
 	public static final String CATALOG_RUNTIME_PROVIDER = "Camel catalog runtime provider";
 	public static final String KAKFA_CONNECTION_URL = "Kafka Connection URL";
+	public static final String DIAGNOSTIC_DEBOUNCE_DELAY = "Diagnostic debounce delay";
 	
 	private CamelTextDocumentService textDocumentService;
 	private String kafkaConnectionUrl;
@@ -56,6 +58,8 @@ public class SettingsManager {
 		String camelCatalogRuntimeProvider = getSetting(camelSetting, CATALOG_RUNTIME_PROVIDER, String.class);
 		textDocumentService.updateCatalog(camelCatalogVersion, camelCatalogRuntimeProvider, (List<Map<?, ?>>) extraComponents);
 		kafkaConnectionUrl = getSetting(camelSetting, KAKFA_CONNECTION_URL, String.class);
+		Number diagnosticDebounceDelay = getSetting(camelSetting, DIAGNOSTIC_DEBOUNCE_DELAY, Number.class);
+		textDocumentService.getDiagnosticScheduler().setDebounceDelay(diagnosticDebounceDelay != null ? diagnosticDebounceDelay.longValue() : DiagnosticScheduler.DEFAULT_DEBOUNCE_DELAY);
 	}
 
 	private Map<?, ?> getSettings(Object settings) {
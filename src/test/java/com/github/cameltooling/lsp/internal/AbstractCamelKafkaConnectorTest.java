@@ -23,7 +23,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
-import org.apache.camel.kafkaconnector.catalog.CamelKafkaConnectorCatalog;
+import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 
 public abstract class AbstractCamelKafkaConnectorTest extends AbstractCamelLanguageServerTest {
 
@@ -31,9 +31,9 @@ public abstract class AbstractCamelKafkaConnectorTest extends AbstractCamelLangu
 	protected CamelLanguageServer initializeLanguageServer(String text)
 			throws URISyntaxException, InterruptedException, ExecutionException {
 		CamelLanguageServer languageServer = super.initializeLanguageServer(text, ".properties");
-		CamelKafkaConnectorCatalog catalog = languageServer.getTextDocumentService().getCamelKafkaConnectorManager().getCatalog();
-		catalog.addConnector("connector-source-used-for-test", getContentAsString("/camel-kafka-connector-catalog/connector-source-used-for-test.json"));
-		catalog.addConnector("connector-sink-used-for-test", getContentAsString("/camel-kafka-connector-catalog/connector-sink-used-for-test.json"));
+		CamelKafkaConnectorCatalogManager camelKafkaConnectorManager = languageServer.getTextDocumentService().getCamelKafkaConnectorManager();
+		camelKafkaConnectorManager.addConnector("connector-source-used-for-test", getContentAsString("/camel-kafka-connector-catalog/connector-source-used-for-test.json"));
+		camelKafkaConnectorManager.addConnector("connector-sink-used-for-test", getContentAsString("/camel-kafka-connector-catalog/connector-sink-used-for-test.json"));
 		return languageServer;
 	}
 
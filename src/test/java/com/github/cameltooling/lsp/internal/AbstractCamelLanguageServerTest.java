@@ -83,6 +83,7 @@ public abstract class AbstractCamelLanguageServerTest {
 	public void tearDown() {
 		if (camelLanguageServer != null) {
 			camelLanguageServer.stopServer();
+			camelLanguageServer.getTextDocumentService().shutdown();
 		}
 	}
 
@@ -154,6 +155,8 @@ public abstract class AbstractCamelLanguageServerTest {
 
 		assertThat(initialize).isCompleted();
 		assertThat(initialize.get().getCapabilities().getCompletionProvider().getResolveProvider()).isTrue();
+		// until the configured catalog is loaded, requests are served with the previous one
+		camelLanguageServer.getTextDocumentService().getCamelCatalog().get();
 	}
 	
 	private InitializeParams getInitParams() throws URISyntaxException {
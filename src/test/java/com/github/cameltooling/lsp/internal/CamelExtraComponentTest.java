@@ -76,6 +76,7 @@ class CamelExtraComponentTest extends AbstractCamelLanguageServerTest {
 				"}";
 		DidChangeConfigurationParams params = new DidChangeConfigurationParams(createMapSettingsWithComponent(component));
 		camelLanguageServer.getWorkspaceService().didChangeConfiguration(params);
+		camelLanguageServer.getTextDocumentService().getCamelCatalog().get();
 		
 		assertThat(getCompletionFor(camelLanguageServer, new Position(0, 11)).get().getLeft())
 		.contains(createExpectedExtraComponentCompletionItem(0, 11, 0, 11, "aSecondcomponent:withsyntax", "Description of my second component."));
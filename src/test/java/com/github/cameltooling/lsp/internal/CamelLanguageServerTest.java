@@ -62,6 +62,15 @@ class CamelLanguageServerTest extends AbstractCamelLanguageServerTest {
 		assertThat(completions.get().getLeft()).contains(createExpectedAhcCompletionItem(0, 9, 0, 9));
 	}
 	
+	@Test
+	void testProvideCompletionForUnterminatedUriInHalfTypedDocument() throws Exception {
+		CamelLanguageServer camelLanguageServer = initializeLanguageServer("<route xmlns=\"http://camel.apache.org/schema/blueprint\">\n<to uri=\"\n</route>\n");
+		
+		CompletableFuture<Either<List<CompletionItem>, CompletionList>> completions = getCompletionFor(camelLanguageServer, new Position(1, 9));
+		
+		assertThat(completions.get().getLeft()).contains(createExpectedAhcCompletionItem(1, 9, 1, 9));
+	}
+	
 	@Test
 	void testProvideCompletionForCamelSpringNamespace() throws Exception {
 		CamelLanguageServer camelLanguageServer = initializeLanguageServer(RouteTextBuilder.createXMLSpringRoute(""));
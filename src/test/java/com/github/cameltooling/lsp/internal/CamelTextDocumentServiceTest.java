@@ -18,6 +18,7 @@ package com.github.cameltooling.lsp.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -26,6 +27,7 @@ import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
@@ -54,4 +56,21 @@ class CamelTextDocumentServiceTest extends AbstractCamelLanguageServerTest {
 		assertThat(completionsAtNewPosition.get().getLeft()).isNotEmpty();
 		
 	}
+
+	@Test
+	void testIncrementalChangeEventsUpdateStoredText() throws Exception {
+		CamelLanguageServer camelLanguageServer = initializeLanguageServer("<to uri=\"\" xmlns=\"http://camel.apache.org/schema/blueprint\"></to>\n");
+		
+		DidChangeTextDocumentParams changeEvent = new DidChangeTextDocumentParams();
+		changeEvent.setTextDocument(new VersionedTextDocumentIdentifier(DUMMY_URI+".xml", 1));
+		TextDocumentContentChangeEvent insertion = new TextDocumentContentChangeEvent(new Range(new Position(0, 9), new Position(0, 9)), 0, "timer:foo");
+		TextDocumentContentChangeEvent secondInsertion = new TextDocumentContentChangeEvent(new Range(new Position(0, 18), new Position(0, 18)), 0, "?");
+		changeEvent.setContentChanges(Arrays.asList(insertion, secondInsertion));
+		camelLanguageServer.getTextDocumentService().didChange(changeEvent);
+		
+		assertThat(camelLanguageServer.getTextDocumentService().getOpenedDocument(DUMMY_URI+".xml").getText())
+			.isEqualTo("<to uri=\"timer:foo?\" xmlns=\"http://camel.apache.org/schema/blueprint\"></to>\n");
+		CompletableFuture<Either<List<CompletionItem>, CompletionList>> completions = getCompletionFor(camelLanguageServer, new Position(0, 19));
+		assertThat(completions.get().getLeft()).isNotEmpty();
+	}
 }
@@ -0,0 +1,206 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.maven;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MavenArtifactResolverTest {
+
+	private static final String CATALOG_PATH = "org/apache/camel/camel-catalog/9.9.9/camel-catalog-9.9.9.jar";
+
+	@TempDir
+	Path temporaryDirectory;
+
+	private Path artifactStore;
+	private Path localRepository;
+	private Path remoteRepository;
+	private final List<Integer> downloadPercentages = new ArrayList<>();
+
+	private MavenArtifactResolver createResolver() {
+		return createResolver(MavenSettings.EMPTY, false);
+	}
+
+	private MavenArtifactResolver createResolver(MavenSettings settings, boolean allowMissingChecksum) {
+		artifactStore = temporaryDirectory.resolve("store");
+		localRepository = temporaryDirectory.resolve("local");
+		remoteRepository = temporaryDirectory.resolve("remote");
+		return new MavenArtifactResolver(artifactStore, Collections.singletonList(localRepository), null,
+				Collections.singletonList(remoteRepository.toUri().toString()), 5000, settings, allowMissingChecksum);
+	}
+
+	@Test
+	void testLocalRepositoryUsedFirst() throws Exception {
+		MavenArtifactResolver resolver = createResolver();
+		createCatalogJar(localRepository.resolve(CATALOG_PATH));
+		createCatalogJar(remoteRepository.resolve(CATALOG_PATH));
+
+		Path resolved = resolver.resolve("org.apache.camel", "camel-catalog", "9.9.9", (message, percentage) -> downloadPercentages.add(percentage));
+
+		assertThat(resolved).isEqualTo(localRepository.resolve(CATALOG_PATH));
+		assertThat(downloadPercentages).isEmpty();
+	}
+
+	@Test
+	void testDownloadedArtifactStored() throws Exception {
+		MavenArtifactResolver resolver = createResolver();
+		createCatalogJar(remoteRepository.resolve(CATALOG_PATH));
+		publishChecksum(remoteRepository.resolve(CATALOG_PATH));
+
+		Path resolved = resolver.resolve("org.apache.camel", "camel-catalog", "9.9.9", (message, percentage) -> downloadPercentages.add(percentage));
+		Files.delete(remoteRepository.resolve(CATALOG_PATH));
+		Path resolvedOffline = resolver.resolve("org.apache.camel", "camel-catalog", "9.9.9", MavenArtifactResolver.DownloadListener.NONE);
+
+		assertThat(resolved).isEqualTo(artifactStore.resolve(CATALOG_PATH));
+		assertThat(resolvedOffline).isEqualTo(resolved);
+		assertThat(downloadPercentages).isNotEmpty();
+	}
+
+	@Test
+	void testDownloadedArtifactMatchingChecksumStored() throws Exception {
+		MavenArtifactResolver resolver = createResolver();
+		Path remoteCatalog = remoteRepository.resolve(CATALOG_PATH);
+		createCatalogJar(remoteCatalog);
+		Files.write(remoteRepository.resolve(CATALOG_PATH + ".sha1"), (sha1(remoteCatalog) + "  camel-catalog-9.9.9.jar\n").getBytes(StandardCharsets.UTF_8));
+
+		assertThat(resolver.resolve("org.apache.camel", "camel-catalog", "9.9.9", MavenArtifactResolver.DownloadListener.NONE)).isEqualTo(artifactStore.resolve(CATALOG_PATH));
+	}
+
+	@Test
+	void testDownloadedArtifactWithoutChecksumRejected() throws Exception {
+		MavenArtifactResolver resolver = createResolver();
+		createCatalogJar(remoteRepository.resolve(CATALOG_PATH));
+
+		assertThat(resolver.resolve("org.apache.camel", "camel-catalog", "9.9.9", MavenArtifactResolver.DownloadListener.NONE)).isNull();
+		assertThat(artifactStore.resolve(CATALOG_PATH)).doesNotExist();
+	}
+
+	@Test
+	void testDownloadedArtifactWithoutChecksumAcceptedWhenAllowed() throws Exception {
+		MavenArtifactResolver resolver = createResolver(MavenSettings.EMPTY, true);
+		createCatalogJar(remoteRepository.resolve(CATALOG_PATH));
+
+		assertThat(resolver.resolve("org.apache.camel", "camel-catalog", "9.9.9", MavenArtifactResolver.DownloadListener.NONE)).isEqualTo(artifactStore.resolve(CATALOG_PATH));
+	}
+
+	@Test
+	void testDownloadedFromMirror() throws Exception {
+		Path mirror = temporaryDirectory.resolve("mirror");
+		Path settingsFile = temporaryDirectory.resolve("settings.xml");
+		Files.write(settingsFile, ("<settings>\n"
+				+ "  <mirrors>\n"
+				+ "    <mirror>\n"
+				+ "      <id>all</id>\n"
+				+ "      <url>" + mirror.toUri() + "</url>\n"
+				+ "      <mirrorOf>*</mirrorOf>\n"
+				+ "    </mirror>\n"
+				+ "  </mirrors>\n"
+				+ "</settings>\n").getBytes(StandardCharsets.UTF_8));
+		MavenArtifactResolver resolver = createResolver(MavenSettings.read(settingsFile), false);
+		createCatalogJar(mirror.resolve(CATALOG_PATH));
+		publishChecksum(mirror.resolve(CATALOG_PATH));
+
+		assertThat(resolver.resolve("org.apache.camel", "camel-catalog", "9.9.9", MavenArtifactResolver.DownloadListener.NONE)).isEqualTo(artifactStore.resolve(CATALOG_PATH));
+	}
+
+	@Test
+	void testDownloadedArtifactNotMatchingChecksumRejected() throws Exception {
+		MavenArtifactResolver resolver = createResolver();
+		createCatalogJar(remoteRepository.resolve(CATALOG_PATH));
+		Files.write(remoteRepository.resolve(CATALOG_PATH + ".sha256"), "0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(resolver.resolve("org.apache.camel", "camel-catalog", "9.9.9", MavenArtifactResolver.DownloadListener.NONE)).isNull();
+		assertThat(artifactStore.resolve(CATALOG_PATH)).doesNotExist();
+	}
+
+	@Test
+	void testGrapeConfigurationRepositories() throws Exception {
+		Path grapeConfig = temporaryDirectory.resolve("grapeConfig.xml");
+		Files.write(grapeConfig, ("<ivysettings>\n"
+				+ "  <settings defaultResolver=\"downloadGrapes\"/>\n"
+				+ "  <resolvers>\n"
+				+ "    <chain name=\"downloadGrapes\" returnFirst=\"true\">\n"
+				+ "      <filesystem name=\"cachedGrapes\">\n"
+				+ "        <ivy pattern=\"${user.home}/.groovy/grapes/[organisation]/[module]/ivy-[revision].xml\"/>\n"
+				+ "      </filesystem>\n"
+				+ "      <ibiblio name=\"localm2\" root=\"file:${user.home}/.m2/repository/\" m2compatible=\"true\"/>\n"
+				+ "      <ibiblio name=\"company\" root=\"https://repository.example.com/maven2/\" m2compatible=\"true\"/>\n"
+				+ "      <ibiblio name=\"ibiblio\" m2compatible=\"true\"/>\n"
+				+ "    </chain>\n"
+				+ "  </resolvers>\n"
+				+ "</ivysettings>\n").getBytes(StandardCharsets.UTF_8));
+
+		assertThat(MavenArtifactResolver.readGrapeRepositories(grapeConfig)).containsExactly("https://repository.example.com/maven2/");
+		assertThat(MavenArtifactResolver.readGrapeRepositories(temporaryDirectory.resolve("missing.xml"))).isEmpty();
+	}
+
+	@Test
+	void testUnknownArtifact() throws Exception {
+		MavenArtifactResolver resolver = createResolver();
+
+		assertThat(resolver.resolve("org.apache.camel", "camel-catalog", "9.9.9", MavenArtifactResolver.DownloadListener.NONE)).isNull();
+	}
+
+	@Test
+	void testCatalogVersionLoadedFromResolvedArtifact() throws Exception {
+		MavenArtifactResolver resolver = createResolver();
+		createCatalogJar(remoteRepository.resolve(CATALOG_PATH));
+		publishChecksum(remoteRepository.resolve(CATALOG_PATH));
+		DefaultCamelCatalog catalog = new DefaultCamelCatalog(true);
+		catalog.setVersionManager(new LocalFirstVersionManager(resolver, MavenArtifactResolver.DownloadListener.NONE));
+
+		assertThat(catalog.loadVersion("9.9.9")).isTrue();
+		assertThat(catalog.getLoadedVersion()).isEqualTo("9.9.9");
+		assertThat(catalog.findComponentNames()).containsExactly("mycomponent");
+	}
+
+	private void publishChecksum(Path jar) throws Exception {
+		Files.write(jar.resolveSibling(jar.getFileName() + ".sha1"), sha1(jar).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String sha1(Path file) throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (byte b : MessageDigest.getInstance("SHA-1").digest(Files.readAllBytes(file))) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+
+	private void createCatalogJar(Path jar) throws IOException {
+		Files.createDirectories(jar.getParent());
+		try (OutputStream output = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(output)) {
+			zip.putNextEntry(new ZipEntry("org/apache/camel/catalog/components.properties"));
+			zip.write("mycomponent\n".getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.maven;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MavenSettingsTest {
+
+	@TempDir
+	Path temporaryDirectory;
+
+	@Test
+	void testLocalRepository() throws Exception {
+		MavenSettings settings = read("<settings>\n"
+				+ "  <localRepository>/opt/maven/repository</localRepository>\n"
+				+ "</settings>\n");
+
+		assertThat(settings.getLocalRepository()).isEqualTo(Paths.get("/opt/maven/repository"));
+	}
+
+	@Test
+	void testCentralMirror() throws Exception {
+		MavenSettings settings = read("<settings>\n"
+				+ "  <profiles>\n"
+				+ "    <profile>\n"
+				+ "      <repositories>\n"
+				+ "        <repository>\n"
+				+ "          <url>https://repository.example.com/profile/</url>\n"
+				+ "        </repository>\n"
+				+ "      </repositories>\n"
+				+ "    </profile>\n"
+				+ "  </profiles>\n"
+				+ "  <mirrors>\n"
+				+ "    <mirror>\n"
+				+ "      <url>https://nexus.example.com/central/</url>\n"
+				+ "      <mirrorOf>central</mirrorOf>\n"
+				+ "    </mirror>\n"
+				+ "  </mirrors>\n"
+				+ "</settings>\n");
+
+		assertThat(settings.mirror(Arrays.asList("https://maven.repository.redhat.com/ga/", MavenArtifactResolver.MAVEN_CENTRAL)))
+			.containsExactly("https://maven.repository.redhat.com/ga/", "https://nexus.example.com/central/");
+	}
+
+	@Test
+	void testExternalMirror() throws Exception {
+		MavenSettings settings = read("<settings>\n"
+				+ "  <mirrors>\n"
+				+ "    <mirror>\n"
+				+ "      <url>https://nexus.example.com/all/</url>\n"
+				+ "      <mirrorOf>external:*,!central</mirrorOf>\n"
+				+ "    </mirror>\n"
+				+ "  </mirrors>\n"
+				+ "</settings>\n");
+
+		assertThat(settings.mirror(Arrays.asList("file:///opt/repository/", "https://maven.repository.redhat.com/ga/", MavenArtifactResolver.MAVEN_CENTRAL)))
+			.containsExactly("file:///opt/repository/", "https://nexus.example.com/all/", MavenArtifactResolver.MAVEN_CENTRAL);
+	}
+
+	@Test
+	void testActiveProxy() throws Exception {
+		MavenSettings settings = read("<settings>\n"
+				+ "  <proxies>\n"
+				+ "    <proxy>\n"
+				+ "      <active>false</active>\n"
+				+ "      <host>inactive.example.com</host>\n"
+				+ "    </proxy>\n"
+				+ "    <proxy>\n"
+				+ "      <protocol>http</protocol>\n"
+				+ "      <host>proxy.example.com</host>\n"
+				+ "      <port>3128</port>\n"
+				+ "      <nonProxyHosts>*.internal.example.com|localhost</nonProxyHosts>\n"
+				+ "    </proxy>\n"
+				+ "  </proxies>\n"
+				+ "</settings>\n");
+
+		Proxy proxy = settings.getProxy(URI.create(MavenArtifactResolver.MAVEN_CENTRAL));
+		assertThat(proxy.type()).isEqualTo(Proxy.Type.HTTP);
+		InetSocketAddress address = (InetSocketAddress) proxy.address();
+		assertThat(address.getHostString()).isEqualTo("proxy.example.com");
+		assertThat(address.getPort()).isEqualTo(3128);
+		assertThat(settings.getProxy(URI.create("https://nexus.internal.example.com/maven2/"))).isEqualTo(Proxy.NO_PROXY);
+		assertThat(settings.getProxy(URI.create("file:///opt/repository/"))).isNull();
+	}
+
+	@Test
+	void testMissingSettings() throws Exception {
+		MavenSettings settings = MavenSettings.read(temporaryDirectory.resolve("missing.xml"));
+
+		assertThat(settings.getLocalRepository()).isNull();
+		assertThat(settings.mirror(Arrays.asList(MavenArtifactResolver.MAVEN_CENTRAL))).containsExactly(MavenArtifactResolver.MAVEN_CENTRAL);
+		assertThat(settings.getProxy(URI.create(MavenArtifactResolver.MAVEN_CENTRAL))).isNull();
+	}
+
+	private MavenSettings read(String content) throws Exception {
+		Path settingsFile = temporaryDirectory.resolve("settings.xml");
+		Files.write(settingsFile, content.getBytes(StandardCharsets.UTF_8));
+		return MavenSettings.read(settingsFile);
+	}
+}
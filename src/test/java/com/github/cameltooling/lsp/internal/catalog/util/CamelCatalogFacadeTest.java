@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.junit.jupiter.api.Test;
+
+class CamelCatalogFacadeTest {
+
+	private final CamelCatalogFacade facade = new CamelCatalogFacade();
+
+	@Test
+	void testPreviousCatalogServedWhileLoading() throws Exception {
+		CamelCatalog previousCatalog = new DefaultCamelCatalog(true);
+		facade.setLatestCatalog(CompletableFuture.completedFuture(previousCatalog));
+		CompletableFuture<CamelCatalog> loadingCatalog = new CompletableFuture<>();
+		facade.setLatestCatalog(loadingCatalog);
+
+		CompletableFuture<CamelCatalog> servedCatalog = facade.getServedCatalog();
+
+		assertThat(servedCatalog).isCompletedWithValue(previousCatalog);
+		assertThat(facade.isLatest(servedCatalog)).isFalse();
+		assertThat(facade.getLatestCatalog()).isSameAs(loadingCatalog);
+	}
+
+	@Test
+	void testLatestCatalogServedOnceLoaded() throws Exception {
+		facade.setLatestCatalog(CompletableFuture.completedFuture(new DefaultCamelCatalog(true)));
+		CompletableFuture<CamelCatalog> loadingCatalog = new CompletableFuture<>();
+		facade.setLatestCatalog(loadingCatalog);
+
+		loadingCatalog.complete(new DefaultCamelCatalog(true));
+
+		assertThat(facade.getServedCatalog()).isSameAs(loadingCatalog);
+		assertThat(facade.isLatest(facade.getServedCatalog())).isTrue();
+	}
+
+	@Test
+	void testValidationResultsOfReplacedCatalogDropped() throws Exception {
+		CamelCatalog previousCatalog = new DefaultCamelCatalog(true);
+		facade.setLatestCatalog(CompletableFuture.completedFuture(previousCatalog));
+		EndpointValidationCache.validateEndpointProperties(previousCatalog, "timer:foo");
+		CompletableFuture<CamelCatalog> loadingCatalog = new CompletableFuture<>();
+		facade.setLatestCatalog(loadingCatalog);
+
+		assertThat(EndpointValidationCache.size(previousCatalog)).isEqualTo(1);
+
+		loadingCatalog.complete(new DefaultCamelCatalog(true));
+
+		assertThat(EndpointValidationCache.size(previousCatalog)).isZero();
+	}
+
+	@Test
+	void testServedAndLatestCatalogsInUse() throws Exception {
+		CompletableFuture<CamelCatalog> previousCatalog = CompletableFuture.completedFuture(new DefaultCamelCatalog(true));
+		facade.setLatestCatalog(previousCatalog);
+		CompletableFuture<CamelCatalog> loadingCatalog = new CompletableFuture<>();
+		facade.setLatestCatalog(loadingCatalog);
+
+		assertThat(facade.isInUse(previousCatalog)).isTrue();
+		assertThat(facade.isInUse(loadingCatalog)).isTrue();
+		assertThat(facade.isInUse(CompletableFuture.completedFuture(new DefaultCamelCatalog(true)))).isFalse();
+
+		loadingCatalog.complete(new DefaultCamelCatalog(true));
+
+		assertThat(facade.isInUse(previousCatalog)).isFalse();
+	}
+
+	@Test
+	void testWaitForFirstCatalog() throws Exception {
+		CompletableFuture<CamelCatalog> loadingCatalog = new CompletableFuture<>();
+		facade.setLatestCatalog(loadingCatalog);
+
+		assertThat(facade.getServedCatalog()).isSameAs(loadingCatalog);
+	}
+
+	@Test
+	void testOlderCatalogLoadedLastNotServedOverNewer() throws Exception {
+		CompletableFuture<CamelCatalog> firstCatalog = new CompletableFuture<>();
+		CompletableFuture<CamelCatalog> secondCatalog = new CompletableFuture<>();
+		CompletableFuture<CamelCatalog> thirdCatalog = new CompletableFuture<>();
+		facade.setLatestCatalog(firstCatalog);
+		facade.setLatestCatalog(secondCatalog);
+		facade.setLatestCatalog(thirdCatalog);
+		CamelCatalog second = new DefaultCamelCatalog(true);
+
+		secondCatalog.complete(second);
+		firstCatalog.complete(new DefaultCamelCatalog(true));
+
+		assertThat(facade.getServedCatalog()).isCompletedWithValue(second);
+	}
+}
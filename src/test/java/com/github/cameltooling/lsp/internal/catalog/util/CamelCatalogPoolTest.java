@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Closeable;
+import java.lang.management.MemoryUsage;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.apache.camel.catalog.DefaultVersionManager;
+import org.apache.camel.catalog.VersionManager;
+import org.junit.jupiter.api.Test;
+
+class CamelCatalogPoolTest {
+
+	private final AtomicInteger loadCount = new AtomicInteger();
+
+	private CompletableFuture<CamelCatalog> load() {
+		loadCount.incrementAndGet();
+		return CompletableFuture.completedFuture(new DefaultCamelCatalog(true));
+	}
+
+	@Test
+	void testSwitchBackReusesCatalog() throws Exception {
+		CamelCatalogPool pool = new CamelCatalogPool();
+
+		CompletableFuture<CamelCatalog> defaultCatalog = pool.get(CamelCatalogPool.Key.of(null, null, null), this::load);
+		pool.get(CamelCatalogPool.Key.of("3.10.0", "SPRINGBOOT", null), this::load);
+		CompletableFuture<CamelCatalog> defaultCatalogAgain = pool.get(CamelCatalogPool.Key.of("", "", Collections.emptyList()), this::load);
+
+		assertThat(defaultCatalogAgain).isSameAs(defaultCatalog);
+		assertThat(loadCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	void testExtraComponentsAreKeyed() throws Exception {
+		CamelCatalogPool pool = new CamelCatalogPool();
+		List<Map<?, ?>> firstExtraComponents = Collections.singletonList(Collections.singletonMap("component", Collections.singletonMap("scheme", "first")));
+		List<Map<?, ?>> secondExtraComponents = Collections.singletonList(Collections.singletonMap("component", Collections.singletonMap("scheme", "second")));
+
+		CompletableFuture<CamelCatalog> firstCatalog = pool.get(CamelCatalogPool.Key.of(null, null, firstExtraComponents), this::load);
+		CompletableFuture<CamelCatalog> secondCatalog = pool.get(CamelCatalogPool.Key.of(null, null, secondExtraComponents), this::load);
+
+		assertThat(secondCatalog).isNotSameAs(firstCatalog);
+		assertThat(pool.get(CamelCatalogPool.Key.of(null, null, firstExtraComponents), this::load)).isSameAs(firstCatalog);
+	}
+
+	@Test
+	void testLeastRecentlyUsedEvicted() throws Exception {
+		CamelCatalogPool pool = new CamelCatalogPool(2, () -> false);
+
+		pool.get(CamelCatalogPool.Key.of("1", null, null), this::load);
+		pool.get(CamelCatalogPool.Key.of("2", null, null), this::load);
+		pool.get(CamelCatalogPool.Key.of("1", null, null), this::load);
+		pool.get(CamelCatalogPool.Key.of("3", null, null), this::load);
+		pool.get(CamelCatalogPool.Key.of("1", null, null), this::load);
+
+		assertThat(pool.size()).isEqualTo(2);
+		assertThat(loadCount.get()).isEqualTo(3);
+		pool.get(CamelCatalogPool.Key.of("2", null, null), this::load);
+		assertThat(loadCount.get()).isEqualTo(4);
+	}
+
+	@Test
+	void testOnlyCurrentCatalogKeptWhenMemoryIsLow() throws Exception {
+		AtomicBoolean memoryLow = new AtomicBoolean();
+		CamelCatalogPool pool = new CamelCatalogPool(4, memoryLow::get);
+		pool.get(CamelCatalogPool.Key.of("1", null, null), this::load);
+		pool.get(CamelCatalogPool.Key.of("2", null, null), this::load);
+
+		memoryLow.set(true);
+		CompletableFuture<CamelCatalog> current = pool.get(CamelCatalogPool.Key.of("3", null, null), this::load);
+
+		assertThat(pool.size()).isEqualTo(1);
+		assertThat(pool.get(CamelCatalogPool.Key.of("3", null, null), this::load)).isSameAs(current);
+	}
+
+	@Test
+	void testCatalogInUseNotEvicted() throws Exception {
+		AtomicBoolean memoryLow = new AtomicBoolean();
+		ClosableVersionManager servedVersionManager = new ClosableVersionManager();
+		CompletableFuture<CamelCatalog> served = load(servedVersionManager);
+		CamelCatalogPool pool = new CamelCatalogPool(1, memoryLow::get, catalog -> catalog == served);
+		pool.get(CamelCatalogPool.Key.of("1", null, null), () -> served);
+
+		memoryLow.set(true);
+		pool.get(CamelCatalogPool.Key.of("2", null, null), this::load);
+
+		assertThat(pool.size()).isEqualTo(2);
+		assertThat(servedVersionManager.closed).isFalse();
+		assertThat(pool.get(CamelCatalogPool.Key.of("1", null, null), this::load)).isSameAs(served);
+	}
+
+	@Test
+	void testHeapNearlyFullAfterCollection() throws Exception {
+		assertThat(CamelCatalogPool.isNearlyFull(new MemoryUsage(0, 80, 100, 100))).isTrue();
+		assertThat(CamelCatalogPool.isNearlyFull(new MemoryUsage(0, 50, 100, 100))).isFalse();
+		assertThat(CamelCatalogPool.isNearlyFull(new MemoryUsage(0, 80, 100, -1))).isFalse();
+		assertThat(CamelCatalogPool.isNearlyFull(null)).isFalse();
+	}
+
+	@Test
+	void testFailedLoadNotPooled() throws Exception {
+		CamelCatalogPool pool = new CamelCatalogPool();
+		CompletableFuture<CamelCatalog> failed = new CompletableFuture<>();
+		pool.get(CamelCatalogPool.Key.of("1", null, null), () -> failed);
+
+		failed.completeExceptionally(new IllegalStateException("cannot load"));
+
+		assertThat(pool.size()).isZero();
+	}
+
+	@Test
+	void testCatalogNotMatchingKeyNotPooled() throws Exception {
+		CamelCatalogPool pool = new CamelCatalogPool();
+		CompletableFuture<CamelCatalog> fallback = pool.get(CamelCatalogPool.Key.of("1", null, null), this::load, catalog -> "1".equals(catalog.getLoadedVersion()));
+
+		assertThat(pool.size()).isZero();
+		assertThat(pool.get(CamelCatalogPool.Key.of("1", null, null), this::load)).isNotSameAs(fallback);
+		assertThat(loadCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	void testVersionManagerClosedWhenEvicted() throws Exception {
+		CamelCatalogPool pool = new CamelCatalogPool(1, () -> false);
+		ClosableVersionManager evictedVersionManager = new ClosableVersionManager();
+		ClosableVersionManager closedOnShutdownVersionManager = new ClosableVersionManager();
+
+		pool.get(CamelCatalogPool.Key.of("1", null, null), () -> load(evictedVersionManager));
+		pool.get(CamelCatalogPool.Key.of("2", null, null), () -> load(closedOnShutdownVersionManager));
+
+		assertThat(evictedVersionManager.closed).isTrue();
+		assertThat(closedOnShutdownVersionManager.closed).isFalse();
+
+		pool.close();
+
+		assertThat(closedOnShutdownVersionManager.closed).isTrue();
+		assertThat(pool.size()).isZero();
+	}
+
+	private CompletableFuture<CamelCatalog> load(VersionManager versionManager) {
+		DefaultCamelCatalog catalog = new DefaultCamelCatalog(true);
+		catalog.setVersionManager(versionManager);
+		return CompletableFuture.completedFuture(catalog);
+	}
+
+	private static class ClosableVersionManager extends DefaultVersionManager implements Closeable {
+
+		private boolean closed;
+
+		ClosableVersionManager() {
+			super(null);
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+}
@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CamelKafkaConnectorCatalogManagerTest {
+
+	private static final String TIMER_SOURCE_CONNECTOR = "org.apache.camel.kafkaconnector.timer.CamelTimerSourceConnector";
+
+	@TempDir
+	Path cacheDirectory;
+
+	@Test
+	void testRemovedConnectorNotListed() throws Exception {
+		CamelKafkaConnectorCatalogManager manager = new CamelKafkaConnectorCatalogManager();
+		int connectorCount = manager.getConnectorModels().size();
+		assertThat(manager.findConnectorModel(TIMER_SOURCE_CONNECTOR)).isPresent();
+
+		manager.removeConnector("camel-timer-source");
+
+		assertThat(manager.getConnectorModels()).hasSize(connectorCount - 1);
+		assertThat(manager.findConnectorModel(TIMER_SOURCE_CONNECTOR)).isEmpty();
+	}
+
+	@Test
+	void testConnectorsLoadedFromSnapshot() throws Exception {
+		CatalogSnapshotStore store = new CatalogSnapshotStore(cacheDirectory);
+		int connectorCount = new CamelKafkaConnectorCatalogManager(store).getConnectorModels().size();
+		assertThat(store.readKafkaConnectorModels(CamelKafkaConnectorCatalogManager.SNAPSHOT_KEY)).hasSize(connectorCount);
+
+		CamelKafkaConnectorCatalogManager manager = new CamelKafkaConnectorCatalogManager(store);
+
+		assertThat(manager.getConnectorModels()).hasSize(connectorCount);
+		assertThat(manager.findOption(TIMER_SOURCE_CONNECTOR, "camel.source.path.timer-name").get().getDescription()).isEqualTo("The name of the timer");
+		manager.removeConnector("camel-timer-source");
+		assertThat(manager.getConnectorModels()).hasSize(connectorCount - 1);
+	}
+}
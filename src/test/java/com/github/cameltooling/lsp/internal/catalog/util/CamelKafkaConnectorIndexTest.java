@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.camel.kafkaconnector.catalog.CamelKafkaConnectorCatalog;
+import org.junit.jupiter.api.Test;
+
+class CamelKafkaConnectorIndexTest {
+
+	private static final String TIMER_SOURCE_CONNECTOR = "org.apache.camel.kafkaconnector.timer.CamelTimerSourceConnector";
+
+	private final CamelKafkaConnectorIndex index = CamelKafkaConnectorIndex.of(new CamelKafkaConnectorCatalog());
+
+	@Test
+	void testFindConnectorModelByClass() throws Exception {
+		assertThat(index.findConnectorModel(TIMER_SOURCE_CONNECTOR).get().getType()).isEqualTo("source");
+		assertThat(index.findConnectorModel("org.test.Unknown")).isEmpty();
+		assertThat(index.findConnectorModel(null)).isEmpty();
+	}
+
+	@Test
+	void testFindOptionInCamelCaseAndDashedForms() throws Exception {
+		assertThat(index.findOption(TIMER_SOURCE_CONNECTOR, "camel.source.path.timerName").get().getDescription()).isEqualTo("The name of the timer");
+		assertThat(index.findOption(TIMER_SOURCE_CONNECTOR, "camel.source.path.timer-name").get().getName()).isEqualTo("camel.source.path.timerName");
+		assertThat(index.findOption(TIMER_SOURCE_CONNECTOR, "camel.source.endpoint.bridge-error-handler").get().getName()).isEqualTo("camel.source.endpoint.bridgeErrorHandler");
+	}
+
+	@Test
+	void testFindUnknownOption() throws Exception {
+		assertThat(index.findOption(TIMER_SOURCE_CONNECTOR, "camel.source.path.unknown")).isEmpty();
+		assertThat(index.findOption("org.test.Unknown", "camel.source.path.timerName")).isEmpty();
+	}
+
+	@Test
+	void testConnectorModelsUnmodifiable() throws Exception {
+		assertThat(index.getConnectorModels()).anyMatch(connector -> TIMER_SOURCE_CONNECTOR.equals(connector.getConnectorClass()));
+		assertThatThrownBy(() -> index.getConnectorModels().clear()).isInstanceOf(UnsupportedOperationException.class);
+	}
+}
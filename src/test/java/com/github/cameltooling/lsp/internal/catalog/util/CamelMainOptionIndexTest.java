@@ -0,0 +1,57 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.apache.camel.tooling.model.MainModel.MainGroupModel;
+import org.apache.camel.tooling.model.MainModel.MainOptionModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CamelMainOptionIndexTest {
+
+	private static CamelMainOptionIndex index;
+
+	@BeforeAll
+	static void buildIndex() {
+		index = CamelMainOptionIndex.of(new DefaultCamelCatalog(true));
+	}
+
+	@Test
+	void testGroupOptions() throws Exception {
+		assertThat(index.getGroups()).extracting(MainGroupModel::getName).contains("camel.main", "camel.health");
+		assertThat(index.getGroupOptions("camel.main."))
+			.extracting(MainOptionModel::getName)
+			.contains("camel.main.autoStartup")
+			.allMatch(name -> name.startsWith("camel.main."));
+		assertThat(index.getGroupOptions("camel.unknown.")).isEmpty();
+	}
+
+	@Test
+	void testFindOptionsInBothNotations() throws Exception {
+		assertThat(index.findOptions("camel.main.autoStartup")).extracting(MainOptionModel::getName).containsExactly("camel.main.autoStartup");
+		assertThat(index.findOptionsByDashedName("camel.main.auto-startup")).extracting(MainOptionModel::getName).containsExactly("camel.main.autoStartup");
+	}
+
+	@Test
+	void testGroupPrefix() throws Exception {
+		assertThat(CamelMainOptionIndex.getGroupPrefix("camel.main.autoStartup")).isEqualTo("camel.main.");
+		assertThat(CamelMainOptionIndex.getGroupPrefix("camel.main")).isEqualTo("camel.main");
+	}
+}
@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.apache.camel.tooling.model.MainModel;
+import org.apache.camel.tooling.model.MainModel.MainOptionModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
+
+class CatalogSnapshotStoreTest {
+
+	@TempDir
+	Path cacheDirectory;
+
+	private static class CountingCamelCatalog extends DefaultCamelCatalog {
+		private final AtomicInteger schemaCount = new AtomicInteger();
+
+		CountingCamelCatalog() {
+			super(true);
+		}
+
+		@Override
+		public String componentJSonSchema(String name) {
+			schemaCount.incrementAndGet();
+			return super.componentJSonSchema(name);
+		}
+	}
+
+	@Test
+	void testSecondCatalogLoadedFromSnapshot() throws Exception {
+		CatalogSnapshotStore store = new CatalogSnapshotStore(cacheDirectory);
+		ComponentModel timerModel = ComponentModelIndex.of(new DefaultCamelCatalog(true), store, "key").getComponentModel("timer");
+
+		CountingCamelCatalog secondCatalog = new CountingCamelCatalog();
+		ComponentModelIndex secondIndex = ComponentModelIndex.of(secondCatalog, store, "key");
+
+		assertThat(secondCatalog.schemaCount.get()).isZero();
+		ComponentModel timerModelFromSnapshot = secondIndex.getComponentModel("timer");
+		assertThat(timerModelFromSnapshot).isNotSameAs(timerModel);
+		assertThat(timerModelFromSnapshot.getSyntax()).isEqualTo(timerModel.getSyntax());
+		assertThat(timerModelFromSnapshot.getEndpointOptions()).hasSameSizeAs(timerModel.getEndpointOptions());
+		assertThat(secondIndex.findEndpointOptions("timer", "delay")).extracting(option -> option.getName()).containsExactly("delay");
+	}
+
+	@Test
+	void testOtherKeyIgnored() throws Exception {
+		CatalogSnapshotStore store = new CatalogSnapshotStore(cacheDirectory);
+		ComponentModelIndex.of(new DefaultCamelCatalog(true), store, "key");
+
+		assertThat(store.readComponentModels("otherKey")).isNull();
+		assertThat(store.readComponentModels("key")).isNotEmpty();
+	}
+
+	@Test
+	void testCorruptedSnapshotIgnored() throws Exception {
+		CatalogSnapshotStore store = new CatalogSnapshotStore(cacheDirectory);
+		ComponentModelIndex.of(new DefaultCamelCatalog(true), store, "key");
+		Path snapshotFile = store.getSnapshotFile(CatalogSnapshotStore.COMPONENTS_KIND, "key");
+		byte[] content = Files.readAllBytes(snapshotFile);
+		content[content.length - 10] ^= 0xFF;
+		Files.write(snapshotFile, content);
+
+		Map<String, ComponentModel> componentModels = store.readComponentModels("key");
+
+		assertThat(componentModels).isNull();
+	}
+
+	@Test
+	void testDefaultValueTypesKept() throws Exception {
+		CatalogSnapshotStore store = new CatalogSnapshotStore(cacheDirectory);
+		ComponentModel timerModel = ComponentModelIndex.of(new DefaultCamelCatalog(true), store, "key").getComponentModel("timer");
+
+		ComponentModel timerModelFromSnapshot = ComponentModelIndex.of(new CountingCamelCatalog(), store, "key").getComponentModel("timer");
+
+		assertThat(timerModelFromSnapshot.getEndpointOptions())
+			.extracting(EndpointOptionModel::getDefaultValue)
+			.containsExactlyElementsOf(timerModel.getEndpointOptions().stream().map(EndpointOptionModel::getDefaultValue).collect(Collectors.toList()))
+			.hasAtLeastOneElementOfType(BigDecimal.class)
+			.hasAtLeastOneElementOfType(Boolean.class)
+			.hasAtLeastOneElementOfType(String.class);
+	}
+
+	@Test
+	void testMainModelLoadedFromSnapshot() throws Exception {
+		CatalogSnapshotStore store = new CatalogSnapshotStore(cacheDirectory);
+		CamelMainOptionIndex.of(new DefaultCamelCatalog(true), store, "key");
+
+		CamelMainOptionIndex indexFromSnapshot = CamelMainOptionIndex.of(new DefaultCamelCatalog(true) {
+			@Override
+			public MainModel mainModel() {
+				throw new AssertionError("The Camel Main model is expected to be read from the snapshot");
+			}
+		}, store, "key");
+
+		assertThat(indexFromSnapshot.findOptionsByDashedName("camel.main.auto-startup")).extracting(MainOptionModel::getName).containsExactly("camel.main.autoStartup");
+		assertThat(indexFromSnapshot.getGroups()).isNotEmpty();
+	}
+
+	@Test
+	void testKindsStoredSeparately() throws Exception {
+		CatalogSnapshotStore store = new CatalogSnapshotStore(cacheDirectory);
+		DefaultCamelCatalog catalog = new DefaultCamelCatalog(true);
+		ComponentModelIndex.of(catalog, store, "key");
+		CamelMainOptionIndex.of(catalog, store, "key");
+
+		assertThat(store.getSnapshotFile(CatalogSnapshotStore.COMPONENTS_KIND, "key")).isNotEqualTo(store.getSnapshotFile(CatalogSnapshotStore.MAIN_KIND, "key"));
+		assertThat(store.readComponentModels("key")).isNotEmpty();
+		assertThat(store.readMainModel("key").getOptions()).isNotEmpty();
+		assertThat(store.readKamelets("key")).isNull();
+	}
+
+	@Test
+	void testServerVersionWithoutImplementationVersion() throws Exception {
+		assertThat(CatalogSnapshotStore.getServerVersion("1.2.0")).isEqualTo("1.2.0");
+		assertThat(CatalogSnapshotStore.getServerVersion(null))
+			.startsWith("model-")
+			.isEqualTo(CatalogSnapshotStore.getServerVersion(null));
+	}
+}
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.MessageActionItem;
+import org.eclipse.lsp4j.MessageParams;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.ShowMessageRequestParams;
+import org.eclipse.lsp4j.WorkDoneProgressBegin;
+import org.eclipse.lsp4j.WorkDoneProgressCreateParams;
+import org.eclipse.lsp4j.WorkDoneProgressEnd;
+import org.eclipse.lsp4j.WorkDoneProgressNotification;
+import org.eclipse.lsp4j.WorkDoneProgressReport;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.catalog.util.CatalogWarmUp.Readiness;
+import com.github.cameltooling.lsp.internal.progress.WorkDoneProgressReporter;
+
+class CatalogWarmUpTest {
+
+	@Test
+	void testReadyWhenAllStepsAreDone() throws Exception {
+		CompletableFuture<String> firstCatalog = new CompletableFuture<>();
+		CompletableFuture<String> secondCatalog = new CompletableFuture<>();
+		CatalogWarmUp warmUp = new CatalogWarmUp()
+				.addStep("first", () -> firstCatalog)
+				.addStep("second", () -> secondCatalog);
+		assertThat(warmUp.getReadiness()).isEqualTo(Readiness.NOT_STARTED);
+
+		warmUp.start();
+		firstCatalog.complete("loaded");
+
+		assertThat(warmUp.getReadiness()).isEqualTo(Readiness.WARMING_UP);
+		assertThat(warmUp.getLoadTimes()).containsOnlyKeys("first");
+
+		secondCatalog.complete("loaded");
+
+		warmUp.whenReady().get(5, TimeUnit.SECONDS);
+		assertThat(warmUp.getReadiness()).isEqualTo(Readiness.READY);
+		assertThat(warmUp.getLoadTimes()).containsOnlyKeys("first", "second");
+	}
+
+	@Test
+	void testFailingStepDoesNotPreventReadiness() throws Exception {
+		CatalogWarmUp warmUp = new CatalogWarmUp()
+				.addStep("failing", () -> {
+					throw new IllegalStateException("Cannot load");
+				})
+				.addStep("working", () -> CompletableFuture.completedFuture("loaded"));
+
+		warmUp.start().get(5, TimeUnit.SECONDS);
+
+		assertThat(warmUp.getReadiness()).isEqualTo(Readiness.READY);
+		assertThat(warmUp.getLoadTimes()).containsOnlyKeys("working");
+	}
+
+	@Test
+	void testReportEachStepOverProgress() throws Exception {
+		CompletableFuture<String> slowCatalog = new CompletableFuture<>();
+		CatalogWarmUp warmUp = new CatalogWarmUp()
+				.addStep("fast", () -> CompletableFuture.completedFuture("loaded"))
+				.addStep("slow", () -> slowCatalog);
+		warmUp.start();
+		ProgressRecordingClient client = new ProgressRecordingClient();
+
+		warmUp.reportTo(WorkDoneProgressReporter.begin(client, true, "Camel catalogs", "Loading catalogs"));
+		slowCatalog.complete("loaded");
+		warmUp.whenReady().get(5, TimeUnit.SECONDS);
+
+		List<WorkDoneProgressNotification> notifications = client.getNotifications();
+		assertThat(notifications).hasSize(4);
+		assertThat(notifications.get(0)).isInstanceOf(WorkDoneProgressBegin.class);
+		assertThat(((WorkDoneProgressReport) notifications.get(1)).getMessage()).startsWith("fast loaded in ");
+		assertThat(((WorkDoneProgressReport) notifications.get(1)).getPercentage()).isEqualTo(50);
+		assertThat(((WorkDoneProgressReport) notifications.get(2)).getMessage()).startsWith("slow loaded in ");
+		assertThat(((WorkDoneProgressReport) notifications.get(2)).getPercentage()).isEqualTo(100);
+		assertThat(notifications.get(3)).isInstanceOf(WorkDoneProgressEnd.class);
+	}
+
+	private static final class ProgressRecordingClient implements LanguageClient {
+
+		private final List<WorkDoneProgressNotification> notifications = new ArrayList<>();
+
+		@Override
+		public CompletableFuture<Void> createProgress(WorkDoneProgressCreateParams params) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		@Override
+		public synchronized void notifyProgress(ProgressParams params) {
+			notifications.add(params.getValue().getLeft());
+		}
+
+		synchronized List<WorkDoneProgressNotification> getNotifications() {
+			return new ArrayList<>(notifications);
+		}
+
+		@Override
+		public void telemetryEvent(Object object) {
+		}
+
+		@Override
+		public void publishDiagnostics(PublishDiagnosticsParams diagnostics) {
+		}
+
+		@Override
+		public void showMessage(MessageParams messageParams) {
+		}
+
+		@Override
+		public CompletableFuture<MessageActionItem> showMessageRequest(ShowMessageRequestParams requestParams) {
+			return null;
+		}
+
+		@Override
+		public void logMessage(MessageParams message) {
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+
+class ComponentModelIndexTest {
+
+	private static class CountingCamelCatalog extends DefaultCamelCatalog {
+		private final AtomicInteger schemaCount = new AtomicInteger();
+
+		CountingCamelCatalog() {
+			super(true);
+		}
+
+		@Override
+		public String componentJSonSchema(String name) {
+			schemaCount.incrementAndGet();
+			return super.componentJSonSchema(name);
+		}
+	}
+
+	@Test
+	void testSchemasDeserializedOnce() throws Exception {
+		CountingCamelCatalog camelCatalog = new CountingCamelCatalog();
+
+		ComponentModel timerModel = ComponentModelIndex.of(camelCatalog).getComponentModel("timer");
+		int schemaCountAfterBuild = camelCatalog.schemaCount.get();
+		ComponentModel timerModelSecondAccess = ComponentModelIndex.of(camelCatalog).getComponentModel("timer");
+
+		assertThat(timerModelSecondAccess).isSameAs(timerModel);
+		assertThat(timerModel.getScheme()).isEqualTo("timer");
+		assertThat(schemaCountAfterBuild).isEqualTo(camelCatalog.findComponentNames().size());
+		assertThat(camelCatalog.schemaCount.get()).isEqualTo(schemaCountAfterBuild);
+		assertThat(ComponentModelIndex.of(camelCatalog).getComponentModels()).hasSize(schemaCountAfterBuild);
+	}
+
+	@Test
+	void testUnknownComponent() throws Exception {
+		ComponentModelIndex index = ComponentModelIndex.of(new DefaultCamelCatalog(true));
+
+		assertThat(index.getComponentModel("unknown")).isNull();
+		assertThat(index.getComponentModelOrEmpty("unknown").getEndpointOptions()).isEmpty();
+	}
+
+	@Test
+	void testSharedModelsAreReadOnly() throws Exception {
+		ComponentModel timerModel = ComponentModelIndex.of(new DefaultCamelCatalog(true)).getComponentModel("timer");
+
+		assertThrows(UnsupportedOperationException.class, () -> timerModel.getEndpointOptions().clear());
+	}
+}
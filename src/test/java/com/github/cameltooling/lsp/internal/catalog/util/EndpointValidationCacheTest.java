@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.apache.camel.catalog.EndpointValidationResult;
+import org.junit.jupiter.api.Test;
+
+class EndpointValidationCacheTest {
+
+	private static class CountingCamelCatalog extends DefaultCamelCatalog {
+		private final AtomicInteger validationCount = new AtomicInteger();
+
+		CountingCamelCatalog() {
+			super(true);
+		}
+
+		@Override
+		public EndpointValidationResult validateEndpointProperties(String uri, boolean ignoreLenientProperties) {
+			validationCount.incrementAndGet();
+			return super.validateEndpointProperties(uri, ignoreLenientProperties);
+		}
+	}
+
+	@Test
+	void testSameUriValidatedOnce() throws Exception {
+		CountingCamelCatalog camelCatalog = new CountingCamelCatalog();
+
+		EndpointValidationResult firstResult = EndpointValidationCache.validateEndpointProperties(camelCatalog, "timer:foo?delay=notANumber");
+		EndpointValidationResult secondResult = EndpointValidationCache.validateEndpointProperties(camelCatalog, "timer:foo?delay=notANumber");
+		EndpointValidationCache.validateEndpointProperties(camelCatalog, "timer:foo?delay=1000");
+
+		assertThat(secondResult).isSameAs(firstResult);
+		assertThat(firstResult.hasErrors()).isTrue();
+		assertThat(camelCatalog.validationCount.get()).isEqualTo(2);
+		assertThat(EndpointValidationCache.size(camelCatalog)).isEqualTo(2);
+	}
+
+	@Test
+	void testCachePerCatalog() throws Exception {
+		CountingCamelCatalog firstCatalog = new CountingCamelCatalog();
+		CountingCamelCatalog secondCatalog = new CountingCamelCatalog();
+
+		EndpointValidationCache.validateEndpointProperties(firstCatalog, "timer:foo");
+		EndpointValidationCache.validateEndpointProperties(secondCatalog, "timer:foo");
+
+		assertThat(firstCatalog.validationCount.get()).isEqualTo(1);
+		assertThat(secondCatalog.validationCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	void testInvalidate() throws Exception {
+		CountingCamelCatalog camelCatalog = new CountingCamelCatalog();
+		EndpointValidationCache.validateEndpointProperties(camelCatalog, "timer:foo");
+
+		EndpointValidationCache.invalidate(camelCatalog);
+		EndpointValidationCache.validateEndpointProperties(camelCatalog, "timer:foo");
+
+		assertThat(camelCatalog.validationCount.get()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.camel.kamelets.catalog.KameletsCatalog;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletDescriptor;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletPropertyDescriptor;
+
+class KameletsCatalogIndexTest {
+
+	private static KameletsCatalogIndex index;
+
+	@BeforeAll
+	static void buildIndex() {
+		index = KameletsCatalogIndex.of(new KameletsCatalog());
+	}
+
+	@Test
+	void testFindKameletByExactTemplateId() throws Exception {
+		KameletDescriptor kamelet = index.findKamelet("aws-ddb-streams-source").get();
+
+		assertThat(kamelet.getDescription()).isEqualTo("Receive events from AWS DynamoDB Streams.");
+		assertThat(index.findKamelet("aws-ddb-streams")).isEmpty();
+		assertThat(index.findKamelet(null)).isEmpty();
+	}
+
+	@Test
+	void testFindKameletContainingName() throws Exception {
+		assertThat(index.findKameletContaining("ddb-streams").get().getTemplateId()).isEqualTo("aws-ddb-streams-source");
+		assertThat(index.findKameletContaining("unknown-kamelet")).isEmpty();
+		assertThat(index.findKameletContaining(null)).isEmpty();
+	}
+
+	@Test
+	void testPreparedPropertyInsertTexts() throws Exception {
+		KameletDescriptor kamelet = index.findKamelet("aws-ddb-streams-source").get();
+
+		KameletPropertyDescriptor iteratorType = kamelet.getProperty("iteratorType").get();
+		assertThat(iteratorType.getInsertText()).isEqualTo("iteratorType=LATEST");
+		assertThat(iteratorType.getType()).isEqualTo("string");
+		assertThat(kamelet.getProperty("table").get().getInsertText()).isEqualTo("table=");
+	}
+
+	@Test
+	void testFindTemplateIdsByPrefixAndType() throws Exception {
+		assertThat(index.findSourcesByTemplateId("aws-"))
+			.extracting(KameletDescriptor::getTemplateId)
+			.contains("aws-ddb-streams-source")
+			.doesNotContain("aws-kinesis-sink")
+			.allMatch(templateId -> templateId.startsWith("aws-"));
+		assertThat(index.findSinksByTemplateId("aws-kinesis-s"))
+			.extracting(KameletDescriptor::getTemplateId)
+			.containsExactly("aws-kinesis-sink");
+	}
+}
@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletDescriptor;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogIndex.KameletPropertyDescriptor;
+
+class KameletsCatalogManagerTest {
+
+	@TempDir
+	Path workspace;
+
+	@TempDir
+	Path cacheDirectory;
+
+	private final KameletsCatalogManager kameletsCatalogManager = new KameletsCatalogManager();
+
+	@Test
+	void testWorkspaceKameletsMergedWithBundledCatalog() throws Exception {
+		writeKamelet(workspace.resolve("my-sink.kamelet.yaml"), "my-custom-sink", "Send data to my system.");
+
+		kameletsCatalogManager.scanWorkspace(Collections.singletonList(workspace)).get();
+
+		KameletDescriptor kamelet = kameletsCatalogManager.getIndex().findKamelet("my-custom-sink").get();
+		assertThat(kamelet.getDescription()).isEqualTo("Send data to my system.");
+		assertThat(kamelet.getProperty("endpoint").get().getInsertText()).isEqualTo("endpoint=http://localhost");
+		assertThat(kameletsCatalogManager.getIndex().findSinksByTemplateId("my-")).containsExactly(kamelet);
+		assertThat(kameletsCatalogManager.getIndex().findKamelet("aws-kinesis-sink")).isPresent();
+	}
+
+	@Test
+	void testIncrementalUpdates() throws Exception {
+		kameletsCatalogManager.scanWorkspace(Collections.singletonList(workspace)).get();
+		assertThat(kameletsCatalogManager.getIndex().findKamelet("my-custom-sink")).isEmpty();
+
+		Path kameletFile = workspace.resolve("my-sink.kamelet.yaml");
+		writeKamelet(kameletFile, "my-custom-sink", "First description.");
+		kameletsCatalogManager.kameletFileChanged(kameletFile);
+		assertThat(kameletsCatalogManager.getIndex().findKamelet("my-custom-sink").get().getDescription()).isEqualTo("First description.");
+
+		writeKamelet(kameletFile, "my-custom-sink", "Second description.");
+		kameletsCatalogManager.kameletFileChanged(kameletFile);
+		assertThat(kameletsCatalogManager.getIndex().findKamelet("my-custom-sink").get().getDescription()).isEqualTo("Second description.");
+
+		Files.delete(kameletFile);
+		kameletsCatalogManager.kameletFileDeleted(kameletFile);
+		assertThat(kameletsCatalogManager.getIndex().findKamelet("my-custom-sink")).isEmpty();
+	}
+
+	@Test
+	void testWorkspaceUpdatesAppliedInOrderOnWorkspaceExecutor() throws Exception {
+		ExecutorService workspaceExecutor = Executors.newFixedThreadPool(4);
+		try {
+			KameletsCatalogManager manager = new KameletsCatalogManager(Runnable::run, workspaceExecutor);
+			for (int i = 0; i < 10; i++) {
+				writeKamelet(workspace.resolve("my-sink-" + i + ".kamelet.yaml"), "my-custom-sink-" + i, "Send data to my system.");
+			}
+			Path kameletFile = workspace.resolve("my-sink-0.kamelet.yaml");
+
+			manager.scanWorkspace(Collections.singletonList(workspace));
+			manager.kameletFileChanged(kameletFile);
+			Files.delete(kameletFile);
+			manager.kameletFileDeleted(kameletFile).get();
+
+			assertThat(manager.getIndex().findSinksByTemplateId("my-custom-sink-")).hasSize(9);
+			assertThat(manager.getIndex().findKamelet("my-custom-sink-0")).isEmpty();
+		} finally {
+			workspaceExecutor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testBundledKameletsLoadedFromSnapshot() throws Exception {
+		CatalogSnapshotStore store = new CatalogSnapshotStore(cacheDirectory);
+		KameletDescriptor kamelet = new KameletsCatalogManager(Runnable::run, Runnable::run, store).getIndex().findKamelet("aws-kinesis-sink").get();
+		assertThat(store.readKamelets(KameletsCatalogManager.SNAPSHOT_KEY)).isNotEmpty();
+
+		KameletsCatalogIndex indexFromSnapshot = new KameletsCatalogManager(Runnable::run, Runnable::run, store).getIndex();
+
+		KameletDescriptor kameletFromSnapshot = indexFromSnapshot.findKamelet("aws-kinesis-sink").get();
+		assertThat(kameletFromSnapshot).isNotSameAs(kamelet);
+		assertThat(kameletFromSnapshot.getDescription()).isEqualTo(kamelet.getDescription());
+		assertThat(kameletFromSnapshot.getProperties())
+			.extracting(KameletPropertyDescriptor::getInsertText)
+			.containsExactlyElementsOf(kamelet.getProperties().stream().map(KameletPropertyDescriptor::getInsertText).collect(Collectors.toList()));
+		assertThat(indexFromSnapshot.findSinksByTemplateId("aws-kinesis")).contains(kameletFromSnapshot);
+	}
+
+	@Test
+	void testHiddenFoldersAreNotScanned() throws Exception {
+		Path hiddenFolder = Files.createDirectories(workspace.resolve(".git"));
+		writeKamelet(hiddenFolder.resolve("my-sink.kamelet.yaml"), "my-custom-sink", "Send data to my system.");
+
+		kameletsCatalogManager.scanWorkspace(Collections.singletonList(workspace)).get();
+
+		assertThat(kameletsCatalogManager.getIndex().findKamelet("my-custom-sink")).isEmpty();
+	}
+
+	private void writeKamelet(Path kameletFile, String templateId, String description) throws Exception {
+		String content = "apiVersion: camel.apache.org/v1alpha1\n"
+				+ "kind: Kamelet\n"
+				+ "metadata:\n"
+				+ "  name: " + templateId + "\n"
+				+ "  labels:\n"
+				+ "    camel.apache.org/kamelet.type: \"sink\"\n"
+				+ "spec:\n"
+				+ "  definition:\n"
+				+ "    title: \"My Sink\"\n"
+				+ "    description: \"" + description + "\"\n"
+				+ "    properties:\n"
+				+ "      endpoint:\n"
+				+ "        title: Endpoint\n"
+				+ "        type: string\n"
+				+ "        default: \"http://localhost\"\n"
+				+ "  flow:\n"
+				+ "    from:\n"
+				+ "      uri: \"kamelet:source\"\n"
+				+ "      steps:\n"
+				+ "      - to: \"log:info\"\n";
+		Files.write(kameletFile, content.getBytes(StandardCharsets.UTF_8));
+	}
+}
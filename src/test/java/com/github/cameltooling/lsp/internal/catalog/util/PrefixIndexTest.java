@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixIndexTest {
+
+	private final List<String> values = Arrays.asList("timer", "file", "ftp", "ftps", "direct", "fhir", "f");
+	private final PrefixIndex<String> index = PrefixIndex.of(values, Function.identity());
+
+	@Test
+	void testMatchesKeepOriginalOrder() throws Exception {
+		assertThat(index.findByPrefix("f")).containsExactly("file", "ftp", "ftps", "fhir", "f");
+		assertThat(index.findByPrefix("ftp")).containsExactly("ftp", "ftps");
+	}
+
+	@Test
+	void testNoMatch() throws Exception {
+		assertThat(index.findByPrefix("zzz")).isEmpty();
+		assertThat(index.findByPrefix("a")).isEmpty();
+		assertThat(index.findByPrefix("timers")).isEmpty();
+	}
+
+	@Test
+	void testBlankPrefixMatchesAll() throws Exception {
+		assertThat(index.findByPrefix(null)).containsExactlyElementsOf(values);
+		assertThat(index.findByPrefix(" ")).containsExactlyElementsOf(values);
+	}
+
+	@Test
+	void testSameResultAsStartsWith() throws Exception {
+		for (String value : values) {
+			for (int i = 1; i <= value.length(); i++) {
+				String prefix = value.substring(0, i);
+				assertThat(index.findByPrefix(prefix)).containsExactlyElementsOf(values.stream().filter(v -> v.startsWith(prefix)).collect(Collectors.toList()));
+			}
+		}
+	}
+}
@@ -28,7 +28,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
-import org.apache.camel.kafkaconnector.catalog.CamelKafkaConnectorCatalog;
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.Diagnostic;
@@ -41,6 +40,7 @@ import org.junit.jupiter.api.Test;
 import com.github.cameltooling.lsp.internal.AbstractCamelKafkaConnectorTest;
 import com.github.cameltooling.lsp.internal.CamelLanguageServer;
 import com.github.cameltooling.lsp.internal.RangeChecker;
+import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 
 class CamelKafkaConnectorUnknownPropertyQuickfixTest extends AbstractQuickFixTest {
 
@@ -67,8 +67,8 @@ class CamelKafkaConnectorUnknownPropertyQuickfixTest extends AbstractQuickFixTes
 	@Override
 	protected CamelLanguageServer initializeLanguageServerWithFileName(InputStream stream, String fileName) {
 		CamelLanguageServer languageServer = super.initializeLanguageServerWithFileName(stream, fileName);
-		CamelKafkaConnectorCatalog catalog = languageServer.getTextDocumentService().getCamelKafkaConnectorManager().getCatalog();
-		catalog.addConnector("connector-source-used-for-test", getContentAsString("/camel-kafka-connector-catalog/connector-sink-used-for-test.json"));
+		CamelKafkaConnectorCatalogManager camelKafkaConnectorManager = languageServer.getTextDocumentService().getCamelKafkaConnectorManager();
+		camelKafkaConnectorManager.addConnector("connector-source-used-for-test", getContentAsString("/camel-kafka-connector-catalog/connector-sink-used-for-test.json"));
 		return languageServer;
 	}
 	
@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion.modeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CamelKTraitIndexTest {
+
+	@Test
+	void testLookupByTraitAndPropertyName() throws Exception {
+		CamelKTraitIndex index = CamelKTraitManager.getIndex();
+
+		assertThat(index.getCamelKVersion()).isEqualTo(CamelKTraitManager.DEFAULT_CAMEL_K_VERSION);
+		assertThat(index.getTrait("platform").get().isPlatform()).isTrue();
+		assertThat(index.getTraitProperty("platform", "enabled").get().getDescription()).isEqualTo("Can be used to enable or disable a trait. All traits share this common property.");
+		assertThat(index.getTrait("unknown")).isEmpty();
+		assertThat(index.getTraitProperty("platform", "unknown")).isEmpty();
+		assertThat(index.getTraitProperty("unknown", "enabled")).isEmpty();
+	}
+
+	@Test
+	void testTraitsKeepCatalogOrder() throws Exception {
+		assertThat(CamelKTraitManager.getTraits())
+			.extracting(TraitDefinition::getName)
+			.startsWith("init", "platform");
+	}
+
+	@Test
+	void testUnknownCamelKVersion() throws Exception {
+		assertThat(CamelKTraitManager.getIndex("0.0.1")).isEmpty();
+		assertThat(CamelKTraitManager.getIndex(CamelKTraitManager.DEFAULT_CAMEL_K_VERSION)).containsSame(CamelKTraitManager.getIndex());
+	}
+}
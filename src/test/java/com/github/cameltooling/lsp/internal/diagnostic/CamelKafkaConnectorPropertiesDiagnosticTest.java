@@ -23,13 +23,13 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.stream.Collectors;
 
-import org.apache.camel.kafkaconnector.catalog.CamelKafkaConnectorCatalog;
 import org.eclipse.lsp4j.Diagnostic;
 import org.junit.jupiter.api.Test;
 
 import com.github.cameltooling.lsp.internal.AbstractCamelKafkaConnectorTest;
 import com.github.cameltooling.lsp.internal.CamelLanguageServer;
 import com.github.cameltooling.lsp.internal.RangeChecker;
+import com.github.cameltooling.lsp.internal.catalog.util.CamelKafkaConnectorCatalogManager;
 
 class CamelKafkaConnectorPropertiesDiagnosticTest extends AbstractDiagnosticTest {
 
@@ -84,9 +84,9 @@ class CamelKafkaConnectorPropertiesDiagnosticTest extends AbstractDiagnosticTest
 	@Override
 	protected CamelLanguageServer initializeLanguageServer(InputStream stream, String extension) {
 		CamelLanguageServer languageServer = super.initializeLanguageServer(stream, extension);
-		CamelKafkaConnectorCatalog catalog = languageServer.getTextDocumentService().getCamelKafkaConnectorManager().getCatalog();
-		catalog.addConnector("connector-source-used-for-test", getContentAsString("/camel-kafka-connector-catalog/connector-source-used-for-test.json"));
-		catalog.addConnector("connector-sink-used-for-test", getContentAsString("/camel-kafka-connector-catalog/connector-sink-used-for-test.json"));
+		CamelKafkaConnectorCatalogManager camelKafkaConnectorManager = languageServer.getTextDocumentService().getCamelKafkaConnectorManager();
+		camelKafkaConnectorManager.addConnector("connector-source-used-for-test", getContentAsString("/camel-kafka-connector-catalog/connector-source-used-for-test.json"));
+		camelKafkaConnectorManager.addConnector("connector-sink-used-for-test", getContentAsString("/camel-kafka-connector-catalog/connector-sink-used-for-test.json"));
 		return languageServer;
 	}
 	
@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.diagnostic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DiagnosticSchedulerTest {
+
+	private static final String URI = "file:///a.xml";
+
+	private final DiagnosticScheduler scheduler = new DiagnosticScheduler(Runnable::run);
+	private final List<String> runs = new CopyOnWriteArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		scheduler.shutdown();
+	}
+
+	@Test
+	void testDebouncedRunsAreCoalesced() throws Exception {
+		scheduler.setDebounceDelay(200);
+		for (int i = 0; i < 5; i++) {
+			String runId = "run" + i;
+			scheduler.scheduleDebounced(URI, runSequence -> runs.add(runId));
+		}
+
+		await().timeout(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(runs).containsExactly("run4"));
+		Thread.sleep(300);
+		assertThat(runs).containsExactly("run4");
+	}
+
+	@Test
+	void testImmediateRunReplacesPendingRun() throws Exception {
+		scheduler.setDebounceDelay(200);
+		scheduler.scheduleDebounced(URI, runSequence -> runs.add("debounced"));
+		scheduler.scheduleNow(URI, runSequence -> runs.add("now"));
+
+		await().timeout(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(runs).containsExactly("now"));
+		Thread.sleep(300);
+		assertThat(runs).containsExactly("now");
+	}
+
+	@Test
+	void testImmediateRunsAreNotKeptPending() throws Exception {
+		for (int i = 0; i < 20; i++) {
+			String runId = "run" + i;
+			scheduler.scheduleNow(URI, runSequence -> runs.add(runId));
+			await().timeout(Duration.ofSeconds(5)).pollInterval(Duration.ofMillis(10)).untilAsserted(() -> assertThat(runs).contains(runId));
+			assertThat(scheduler.hasPendingRun(URI)).isFalse();
+		}
+	}
+
+	@Test
+	void testRunsOfOtherDocumentsAreKept() throws Exception {
+		scheduler.setDebounceDelay(100);
+		scheduler.scheduleDebounced(URI, runSequence -> runs.add("a"));
+		scheduler.scheduleDebounced("file:///b.xml", runSequence -> runs.add("b"));
+
+		await().timeout(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(runs).containsExactlyInAnyOrder("a", "b"));
+	}
+
+	@Test
+	void testCancel() throws Exception {
+		scheduler.setDebounceDelay(100);
+		scheduler.scheduleDebounced(URI, runSequence -> runs.add("cancelled"));
+		scheduler.cancel(URI);
+
+		Thread.sleep(300);
+		assertThat(runs).isEmpty();
+	}
+
+	@Test
+	void testRunScheduledAfterwardsPublishesLast() throws Exception {
+		ExecutorService executor = Executors.newCachedThreadPool();
+		DiagnosticScheduler concurrentScheduler = new DiagnosticScheduler(executor);
+		try {
+			CountDownLatch firstRunStarted = new CountDownLatch(1);
+			CountDownLatch secondRunPublished = new CountDownLatch(1);
+			CountDownLatch firstRunDone = new CountDownLatch(1);
+			concurrentScheduler.scheduleNow(URI, runSequence -> {
+				firstRunStarted.countDown();
+				try {
+					secondRunPublished.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				concurrentScheduler.publishIfLatest(URI, runSequence, () -> runs.add("first"));
+				firstRunDone.countDown();
+			});
+			assertThat(firstRunStarted.await(5, TimeUnit.SECONDS)).isTrue();
+			concurrentScheduler.scheduleNow(URI, runSequence -> {
+				concurrentScheduler.publishIfLatest(URI, runSequence, () -> runs.add("second"));
+				secondRunPublished.countDown();
+			});
+
+			assertThat(firstRunDone.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(runs).containsExactly("second");
+		} finally {
+			concurrentScheduler.shutdown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testCancelledRunDoesNotPublish() throws Exception {
+		long runSequence = scheduler.startRun(URI);
+		scheduler.cancel(URI, () -> runs.add("cleared"));
+
+		assertThat(scheduler.publishIfLatest(URI, runSequence, () -> runs.add("cancelled"))).isFalse();
+		assertThat(runs).containsExactly("cleared");
+	}
+
+	@Test
+	void testNegativeDelayIgnored() throws Exception {
+		scheduler.setDebounceDelay(-1);
+
+		assertThat(scheduler.getDebounceDelay()).isEqualTo(DiagnosticScheduler.DEFAULT_DEBOUNCE_DELAY);
+	}
+}
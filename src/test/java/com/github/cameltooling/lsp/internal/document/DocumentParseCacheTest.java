@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+
+class DocumentParseCacheTest {
+
+	private static final String URI = "file:///a.xml";
+
+	private final AtomicInteger parseCount = new AtomicInteger();
+	private final ParsedArtifact<String> upperCase = ParsedArtifact.of("upper case", textDocument -> {
+		parseCount.incrementAndGet();
+		return textDocument.getText().toUpperCase();
+	});
+
+	@Test
+	void testSameVersionParsedOnce() throws Exception {
+		TextDocumentRegistry registry = new TextDocumentRegistry();
+		TextDocumentSnapshot snapshot = registry.open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abc"));
+
+		assertThat(DocumentParseCache.parse(snapshot, upperCase)).isEqualTo("ABC");
+		assertThat(DocumentParseCache.parse(registry.get(URI), upperCase)).isEqualTo("ABC");
+		assertThat(parseCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	void testNewVersionParsedAgain() throws Exception {
+		TextDocumentRegistry registry = new TextDocumentRegistry();
+		TextDocumentSnapshot opened = registry.open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abc"));
+		DocumentParseCache.parse(opened, upperCase);
+		TextDocumentSnapshot changed = registry.change(URI, Collections.singletonList(new TextDocumentContentChangeEvent("def")), 2);
+
+		assertThat(DocumentParseCache.parse(changed, upperCase)).isEqualTo("DEF");
+		assertThat(DocumentParseCache.parse(opened, upperCase)).isEqualTo("ABC");
+		assertThat(DocumentParseCache.parse(changed, upperCase)).isEqualTo("DEF");
+		assertThat(parseCount.get()).isEqualTo(3);
+	}
+
+	@Test
+	void testNewVersionUpdatedFromPreviousOne() throws Exception {
+		AtomicInteger updateCount = new AtomicInteger();
+		ParsedArtifact<String> incrementalUpperCase = ParsedArtifact.of("incremental upper case", upperCase::parse, (previous, textDocument, change) -> {
+			updateCount.incrementAndGet();
+			String text = textDocument.getText();
+			return previous.substring(0, change.getStart()) + text.substring(change.getStart(), change.getNewEnd()).toUpperCase() + previous.substring(change.getOldEnd());
+		});
+		TextDocumentRegistry registry = new TextDocumentRegistry();
+		DocumentParseCache.parse(registry.open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abc")), incrementalUpperCase);
+		registry.change(URI, Collections.singletonList(new TextDocumentContentChangeEvent(new Range(new Position(0, 1), new Position(0, 2)), 1, "xy")), 2);
+		TextDocumentSnapshot changed = registry.change(URI, Collections.singletonList(new TextDocumentContentChangeEvent(new Range(new Position(0, 4), new Position(0, 4)), 0, "d")), 3);
+
+		assertThat(DocumentParseCache.parse(changed, incrementalUpperCase)).isEqualTo("AXYCD");
+		assertThat(parseCount.get()).isEqualTo(1);
+		assertThat(updateCount.get()).isEqualTo(1);
+
+		TextDocumentSnapshot replaced = registry.change(URI, Collections.singletonList(new TextDocumentContentChangeEvent("ghi")), 4);
+
+		assertThat(DocumentParseCache.parse(replaced, incrementalUpperCase)).isEqualTo("GHI");
+		assertThat(parseCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	void testReopenedDocumentParsedAgain() throws Exception {
+		TextDocumentRegistry registry = new TextDocumentRegistry();
+		DocumentParseCache.parse(registry.open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abc")), upperCase);
+		registry.close(URI);
+
+		assertThat(DocumentParseCache.parse(registry.open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "xyz")), upperCase)).isEqualTo("XYZ");
+		assertThat(parseCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	void testStandaloneSnapshotNotCached() throws Exception {
+		TextDocumentSnapshot textDocument = TextDocumentSnapshot.of(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abc"));
+		DocumentParseCache.parse(textDocument, upperCase);
+		DocumentParseCache.parse(textDocument, upperCase);
+
+		assertThat(parseCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	void testClosedDocumentNotCached() throws Exception {
+		TextDocumentRegistry registry = new TextDocumentRegistry();
+		TextDocumentSnapshot closed = registry.open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abc"));
+		registry.close(URI);
+
+		DocumentParseCache.parse(closed, upperCase);
+		DocumentParseCache.parse(closed, upperCase);
+
+		assertThat(parseCount.get()).isEqualTo(2);
+		assertThat(registry.getParseCache().size()).isZero();
+	}
+
+	@Test
+	void testRegistriesDoNotShareResults() throws Exception {
+		TextDocumentSnapshot first = new TextDocumentRegistry().open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abc"));
+		TextDocumentSnapshot second = new TextDocumentRegistry().open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "xyz"));
+
+		assertThat(DocumentParseCache.parse(first, upperCase)).isEqualTo("ABC");
+		assertThat(DocumentParseCache.parse(second, upperCase)).isEqualTo("XYZ");
+		assertThat(DocumentParseCache.parse(first, upperCase)).isEqualTo("ABC");
+		assertThat(parseCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	void testParseFailureRethrown() throws Exception {
+		ParsedArtifact<String> failing = ParsedArtifact.of("failing", textDocument -> {
+			parseCount.incrementAndGet();
+			throw new IllegalStateException("invalid " + textDocument.getUri());
+		});
+		TextDocumentSnapshot snapshot = new TextDocumentRegistry().open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abc"));
+
+		assertThrows(IllegalStateException.class, () -> DocumentParseCache.parse(snapshot, failing));
+		assertThrows(IllegalStateException.class, () -> DocumentParseCache.parse(snapshot, failing));
+		assertThat(parseCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	void testSizeBounded() throws Exception {
+		DocumentParseCache parseCache = new DocumentParseCache(2);
+		for (int i = 0; i < 5; i++) {
+			parseCache.get(TextDocumentSnapshot.of(new TextDocumentItem("file:///" + i + ".xml", CamelLanguageServer.LANGUAGE_ID, 1, "abc")), upperCase);
+		}
+
+		assertThat(parseCache.size()).isEqualTo(2);
+	}
+}
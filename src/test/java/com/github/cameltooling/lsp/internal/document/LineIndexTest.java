@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
+
+class LineIndexTest {
+
+	private static final String[] TEXTS = { "", "a", "a\n", "a\nb", "a\r\nb\r\n", "\n\n", "a\r\n\r\nc\r", "<from uri=\"timer:foo\"/>\n  <to uri=\"log:bar\"/>\n" };
+
+	@Test
+	void testSameLinesAsRegexSplit() throws Exception {
+		ParserFileHelperUtil parserFileHelperUtil = new ParserFileHelperUtil();
+		for (String text : TEXTS) {
+			LineIndex lineIndex = LineIndex.of(text);
+			TextDocumentSnapshot snapshot = new TextDocumentRegistry().open(new TextDocumentItem("file:///a.xml", CamelLanguageServer.LANGUAGE_ID, 1, text));
+			for (int line = 0; line < 5; line++) {
+				String expected = splitLine(text, line);
+				assertThat(lineIndex.getLine(line)).as("line %d of '%s'", line, text).isEqualTo(expected);
+				assertThat(parserFileHelperUtil.getLine(text, line)).as("line %d of '%s'", line, text).isEqualTo(expected);
+				assertThat(parserFileHelperUtil.getLine(snapshot, line)).as("line %d of '%s'", line, text).isEqualTo(expected);
+				CharSequence lineView = parserFileHelperUtil.getLineView(snapshot, line);
+				assertThat(lineView != null ? lineView.toString() : null).as("line %d of '%s'", line, text).isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	void testLineView() throws Exception {
+		LineIndex lineIndex = LineIndex.of("first\r\nsecond\nthird");
+
+		CharSequence secondLine = lineIndex.getLineView(1);
+		assertThat(secondLine.length()).isEqualTo(6);
+		assertThat(secondLine.charAt(0)).isEqualTo('s');
+		assertThat(secondLine.subSequence(1, 3).toString()).isEqualTo("ec");
+		assertThat(lineIndex.getLineView(0).toString()).isEqualTo("first");
+		assertThat(lineIndex.getLineView(3)).isNull();
+	}
+
+	@Test
+	void testUpdateSameAsNewIndex() throws Exception {
+		String text = "a\nbc\nd\n";
+		String newText = "a\nx\ny\nz\nd\n";
+		LineIndex updated = LineIndex.of(text).update(newText, new TextChange(2, 4, 7));
+		LineIndex expected = LineIndex.of(newText);
+
+		assertThat(updated.getLineCount()).isEqualTo(expected.getLineCount());
+		for (int line = 0; line < expected.getLineCount(); line++) {
+			assertThat(updated.getLineStart(line)).as("start of line %d", line).isEqualTo(expected.getLineStart(line));
+		}
+		assertThat(updated.getPosition(5)).isEqualTo(new Position(2, 1));
+		assertThat(updated.getLineStart(-1)).isZero();
+		assertThat(updated.getLineStart(expected.getLineCount())).isEqualTo(Integer.MAX_VALUE);
+	}
+
+	private String splitLine(String text, int line) {
+		String[] lines = text.split("\\r?\\n", line + 2);
+		if (lines.length >= line + 1) {
+			return lines[line];
+		}
+		return null;
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+class PieceTableTest {
+
+	@Test
+	void testInsertion() throws Exception {
+		PieceTable pieceTable = PieceTable.of("<from uri=\"\"/>\n<to uri=\"\"/>");
+		PieceTable updated = pieceTable.replace(new Range(new Position(1, 9), new Position(1, 9)), "timer:foo");
+		assertThat(updated.getText()).isEqualTo("<from uri=\"\"/>\n<to uri=\"timer:foo\"/>");
+		assertThat(pieceTable.getText()).isEqualTo("<from uri=\"\"/>\n<to uri=\"\"/>");
+	}
+
+	@Test
+	void testDeletionAcrossPieces() throws Exception {
+		PieceTable pieceTable = PieceTable.of("abc\ndef")
+				.replace(new Range(new Position(0, 3), new Position(0, 3)), "123")
+				.replace(new Range(new Position(0, 2), new Position(1, 1)), "");
+		assertThat(pieceTable.getText()).isEqualTo("abef");
+		assertThat(pieceTable.getLineCount()).isEqualTo(1);
+	}
+
+	@Test
+	void testReplacementWithSeveralLines() throws Exception {
+		PieceTable pieceTable = PieceTable.of("line0\nline1\nline2")
+				.replace(new Range(new Position(1, 0), new Position(1, 5)), "a\nb\nc");
+		assertThat(pieceTable.getText()).isEqualTo("line0\na\nb\nc\nline2");
+		assertThat(pieceTable.getLineCount()).isEqualTo(5);
+		assertThat(pieceTable.getLineStartOffset(4)).isEqualTo(12);
+	}
+
+	@Test
+	void testAppendAtEndOfDocument() throws Exception {
+		PieceTable pieceTable = PieceTable.of("a\n")
+				.replace(new Range(new Position(1, 0), new Position(1, 0)), "b");
+		assertThat(pieceTable.getText()).isEqualTo("a\nb");
+	}
+
+	@Test
+	void testEditOnEmptyDocument() throws Exception {
+		PieceTable pieceTable = PieceTable.of("")
+				.replace(new Range(new Position(0, 0), new Position(0, 0)), "a");
+		assertThat(pieceTable.getText()).isEqualTo("a");
+	}
+
+	@Test
+	void testOffsetIsClampedToEndOfLine() throws Exception {
+		PieceTable pieceTable = PieceTable.of("ab\r\ncd");
+		assertThat(pieceTable.getOffset(new Position(0, 10))).isEqualTo(2);
+		assertThat(pieceTable.getOffset(new Position(1, 1))).isEqualTo(5);
+		assertThat(pieceTable.getOffset(new Position(5, 0))).isEqualTo(6);
+	}
+
+	@Test
+	void testPiecesAreFlattenedAfterManyEdits() throws Exception {
+		PieceTable pieceTable = PieceTable.of("");
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < PieceTable.MAX_PIECES * 2; i++) {
+			pieceTable = pieceTable.replace(new Range(new Position(0, 0), new Position(0, 0)), "a");
+			expected.append('a');
+		}
+		assertThat(pieceTable.getPieceCount()).isLessThanOrEqualTo(PieceTable.MAX_PIECES);
+		assertThat(pieceTable.getText()).isEqualTo(expected.toString());
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+
+class TextDocumentRegistryTest {
+
+	private static final String URI = "file:///a.xml";
+
+	@Test
+	void testChangeCreatesNewSnapshot() throws Exception {
+		TextDocumentRegistry registry = new TextDocumentRegistry();
+		TextDocumentSnapshot opened = registry.open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abc"));
+		TextDocumentSnapshot changed = registry.change(URI, Collections.singletonList(new TextDocumentContentChangeEvent(new Range(new Position(0, 1), new Position(0, 2)), 1, "X")), 2);
+
+		assertThat(opened.getText()).isEqualTo("abc");
+		assertThat(opened.getVersion()).isEqualTo(1);
+		assertThat(changed.getText()).isEqualTo("aXc");
+		assertThat(changed.getVersion()).isEqualTo(2);
+		assertThat(registry.get(URI)).isSameAs(changed);
+		assertThat(registry.isLatest(opened)).isFalse();
+		assertThat(registry.isLatest(changed)).isTrue();
+	}
+
+	@Test
+	void testVersionIncreasedWhenNotProvided() throws Exception {
+		TextDocumentRegistry registry = new TextDocumentRegistry();
+		registry.open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 3, "abc"));
+		TextDocumentSnapshot changed = registry.change(URI, Collections.singletonList(new TextDocumentContentChangeEvent("def")), null);
+
+		assertThat(changed.getVersion()).isEqualTo(4);
+		assertThat(changed.getText()).isEqualTo("def");
+	}
+
+	@Test
+	void testChangeOnNotOpenedDocument() throws Exception {
+		TextDocumentRegistry registry = new TextDocumentRegistry();
+		assertThat(registry.change(URI, Collections.singletonList(new TextDocumentContentChangeEvent("def")), 1)).isNull();
+		assertThat(registry.getAll()).isEmpty();
+	}
+
+	@Test
+	void testClosedDocumentIsNotLatest() throws Exception {
+		TextDocumentRegistry registry = new TextDocumentRegistry();
+		TextDocumentSnapshot opened = registry.open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abc"));
+		registry.close(URI);
+
+		assertThat(registry.isLatest(opened)).isFalse();
+		assertThat(registry.get(URI)).isNull();
+	}
+
+	@Test
+	void testChangesSinceVersionAreMerged() throws Exception {
+		TextDocumentRegistry registry = new TextDocumentRegistry();
+		registry.open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abcdef\nghi"));
+		registry.change(URI, Collections.singletonList(new TextDocumentContentChangeEvent(new Range(new Position(0, 1), new Position(0, 2)), 1, "XY")), 2);
+		TextDocumentSnapshot changed = registry.change(URI, Arrays.asList(
+				new TextDocumentContentChangeEvent(new Range(new Position(1, 0), new Position(1, 1)), 1, ""),
+				new TextDocumentContentChangeEvent(new Range(new Position(0, 0), new Position(0, 0)), 0, "Z")), 3);
+
+		assertThat(changed.getText()).isEqualTo("ZaXYcdef\nhi");
+		TextChange change = changed.getChangeSince(1);
+		assertThat(change.getStart()).isZero();
+		assertThat(change.getOldEnd()).isEqualTo(8);
+		assertThat(change.getNewEnd()).isEqualTo(9);
+		assertThat(changed.getChangeSince(2).getStart()).isZero();
+		assertThat(registry.change(URI, Collections.singletonList(new TextDocumentContentChangeEvent("def")), 4).getChangeSince(3)).isNull();
+	}
+
+	@Test
+	void testOnlyLatestSnapshotIsCurrent() throws Exception {
+		TextDocumentRegistry registry = new TextDocumentRegistry();
+		TextDocumentSnapshot opened = registry.open(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abc"));
+
+		assertThat(registry.isCurrent(opened)).isTrue();
+		assertThat(new TextDocumentRegistry().isCurrent(opened)).isFalse();
+		assertThat(registry.isCurrent(TextDocumentSnapshot.of(new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 1, "abc")))).isFalse();
+
+		TextDocumentSnapshot changed = registry.change(URI, Collections.singletonList(new TextDocumentContentChangeEvent("def")), 2);
+
+		assertThat(registry.isCurrent(opened)).isFalse();
+		assertThat(registry.isCurrent(changed)).isTrue();
+
+		registry.close(URI);
+
+		assertThat(registry.isCurrent(changed)).isFalse();
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ExecutorLanesTest {
+
+	private final ExecutorLanes executorLanes = new ExecutorLanes();
+
+	@AfterEach
+	void tearDown() {
+		executorLanes.shutdown();
+	}
+
+	@Test
+	void testInteractiveLaneNotBlockedByBackgroundBurst() throws Exception {
+		CountDownLatch releaseBackground = new CountDownLatch(1);
+		for (int i = 0; i < ExecutorLanes.BACKGROUND_QUEUE_CAPACITY; i++) {
+			executorLanes.getBackgroundExecutor().execute(() -> awaitQuietly(releaseBackground));
+		}
+		try {
+			String threadName = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executorLanes.getInteractiveExecutor()).get(5, TimeUnit.SECONDS);
+
+			assertThat(threadName).startsWith("camel-lsp-interactive-");
+		} finally {
+			releaseBackground.countDown();
+		}
+	}
+
+	@Test
+	void testBackgroundQueueIsBounded() throws Exception {
+		CountDownLatch releaseBackground = new CountDownLatch(1);
+		try {
+			assertThrows(RejectedExecutionException.class, () -> {
+				for (int i = 0; i < ExecutorLanes.BACKGROUND_QUEUE_CAPACITY + Runtime.getRuntime().availableProcessors() + 2; i++) {
+					executorLanes.getBackgroundExecutor().execute(() -> awaitQuietly(releaseBackground));
+				}
+			});
+		} finally {
+			releaseBackground.countDown();
+		}
+	}
+
+	@Test
+	void testCatalogLoadingNotBlockedByBackgroundTasksWaitingForIt() throws Exception {
+		CompletableFuture<String> catalog = new CompletableFuture<>();
+		for (int i = 0; i < ExecutorLanes.BACKGROUND_QUEUE_CAPACITY; i++) {
+			executorLanes.getBackgroundExecutor().execute(() -> catalog.join());
+		}
+
+		CompletableFuture.runAsync(() -> catalog.complete(Thread.currentThread().getName()), executorLanes.getCatalogExecutor());
+
+		assertThat(catalog.get(5, TimeUnit.SECONDS)).startsWith("camel-lsp-catalog-");
+	}
+
+	private void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
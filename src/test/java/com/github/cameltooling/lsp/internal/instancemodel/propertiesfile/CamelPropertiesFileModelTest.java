@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.instancemodel.propertiesfile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
+
+class CamelPropertiesFileModelTest {
+
+	private static final String CONTENT = "connector.class=org.test.kafkaconnector.TestSinkConnector\n"
+			+ "camel.sink.path.timerName=aName\n"
+			+ "camel.sink.endpoint.delay=1000\n"
+			+ "camel.sink.path.timer-name=anotherName\n"
+			+ "camel.component.timer.basicPropertyBinding=true";
+
+	private final CamelPropertiesFileModel model = CamelPropertiesFileModel.of(TextDocumentSnapshot.of(new TextDocumentItem("file:///test.properties", "properties", 0, CONTENT)));
+
+	@Test
+	void testConnectorClass() throws Exception {
+		assertThat(model.getConnectorClass()).isEqualTo("org.test.kafkaconnector.TestSinkConnector");
+		assertThat(model.getEntries()).hasSize(5);
+	}
+
+	@Test
+	void testEntriesByKeyInAnyNotation() throws Exception {
+		assertThat(model.getEntries("camel.sink.path.timer-name"))
+			.extracting(CamelPropertyEntryInstance::getLine)
+			.containsExactly(1, 3);
+		assertThat(model.getEntries("camel.sink.path.unknown")).isEmpty();
+	}
+
+	@Test
+	void testEntriesByPrefix() throws Exception {
+		assertThat(model.getEntriesWithPrefix("camel.sink."))
+			.extracting(CamelPropertyEntryInstance::getLine)
+			.containsExactly(1, 2, 3);
+	}
+}
@@ -23,6 +23,7 @@ import org.eclipse.lsp4j.TextDocumentItem;
 import org.junit.jupiter.api.Test;
 
 import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 
 class CamelPropertyEntryInstanceTest {
 
@@ -53,11 +54,11 @@ class CamelPropertyEntryInstanceTest {
 	}
 
 	private CamelPropertyEntryInstance createModel(String lineToTest) {
-		return new CamelPropertyEntryInstance(lineToTest, new Position(0,0), createTextDocumentItem(lineToTest));
+		return new CamelPropertyEntryInstance(lineToTest, new Position(0,0), createTextDocument(lineToTest));
 	}
 
-	private TextDocumentItem createTextDocumentItem(String value) {
-		return new TextDocumentItem("uri.properties", CamelLanguageServer.LANGUAGE_ID, 1, value);
+	private TextDocumentSnapshot createTextDocument(String value) {
+		return TextDocumentSnapshot.of(new TextDocumentItem("uri.properties", CamelLanguageServer.LANGUAGE_ID, 1, value));
 	}
 	
 }
@@ -27,6 +27,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 
 class CamelKModelineTest {
 	
@@ -71,7 +72,7 @@ class CamelKModelineTest {
 	@Test
 	void testWithXmlCommentWithoutSpaceWhenNoValue() {
 		String modelineText = "<!-- camel-k: dependency=-->";
-		CamelKModeline modeline = new CamelKModeline(modelineText, new TextDocumentItem("dummy.xml", CamelLanguageServer.LANGUAGE_ID, 0, modelineText), 0);
+		CamelKModeline modeline = new CamelKModeline(modelineText, TextDocumentSnapshot.of(new TextDocumentItem("dummy.xml", CamelLanguageServer.LANGUAGE_ID, 0, modelineText)), 0);
 		int endPositionInLine = modeline.getOptions().get(0).getOptionValue().getEndPositionInLine();
 		assertThat(endPositionInLine).isEqualTo("<!-- camel-k: dependency=".length());
 	}
@@ -79,7 +80,7 @@ class CamelKModelineTest {
 	@Test
 	void testWithXmlCommentWithoutSpaceWithValue() {
 		String modelineText = "<!-- camel-k: dependency=test-->";
-		CamelKModeline modeline = new CamelKModeline(modelineText, new TextDocumentItem("dummy.xml", CamelLanguageServer.LANGUAGE_ID, 0, modelineText), 0);
+		CamelKModeline modeline = new CamelKModeline(modelineText, TextDocumentSnapshot.of(new TextDocumentItem("dummy.xml", CamelLanguageServer.LANGUAGE_ID, 0, modelineText)), 0);
 		ICamelKModelineOptionValue optionValue = modeline.getOptions().get(0).getOptionValue();
 		int endPositionInLine = optionValue.getEndPositionInLine();
 		assertThat(endPositionInLine).isEqualTo("<!-- camel-k: dependency=test".length());
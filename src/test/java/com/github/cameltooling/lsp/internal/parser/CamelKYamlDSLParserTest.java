@@ -18,9 +18,13 @@ package com.github.cameltooling.lsp.internal.parser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentItem;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
+
 class CamelKYamlDSLParserTest {
 
 	@Test
@@ -48,4 +52,36 @@ class CamelKYamlDSLParserTest {
 	void testRepairEscapeCharacterWithDoubleQuoteAndSlash() throws Exception {
 		assertThat(new CamelKYamlDSLParser().repairLostEscapeChars("\"", "a value with backslash \\ inside")).isEqualTo("a value with double-quote \\\\ inside");
 	}
+
+	@Test
+	void testCorrespondingTypeFromDocumentModel() throws Exception {
+		TextDocumentSnapshot textDocument = TextDocumentSnapshot.of(new TextDocumentItem("test.camelk.yaml", "yaml", 1,
+				"- from:\n"
+				+ "    uri: \"timer:tick\"\n"
+				+ "    description: |\n"
+				+ "      to: not a key\n"
+				+ "    steps:\n"
+				+ "      - to: 'log:info'\n"));
+		CamelKYamlDSLParser parser = new CamelKYamlDSLParser();
+
+		assertThat(parser.getCorrespondingType(textDocument, 1)).isEqualTo("from");
+		assertThat(parser.getCorrespondingType(textDocument, 4)).isEqualTo("from");
+		assertThat(parser.getCorrespondingType(textDocument, 5)).isEqualTo("to");
+		assertThat(parser.getCamelComponentUri(textDocument, new Position(1, 14))).isEqualTo("timer:tick");
+		assertThat(parser.getCamelComponentUri(textDocument, new Position(5, 16))).isEqualTo("log:info");
+		assertThat(parser.createCamelURIInstance(textDocument, new Position(5, 16), "log:info").getStartPositionInDocument()).isEqualTo(new Position(5, 13));
+	}
+
+	@Test
+	void testCamelComponentUriInInvalidDocument() throws Exception {
+		TextDocumentSnapshot textDocument = TextDocumentSnapshot.of(new TextDocumentItem("test.camelk.yaml", "yaml", 1,
+				"- from:\n"
+				+ "    uri: \"timer:tick\"\n"
+				+ "    steps:\n"
+				+ "      - to: \"log:info\n"));
+		CamelKYamlDSLParser parser = new CamelKYamlDSLParser();
+
+		assertThat(parser.getCorrespondingType(textDocument, 1)).isEqualTo("from");
+		assertThat(parser.getCamelComponentUri(textDocument, new Position(1, 14))).isEqualTo("timer:tick");
+	}
 }
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import com.github.cameltooling.lsp.internal.CamelLanguageServer;
 import com.github.cameltooling.lsp.internal.DummyConstants;
 import com.github.cameltooling.lsp.internal.TestLogAppender;
+import com.github.cameltooling.lsp.internal.document.TextDocumentSnapshot;
 
 class ParserXMLFileHelperTest {
 
@@ -56,8 +57,8 @@ class ParserXMLFileHelperTest {
 				"      </camel:recipientList>\r\n" + 
 				"    </camel:route>\n"
 				+ "</camel:camelContext>\n";
-		TextDocumentItem textDocumentItem = new TextDocumentItem(DummyConstants.DUMMY_URI, CamelLanguageServer.LANGUAGE_ID, 0, camel);
-		assertThat(new ParserXMLFileHelper().getRouteNodes(textDocumentItem).getLength()).isEqualTo(2);
+		TextDocumentSnapshot textDocument = TextDocumentSnapshot.of(new TextDocumentItem(DummyConstants.DUMMY_URI, CamelLanguageServer.LANGUAGE_ID, 0, camel));
+		assertThat(new ParserXMLFileHelper().getRouteNodes(textDocument).getLength()).isEqualTo(2);
 	}
 	
 	@Test
@@ -80,7 +81,7 @@ class ParserXMLFileHelperTest {
 				"      </recipientList>\r\n" + 
 				"    </route>\n"
 				+ "</camelContext>\n";
-		TextDocumentItem textDocumentItem = new TextDocumentItem(DummyConstants.DUMMY_URI, CamelLanguageServer.LANGUAGE_ID, 0, camel);
-		assertThat(new ParserXMLFileHelper().getRouteNodes(textDocumentItem).getLength()).isEqualTo(2);
+		TextDocumentSnapshot textDocument = TextDocumentSnapshot.of(new TextDocumentItem(DummyConstants.DUMMY_URI, CamelLanguageServer.LANGUAGE_ID, 0, camel));
+		assertThat(new ParserXMLFileHelper().getRouteNodes(textDocument).getLength()).isEqualTo(2);
 	}
 }
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser.java;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.camel.parser.RouteBuilderParser;
+import org.apache.camel.parser.model.CamelEndpointDetails;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.source.JavaClassSource;
+import org.junit.jupiter.api.Test;
+
+class JavaRouteScannerTest {
+
+	private static final String ROUTE_BUILDER = "package org.test;\n"
+			+ "\n"
+			+ "import org.apache.camel.builder.RouteBuilder;\n"
+			+ "\n"
+			+ "public class MyRouteBuilder extends RouteBuilder {\n"
+			+ "\n"
+			+ "    private static final String TIMER = \"timer:a?\" + \"period=1\";\n"
+			+ "    private static final String DELAYED_TIMER = TIMER + \"&delay=2\";\n"
+			+ "\n"
+			+ "    @Override\n"
+			+ "    public void configure() throws Exception {\n"
+			+ "        String log = \"log:local\";\n"
+			+ "        /* from(\"timer:commented\") */\n"
+			+ "        from(\"timer:foo?period=5000\")\n"
+			+ "            .to(\"log:a\") // to(\"log:commented\")\n"
+			+ "            .to(\"log:\" +\n"
+			+ "                \"multi\")\n"
+			+ "            .to(log)\n"
+			+ "            .toD(\"direct:\\\"${header.x}\\\"\\u0041\");\n"
+			+ "        from(DELAYED_TIMER).wireTap(\"direct:w\").pollEnrich(\"seda:p\");\n"
+			+ "    }\n"
+			+ "}\n";
+
+	@Test
+	void testSameEndpointsAsCamelRouteParser() throws Exception {
+		JavaRouteModel model = JavaRouteScanner.scan(ROUTE_BUILDER);
+
+		assertThat(model).isNotNull();
+		assertThat(model.getClassName()).isEqualTo("org.test.MyRouteBuilder");
+		List<CamelEndpointDetails> expectedEndpoints = new ArrayList<>();
+		RouteBuilderParser.parseRouteBuilderEndpoints((JavaClassSource) Roaster.parse(ROUTE_BUILDER), "", "/MyRouteBuilder.java", expectedEndpoints);
+		assertThat(model.getEndpoints().stream()
+				.map(endpoint -> endpoint.getUri() + " " + (endpoint.getRange().getStart().getLine() + 1) + "-" + (endpoint.getRange().getEnd().getLine() + 1) + " " + endpoint.isConsumer())
+				.collect(Collectors.toList()))
+			.containsExactlyElementsOf(expectedEndpoints.stream()
+				.map(endpoint -> endpoint.getEndpointUri() + " " + endpoint.getLineNumber() + "-" + endpoint.getLineNumberEnd() + " " + endpoint.isConsumerOnly())
+				.collect(Collectors.toList()));
+	}
+
+	@Test
+	void testRangeOfConcatenatedLiterals() throws Exception {
+		JavaCamelEndpoint multiLineEndpoint = JavaRouteScanner.scan(ROUTE_BUILDER).getEndpoints().stream()
+				.filter(endpoint -> "log:multi".equals(endpoint.getUri()))
+				.findFirst().get();
+
+		assertThat(multiLineEndpoint.getMethodName()).isEqualTo("to");
+		assertThat(multiLineEndpoint.getRange()).isEqualTo(new Range(new Position(15, 16), new Position(16, 23)));
+	}
+
+	@Test
+	void testFallbackForFormattedUri() throws Exception {
+		assertThat(JavaRouteScanner.scan(ROUTE_BUILDER.replace("from(DELAYED_TIMER)", "fromF(\"timer:%s\", \"t\")"))).isNull();
+	}
+
+	@Test
+	void testFallbackForComputedUri() throws Exception {
+		assertThat(JavaRouteScanner.scan(ROUTE_BUILDER.replace(".to(log)", ".to(getUri())"))).isNull();
+	}
+
+	@Test
+	void testFallbackForUnbalancedBrackets() throws Exception {
+		assertThat(JavaRouteScanner.scan(ROUTE_BUILDER.replace("\"multi\")", "\"multi\""))).isNull();
+	}
+}
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.document.TextChange;
+
+class XmlRouteScannerTest {
+
+	private static final String PREFIXED_ROUTE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<beans xmlns=\"http://www.springframework.org/schema/beans\">\n"
+			+ "  <camel:camelContext xmlns:camel=\"http://camel.apache.org/schema/spring\">\n"
+			+ "    <camel:endpoint id=\"myTimer\" uri=\"timer:timerName\"/>\n"
+			+ "    <camel:route id=\"a route\">\n"
+			+ "      <camel:from uri=\"ref:myTimer\"/>\n"
+			+ "      <camel:to id='log' uri='log:b?level=INFO&amp;showAll=true'/>\n"
+			+ "    </camel:route>\n"
+			+ "  </camel:camelContext>\n"
+			+ "  <bean id=\"aBean\" class=\"org.test.ABean\"/>\n"
+			+ "</beans>";
+
+	@Test
+	void testDetectPrefixedCamelNamespace() throws Exception {
+		XmlRouteModel model = XmlRouteScanner.scan(PREFIXED_ROUTE);
+
+		assertThat(model.hasCamelElement()).isTrue();
+		assertThat(model.getCamelNamespacePrefix()).isEqualTo("camel");
+		assertThat(XmlRouteScanner.scan("<beans><bean id=\"aBean\"/></beans>").hasCamelElement()).isFalse();
+	}
+
+	@Test
+	void testRecordUriAttributeOffsets() throws Exception {
+		XmlRouteModel model = XmlRouteScanner.scan(PREFIXED_ROUTE);
+
+		XmlCamelElement to = model.findCamelUriElementAtLine(6);
+		assertThat(to.getLocalName()).isEqualTo("to");
+		assertThat(to.getId()).isEqualTo("log");
+		assertThat(to.getUri()).isEqualTo("log:b?level=INFO&showAll=true");
+		assertThat(to.getUriRange()).isEqualTo(new Range(new Position(6, 30), new Position(6, 63)));
+		assertThat(PREFIXED_ROUTE.substring(to.getUriStartOffset(), to.getUriStartOffset() + 5)).isEqualTo("log:b");
+		assertThat(to.getRange()).isEqualTo(new Range(new Position(6, 6), new Position(6, 66)));
+		assertThat(model.findCamelUriElementAtLine(4)).isNull();
+	}
+
+	@Test
+	void testEndpointsAreInRoutesOrEndpointElements() throws Exception {
+		XmlRouteModel model = XmlRouteScanner.scan(PREFIXED_ROUTE);
+
+		assertThat(model.getEndpoints().stream().map(XmlCamelElement::getUri).collect(Collectors.toList()))
+				.containsExactly("timer:timerName", "ref:myTimer", "log:b?level=INFO&showAll=true");
+		XmlCamelElement route = model.getElements().stream().filter(element -> "route".equals(element.getLocalName())).findFirst().get();
+		assertThat(route.getRange()).isEqualTo(new Range(new Position(4, 4), new Position(7, 18)));
+	}
+
+	@Test
+	void testLocateUriElementInHalfTypedDocument() throws Exception {
+		String halfTyped = "<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+				+ "  <route>\n"
+				+ "    <from uri=\"timer:a\">\n"
+				+ "    <to uri=\"log:\n"
+				+ "    <to uri=\"direct:b\"/>\n"
+				+ "  </route>\n";
+
+		XmlRouteModel model = XmlRouteScanner.scan(halfTyped);
+
+		assertThat(model.isWellFormed()).isFalse();
+		assertThat(model.hasCamelElement()).isTrue();
+		XmlCamelElement to = model.findCamelUriElementAtLine(3);
+		assertThat(to.getLocalName()).isEqualTo("to");
+		assertThat(to.isRecovered()).isTrue();
+		assertThat(to.getUri()).isEqualTo("log:");
+		assertThat(to.getUriRange()).isEqualTo(new Range(new Position(3, 13), new Position(3, 17)));
+		assertThat(model.findCamelUriElementAtLine(4).getUri()).isEqualTo("direct:b");
+		assertThat(model.getEndpoints().stream().map(XmlCamelElement::getLocalName).collect(Collectors.toList()))
+				.containsExactly("from", "to", "to");
+	}
+
+	@Test
+	void testUnclosedElementEndsWithItsStartTag() throws Exception {
+		XmlRouteModel model = XmlRouteScanner.scan("<route xmlns=\"http://camel.apache.org/schema/blueprint\">\n"
+				+ "  <from uri=\"timer:a\">\n"
+				+ "  <to uri=\"log:b\">\n"
+				+ "</route>");
+
+		assertThat(model.isWellFormed()).isFalse();
+		XmlCamelElement from = model.findCamelUriElementAtLine(1);
+		assertThat(from.getRange()).isEqualTo(new Range(new Position(1, 2), new Position(1, 22)));
+		assertThat(model.findCamelUriElementAtLine(2).getLocalName()).isEqualTo("to");
+		assertThat(model.getElements().get(0).getRange().getEnd()).isEqualTo(new Position(3, 8));
+	}
+
+	@Test
+	void testUpdateOnlyTheChangedElement() throws Exception {
+		XmlRouteModel previous = XmlRouteScanner.scan(PREFIXED_ROUTE);
+		int changeStart = PREFIXED_ROUTE.indexOf("ref:myTimer") + "ref:".length();
+		String text = PREFIXED_ROUTE.substring(0, changeStart) + "other\n" + PREFIXED_ROUTE.substring(changeStart + "myTimer".length());
+
+		XmlRouteModel updated = XmlRouteScanner.update(previous, text, new TextChange(changeStart, changeStart + "myTimer".length(), changeStart + "other\n".length()));
+
+		assertThat(updated).isNotNull();
+		assertThat(describe(updated)).isEqualTo(describe(XmlRouteScanner.scan(text)));
+		assertThat(updated.findCamelUriElementAtLine(6).getUri()).isEqualTo("ref:other ");
+		assertThat(updated.findCamelUriElementAtLine(7).getLocalName()).isEqualTo("to");
+	}
+
+	@Test
+	void testScanAgainWhenChangedElementIsNotWellFormedAnymore() throws Exception {
+		XmlRouteModel previous = XmlRouteScanner.scan(PREFIXED_ROUTE);
+		int changeStart = PREFIXED_ROUTE.indexOf("</camel:route>") + 2;
+		String text = PREFIXED_ROUTE.substring(0, changeStart) + "x" + PREFIXED_ROUTE.substring(changeStart);
+
+		assertThat(XmlRouteScanner.update(previous, text, new TextChange(changeStart, changeStart, changeStart + 1))).isNull();
+	}
+
+	private String describe(XmlRouteModel model) {
+		return model.getElements().stream()
+				.map(element -> element.getQualifiedName() + " " + element.getUri() + " " + element.isEndpoint() + " " + element.getRange() + " " + element.getUriRange())
+				.collect(Collectors.joining("\n"));
+	}
+}
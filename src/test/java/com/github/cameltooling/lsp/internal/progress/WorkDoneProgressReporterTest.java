@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.progress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.lsp4j.MessageActionItem;
+import org.eclipse.lsp4j.MessageParams;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.ShowMessageRequestParams;
+import org.eclipse.lsp4j.WorkDoneProgressBegin;
+import org.eclipse.lsp4j.WorkDoneProgressCreateParams;
+import org.eclipse.lsp4j.WorkDoneProgressEnd;
+import org.eclipse.lsp4j.WorkDoneProgressNotification;
+import org.eclipse.lsp4j.WorkDoneProgressReport;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.junit.jupiter.api.Test;
+
+class WorkDoneProgressReporterTest {
+
+	@Test
+	void testNotificationsSentOnceCreated() throws Exception {
+		ProgressRecordingClient client = new ProgressRecordingClient();
+
+		WorkDoneProgressReporter reporter = WorkDoneProgressReporter.begin(client, true, "Camel catalogs", "Loading catalogs");
+		reporter.report("half", 50);
+		client.creation.complete(null);
+		reporter.end("done");
+
+		assertThat(client.getNotifications()).hasSize(3);
+		assertThat(client.getNotifications().get(0)).isInstanceOf(WorkDoneProgressBegin.class);
+		assertThat(client.getNotifications().get(1)).isInstanceOf(WorkDoneProgressReport.class);
+		assertThat(client.getNotifications().get(2)).isInstanceOf(WorkDoneProgressEnd.class);
+		assertThat(reporter.isDisabled()).isFalse();
+	}
+
+	@Test
+	void testNotificationsDroppedWhenCreationFails() throws Exception {
+		ProgressRecordingClient client = new ProgressRecordingClient();
+
+		WorkDoneProgressReporter reporter = WorkDoneProgressReporter.begin(client, true, "Camel catalogs", "Loading catalogs");
+		reporter.report("half", 50);
+		client.creation.completeExceptionally(new IllegalStateException("progress refused"));
+		reporter.report("almost", 90);
+		reporter.end("done");
+
+		assertThat(reporter.isDisabled()).isTrue();
+		assertThat(client.getNotifications()).isEmpty();
+	}
+
+	@Test
+	void testNothingSentWhenNotSupported() throws Exception {
+		ProgressRecordingClient client = new ProgressRecordingClient();
+
+		WorkDoneProgressReporter reporter = WorkDoneProgressReporter.begin(client, false, "Camel catalogs", "Loading catalogs");
+		client.creation.complete(null);
+		reporter.end("done");
+
+		assertThat(client.getNotifications()).isEmpty();
+	}
+
+	private static final class ProgressRecordingClient implements LanguageClient {
+
+		private final CompletableFuture<Void> creation = new CompletableFuture<>();
+		private final List<WorkDoneProgressNotification> notifications = new ArrayList<>();
+
+		@Override
+		public CompletableFuture<Void> createProgress(WorkDoneProgressCreateParams params) {
+			return creation;
+		}
+
+		@Override
+		public synchronized void notifyProgress(ProgressParams params) {
+			notifications.add(params.getValue().getLeft());
+		}
+
+		synchronized List<WorkDoneProgressNotification> getNotifications() {
+			return new ArrayList<>(notifications);
+		}
+
+		@Override
+		public void telemetryEvent(Object object) {
+		}
+
+		@Override
+		public void publishDiagnostics(PublishDiagnosticsParams diagnostics) {
+		}
+
+		@Override
+		public void showMessage(MessageParams messageParams) {
+		}
+
+		@Override
+		public CompletableFuture<MessageActionItem> showMessageRequest(ShowMessageRequestParams requestParams) {
+			return null;
+		}
+
+		@Override
+		public void logMessage(MessageParams message) {
+		}
+	}
+}